@@ -19,12 +19,14 @@ import java.io.PrintWriter;
 import java.util.List;
 
 import com.google.common.collect.Lists;
+import com.google.common.net.HostAndPort;
 import org.apache.logging.log4j.Level;
 import org.apache.logging.log4j.LogManager;
 import org.apache.logging.log4j.Logger;
 import picocli.CommandLine;
 import picocli.CommandLine.Help.Ansi;
 import picocli.CommandLine.ParameterException;
+import picocli.CommandLine.TypeConversionException;
 
 public class CommandlineParser {
 
@@ -57,6 +59,7 @@ public class CommandlineParser {
     final CommandLine commandLine = new CommandLine(baseCommand);
     commandLine.setCaseInsensitiveEnumValuesAllowed(true);
     commandLine.registerConverter(Level.class, Level::valueOf);
+    commandLine.registerConverter(HostAndPort.class, CommandlineParser::parseHostAndPort);
     commandLine.setOut(outputWriter);
     commandLine.setErr(errorWriter);
     commandLine.setExecutionExceptionHandler(this::handleExecutionException);
@@ -109,4 +112,12 @@ public class CommandlineParser {
     commandLine.usage(outputWriter);
     return commandLine.getCommandSpec().exitCodeOnExecutionException();
   }
+
+  private static HostAndPort parseHostAndPort(final String value) {
+    final HostAndPort hostAndPort = HostAndPort.fromString(value);
+    if (!hostAndPort.hasPort()) {
+      throw new TypeConversionException("'" + value + "' does not specify a port");
+    }
+    return hostAndPort;
+  }
 }
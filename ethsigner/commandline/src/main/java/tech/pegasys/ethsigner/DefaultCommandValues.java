@@ -17,5 +17,13 @@ public interface DefaultCommandValues {
   String MANDATORY_PATH_FORMAT_HELP = "<PATH>";
   String MANDATORY_HOST_FORMAT_HELP = "<HOST>";
   String MANDATORY_PORT_FORMAT_HELP = "<PORT>";
+  String MANDATORY_HOST_AND_PORT_FORMAT_HELP = "<HOST:PORT>";
   String MANDATORY_LONG_FORMAT_HELP = "<LONG>";
+  String MANDATORY_INTEGER_FORMAT_HELP = "<INTEGER>";
+  String MANDATORY_METHOD_FORMAT_HELP = "<METHOD>";
+  String MANDATORY_DOUBLE_FORMAT_HELP = "<DOUBLE>";
+  String MANDATORY_METHOD_LIMIT_FORMAT_HELP = "<METHOD=INTEGER>";
+  String MANDATORY_CLASS_RATE_FORMAT_HELP = "<CLASS=DOUBLE>";
+  String MANDATORY_CLASS_LIMIT_FORMAT_HELP = "<CLASS=INTEGER>";
+  String MANDATORY_ADDRESS_WEIGHT_FORMAT_HELP = "<ADDRESS=INTEGER>";
 }
@@ -12,8 +12,16 @@
  */
 package tech.pegasys.ethsigner;
 
+import static tech.pegasys.ethsigner.DefaultCommandValues.MANDATORY_ADDRESS_WEIGHT_FORMAT_HELP;
+import static tech.pegasys.ethsigner.DefaultCommandValues.MANDATORY_CLASS_LIMIT_FORMAT_HELP;
+import static tech.pegasys.ethsigner.DefaultCommandValues.MANDATORY_CLASS_RATE_FORMAT_HELP;
+import static tech.pegasys.ethsigner.DefaultCommandValues.MANDATORY_DOUBLE_FORMAT_HELP;
+import static tech.pegasys.ethsigner.DefaultCommandValues.MANDATORY_HOST_AND_PORT_FORMAT_HELP;
 import static tech.pegasys.ethsigner.DefaultCommandValues.MANDATORY_HOST_FORMAT_HELP;
+import static tech.pegasys.ethsigner.DefaultCommandValues.MANDATORY_INTEGER_FORMAT_HELP;
 import static tech.pegasys.ethsigner.DefaultCommandValues.MANDATORY_LONG_FORMAT_HELP;
+import static tech.pegasys.ethsigner.DefaultCommandValues.MANDATORY_METHOD_FORMAT_HELP;
+import static tech.pegasys.ethsigner.DefaultCommandValues.MANDATORY_METHOD_LIMIT_FORMAT_HELP;
 import static tech.pegasys.ethsigner.DefaultCommandValues.MANDATORY_PATH_FORMAT_HELP;
 import static tech.pegasys.ethsigner.DefaultCommandValues.MANDATORY_PORT_FORMAT_HELP;
 
@@ -23,15 +31,24 @@ import tech.pegasys.ethsigner.config.tls.client.PicoCliClientTlsOptions;
 import tech.pegasys.ethsigner.core.config.Config;
 import tech.pegasys.ethsigner.core.config.TlsOptions;
 import tech.pegasys.ethsigner.core.config.tls.client.ClientTlsOptions;
+import tech.pegasys.ethsigner.core.downstream.LoadBalancingStrategy;
 import tech.pegasys.ethsigner.core.signing.ChainIdProvider;
 import tech.pegasys.ethsigner.core.signing.ConfigurationChainId;
+import tech.pegasys.ethsigner.core.tracing.TracingExporter;
 
 import java.net.InetAddress;
 import java.nio.file.Path;
 import java.time.Duration;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
 import java.util.Optional;
+import java.util.Set;
 
 import com.google.common.base.MoreObjects;
+import com.google.common.net.HostAndPort;
 import org.apache.logging.log4j.Level;
 import picocli.CommandLine.ArgGroup;
 import picocli.CommandLine.Command;
@@ -95,6 +112,328 @@ public class EthSignerBaseCommand implements Config {
       arity = "1")
   private final Integer httpListenPort = 8545;
 
+  @Option(
+      names = "--http-listen-socket-path",
+      description =
+          "Unix domain socket on which JSON-RPC HTTP is also served, without TLS, for co-located "
+              + "clients, in a directory other users cannot write to. Requires the native "
+              + "transport, available on Linux",
+      paramLabel = MANDATORY_PATH_FORMAT_HELP,
+      arity = "1")
+  private Path httpListenSocketPath;
+
+  @SuppressWarnings("FieldMayBeFinal") // Because PicoCLI requires Strings to not be final.
+  @Option(
+      names = "--http-listen-socket-permissions",
+      description =
+          "Permissions given to the socket file of --http-listen-socket-path, which decide the "
+              + "users able to connect (default: ${DEFAULT-VALUE})",
+      paramLabel = "<rwxrwxrwx>",
+      arity = "1")
+  private String httpListenSocketPermissions = "rw-rw----";
+
+  @SuppressWarnings("FieldMayBeFinal")
+  @Option(
+      names = "--http2-max-concurrent-streams",
+      description =
+          "Maximum number of concurrent requests a client may send on each HTTP/2 connection "
+              + "(default: ${DEFAULT-VALUE})",
+      paramLabel = MANDATORY_LONG_FORMAT_HELP,
+      arity = "1")
+  private long http2MaxConcurrentStreams = 100;
+
+  @SuppressWarnings("FieldMayBeFinal")
+  @Option(
+      names = "--http2-initial-window-size",
+      description =
+          "Initial HTTP/2 flow control window in bytes for each request stream "
+              + "(default: ${DEFAULT-VALUE})",
+      paramLabel = MANDATORY_INTEGER_FORMAT_HELP,
+      arity = "1")
+  private int http2InitialWindowSize = 65535;
+
+  @SuppressWarnings("FieldMayBeFinal")
+  @Option(
+      names = "--ws-enabled",
+      description =
+          "Accept WebSocket connections on the JSON-RPC HTTP listener, each message received being "
+              + "handled as a JSON-RPC request. Defaults to disabled.",
+      arity = "0")
+  private boolean webSocketEnabled = false;
+
+  @SuppressWarnings("FieldMayBeFinal")
+  @Option(
+      names = "--ws-max-in-flight-requests",
+      description =
+          "Maximum number of requests a WebSocket connection may have in flight before further "
+              + "messages are left unread (default: ${DEFAULT-VALUE})",
+      paramLabel = MANDATORY_INTEGER_FORMAT_HELP,
+      arity = "1")
+  private int webSocketMaxInFlightRequests = 100;
+
+  @SuppressWarnings("FieldMayBeFinal")
+  @Option(
+      names = "--ws-subscription-buffer-size",
+      description =
+          "Maximum number of subscription notifications buffered for a WebSocket connection which "
+              + "is not keeping up, before the connection is closed (default: ${DEFAULT-VALUE})",
+      paramLabel = MANDATORY_INTEGER_FORMAT_HELP,
+      arity = "1")
+  private int webSocketSubscriptionBufferSize = 256;
+
+  @SuppressWarnings("FieldMayBeFinal")
+  @Option(
+      names = "--metrics-enabled",
+      description =
+          "Serve metrics for Prometheus to scrape from /metrics on a listener of their own. "
+              + "Defaults to disabled.",
+      arity = "0")
+  private boolean metricsEnabled = false;
+
+  @SuppressWarnings("FieldMayBeFinal") // Because PicoCLI requires Strings to not be final.
+  @Option(
+      names = "--metrics-host",
+      description = "Host for the metrics listener to listen on (default: ${DEFAULT-VALUE})",
+      paramLabel = MANDATORY_HOST_FORMAT_HELP,
+      arity = "1")
+  private String metricsHost = InetAddress.getLoopbackAddress().getHostAddress();
+
+  @SuppressWarnings("FieldMayBeFinal")
+  @Option(
+      names = "--metrics-port",
+      description = "Port for the metrics listener to listen on (default: ${DEFAULT-VALUE})",
+      paramLabel = MANDATORY_PORT_FORMAT_HELP,
+      arity = "1")
+  private Integer metricsPort = 9546;
+
+  @SuppressWarnings("FieldMayBeFinal")
+  @Option(
+      names = "--tracing-exporter",
+      description =
+          "Where spans timing each stage of a request are exported to, one of "
+              + "${COMPLETION-CANDIDATES}. Tracing is disabled by NONE (default: ${DEFAULT-VALUE})",
+      arity = "1")
+  private TracingExporter tracingExporter = TracingExporter.NONE;
+
+  @SuppressWarnings("FieldMayBeFinal")
+  @Option(
+      names = "--tracing-otlp-endpoint",
+      description =
+          "The OpenTelemetry collector receiving spans over OTLP/HTTP, when exported with OTLP "
+              + "(default: ${DEFAULT-VALUE})",
+      paramLabel = MANDATORY_HOST_AND_PORT_FORMAT_HELP,
+      arity = "1")
+  private HostAndPort tracingOtlpEndpoint =
+      HostAndPort.fromParts(InetAddress.getLoopbackAddress().getHostAddress(), 4318);
+
+  @SuppressWarnings("FieldMayBeFinal")
+  @Option(
+      names = "--tracing-sample-ratio",
+      description =
+          "Proportion of requests traced, between 0 and 1. Requests whose traceparent header "
+              + "shows the client sampled them are always traced (default: ${DEFAULT-VALUE})",
+      paramLabel = MANDATORY_DOUBLE_FORMAT_HELP,
+      arity = "1")
+  private double tracingSampleRatio = 0.01;
+
+  @SuppressWarnings("FieldMayBeFinal")
+  @Option(
+      names = "--server-timing-enabled",
+      description =
+          "Add a Server-Timing header to each JSON-RPC response, breaking down the time spent in "
+              + "each stage of handling the request. Defaults to disabled.",
+      arity = "0")
+  private boolean serverTimingEnabled = false;
+
+  @SuppressWarnings("FieldMayBeFinal")
+  @Option(
+      names = "--admission-max-concurrent-requests",
+      description =
+          "Maximum number of requests handled at once, beyond which requests wait to be admitted "
+              + "with transactions ahead of other requests, or -1 for no limit "
+              + "(default: ${DEFAULT-VALUE})",
+      paramLabel = MANDATORY_INTEGER_FORMAT_HELP,
+      arity = "1")
+  private int admissionMaxConcurrentRequests = -1;
+
+  @SuppressWarnings("FieldMayBeFinal")
+  @Option(
+      names = "--admission-max-queued-requests",
+      description =
+          "Maximum number of requests waiting to be admitted, beyond which requests are rejected "
+              + "with a Retry-After header (default: ${DEFAULT-VALUE})",
+      paramLabel = MANDATORY_INTEGER_FORMAT_HELP,
+      arity = "1")
+  private int admissionMaxQueuedRequests = 1000;
+
+  @SuppressWarnings("FieldMayBeFinal")
+  @Option(
+      names = "--admission-method-max-concurrent-requests",
+      description =
+          "Maximum number of requests for a JSON-RPC method handled at once, for methods "
+              + "expensive for the downstream node to answer, e.g. eth_getLogs=4",
+      paramLabel = MANDATORY_METHOD_LIMIT_FORMAT_HELP,
+      split = ",",
+      arity = "1..*")
+  private Map<String, Integer> admissionMethodMaxConcurrentRequests = new LinkedHashMap<>();
+
+  @SuppressWarnings("FieldMayBeFinal")
+  @Option(
+      names = "--admission-method-max-queued-requests",
+      description =
+          "Maximum number of requests for a JSON-RPC method waiting to be admitted, e.g. "
+              + "eth_getLogs=16",
+      paramLabel = MANDATORY_METHOD_LIMIT_FORMAT_HELP,
+      split = ",",
+      arity = "1..*")
+  private Map<String, Integer> admissionMethodMaxQueuedRequests = new LinkedHashMap<>();
+
+  @SuppressWarnings("FieldMayBeFinal")
+  @Option(
+      names = "--rate-limit-requests-per-second",
+      description =
+          "Requests each client may make per second, by class of method: transaction or "
+              + "pass_through. Clients are told apart by their TLS certificate, or else their "
+              + "address, e.g. transaction=10,pass_through=100",
+      paramLabel = MANDATORY_CLASS_RATE_FORMAT_HELP,
+      split = ",",
+      arity = "1..*")
+  private Map<String, Double> rateLimitRequestsPerSecond = new LinkedHashMap<>();
+
+  @SuppressWarnings("FieldMayBeFinal")
+  @Option(
+      names = "--rate-limit-burst",
+      description =
+          "Requests each client may make at once beyond its rate, by class of method, e.g. "
+              + "transaction=20 (default: the rate per second)",
+      paramLabel = MANDATORY_CLASS_LIMIT_FORMAT_HELP,
+      split = ",",
+      arity = "1..*")
+  private Map<String, Integer> rateLimitBurst = new LinkedHashMap<>();
+
+  @SuppressWarnings("FieldMayBeFinal")
+  @Option(
+      names = "--transaction-max-in-flight",
+      description =
+          "Maximum number of transactions signed and submitted at once, beyond which senders "
+              + "take turns to start theirs, or -1 for no limit (default: ${DEFAULT-VALUE})",
+      paramLabel = MANDATORY_INTEGER_FORMAT_HELP,
+      arity = "1")
+  private int transactionMaxInFlight = -1;
+
+  @SuppressWarnings("FieldMayBeFinal")
+  @Option(
+      names = "--transaction-max-in-flight-per-sender",
+      description =
+          "Maximum number of transactions of one sender signed and submitted at once, to match "
+              + "the downstream node's transaction pool limit for each sender, or -1 for no limit "
+              + "(default: ${DEFAULT-VALUE})",
+      paramLabel = MANDATORY_INTEGER_FORMAT_HELP,
+      arity = "1")
+  private int transactionMaxInFlightPerSender = -1;
+
+  @SuppressWarnings("FieldMayBeFinal")
+  @Option(
+      names = "--transaction-max-queued-per-sender",
+      description =
+          "Maximum number of transactions of one sender waiting for its turn, beyond which they "
+              + "are rejected (default: ${DEFAULT-VALUE})",
+      paramLabel = MANDATORY_INTEGER_FORMAT_HELP,
+      arity = "1")
+  private int transactionMaxQueuedPerSender = 1000;
+
+  @SuppressWarnings("FieldMayBeFinal")
+  @Option(
+      names = "--transaction-sender-weights",
+      description =
+          "Turns a sender takes for each turn of senders not listed, when senders take turns to "
+              + "start transactions, e.g. 0x7577919ae5df4941180eac211965f275cdce314d=4",
+      paramLabel = MANDATORY_ADDRESS_WEIGHT_FORMAT_HELP,
+      split = ",",
+      arity = "1..*")
+  private Map<String, Integer> transactionSenderWeights = new LinkedHashMap<>();
+
+  @SuppressWarnings("FieldMayBeFinal")
+  @Option(
+      names = "--transaction-max-retries",
+      description =
+          "Maximum number of times a transaction is retried, after its nonce was too low or the "
+              + "downstream node was unavailable (default: ${DEFAULT-VALUE})",
+      paramLabel = MANDATORY_INTEGER_FORMAT_HELP,
+      arity = "1")
+  private int transactionMaxRetries = 5;
+
+  @SuppressWarnings("FieldMayBeFinal")
+  @Option(
+      names = "--transaction-retry-base-delay",
+      description =
+          "Least time in milliseconds to wait before retrying a transaction, with later retries "
+              + "waiting longer (default: ${DEFAULT-VALUE})",
+      paramLabel = MANDATORY_LONG_FORMAT_HELP,
+      arity = "1")
+  private long transactionRetryBaseDelay = 10;
+
+  @SuppressWarnings("FieldMayBeFinal")
+  @Option(
+      names = "--transaction-retry-max-delay",
+      description =
+          "Most time in milliseconds to wait before retrying a transaction "
+              + "(default: ${DEFAULT-VALUE})",
+      paramLabel = MANDATORY_LONG_FORMAT_HELP,
+      arity = "1")
+  private long transactionRetryMaxDelay = Duration.ofSeconds(1).toMillis();
+
+  @SuppressWarnings("FieldMayBeFinal")
+  @Option(
+      names = "--transaction-retry-budget-ratio",
+      description =
+          "Retries allowed for each transaction sent, across all transactions, e.g. 0.1 for at "
+              + "most 10%% more transactions sent downstream (default: ${DEFAULT-VALUE})",
+      paramLabel = MANDATORY_DOUBLE_FORMAT_HELP,
+      arity = "1")
+  private double transactionRetryBudgetRatio = 0.1;
+
+  @SuppressWarnings("FieldMayBeFinal")
+  @Option(
+      names = "--immutable-result-cache-max-size",
+      description =
+          "Maximum size in bytes of the cached results which can never change, such as blocks by "
+              + "hash and mined transactions and receipts, or 0 to cache none "
+              + "(default: ${DEFAULT-VALUE})",
+      paramLabel = MANDATORY_LONG_FORMAT_HELP,
+      arity = "1")
+  private long immutableResultCacheMaxSize = 64L * 1024 * 1024;
+
+  @SuppressWarnings("FieldMayBeFinal")
+  @Option(
+      names = "--latest-block-cache-enabled",
+      description =
+          "Answer eth_blockNumber, eth_gasPrice, and eth_call, eth_getBalance and eth_estimateGas "
+              + "at the latest block, from results cached until the downstream node's head "
+              + "changes. Answers may be up to one poll interval out of date. Defaults to disabled.",
+      arity = "0")
+  private boolean latestBlockCacheEnabled = false;
+
+  @SuppressWarnings("FieldMayBeFinal")
+  @Option(
+      names = "--latest-block-cache-poll-interval",
+      description =
+          "Time in milliseconds between requests for the downstream node's head, when results at "
+              + "the latest block are cached (default: ${DEFAULT-VALUE})",
+      paramLabel = MANDATORY_LONG_FORMAT_HELP,
+      arity = "1")
+  private long latestBlockCachePollInterval = Duration.ofSeconds(1).toMillis();
+
+  @SuppressWarnings("FieldMayBeFinal")
+  @Option(
+      names = "--latest-block-cache-max-size",
+      description =
+          "Maximum size in bytes of the results cached for any one head, when results at the "
+              + "latest block are cached (default: ${DEFAULT-VALUE})",
+      paramLabel = MANDATORY_LONG_FORMAT_HELP,
+      arity = "1")
+  private long latestBlockCacheMaxSize = 8L * 1024 * 1024;
+
   @ArgGroup(exclusive = false)
   private PicoCliTlsServerOptions picoCliTlsServerOptions;
 
@@ -125,6 +464,175 @@ public class EthSignerBaseCommand implements Config {
       arity = "1")
   private long downstreamHttpRequestTimeout = Duration.ofSeconds(5).toMillis();
 
+  @Option(
+      names = "--downstream-http-socket-path",
+      description =
+          "Unix domain socket on which the node given by --downstream-http-host and "
+              + "--downstream-http-port serves HTTP, through which it is sent requests in place of "
+              + "TCP. Requires the native transport, available on Linux",
+      paramLabel = MANDATORY_PATH_FORMAT_HELP,
+      arity = "1")
+  private Path downstreamHttpSocketPath;
+
+  @SuppressWarnings("FieldMayBeFinal")
+  @Option(
+      names = "--downstream-http-additional-endpoints",
+      description =
+          "Further endpoints across which received requests are balanced, alongside the one given "
+              + "by --downstream-http-host and --downstream-http-port",
+      paramLabel = MANDATORY_HOST_AND_PORT_FORMAT_HELP,
+      split = ",",
+      arity = "1..*")
+  private List<HostAndPort> downstreamHttpAdditionalEndpoints = new ArrayList<>();
+
+  @SuppressWarnings("FieldMayBeFinal")
+  @Option(
+      names = "--downstream-load-balancing-strategy",
+      description =
+          "How requests are balanced across downstream endpoints, one of "
+              + "${COMPLETION-CANDIDATES} (default: ${DEFAULT-VALUE})",
+      arity = "1")
+  private LoadBalancingStrategy downstreamLoadBalancingStrategy =
+      LoadBalancingStrategy.POWER_OF_TWO_CHOICES;
+
+  @SuppressWarnings("FieldMayBeFinal")
+  @Option(
+      names = "--downstream-http-max-connections",
+      description =
+          "Maximum number of connections to each downstream endpoint for passed through requests "
+              + "(default: ${DEFAULT-VALUE})",
+      paramLabel = MANDATORY_INTEGER_FORMAT_HELP,
+      arity = "1")
+  private int downstreamHttpMaxConnections = 5;
+
+  @SuppressWarnings("FieldMayBeFinal")
+  @Option(
+      names = "--downstream-http-max-wait-queue-size",
+      description =
+          "Maximum number of passed through requests waiting for a connection to each downstream "
+              + "endpoint, or -1 for no limit (default: ${DEFAULT-VALUE})",
+      paramLabel = MANDATORY_INTEGER_FORMAT_HELP,
+      arity = "1")
+  private int downstreamHttpMaxWaitQueueSize = 256;
+
+  @SuppressWarnings("FieldMayBeFinal")
+  @Option(
+      names = "--downstream-http-signing-max-connections",
+      description =
+          "Maximum number of connections to each downstream endpoint for nonce lookups and "
+              + "transaction submissions, kept apart from passed through requests "
+              + "(default: ${DEFAULT-VALUE})",
+      paramLabel = MANDATORY_INTEGER_FORMAT_HELP,
+      arity = "1")
+  private int downstreamHttpSigningMaxConnections = 5;
+
+  @SuppressWarnings("FieldMayBeFinal")
+  @Option(
+      names = "--downstream-http-signing-max-wait-queue-size",
+      description =
+          "Maximum number of nonce lookups and transaction submissions waiting for a connection "
+              + "to each downstream endpoint, or -1 for no limit (default: ${DEFAULT-VALUE})",
+      paramLabel = MANDATORY_INTEGER_FORMAT_HELP,
+      arity = "1")
+  private int downstreamHttpSigningMaxWaitQueueSize = 256;
+
+  @SuppressWarnings("FieldMayBeFinal")
+  @Option(
+      names = "--downstream-http-read-endpoints",
+      description =
+          "Read replicas to which read-only requests are forwarded, while transactions and nonce "
+              + "lookups continue to go to the downstream endpoints",
+      paramLabel = MANDATORY_HOST_AND_PORT_FORMAT_HELP,
+      split = ",",
+      arity = "1..*")
+  private List<HostAndPort> downstreamHttpReadEndpoints = new ArrayList<>();
+
+  @SuppressWarnings("FieldMayBeFinal")
+  @Option(
+      names = "--downstream-http-read-request-timeout",
+      description =
+          "Timeout in milliseconds to wait for a read replica to respond "
+              + "(default: ${DEFAULT-VALUE})",
+      paramLabel = MANDATORY_LONG_FORMAT_HELP,
+      arity = "1")
+  private long downstreamHttpReadRequestTimeout = Duration.ofSeconds(5).toMillis();
+
+  @SuppressWarnings("FieldMayBeFinal")
+  @Option(
+      names = "--downstream-http-read-max-connections",
+      description =
+          "Maximum number of connections to each read replica (default: ${DEFAULT-VALUE})",
+      paramLabel = MANDATORY_INTEGER_FORMAT_HELP,
+      arity = "1")
+  private int downstreamHttpReadMaxConnections = 5;
+
+  @SuppressWarnings("FieldMayBeFinal")
+  @Option(
+      names = "--downstream-http-read-max-wait-queue-size",
+      description =
+          "Maximum number of requests waiting for a connection to each read replica, or -1 for no "
+              + "limit (default: ${DEFAULT-VALUE})",
+      paramLabel = MANDATORY_INTEGER_FORMAT_HELP,
+      arity = "1")
+  private int downstreamHttpReadMaxWaitQueueSize = 256;
+
+  @SuppressWarnings("FieldMayBeFinal")
+  @Option(
+      names = "--downstream-http-read-methods",
+      description =
+          "Further JSON-RPC methods to forward to the read replicas, e.g. archive queries",
+      paramLabel = MANDATORY_METHOD_FORMAT_HELP,
+      split = ",",
+      arity = "1..*")
+  private Set<String> downstreamHttpReadMethods = new LinkedHashSet<>();
+
+  @SuppressWarnings("FieldMayBeFinal")
+  @Option(
+      names = "--downstream-http-write-methods",
+      description =
+          "Read-only JSON-RPC methods to forward to the downstream endpoints rather than the read "
+              + "replicas (default: ${DEFAULT-VALUE})",
+      paramLabel = MANDATORY_METHOD_FORMAT_HELP,
+      split = ",",
+      arity = "1..*")
+  private Set<String> downstreamHttpWriteMethods =
+      new LinkedHashSet<>(
+          List.of(
+              "eth_getTransactionCount",
+              "priv_getTransactionCount",
+              "priv_getEeaTransactionCount"));
+
+  @SuppressWarnings("FieldMayBeFinal")
+  @Option(
+      names = "--downstream-http2-enabled",
+      description =
+          "Multiplex requests to the downstream endpoints and read replicas over HTTP/2, "
+              + "negotiated by ALPN if TLS is enabled and otherwise sent as h2c. "
+              + "Defaults to disabled.",
+      arity = "0")
+  private boolean downstreamHttp2Enabled = false;
+
+  @SuppressWarnings("FieldMayBeFinal")
+  @Option(
+      names = "--downstream-http2-max-concurrent-streams",
+      description =
+          "Maximum number of concurrent requests on each HTTP/2 connection, or -1 to use the "
+              + "limit advertised by the node (default: ${DEFAULT-VALUE})",
+      paramLabel = MANDATORY_INTEGER_FORMAT_HELP,
+      arity = "1")
+  private int downstreamHttp2MaxConcurrentStreams = -1;
+
+  @SuppressWarnings("FieldMayBeFinal")
+  @Option(
+      names = "--downstream-ws-port",
+      description =
+          "WebSocket port of the node given by --downstream-http-host, over which the subscriptions "
+              + "of WebSocket clients are shared. If unset, subscription requests are passed "
+              + "through like any other request",
+      paramLabel = MANDATORY_PORT_FORMAT_HELP,
+      arity = "1")
+  private Integer downstreamWsPort;
+
   @ArgGroup(exclusive = false)
   private PicoCliClientTlsOptions clientTlsOptions;
 
@@ -153,6 +661,166 @@ public class EthSignerBaseCommand implements Config {
     return httpListenPort;
   }
 
+  @Override
+  public Optional<Path> getHttpListenSocketPath() {
+    return Optional.ofNullable(httpListenSocketPath);
+  }
+
+  @Override
+  public String getHttpListenSocketPermissions() {
+    return httpListenSocketPermissions;
+  }
+
+  @Override
+  public long getHttp2MaxConcurrentStreams() {
+    return http2MaxConcurrentStreams;
+  }
+
+  @Override
+  public int getHttp2InitialWindowSize() {
+    return http2InitialWindowSize;
+  }
+
+  @Override
+  public boolean isWebSocketEnabled() {
+    return webSocketEnabled;
+  }
+
+  @Override
+  public int getWebSocketMaxInFlightRequests() {
+    return webSocketMaxInFlightRequests;
+  }
+
+  @Override
+  public int getWebSocketSubscriptionBufferSize() {
+    return webSocketSubscriptionBufferSize;
+  }
+
+  @Override
+  public boolean isMetricsEnabled() {
+    return metricsEnabled;
+  }
+
+  @Override
+  public String getMetricsHost() {
+    return metricsHost;
+  }
+
+  @Override
+  public Integer getMetricsPort() {
+    return metricsPort;
+  }
+
+  @Override
+  public TracingExporter getTracingExporter() {
+    return tracingExporter;
+  }
+
+  @Override
+  public HostAndPort getTracingOtlpEndpoint() {
+    return tracingOtlpEndpoint;
+  }
+
+  @Override
+  public double getTracingSampleRatio() {
+    return tracingSampleRatio;
+  }
+
+  @Override
+  public boolean isServerTimingEnabled() {
+    return serverTimingEnabled;
+  }
+
+  @Override
+  public int getAdmissionMaxConcurrentRequests() {
+    return admissionMaxConcurrentRequests;
+  }
+
+  @Override
+  public int getAdmissionMaxQueuedRequests() {
+    return admissionMaxQueuedRequests;
+  }
+
+  @Override
+  public Map<String, Integer> getAdmissionMethodMaxConcurrentRequests() {
+    return admissionMethodMaxConcurrentRequests;
+  }
+
+  @Override
+  public Map<String, Integer> getAdmissionMethodMaxQueuedRequests() {
+    return admissionMethodMaxQueuedRequests;
+  }
+
+  @Override
+  public Map<String, Double> getRateLimitRequestsPerSecond() {
+    return rateLimitRequestsPerSecond;
+  }
+
+  @Override
+  public Map<String, Integer> getRateLimitBurst() {
+    return rateLimitBurst;
+  }
+
+  @Override
+  public int getTransactionMaxInFlight() {
+    return transactionMaxInFlight;
+  }
+
+  @Override
+  public int getTransactionMaxInFlightPerSender() {
+    return transactionMaxInFlightPerSender;
+  }
+
+  @Override
+  public int getTransactionMaxQueuedPerSender() {
+    return transactionMaxQueuedPerSender;
+  }
+
+  @Override
+  public Map<String, Integer> getTransactionSenderWeights() {
+    return transactionSenderWeights;
+  }
+
+  @Override
+  public int getTransactionMaxRetries() {
+    return transactionMaxRetries;
+  }
+
+  @Override
+  public Duration getTransactionRetryBaseDelay() {
+    return Duration.ofMillis(transactionRetryBaseDelay);
+  }
+
+  @Override
+  public Duration getTransactionRetryMaxDelay() {
+    return Duration.ofMillis(transactionRetryMaxDelay);
+  }
+
+  @Override
+  public double getTransactionRetryBudgetRatio() {
+    return transactionRetryBudgetRatio;
+  }
+
+  @Override
+  public long getImmutableResultCacheMaxSize() {
+    return immutableResultCacheMaxSize;
+  }
+
+  @Override
+  public boolean isLatestBlockCacheEnabled() {
+    return latestBlockCacheEnabled;
+  }
+
+  @Override
+  public Duration getLatestBlockCachePollInterval() {
+    return Duration.ofMillis(latestBlockCachePollInterval);
+  }
+
+  @Override
+  public long getLatestBlockCacheMaxSize() {
+    return latestBlockCacheMaxSize;
+  }
+
   @Override
   public ChainIdProvider getChainId() {
     return new ConfigurationChainId(chainId);
@@ -168,6 +836,86 @@ public class EthSignerBaseCommand implements Config {
     return Duration.ofMillis(downstreamHttpRequestTimeout);
   }
 
+  @Override
+  public List<HostAndPort> getDownstreamHttpAdditionalEndpoints() {
+    return downstreamHttpAdditionalEndpoints;
+  }
+
+  @Override
+  public Optional<Path> getDownstreamHttpSocketPath() {
+    return Optional.ofNullable(downstreamHttpSocketPath);
+  }
+
+  @Override
+  public LoadBalancingStrategy getDownstreamLoadBalancingStrategy() {
+    return downstreamLoadBalancingStrategy;
+  }
+
+  @Override
+  public int getDownstreamHttpMaxConnections() {
+    return downstreamHttpMaxConnections;
+  }
+
+  @Override
+  public int getDownstreamHttpMaxWaitQueueSize() {
+    return downstreamHttpMaxWaitQueueSize;
+  }
+
+  @Override
+  public int getDownstreamHttpSigningMaxConnections() {
+    return downstreamHttpSigningMaxConnections;
+  }
+
+  @Override
+  public int getDownstreamHttpSigningMaxWaitQueueSize() {
+    return downstreamHttpSigningMaxWaitQueueSize;
+  }
+
+  @Override
+  public List<HostAndPort> getDownstreamHttpReadEndpoints() {
+    return downstreamHttpReadEndpoints;
+  }
+
+  @Override
+  public Duration getDownstreamHttpReadRequestTimeout() {
+    return Duration.ofMillis(downstreamHttpReadRequestTimeout);
+  }
+
+  @Override
+  public int getDownstreamHttpReadMaxConnections() {
+    return downstreamHttpReadMaxConnections;
+  }
+
+  @Override
+  public int getDownstreamHttpReadMaxWaitQueueSize() {
+    return downstreamHttpReadMaxWaitQueueSize;
+  }
+
+  @Override
+  public Set<String> getDownstreamHttpReadMethods() {
+    return downstreamHttpReadMethods;
+  }
+
+  @Override
+  public Set<String> getDownstreamHttpWriteMethods() {
+    return downstreamHttpWriteMethods;
+  }
+
+  @Override
+  public boolean isDownstreamHttp2Enabled() {
+    return downstreamHttp2Enabled;
+  }
+
+  @Override
+  public int getDownstreamHttp2MaxConcurrentStreams() {
+    return downstreamHttp2MaxConcurrentStreams;
+  }
+
+  @Override
+  public Optional<Integer> getDownstreamWsPort() {
+    return Optional.ofNullable(downstreamWsPort);
+  }
+
   @Override
   public Optional<TlsOptions> getTlsOptions() {
     return Optional.ofNullable(picoCliTlsServerOptions);
@@ -185,8 +933,56 @@ public class EthSignerBaseCommand implements Config {
         .add("downstreamHttpHost", downstreamHttpHost)
         .add("downstreamHttpPort", downstreamHttpPort)
         .add("downstreamHttpRequestTimeout", downstreamHttpRequestTimeout)
+        .add("downstreamHttpAdditionalEndpoints", downstreamHttpAdditionalEndpoints)
+        .add("downstreamHttpSocketPath", downstreamHttpSocketPath)
+        .add("downstreamLoadBalancingStrategy", downstreamLoadBalancingStrategy)
+        .add("downstreamHttpMaxConnections", downstreamHttpMaxConnections)
+        .add("downstreamHttpMaxWaitQueueSize", downstreamHttpMaxWaitQueueSize)
+        .add("downstreamHttpSigningMaxConnections", downstreamHttpSigningMaxConnections)
+        .add("downstreamHttpSigningMaxWaitQueueSize", downstreamHttpSigningMaxWaitQueueSize)
+        .add("downstreamHttpReadEndpoints", downstreamHttpReadEndpoints)
+        .add("downstreamHttpReadRequestTimeout", downstreamHttpReadRequestTimeout)
+        .add("downstreamHttpReadMaxConnections", downstreamHttpReadMaxConnections)
+        .add("downstreamHttpReadMaxWaitQueueSize", downstreamHttpReadMaxWaitQueueSize)
+        .add("downstreamHttpReadMethods", downstreamHttpReadMethods)
+        .add("downstreamHttpWriteMethods", downstreamHttpWriteMethods)
+        .add("downstreamHttp2Enabled", downstreamHttp2Enabled)
+        .add("downstreamHttp2MaxConcurrentStreams", downstreamHttp2MaxConcurrentStreams)
+        .add("downstreamWsPort", downstreamWsPort)
         .add("httpListenHost", httpListenHost)
         .add("httpListenPort", httpListenPort)
+        .add("httpListenSocketPath", httpListenSocketPath)
+        .add("httpListenSocketPermissions", httpListenSocketPermissions)
+        .add("http2MaxConcurrentStreams", http2MaxConcurrentStreams)
+        .add("http2InitialWindowSize", http2InitialWindowSize)
+        .add("webSocketEnabled", webSocketEnabled)
+        .add("webSocketMaxInFlightRequests", webSocketMaxInFlightRequests)
+        .add("webSocketSubscriptionBufferSize", webSocketSubscriptionBufferSize)
+        .add("metricsEnabled", metricsEnabled)
+        .add("metricsHost", metricsHost)
+        .add("metricsPort", metricsPort)
+        .add("tracingExporter", tracingExporter)
+        .add("tracingOtlpEndpoint", tracingOtlpEndpoint)
+        .add("tracingSampleRatio", tracingSampleRatio)
+        .add("serverTimingEnabled", serverTimingEnabled)
+        .add("admissionMaxConcurrentRequests", admissionMaxConcurrentRequests)
+        .add("admissionMaxQueuedRequests", admissionMaxQueuedRequests)
+        .add("admissionMethodMaxConcurrentRequests", admissionMethodMaxConcurrentRequests)
+        .add("admissionMethodMaxQueuedRequests", admissionMethodMaxQueuedRequests)
+        .add("rateLimitRequestsPerSecond", rateLimitRequestsPerSecond)
+        .add("rateLimitBurst", rateLimitBurst)
+        .add("transactionMaxInFlight", transactionMaxInFlight)
+        .add("transactionMaxInFlightPerSender", transactionMaxInFlightPerSender)
+        .add("transactionMaxQueuedPerSender", transactionMaxQueuedPerSender)
+        .add("transactionSenderWeights", transactionSenderWeights)
+        .add("transactionMaxRetries", transactionMaxRetries)
+        .add("transactionRetryBaseDelay", transactionRetryBaseDelay)
+        .add("transactionRetryMaxDelay", transactionRetryMaxDelay)
+        .add("transactionRetryBudgetRatio", transactionRetryBudgetRatio)
+        .add("immutableResultCacheMaxSize", immutableResultCacheMaxSize)
+        .add("latestBlockCacheEnabled", latestBlockCacheEnabled)
+        .add("latestBlockCachePollInterval", latestBlockCachePollInterval)
+        .add("latestBlockCacheMaxSize", latestBlockCacheMaxSize)
         .add("chainId", chainId)
         .add("dataPath", dataPath)
         .add("clientTlsOptions", clientTlsOptions)
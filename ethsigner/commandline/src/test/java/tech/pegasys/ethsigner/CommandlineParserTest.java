@@ -13,6 +13,7 @@
 package tech.pegasys.ethsigner;
 
 import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.entry;
 import static tech.pegasys.ethsigner.CmdlineHelpers.modifyField;
 import static tech.pegasys.ethsigner.CmdlineHelpers.removeFieldFrom;
 import static tech.pegasys.ethsigner.CmdlineHelpers.validBaseCommandOptions;
@@ -21,16 +22,20 @@ import static tech.pegasys.ethsigner.util.CommandLineParserAssertions.parseComma
 
 import tech.pegasys.ethsigner.core.config.ClientAuthConstraints;
 import tech.pegasys.ethsigner.core.config.tls.client.ClientTlsOptions;
+import tech.pegasys.ethsigner.core.downstream.LoadBalancingStrategy;
+import tech.pegasys.ethsigner.core.tracing.TracingExporter;
 
 import java.io.File;
 import java.io.PrintWriter;
 import java.io.StringWriter;
 import java.net.InetAddress;
+import java.nio.file.Path;
 import java.time.Duration;
 import java.util.List;
 import java.util.Optional;
 import java.util.function.Supplier;
 
+import com.google.common.net.HostAndPort;
 import org.apache.logging.log4j.Level;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
@@ -335,4 +340,480 @@ class CommandlineParserTest {
     assertThat(result).isTrue();
     assertThat(config.getTlsOptions()).isEmpty();
   }
+
+  @Test
+  void additionalDownstreamEndpointsAreParsed() {
+    final String cmdLine =
+        validBaseCommandOptions()
+            + "--downstream-http-additional-endpoints=10.0.0.1:8545,node2:8546 "
+            + "--downstream-load-balancing-strategy=least_outstanding ";
+    final boolean result =
+        parser.parseCommandLine((cmdLine + subCommand.getCommandName()).split(" "));
+
+    assertThat(result).isTrue();
+    assertThat(config.getDownstreamHttpAdditionalEndpoints())
+        .containsExactly(
+            HostAndPort.fromParts("10.0.0.1", 8545), HostAndPort.fromParts("node2", 8546));
+    assertThat(config.getDownstreamLoadBalancingStrategy())
+        .isEqualTo(LoadBalancingStrategy.LEAST_OUTSTANDING);
+  }
+
+  @Test
+  void additionalDownstreamEndpointWithoutPortShowsError() {
+    final String cmdLine =
+        validBaseCommandOptions() + "--downstream-http-additional-endpoints=10.0.0.1 ";
+    final boolean result =
+        parser.parseCommandLine((cmdLine + subCommand.getCommandName()).split(" "));
+
+    assertThat(result).isFalse();
+    assertThat(commandError.toString())
+        .contains("--downstream-http-additional-endpoints", "does not specify a port");
+  }
+
+  @Test
+  void readPoolOptionsAreParsed() {
+    final String cmdLine =
+        validBaseCommandOptions()
+            + "--downstream-http-read-endpoints=replica1:8545,replica2:8545 "
+            + "--downstream-http-read-request-timeout=20000 "
+            + "--downstream-http-read-max-connections=32 "
+            + "--downstream-http-read-methods=debug_traceTransaction "
+            + "--downstream-http-write-methods=eth_getTransactionCount,eth_call ";
+    final boolean result =
+        parser.parseCommandLine((cmdLine + subCommand.getCommandName()).split(" "));
+
+    assertThat(result).isTrue();
+    assertThat(config.getDownstreamHttpReadEndpoints())
+        .containsExactly(
+            HostAndPort.fromParts("replica1", 8545), HostAndPort.fromParts("replica2", 8545));
+    assertThat(config.getDownstreamHttpReadRequestTimeout()).isEqualTo(Duration.ofSeconds(20));
+    assertThat(config.getDownstreamHttpReadMaxConnections()).isEqualTo(32);
+    assertThat(config.getDownstreamHttpReadMethods()).containsExactly("debug_traceTransaction");
+    assertThat(config.getDownstreamHttpWriteMethods())
+        .containsExactly("eth_getTransactionCount", "eth_call");
+  }
+
+  @Test
+  void nonceLookupsGoToTheWritePoolByDefault() {
+    final boolean result =
+        parser.parseCommandLine(
+            (validBaseCommandOptions() + subCommand.getCommandName()).split(" "));
+
+    assertThat(result).isTrue();
+    assertThat(config.getDownstreamHttpReadEndpoints()).isEmpty();
+    assertThat(config.getDownstreamHttpWriteMethods()).contains("eth_getTransactionCount");
+  }
+
+  @Test
+  void connectionPoolOptionsAreParsed() {
+    final String cmdLine =
+        validBaseCommandOptions()
+            + "--downstream-http-max-connections=50 "
+            + "--downstream-http-max-wait-queue-size=1000 "
+            + "--downstream-http-signing-max-connections=10 "
+            + "--downstream-http-signing-max-wait-queue-size=-1 "
+            + "--downstream-http-read-max-wait-queue-size=500 ";
+    final boolean result =
+        parser.parseCommandLine((cmdLine + subCommand.getCommandName()).split(" "));
+
+    assertThat(result).isTrue();
+    assertThat(config.getDownstreamHttpMaxConnections()).isEqualTo(50);
+    assertThat(config.getDownstreamHttpMaxWaitQueueSize()).isEqualTo(1000);
+    assertThat(config.getDownstreamHttpSigningMaxConnections()).isEqualTo(10);
+    assertThat(config.getDownstreamHttpSigningMaxWaitQueueSize()).isEqualTo(-1);
+    assertThat(config.getDownstreamHttpReadMaxWaitQueueSize()).isEqualTo(500);
+  }
+
+  @Test
+  void downstreamHttpSocketPathIsOptional() {
+    final boolean result =
+        parser.parseCommandLine(
+            (validBaseCommandOptions() + subCommand.getCommandName()).split(" "));
+
+    assertThat(result).isTrue();
+    assertThat(config.getDownstreamHttpSocketPath()).isEmpty();
+  }
+
+  @Test
+  void downstreamHttpSocketPathIsParsed() {
+    final String cmdLine =
+        validBaseCommandOptions() + "--downstream-http-socket-path=/var/run/besu/http.sock ";
+    final boolean result =
+        parser.parseCommandLine((cmdLine + subCommand.getCommandName()).split(" "));
+
+    assertThat(result).isTrue();
+    assertThat(config.getDownstreamHttpSocketPath()).contains(Path.of("/var/run/besu/http.sock"));
+  }
+
+  @Test
+  void httpListenSocketIsDisabledByDefault() {
+    final boolean result =
+        parser.parseCommandLine(
+            (validBaseCommandOptions() + subCommand.getCommandName()).split(" "));
+
+    assertThat(result).isTrue();
+    assertThat(config.getHttpListenSocketPath()).isEmpty();
+    assertThat(config.getHttpListenSocketPermissions()).isEqualTo("rw-rw----");
+  }
+
+  @Test
+  void httpListenSocketOptionsAreParsed() {
+    final String cmdLine =
+        validBaseCommandOptions()
+            + "--http-listen-socket-path=/var/run/ethsigner/http.sock "
+            + "--http-listen-socket-permissions=rw------- ";
+    final boolean result =
+        parser.parseCommandLine((cmdLine + subCommand.getCommandName()).split(" "));
+
+    assertThat(result).isTrue();
+    assertThat(config.getHttpListenSocketPath()).contains(Path.of("/var/run/ethsigner/http.sock"));
+    assertThat(config.getHttpListenSocketPermissions()).isEqualTo("rw-------");
+  }
+
+  @Test
+  void metricsAreDisabledByDefault() {
+    final boolean result =
+        parser.parseCommandLine(
+            (validBaseCommandOptions() + subCommand.getCommandName()).split(" "));
+
+    assertThat(result).isTrue();
+    assertThat(config.isMetricsEnabled()).isFalse();
+    assertThat(config.getMetricsHost()).isEqualTo("127.0.0.1");
+    assertThat(config.getMetricsPort()).isEqualTo(9546);
+  }
+
+  @Test
+  void metricsOptionsAreParsed() {
+    final String cmdLine =
+        validBaseCommandOptions() + "--metrics-enabled --metrics-host=0.0.0.0 --metrics-port=9100 ";
+    final boolean result =
+        parser.parseCommandLine((cmdLine + subCommand.getCommandName()).split(" "));
+
+    assertThat(result).isTrue();
+    assertThat(config.isMetricsEnabled()).isTrue();
+    assertThat(config.getMetricsHost()).isEqualTo("0.0.0.0");
+    assertThat(config.getMetricsPort()).isEqualTo(9100);
+  }
+
+  @Test
+  void tracingIsDisabledByDefault() {
+    final boolean result =
+        parser.parseCommandLine(
+            (validBaseCommandOptions() + subCommand.getCommandName()).split(" "));
+
+    assertThat(result).isTrue();
+    assertThat(config.getTracingExporter()).isEqualTo(TracingExporter.NONE);
+    assertThat(config.getTracingOtlpEndpoint()).isEqualTo(HostAndPort.fromParts("127.0.0.1", 4318));
+    assertThat(config.getTracingSampleRatio()).isEqualTo(0.01);
+  }
+
+  @Test
+  void tracingOptionsAreParsed() {
+    final String cmdLine =
+        validBaseCommandOptions()
+            + "--tracing-exporter=otlp "
+            + "--tracing-otlp-endpoint=collector:4319 "
+            + "--tracing-sample-ratio=0.5 ";
+    final boolean result =
+        parser.parseCommandLine((cmdLine + subCommand.getCommandName()).split(" "));
+
+    assertThat(result).isTrue();
+    assertThat(config.getTracingExporter()).isEqualTo(TracingExporter.OTLP);
+    assertThat(config.getTracingOtlpEndpoint()).isEqualTo(HostAndPort.fromParts("collector", 4319));
+    assertThat(config.getTracingSampleRatio()).isEqualTo(0.5);
+  }
+
+  @Test
+  void serverTimingIsDisabledByDefault() {
+    final boolean result =
+        parser.parseCommandLine(
+            (validBaseCommandOptions() + subCommand.getCommandName()).split(" "));
+
+    assertThat(result).isTrue();
+    assertThat(config.isServerTimingEnabled()).isFalse();
+  }
+
+  @Test
+  void serverTimingCanBeEnabled() {
+    final String cmdLine = validBaseCommandOptions() + "--server-timing-enabled ";
+    final boolean result =
+        parser.parseCommandLine((cmdLine + subCommand.getCommandName()).split(" "));
+
+    assertThat(result).isTrue();
+    assertThat(config.isServerTimingEnabled()).isTrue();
+  }
+
+  @Test
+  void admissionControlIsDisabledByDefault() {
+    final boolean result =
+        parser.parseCommandLine(
+            (validBaseCommandOptions() + subCommand.getCommandName()).split(" "));
+
+    assertThat(result).isTrue();
+    assertThat(config.getAdmissionMaxConcurrentRequests()).isEqualTo(-1);
+    assertThat(config.getAdmissionMaxQueuedRequests()).isEqualTo(1000);
+    assertThat(config.getAdmissionMethodMaxConcurrentRequests()).isEmpty();
+    assertThat(config.getAdmissionMethodMaxQueuedRequests()).isEmpty();
+  }
+
+  @Test
+  void admissionOptionsAreParsed() {
+    final String cmdLine =
+        validBaseCommandOptions()
+            + "--admission-max-concurrent-requests=64 "
+            + "--admission-max-queued-requests=256 "
+            + "--admission-method-max-concurrent-requests=eth_getLogs=4,debug_traceTransaction=1 "
+            + "--admission-method-max-queued-requests=eth_getLogs=16 ";
+    final boolean result =
+        parser.parseCommandLine((cmdLine + subCommand.getCommandName()).split(" "));
+
+    assertThat(result).isTrue();
+    assertThat(config.getAdmissionMaxConcurrentRequests()).isEqualTo(64);
+    assertThat(config.getAdmissionMaxQueuedRequests()).isEqualTo(256);
+    assertThat(config.getAdmissionMethodMaxConcurrentRequests())
+        .containsExactly(entry("eth_getLogs", 4), entry("debug_traceTransaction", 1));
+    assertThat(config.getAdmissionMethodMaxQueuedRequests())
+        .containsExactly(entry("eth_getLogs", 16));
+  }
+
+  @Test
+  void rateLimitingIsDisabledByDefault() {
+    final boolean result =
+        parser.parseCommandLine(
+            (validBaseCommandOptions() + subCommand.getCommandName()).split(" "));
+
+    assertThat(result).isTrue();
+    assertThat(config.getRateLimitRequestsPerSecond()).isEmpty();
+    assertThat(config.getRateLimitBurst()).isEmpty();
+  }
+
+  @Test
+  void rateLimitOptionsAreParsed() {
+    final String cmdLine =
+        validBaseCommandOptions()
+            + "--rate-limit-requests-per-second=transaction=2.5,pass_through=100 "
+            + "--rate-limit-burst=transaction=10 ";
+    final boolean result =
+        parser.parseCommandLine((cmdLine + subCommand.getCommandName()).split(" "));
+
+    assertThat(result).isTrue();
+    assertThat(config.getRateLimitRequestsPerSecond())
+        .containsExactly(entry("transaction", 2.5), entry("pass_through", 100.0));
+    assertThat(config.getRateLimitBurst()).containsExactly(entry("transaction", 10));
+  }
+
+  @Test
+  void limitingOptionsAreLoggedWithTheConfiguration() {
+    final String cmdLine =
+        validBaseCommandOptions()
+            + "--rate-limit-requests-per-second=transaction=2.5 "
+            + "--transaction-max-in-flight=32 "
+            + "--transaction-max-retries=3 ";
+    final boolean result =
+        parser.parseCommandLine((cmdLine + subCommand.getCommandName()).split(" "));
+
+    assertThat(result).isTrue();
+    assertThat(config.toString())
+        .contains(
+            "rateLimitRequestsPerSecond={transaction=2.5}",
+            "rateLimitBurst={}",
+            "transactionMaxInFlight=32",
+            "transactionMaxInFlightPerSender=-1",
+            "transactionMaxQueuedPerSender=1000",
+            "transactionSenderWeights={}",
+            "transactionMaxRetries=3",
+            "transactionRetryBaseDelay=10",
+            "transactionRetryMaxDelay=1000",
+            "transactionRetryBudgetRatio=0.1");
+  }
+
+  @Test
+  void senderSchedulingIsDisabledByDefault() {
+    final boolean result =
+        parser.parseCommandLine(
+            (validBaseCommandOptions() + subCommand.getCommandName()).split(" "));
+
+    assertThat(result).isTrue();
+    assertThat(config.getTransactionMaxInFlight()).isEqualTo(-1);
+    assertThat(config.getTransactionMaxInFlightPerSender()).isEqualTo(-1);
+    assertThat(config.getTransactionMaxQueuedPerSender()).isEqualTo(1000);
+    assertThat(config.getTransactionSenderWeights()).isEmpty();
+  }
+
+  @Test
+  void senderSchedulingOptionsAreParsed() {
+    final String cmdLine =
+        validBaseCommandOptions()
+            + "--transaction-max-in-flight=32 "
+            + "--transaction-max-in-flight-per-sender=16 "
+            + "--transaction-max-queued-per-sender=64 "
+            + "--transaction-sender-weights=0x7577919ae5df4941180eac211965f275cdce314d=4 ";
+    final boolean result =
+        parser.parseCommandLine((cmdLine + subCommand.getCommandName()).split(" "));
+
+    assertThat(result).isTrue();
+    assertThat(config.getTransactionMaxInFlight()).isEqualTo(32);
+    assertThat(config.getTransactionMaxInFlightPerSender()).isEqualTo(16);
+    assertThat(config.getTransactionMaxQueuedPerSender()).isEqualTo(64);
+    assertThat(config.getTransactionSenderWeights())
+        .containsExactly(entry("0x7577919ae5df4941180eac211965f275cdce314d", 4));
+  }
+
+  @Test
+  void transactionRetryDefaultsAreApplied() {
+    final boolean result =
+        parser.parseCommandLine(
+            (validBaseCommandOptions() + subCommand.getCommandName()).split(" "));
+
+    assertThat(result).isTrue();
+    assertThat(config.getTransactionMaxRetries()).isEqualTo(5);
+    assertThat(config.getTransactionRetryBaseDelay()).isEqualTo(Duration.ofMillis(10));
+    assertThat(config.getTransactionRetryMaxDelay()).isEqualTo(Duration.ofSeconds(1));
+    assertThat(config.getTransactionRetryBudgetRatio()).isEqualTo(0.1);
+  }
+
+  @Test
+  void transactionRetryOptionsAreParsed() {
+    final String cmdLine =
+        validBaseCommandOptions()
+            + "--transaction-max-retries=3 "
+            + "--transaction-retry-base-delay=50 "
+            + "--transaction-retry-max-delay=2000 "
+            + "--transaction-retry-budget-ratio=0.25 ";
+    final boolean result =
+        parser.parseCommandLine((cmdLine + subCommand.getCommandName()).split(" "));
+
+    assertThat(result).isTrue();
+    assertThat(config.getTransactionMaxRetries()).isEqualTo(3);
+    assertThat(config.getTransactionRetryBaseDelay()).isEqualTo(Duration.ofMillis(50));
+    assertThat(config.getTransactionRetryMaxDelay()).isEqualTo(Duration.ofSeconds(2));
+    assertThat(config.getTransactionRetryBudgetRatio()).isEqualTo(0.25);
+  }
+
+  @Test
+  void immutableResultCacheSizeDefaultIsApplied() {
+    final boolean result =
+        parser.parseCommandLine(
+            (validBaseCommandOptions() + subCommand.getCommandName()).split(" "));
+
+    assertThat(result).isTrue();
+    assertThat(config.getImmutableResultCacheMaxSize()).isEqualTo(64L * 1024 * 1024);
+  }
+
+  @Test
+  void immutableResultCacheCanBeDisabled() {
+    final String cmdLine = validBaseCommandOptions() + "--immutable-result-cache-max-size=0 ";
+    final boolean result =
+        parser.parseCommandLine((cmdLine + subCommand.getCommandName()).split(" "));
+
+    assertThat(result).isTrue();
+    assertThat(config.getImmutableResultCacheMaxSize()).isZero();
+  }
+
+  @Test
+  void latestBlockCacheIsOptIn() {
+    final boolean result =
+        parser.parseCommandLine(
+            (validBaseCommandOptions() + subCommand.getCommandName()).split(" "));
+
+    assertThat(result).isTrue();
+    assertThat(config.isLatestBlockCacheEnabled()).isFalse();
+    assertThat(config.getLatestBlockCachePollInterval()).isEqualTo(Duration.ofSeconds(1));
+    assertThat(config.getLatestBlockCacheMaxSize()).isEqualTo(8L * 1024 * 1024);
+  }
+
+  @Test
+  void latestBlockCacheOptionsAreParsed() {
+    final String cmdLine =
+        validBaseCommandOptions()
+            + "--latest-block-cache-enabled "
+            + "--latest-block-cache-poll-interval=250 "
+            + "--latest-block-cache-max-size=1048576 ";
+    final boolean result =
+        parser.parseCommandLine((cmdLine + subCommand.getCommandName()).split(" "));
+
+    assertThat(result).isTrue();
+    assertThat(config.isLatestBlockCacheEnabled()).isTrue();
+    assertThat(config.getLatestBlockCachePollInterval()).isEqualTo(Duration.ofMillis(250));
+    assertThat(config.getLatestBlockCacheMaxSize()).isEqualTo(1048576);
+  }
+
+  @Test
+  void http2ToTheDownstreamNodeIsOptIn() {
+    final boolean result =
+        parser.parseCommandLine(
+            (validBaseCommandOptions() + subCommand.getCommandName()).split(" "));
+
+    assertThat(result).isTrue();
+    assertThat(config.isDownstreamHttp2Enabled()).isFalse();
+    assertThat(config.getDownstreamHttp2MaxConcurrentStreams()).isEqualTo(-1);
+  }
+
+  @Test
+  void http2OptionsAreParsed() {
+    final String cmdLine =
+        validBaseCommandOptions()
+            + "--downstream-http2-enabled "
+            + "--downstream-http2-max-concurrent-streams=100 ";
+    final boolean result =
+        parser.parseCommandLine((cmdLine + subCommand.getCommandName()).split(" "));
+
+    assertThat(result).isTrue();
+    assertThat(config.isDownstreamHttp2Enabled()).isTrue();
+    assertThat(config.getDownstreamHttp2MaxConcurrentStreams()).isEqualTo(100);
+  }
+
+  @Test
+  void http2ServerSettingsDefaultToTheProtocolDefaults() {
+    final boolean result =
+        parser.parseCommandLine(
+            (validBaseCommandOptions() + subCommand.getCommandName()).split(" "));
+
+    assertThat(result).isTrue();
+    assertThat(config.getHttp2MaxConcurrentStreams()).isEqualTo(100);
+    assertThat(config.getHttp2InitialWindowSize()).isEqualTo(65535);
+  }
+
+  @Test
+  void http2ServerSettingsAreParsed() {
+    final String cmdLine =
+        validBaseCommandOptions()
+            + "--http2-max-concurrent-streams=1000 "
+            + "--http2-initial-window-size=1048576 ";
+    final boolean result =
+        parser.parseCommandLine((cmdLine + subCommand.getCommandName()).split(" "));
+
+    assertThat(result).isTrue();
+    assertThat(config.getHttp2MaxConcurrentStreams()).isEqualTo(1000);
+    assertThat(config.getHttp2InitialWindowSize()).isEqualTo(1048576);
+  }
+
+  @Test
+  void webSocketIsDisabledByDefault() {
+    final boolean result =
+        parser.parseCommandLine(
+            (validBaseCommandOptions() + subCommand.getCommandName()).split(" "));
+
+    assertThat(result).isTrue();
+    assertThat(config.isWebSocketEnabled()).isFalse();
+    assertThat(config.getWebSocketMaxInFlightRequests()).isEqualTo(100);
+    assertThat(config.getWebSocketSubscriptionBufferSize()).isEqualTo(256);
+    assertThat(config.getDownstreamWsPort()).isEmpty();
+  }
+
+  @Test
+  void webSocketOptionsAreParsed() {
+    final String cmdLine =
+        validBaseCommandOptions()
+            + "--ws-enabled --ws-max-in-flight-requests=20 "
+            + "--ws-subscription-buffer-size=64 --downstream-ws-port=8546 ";
+    final boolean result =
+        parser.parseCommandLine((cmdLine + subCommand.getCommandName()).split(" "));
+
+    assertThat(result).isTrue();
+    assertThat(config.isWebSocketEnabled()).isTrue();
+    assertThat(config.getWebSocketMaxInFlightRequests()).isEqualTo(20);
+    assertThat(config.getWebSocketSubscriptionBufferSize()).isEqualTo(64);
+    assertThat(config.getDownstreamWsPort()).contains(8546);
+  }
 }
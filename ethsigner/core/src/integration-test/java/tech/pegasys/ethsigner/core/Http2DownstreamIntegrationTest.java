@@ -0,0 +1,254 @@
+/*
+ * Copyright 2020 ConsenSys AG.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on
+ * an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations under the License.
+ */
+package tech.pegasys.ethsigner.core;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+import static tech.pegasys.ethsigner.core.RunnerTestSupport.fingerprint;
+import static tech.pegasys.ethsigner.core.RunnerTestSupport.resourcePath;
+
+import tech.pegasys.ethsigner.core.config.Config;
+import tech.pegasys.ethsigner.core.config.KeyStoreOptions;
+import tech.pegasys.ethsigner.core.config.tls.client.ClientTlsOptions;
+import tech.pegasys.ethsigner.core.downstream.DownstreamPoolOptions;
+import tech.pegasys.ethsigner.core.downstream.LoadBalancingStrategy;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+
+import io.netty.handler.codec.http.HttpHeaderNames;
+import io.netty.handler.codec.http.HttpHeaderValues;
+import io.vertx.core.MultiMap;
+import io.vertx.core.Vertx;
+import io.vertx.core.buffer.Buffer;
+import io.vertx.core.http.HttpClientRequest;
+import io.vertx.core.http.HttpServer;
+import io.vertx.core.http.HttpServerOptions;
+import io.vertx.core.http.HttpServerRequest;
+import io.vertx.core.http.HttpVersion;
+import io.vertx.core.net.PfxOptions;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+/**
+ * Drives requests through EthSigner to a stub node with the downstream HTTP/2 options enabled: h2c
+ * with prior knowledge when the node is plaintext, and ALPN over TLS, falling back to HTTP/1.1 when
+ * the node does not offer h2.
+ */
+class Http2DownstreamIntegrationTest {
+
+  private static final String LOCALHOST = "127.0.0.1";
+  private static final Duration DOWNSTREAM_TIMEOUT = Duration.ofSeconds(5);
+  private static final long RESPONSE_TIMEOUT_SECONDS = 10;
+  private static final String NODE_CERT = "tls/cert1.pfx";
+  private static final String NODE_CERT_PASSWORD = "password";
+  private static final Buffer PEER_COUNT_REQUEST =
+      Buffer.buffer("{\"jsonrpc\":\"2.0\",\"method\":\"net_peerCount\",\"params\":[],\"id\":1}");
+  private static final String PEER_COUNT_RESPONSE =
+      "{\"jsonrpc\":\"2.0\",\"id\":1,\"result\":\"0x2\"}";
+
+  @TempDir Path tempDir;
+
+  private final CompletableFuture<ReceivedRequest> nodeRequest = new CompletableFuture<>();
+  private Vertx vertx;
+
+  @BeforeEach
+  void createVertx() {
+    vertx = Vertx.vertx();
+  }
+
+  @AfterEach
+  void closeVertx() {
+    vertx.close();
+  }
+
+  @Test
+  void clearTextNodeIsSentHttp2WithPriorKnowledge() throws Exception {
+    final int nodePort = startStubNode(new HttpServerOptions().setHost(LOCALHOST).setPort(0));
+    final int ethSignerPort = startEthSigner(config(nodePort, Optional.empty()));
+
+    post(ethSignerPort);
+
+    assertThat(receivedRequest().version).isEqualTo(HttpVersion.HTTP_2);
+  }
+
+  @Test
+  void tlsNodeOfferingH2IsSentHttp2() throws Exception {
+    final int nodePort = startStubNode(tlsServerOptions().setUseAlpn(true));
+    final int ethSignerPort = startEthSigner(config(nodePort, Optional.of(tlsOptions(nodePort))));
+
+    post(ethSignerPort);
+
+    assertThat(receivedRequest().version).isEqualTo(HttpVersion.HTTP_2);
+  }
+
+  @Test
+  void tlsNodeWithoutAlpnIsSentHttp1() throws Exception {
+    final int nodePort = startStubNode(tlsServerOptions().setUseAlpn(false));
+    final int ethSignerPort = startEthSigner(config(nodePort, Optional.of(tlsOptions(nodePort))));
+
+    post(ethSignerPort);
+
+    assertThat(receivedRequest().version).isEqualTo(HttpVersion.HTTP_1_1);
+  }
+
+  @Test
+  void hopByHopHeadersOfClientAreNotForwardedToHttp2Node() throws Exception {
+    final int nodePort = startStubNode(new HttpServerOptions().setHost(LOCALHOST).setPort(0));
+    final int ethSignerPort = startEthSigner(config(nodePort, Optional.empty()));
+
+    post(
+        ethSignerPort,
+        MultiMap.caseInsensitiveMultiMap()
+            .add(HttpHeaderNames.CONNECTION, "keep-alive, X-Hop")
+            .add(HttpHeaderNames.KEEP_ALIVE, "timeout=5")
+            .add("X-Hop", "1")
+            .add("X-End-To-End", "2"));
+
+    final ReceivedRequest received = receivedRequest();
+    assertThat(received.version).isEqualTo(HttpVersion.HTTP_2);
+    assertThat(received.headers.contains(HttpHeaderNames.CONNECTION)).isFalse();
+    assertThat(received.headers.contains(HttpHeaderNames.KEEP_ALIVE)).isFalse();
+    assertThat(received.headers.contains("X-Hop")).isFalse();
+    assertThat(received.headers.get("X-End-To-End")).isEqualTo("2");
+  }
+
+  private Config config(final int nodePort, final Optional<ClientTlsOptions> clientTlsOptions) {
+    final Config config = mock(Config.class);
+    when(config.getDownstreamHttpHost()).thenReturn(LOCALHOST);
+    when(config.getDownstreamHttpPort()).thenReturn(nodePort);
+    when(config.getDownstreamHttpMaxConnections()).thenReturn(10);
+    when(config.getDownstreamHttpMaxWaitQueueSize()).thenReturn(-1);
+    when(config.isDownstreamHttp2Enabled()).thenReturn(true);
+    when(config.getDownstreamHttp2MaxConcurrentStreams()).thenReturn(100);
+    when(config.getClientTlsOptions()).thenReturn(clientTlsOptions);
+    return config;
+  }
+
+  private ClientTlsOptions tlsOptions(final int nodePort) throws Exception {
+    final String fingerprint = fingerprint(resourcePath(NODE_CERT), NODE_CERT_PASSWORD);
+    final Path knownServersFile = tempDir.resolve("known_servers");
+    Files.writeString(
+        knownServersFile,
+        String.format(
+            "localhost:%d %s%n%s:%d %s%n",
+            nodePort, fingerprint, LOCALHOST, nodePort, fingerprint));
+    return new ClientTlsOptions() {
+      @Override
+      public Optional<KeyStoreOptions> getKeyStoreOptions() {
+        return Optional.empty();
+      }
+
+      @Override
+      public Optional<Path> getKnownServersFile() {
+        return Optional.of(knownServersFile);
+      }
+
+      @Override
+      public boolean isCaAuthEnabled() {
+        return false;
+      }
+    };
+  }
+
+  private HttpServerOptions tlsServerOptions() {
+    return new HttpServerOptions()
+        .setHost(LOCALHOST)
+        .setPort(0)
+        .setSsl(true)
+        .setPfxKeyCertOptions(
+            new PfxOptions()
+                .setPath(resourcePath(NODE_CERT).toString())
+                .setPassword(NODE_CERT_PASSWORD));
+  }
+
+  private int startStubNode(final HttpServerOptions serverOptions) throws Exception {
+    final CompletableFuture<HttpServer> listening = new CompletableFuture<>();
+    vertx
+        .createHttpServer(serverOptions)
+        .requestHandler(
+            request -> {
+              nodeRequest.complete(new ReceivedRequest(request));
+              request
+                  .response()
+                  .putHeader(HttpHeaderNames.CONTENT_TYPE, HttpHeaderValues.APPLICATION_JSON)
+                  .end(PEER_COUNT_RESPONSE);
+            })
+        .listen(
+            result -> {
+              if (result.succeeded()) {
+                listening.complete(result.result());
+              } else {
+                listening.completeExceptionally(result.cause());
+              }
+            });
+    return listening.get(RESPONSE_TIMEOUT_SECONDS, TimeUnit.SECONDS).actualPort();
+  }
+
+  private int startEthSigner(final Config config) throws Exception {
+    final DownstreamPoolOptions downstreamPoolOptions =
+        new DownstreamPoolOptions(
+            new WebClientOptionsFactory().createWebClientOptions(config),
+            LoadBalancingStrategy.LEAST_OUTSTANDING,
+            DOWNSTREAM_TIMEOUT);
+    return RunnerTestSupport.startEthSigner(
+        vertx,
+        downstreamPoolOptions,
+        new HttpServerOptions().setHost(LOCALHOST).setPort(0),
+        Files.createDirectory(tempDir.resolve("ethsigner")));
+  }
+
+  private void post(final int ethSignerPort) throws Exception {
+    post(ethSignerPort, MultiMap.caseInsensitiveMultiMap());
+  }
+
+  private void post(final int ethSignerPort, final MultiMap headers) throws Exception {
+    final CompletableFuture<Buffer> responseBody = new CompletableFuture<>();
+    final HttpClientRequest request =
+        vertx
+            .createHttpClient()
+            .post(
+                ethSignerPort,
+                LOCALHOST,
+                "/",
+                response -> response.bodyHandler(responseBody::complete));
+    request.exceptionHandler(responseBody::completeExceptionally);
+    request.headers().addAll(headers);
+    request.putHeader(HttpHeaderNames.CONTENT_TYPE, HttpHeaderValues.APPLICATION_JSON);
+    request.end(PEER_COUNT_REQUEST);
+    assertThat(responseBody.get(RESPONSE_TIMEOUT_SECONDS, TimeUnit.SECONDS).toString())
+        .isEqualTo(PEER_COUNT_RESPONSE);
+  }
+
+  private ReceivedRequest receivedRequest() throws Exception {
+    return nodeRequest.get(RESPONSE_TIMEOUT_SECONDS, TimeUnit.SECONDS);
+  }
+
+  private static class ReceivedRequest {
+
+    private final HttpVersion version;
+    private final MultiMap headers;
+
+    ReceivedRequest(final HttpServerRequest request) {
+      this.version = request.version();
+      this.headers = MultiMap.caseInsensitiveMultiMap().addAll(request.headers());
+    }
+  }
+}
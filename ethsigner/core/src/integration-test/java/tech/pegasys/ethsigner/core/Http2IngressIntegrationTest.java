@@ -0,0 +1,304 @@
+/*
+ * Copyright 2020 ConsenSys AG.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on
+ * an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations under the License.
+ */
+package tech.pegasys.ethsigner.core;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static tech.pegasys.ethsigner.core.RunnerTestSupport.fingerprint;
+import static tech.pegasys.ethsigner.core.RunnerTestSupport.resourcePath;
+
+import tech.pegasys.ethsigner.core.config.ClientAuthConstraints;
+import tech.pegasys.ethsigner.core.config.TlsOptions;
+import tech.pegasys.ethsigner.core.downstream.DownstreamPoolOptions;
+import tech.pegasys.ethsigner.core.downstream.LoadBalancingStrategy;
+
+import java.io.File;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+
+import io.netty.handler.codec.http.HttpHeaderNames;
+import io.netty.handler.codec.http.HttpHeaderValues;
+import io.vertx.core.Vertx;
+import io.vertx.core.buffer.Buffer;
+import io.vertx.core.http.HttpClient;
+import io.vertx.core.http.HttpClientOptions;
+import io.vertx.core.http.HttpClientRequest;
+import io.vertx.core.http.HttpClientResponse;
+import io.vertx.core.http.HttpServer;
+import io.vertx.core.http.HttpServerOptions;
+import io.vertx.core.http.HttpVersion;
+import io.vertx.core.net.PfxOptions;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+/**
+ * Drives EthSigner's ingress with HTTP/2 clients: h2 negotiated via ALPN on a TLS listener that
+ * only admits whitelisted client certificates, and h2c with prior knowledge on a plaintext one.
+ */
+class Http2IngressIntegrationTest {
+
+  private static final String LOCALHOST = "127.0.0.1";
+  private static final Duration DOWNSTREAM_TIMEOUT = Duration.ofSeconds(5);
+  private static final long RESPONSE_TIMEOUT_SECONDS = 10;
+  private static final String SERVER_CERT = "tls/cert1.pfx";
+  private static final String SERVER_CERT_PASSWORD = "password";
+  private static final String UNKNOWN_CLIENT_CERT = "tls/cert2.pfx";
+  private static final String UNKNOWN_CLIENT_CERT_PASSWORD = "password2";
+  private static final Buffer CHAIN_ID_REQUEST =
+      Buffer.buffer("{\"jsonrpc\":\"2.0\",\"method\":\"eth_chainId\",\"params\":[],\"id\":1}");
+  private static final Buffer PEER_COUNT_REQUEST =
+      Buffer.buffer("{\"jsonrpc\":\"2.0\",\"method\":\"net_peerCount\",\"params\":[],\"id\":1}");
+  private static final String PEER_COUNT_RESPONSE =
+      "{\"jsonrpc\":\"2.0\",\"id\":1,\"result\":\"0x2\"}";
+
+  @TempDir static Path tempDir;
+
+  private static Vertx vertx;
+  private static int tlsPort;
+  private static int clearTextPort;
+
+  private HttpClient client;
+
+  @BeforeAll
+  static void startEthSigners() throws Exception {
+    vertx = Vertx.vertx();
+    final int stubNodePort = startStubNode();
+
+    final Path knownClientsFile = tempDir.resolve("known_clients");
+    final String fingerprint = fingerprint(resourcePath(SERVER_CERT), SERVER_CERT_PASSWORD);
+    Files.writeString(
+        knownClientsFile, String.format("localhost %s%n127.0.0.1 %s%n", fingerprint, fingerprint));
+    final Path passwordFile = tempDir.resolve("keystore_password");
+    Files.writeString(passwordFile, SERVER_CERT_PASSWORD);
+    final TlsOptions tlsOptions =
+        new StaticTlsOptions(
+            resourcePath(SERVER_CERT).toFile(),
+            passwordFile.toFile(),
+            new StaticClientAuthConstraints(knownClientsFile.toFile()));
+
+    tlsPort =
+        startEthSigner(
+            stubNodePort,
+            EthSigner.applyTlsOptions(
+                new HttpServerOptions().setHost(LOCALHOST).setPort(0), Optional.of(tlsOptions)),
+            Files.createDirectory(tempDir.resolve("tls")));
+    clearTextPort =
+        startEthSigner(
+            stubNodePort,
+            new HttpServerOptions().setHost(LOCALHOST).setPort(0),
+            Files.createDirectory(tempDir.resolve("clear-text")));
+  }
+
+  @AfterAll
+  static void stopEthSigners() {
+    vertx.close();
+    vertx = null;
+  }
+
+  @AfterEach
+  void closeClient() {
+    if (client != null) {
+      client.close();
+    }
+  }
+
+  @Test
+  void whitelistedClientNegotiatesHttp2OverTls() throws Exception {
+    client = vertx.createHttpClient(tlsClientOptions(SERVER_CERT, SERVER_CERT_PASSWORD));
+
+    final HttpClientResponse response = post(CHAIN_ID_REQUEST);
+
+    assertThat(response.version()).isEqualTo(HttpVersion.HTTP_2);
+    assertThat(response.statusCode()).isEqualTo(200);
+  }
+
+  @Test
+  void http1ClientIsStillServedOverTls() throws Exception {
+    client =
+        vertx.createHttpClient(
+            tlsClientOptions(SERVER_CERT, SERVER_CERT_PASSWORD)
+                .setProtocolVersion(HttpVersion.HTTP_1_1));
+
+    final HttpClientResponse response = post(CHAIN_ID_REQUEST);
+
+    assertThat(response.version()).isEqualTo(HttpVersion.HTTP_1_1);
+    assertThat(response.statusCode()).isEqualTo(200);
+  }
+
+  @Test
+  void clientNotInWhitelistIsRejectedOverHttp2() {
+    client =
+        vertx.createHttpClient(tlsClientOptions(UNKNOWN_CLIENT_CERT, UNKNOWN_CLIENT_CERT_PASSWORD));
+
+    assertThatThrownBy(() -> post(CHAIN_ID_REQUEST)).isInstanceOf(ExecutionException.class);
+  }
+
+  @Test
+  void clearTextClientWithPriorKnowledgeIsServedOverHttp2() throws Exception {
+    client =
+        vertx.createHttpClient(
+            new HttpClientOptions()
+                .setDefaultHost(LOCALHOST)
+                .setDefaultPort(clearTextPort)
+                .setProtocolVersion(HttpVersion.HTTP_2)
+                .setHttp2ClearTextUpgrade(false));
+
+    final HttpClientResponse response = post(CHAIN_ID_REQUEST);
+
+    assertThat(response.version()).isEqualTo(HttpVersion.HTTP_2);
+    assertThat(response.statusCode()).isEqualTo(200);
+  }
+
+  @Test
+  void connectionSpecificHeadersOfNodeAreNotForwardedToHttp2Client() throws Exception {
+    client = vertx.createHttpClient(tlsClientOptions(SERVER_CERT, SERVER_CERT_PASSWORD));
+
+    final CompletableFuture<Buffer> body = new CompletableFuture<>();
+    final HttpClientResponse response = post(PEER_COUNT_REQUEST, body);
+
+    assertThat(response.version()).isEqualTo(HttpVersion.HTTP_2);
+    assertThat(response.statusCode()).isEqualTo(200);
+    assertThat(response.headers().contains(HttpHeaderNames.CONNECTION)).isFalse();
+    assertThat(response.headers().contains(HttpHeaderNames.KEEP_ALIVE)).isFalse();
+    assertThat(body.get(RESPONSE_TIMEOUT_SECONDS, TimeUnit.SECONDS).toString())
+        .isEqualTo(PEER_COUNT_RESPONSE);
+  }
+
+  private HttpClientOptions tlsClientOptions(final String keyCert, final String password) {
+    return new HttpClientOptions()
+        .setDefaultHost(LOCALHOST)
+        .setDefaultPort(tlsPort)
+        .setProtocolVersion(HttpVersion.HTTP_2)
+        .setSsl(true)
+        .setUseAlpn(true)
+        .setTrustOptions(
+            new PfxOptions()
+                .setPath(resourcePath(SERVER_CERT).toString())
+                .setPassword(SERVER_CERT_PASSWORD))
+        .setPfxKeyCertOptions(
+            new PfxOptions().setPath(resourcePath(keyCert).toString()).setPassword(password));
+  }
+
+  private HttpClientResponse post(final Buffer body) throws Exception {
+    return post(body, new CompletableFuture<>());
+  }
+
+  private HttpClientResponse post(final Buffer body, final CompletableFuture<Buffer> responseBody)
+      throws Exception {
+    final CompletableFuture<HttpClientResponse> response = new CompletableFuture<>();
+    final HttpClientRequest request =
+        client.post(
+            "/",
+            result -> {
+              result.bodyHandler(responseBody::complete);
+              response.complete(result);
+            });
+    request.exceptionHandler(response::completeExceptionally);
+    request.putHeader(HttpHeaderNames.CONTENT_TYPE, HttpHeaderValues.APPLICATION_JSON);
+    request.end(body);
+    return response.get(RESPONSE_TIMEOUT_SECONDS, TimeUnit.SECONDS);
+  }
+
+  private static int startStubNode() throws Exception {
+    final CompletableFuture<HttpServer> listening = new CompletableFuture<>();
+    vertx
+        .createHttpServer(new HttpServerOptions().setHost(LOCALHOST).setPort(0))
+        .requestHandler(
+            request ->
+                request
+                    .response()
+                    .putHeader(HttpHeaderNames.CONTENT_TYPE, HttpHeaderValues.APPLICATION_JSON)
+                    .putHeader(HttpHeaderNames.CONNECTION, HttpHeaderValues.KEEP_ALIVE)
+                    .putHeader(HttpHeaderNames.KEEP_ALIVE, "timeout=5")
+                    .end(PEER_COUNT_RESPONSE))
+        .listen(
+            result -> {
+              if (result.succeeded()) {
+                listening.complete(result.result());
+              } else {
+                listening.completeExceptionally(result.cause());
+              }
+            });
+    return listening.get(RESPONSE_TIMEOUT_SECONDS, TimeUnit.SECONDS).actualPort();
+  }
+
+  private static int startEthSigner(
+      final int stubNodePort, final HttpServerOptions serverOptions, final Path dataPath)
+      throws Exception {
+    final DownstreamPoolOptions downstreamPoolOptions =
+        new DownstreamPoolOptions(
+            List.of(new HttpClientOptions().setDefaultHost(LOCALHOST).setDefaultPort(stubNodePort)),
+            LoadBalancingStrategy.LEAST_OUTSTANDING,
+            DOWNSTREAM_TIMEOUT);
+    return RunnerTestSupport.startEthSigner(vertx, downstreamPoolOptions, serverOptions, dataPath);
+  }
+
+  private static class StaticTlsOptions implements TlsOptions {
+
+    private final File keyStoreFile;
+    private final File keyStorePasswordFile;
+    private final ClientAuthConstraints clientAuthConstraints;
+
+    StaticTlsOptions(
+        final File keyStoreFile,
+        final File keyStorePasswordFile,
+        final ClientAuthConstraints clientAuthConstraints) {
+      this.keyStoreFile = keyStoreFile;
+      this.keyStorePasswordFile = keyStorePasswordFile;
+      this.clientAuthConstraints = clientAuthConstraints;
+    }
+
+    @Override
+    public File getKeyStoreFile() {
+      return keyStoreFile;
+    }
+
+    @Override
+    public File getKeyStorePasswordFile() {
+      return keyStorePasswordFile;
+    }
+
+    @Override
+    public Optional<ClientAuthConstraints> getClientAuthConstraints() {
+      return Optional.of(clientAuthConstraints);
+    }
+  }
+
+  private static class StaticClientAuthConstraints implements ClientAuthConstraints {
+
+    private final File knownClientsFile;
+
+    StaticClientAuthConstraints(final File knownClientsFile) {
+      this.knownClientsFile = knownClientsFile;
+    }
+
+    @Override
+    public Optional<File> getKnownClientsFile() {
+      return Optional.of(knownClientsFile);
+    }
+
+    @Override
+    public boolean isCaAuthorizedClientAllowed() {
+      return false;
+    }
+  }
+}
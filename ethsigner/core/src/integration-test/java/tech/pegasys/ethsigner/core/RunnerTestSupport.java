@@ -0,0 +1,125 @@
+/*
+ * Copyright 2020 ConsenSys AG.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on
+ * an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations under the License.
+ */
+package tech.pegasys.ethsigner.core;
+
+import tech.pegasys.ethsigner.core.downstream.DownstreamPoolOptions;
+import tech.pegasys.ethsigner.core.requesthandler.passthrough.cache.ResultCacheOptions;
+import tech.pegasys.ethsigner.core.requesthandler.sendtransaction.RetryPolicyOptions;
+import tech.pegasys.ethsigner.core.signing.TransactionSigner;
+import tech.pegasys.ethsigner.core.signing.TransactionSignerProvider;
+import tech.pegasys.ethsigner.core.tracing.Tracer;
+
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.InputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.security.KeyStore;
+import java.security.MessageDigest;
+import java.security.cert.X509Certificate;
+import java.util.Collections;
+import java.util.Optional;
+import java.util.Properties;
+import java.util.Set;
+import java.util.StringJoiner;
+import java.util.concurrent.TimeUnit;
+
+import com.google.common.io.Resources;
+import io.vertx.core.Vertx;
+import io.vertx.core.http.HttpServerOptions;
+import org.awaitility.Awaitility;
+
+/** Starts an EthSigner without signers in-process, and locates the test certificates it uses. */
+class RunnerTestSupport {
+
+  private static final long CHAIN_ID = 2018;
+
+  /** @return the port EthSigner is serving JSON-RPC on. */
+  static int startEthSigner(
+      final Vertx vertx,
+      final DownstreamPoolOptions downstreamPoolOptions,
+      final HttpServerOptions serverOptions,
+      final Path dataPath)
+      throws Exception {
+    new Runner(
+            CHAIN_ID,
+            new NoSignersProvider(),
+            downstreamPoolOptions,
+            downstreamPoolOptions,
+            Optional.empty(),
+            Collections.emptySet(),
+            Collections.emptySet(),
+            serverOptions,
+            Optional.empty(),
+            Optional.empty(),
+            Tracer.DISABLED,
+            false,
+            Optional.empty(),
+            Optional.empty(),
+            Optional.empty(),
+            RetryPolicyOptions.DEFAULT,
+            ResultCacheOptions.DEFAULT,
+            Optional.empty(),
+            EthSigner.createJsonDecoder(),
+            dataPath,
+            vertx)
+        .start();
+
+    final File portsFile = dataPath.resolve("ethsigner.ports").toFile();
+    Awaitility.waitAtMost(30, TimeUnit.SECONDS)
+        .until(() -> portsFile.exists() && portsFile.length() > 0);
+    final Properties ports = new Properties();
+    try (final InputStream portsStream = new FileInputStream(portsFile)) {
+      ports.load(portsStream);
+    }
+    return Integer.parseInt(ports.getProperty("http-jsonrpc"));
+  }
+
+  static Path resourcePath(final String resource) {
+    try {
+      return Paths.get(Resources.getResource(resource).toURI());
+    } catch (final Exception e) {
+      throw new IllegalStateException("Unable to locate " + resource, e);
+    }
+  }
+
+  /** @return the SHA-256 fingerprint of the keystore's certificate, as a whitelist expects it. */
+  static String fingerprint(final Path keyStore, final String password) throws Exception {
+    final KeyStore store = KeyStore.getInstance("PKCS12");
+    try (final InputStream keyStoreStream = Files.newInputStream(keyStore)) {
+      store.load(keyStoreStream, password.toCharArray());
+    }
+    final X509Certificate certificate =
+        (X509Certificate) store.getCertificate(store.aliases().nextElement());
+    final byte[] digest = MessageDigest.getInstance("SHA-256").digest(certificate.getEncoded());
+    final StringJoiner joiner = new StringJoiner(":");
+    for (final byte b : digest) {
+      joiner.add(String.format("%02x", b));
+    }
+    return joiner.toString();
+  }
+
+  private static class NoSignersProvider implements TransactionSignerProvider {
+
+    @Override
+    public Optional<TransactionSigner> getSigner(final String address) {
+      return Optional.empty();
+    }
+
+    @Override
+    public Set<String> availableAddresses() {
+      return Collections.emptySet();
+    }
+  }
+}
@@ -0,0 +1,188 @@
+/*
+ * Copyright 2020 ConsenSys AG.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on
+ * an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations under the License.
+ */
+package tech.pegasys.ethsigner.core.http;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.junit.jupiter.api.Assumptions.assumeTrue;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.attribute.PosixFilePermissions;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+import io.vertx.core.Vertx;
+import io.vertx.core.VertxOptions;
+import io.vertx.core.buffer.Buffer;
+import io.vertx.core.http.HttpClientRequest;
+import io.vertx.core.http.HttpMethod;
+import io.vertx.core.http.HttpServer;
+import io.vertx.core.http.HttpServerOptions;
+import io.vertx.core.net.SocketAddress;
+import io.vertx.ext.web.Router;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+class DomainSocketServerServiceIntegrationTest {
+
+  private static final long TIMEOUT_SECONDS = 10;
+  private static final String PERMISSIONS = "rw-------";
+  private static final String UP = "I'm up!";
+
+  @TempDir Path tempDir;
+
+  private Vertx vertx;
+  private Path socketDirectory;
+  private Path socketPath;
+
+  @BeforeEach
+  void createVertx() throws Exception {
+    vertx = Vertx.vertx(new VertxOptions().setPreferNativeTransport(true));
+    assumeTrue(vertx.isNativeTransportEnabled(), "Native transport is unavailable");
+    socketDirectory =
+        Files.createDirectory(
+            tempDir.resolve("sockets"),
+            PosixFilePermissions.asFileAttribute(PosixFilePermissions.fromString("rwxr-xr-x")));
+    socketPath = socketDirectory.resolve("ethsigner.sock");
+  }
+
+  @AfterEach
+  void closeVertx() {
+    vertx.close();
+  }
+
+  @Test
+  void socketIsPlacedWithItsPermissionsAndServes() throws Exception {
+    deploy(service());
+
+    assertThat(Files.getPosixFilePermissions(socketPath))
+        .isEqualTo(PosixFilePermissions.fromString(PERMISSIONS));
+    assertThat(filesIn(socketDirectory)).containsExactly(socketPath);
+    assertThat(upcheck()).isEqualTo(UP);
+  }
+
+  @Test
+  void socketIsNotPlacedInADirectoryOtherUsersCanWriteTo() throws Exception {
+    Files.setPosixFilePermissions(socketDirectory, PosixFilePermissions.fromString("rwxrwxrwx"));
+
+    assertThatThrownBy(() -> deploy(service())).hasRootCauseInstanceOf(IllegalStateException.class);
+    assertThat(filesIn(socketDirectory)).isEmpty();
+  }
+
+  @Test
+  void staleSocketIsReplaced() throws Exception {
+    // a socket nothing listens on, as left behind by a server which did not shut down
+    final Path boundPath = tempDir.resolve("bound.sock");
+    final HttpServer server = listen(boundPath);
+    Files.createLink(socketPath, boundPath);
+    close(server);
+
+    deploy(service());
+
+    assertThat(upcheck()).isEqualTo(UP);
+  }
+
+  @Test
+  void socketOfARunningServerIsNotReplaced() throws Exception {
+    deploy(service());
+
+    assertThatThrownBy(() -> deploy(service())).hasRootCauseInstanceOf(IllegalStateException.class);
+    assertThat(upcheck()).isEqualTo(UP);
+  }
+
+  @Test
+  void socketIsRemovedWhenStopped() throws Exception {
+    final String deploymentId = deploy(service());
+
+    final CompletableFuture<Void> undeployed = new CompletableFuture<>();
+    vertx.undeploy(deploymentId, result -> undeployed.complete(null));
+    undeployed.get(TIMEOUT_SECONDS, TimeUnit.SECONDS);
+
+    assertThat(filesIn(socketDirectory)).isEmpty();
+  }
+
+  private DomainSocketServerService service() {
+    final Router router = Router.router(vertx);
+    router.route(HttpMethod.GET, "/upcheck").handler(context -> context.response().end(UP));
+    return new DomainSocketServerService(
+        router,
+        new DomainSocketServerOptions(
+            socketPath, PosixFilePermissions.fromString(PERMISSIONS), new HttpServerOptions()));
+  }
+
+  private String deploy(final DomainSocketServerService service) throws Exception {
+    final CompletableFuture<String> deployed = new CompletableFuture<>();
+    vertx.deployVerticle(
+        service,
+        result -> {
+          if (result.succeeded()) {
+            deployed.complete(result.result());
+          } else {
+            deployed.completeExceptionally(result.cause());
+          }
+        });
+    return deployed.get(TIMEOUT_SECONDS, TimeUnit.SECONDS);
+  }
+
+  private HttpServer listen(final Path path) throws Exception {
+    final CompletableFuture<HttpServer> listening = new CompletableFuture<>();
+    vertx
+        .createHttpServer()
+        .requestHandler(request -> request.response().end())
+        .listen(
+            SocketAddress.domainSocketAddress(path.toString()),
+            result -> {
+              if (result.succeeded()) {
+                listening.complete(result.result());
+              } else {
+                listening.completeExceptionally(result.cause());
+              }
+            });
+    return listening.get(TIMEOUT_SECONDS, TimeUnit.SECONDS);
+  }
+
+  private void close(final HttpServer server) throws Exception {
+    final CompletableFuture<Void> closed = new CompletableFuture<>();
+    server.close(result -> closed.complete(null));
+    closed.get(TIMEOUT_SECONDS, TimeUnit.SECONDS);
+  }
+
+  private String upcheck() throws Exception {
+    final CompletableFuture<Buffer> responseBody = new CompletableFuture<>();
+    final HttpClientRequest request =
+        vertx
+            .createHttpClient()
+            .request(
+                HttpMethod.GET,
+                SocketAddress.domainSocketAddress(socketPath.toString()),
+                80,
+                "localhost",
+                "/upcheck",
+                response -> response.bodyHandler(responseBody::complete));
+    request.exceptionHandler(responseBody::completeExceptionally);
+    request.end();
+    return responseBody.get(TIMEOUT_SECONDS, TimeUnit.SECONDS).toString();
+  }
+
+  private static List<Path> filesIn(final Path directory) throws Exception {
+    try (final Stream<Path> files = Files.list(directory)) {
+      return files.collect(Collectors.toList());
+    }
+  }
+}
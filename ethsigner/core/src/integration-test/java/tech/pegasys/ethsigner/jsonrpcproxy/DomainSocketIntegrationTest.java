@@ -0,0 +1,112 @@
+/*
+ * Copyright 2020 ConsenSys AG.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on
+ * an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations under the License.
+ */
+package tech.pegasys.ethsigner.jsonrpcproxy;
+
+import static java.util.Collections.singletonList;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.junit.jupiter.api.Assumptions.assumeTrue;
+import static org.mockserver.model.HttpRequest.request;
+import static org.mockserver.model.HttpResponse.response;
+
+import tech.pegasys.ethsigner.core.jsonrpc.response.JsonRpcSuccessResponse;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.attribute.PosixFilePermissions;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+
+import io.netty.handler.codec.http.HttpHeaderNames;
+import io.netty.handler.codec.http.HttpHeaderValues;
+import io.restassured.RestAssured;
+import io.vertx.core.Vertx;
+import io.vertx.core.VertxOptions;
+import io.vertx.core.buffer.Buffer;
+import io.vertx.core.http.HttpClientRequest;
+import io.vertx.core.http.HttpMethod;
+import io.vertx.core.json.Json;
+import io.vertx.core.net.SocketAddress;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockserver.model.RegexBody;
+import org.web3j.protocol.core.Request;
+import org.web3j.protocol.core.methods.response.EthAccounts;
+
+class DomainSocketIntegrationTest extends DefaultTestBase {
+
+  private static final long RESPONSE_TIMEOUT_SECONDS = 5;
+
+  private Vertx clientVertx;
+
+  @BeforeEach
+  void createClient() {
+    assumeTrue(listenSocketPath.isPresent(), "Native transport is unavailable");
+    clientVertx = Vertx.vertx(new VertxOptions().setPreferNativeTransport(true));
+  }
+
+  @AfterEach
+  void closeClient() {
+    if (clientVertx != null) {
+      clientVertx.close();
+    }
+  }
+
+  @Test
+  void ethAccountsRequestIsRespondedToOverDomainSocket() throws Exception {
+    final Request<?, EthAccounts> request = jsonRpc().ethAccounts();
+
+    final String responseBody = post(Json.encode(request));
+
+    final JsonRpcSuccessResponse expectedResponse =
+        new JsonRpcSuccessResponse(request.getId(), singletonList(unlockedAccount));
+    assertThat(responseBody).isEqualTo(Json.encode(expectedResponse));
+  }
+
+  @Test
+  void requestIsPassedThroughFromDomainSocket() throws Exception {
+    final String nodeResponse = "{\"jsonrpc\":\"2.0\",\"id\":1,\"result\":\"0x2\"}";
+    clientAndServer
+        .when(request().withBody(new RegexBody(".*net_peerCount.*")))
+        .respond(response().withBody(nodeResponse));
+
+    final String responseBody =
+        post("{\"jsonrpc\":\"2.0\",\"method\":\"net_peerCount\",\"params\":[],\"id\":1}");
+
+    assertThat(responseBody).isEqualTo(nodeResponse);
+  }
+
+  @Test
+  void socketIsGivenConfiguredPermissions() throws IOException {
+    assertThat(Files.getPosixFilePermissions(listenSocketPath.get()))
+        .isEqualTo(PosixFilePermissions.fromString(LISTEN_SOCKET_PERMISSIONS));
+  }
+
+  private String post(final String body) throws Exception {
+    final CompletableFuture<Buffer> responseBody = new CompletableFuture<>();
+    final HttpClientRequest request =
+        clientVertx
+            .createHttpClient()
+            .request(
+                HttpMethod.POST,
+                SocketAddress.domainSocketAddress(listenSocketPath.get().toString()),
+                RestAssured.port,
+                "localhost",
+                "/",
+                response -> response.bodyHandler(responseBody::complete));
+    request.exceptionHandler(responseBody::completeExceptionally);
+    request.putHeader(HttpHeaderNames.CONTENT_TYPE, HttpHeaderValues.APPLICATION_JSON);
+    request.end(body);
+    return responseBody.get(RESPONSE_TIMEOUT_SECONDS, TimeUnit.SECONDS).toString();
+  }
+}
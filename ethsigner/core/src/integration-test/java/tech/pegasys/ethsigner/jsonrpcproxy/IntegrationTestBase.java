@@ -15,6 +15,7 @@ package tech.pegasys.ethsigner.jsonrpcproxy;
 import static io.restassured.RestAssured.given;
 import static java.nio.charset.StandardCharsets.UTF_8;
 import static java.util.Collections.emptyMap;
+import static java.util.Collections.emptySet;
 import static java.util.stream.Collectors.toList;
 import static org.hamcrest.core.IsEqual.equalTo;
 import static org.mockserver.integration.ClientAndServer.startClientAndServer;
@@ -25,16 +26,25 @@ import static org.mockserver.model.JsonBody.json;
 import static org.web3j.utils.Async.defaultExecutorService;
 
 import tech.pegasys.ethsigner.core.Runner;
+import tech.pegasys.ethsigner.core.downstream.DownstreamPoolOptions;
+import tech.pegasys.ethsigner.core.downstream.LoadBalancingStrategy;
+import tech.pegasys.ethsigner.core.http.DomainSocketServerOptions;
 import tech.pegasys.ethsigner.core.jsonrpc.JsonDecoder;
+import tech.pegasys.ethsigner.core.requesthandler.passthrough.cache.ResultCacheOptions;
+import tech.pegasys.ethsigner.core.requesthandler.sendtransaction.RetryPolicyOptions;
 import tech.pegasys.ethsigner.core.signing.SingleTransactionSignerProvider;
 import tech.pegasys.ethsigner.core.signing.TransactionSigner;
 import tech.pegasys.ethsigner.core.signing.TransactionSignerProvider;
+import tech.pegasys.ethsigner.core.tracing.Span;
+import tech.pegasys.ethsigner.core.tracing.Tracer;
+import tech.pegasys.ethsigner.core.websocket.WebSocketOptions;
 import tech.pegasys.ethsigner.jsonrpcproxy.model.request.EthNodeRequest;
 import tech.pegasys.ethsigner.jsonrpcproxy.model.request.EthRequestFactory;
 import tech.pegasys.ethsigner.jsonrpcproxy.model.request.EthSignerRequest;
 import tech.pegasys.ethsigner.jsonrpcproxy.model.response.EthNodeResponse;
 import tech.pegasys.ethsigner.jsonrpcproxy.model.response.EthResponseFactory;
 import tech.pegasys.ethsigner.jsonrpcproxy.model.response.EthSignerResponse;
+import tech.pegasys.ethsigner.jsonrpcproxy.support.StubWebSocketNode;
 import tech.pegasys.ethsigner.signer.filebased.FileBasedSignerFactory;
 
 import java.io.File;
@@ -43,10 +53,13 @@ import java.io.IOException;
 import java.net.URL;
 import java.nio.file.Files;
 import java.nio.file.Path;
+import java.nio.file.attribute.PosixFilePermissions;
 import java.time.Duration;
 import java.util.List;
 import java.util.Map;
+import java.util.Optional;
 import java.util.Properties;
+import java.util.concurrent.CopyOnWriteArrayList;
 import java.util.concurrent.TimeUnit;
 import java.util.stream.Stream;
 
@@ -55,6 +68,7 @@ import com.fasterxml.jackson.databind.ObjectMapper;
 import com.google.common.io.Resources;
 import io.restassured.RestAssured;
 import io.vertx.core.Vertx;
+import io.vertx.core.VertxOptions;
 import io.vertx.core.http.HttpClientOptions;
 import io.vertx.core.http.HttpServerOptions;
 import org.apache.logging.log4j.LogManager;
@@ -80,15 +94,25 @@ public class IntegrationTestBase {
   private static final Logger LOG = LogManager.getLogger();
   private static final String PORTS_FILENAME = "ethsigner.ports";
   private static final String HTTP_JSON_RPC_KEY = "http-jsonrpc";
+  private static final String METRICS_KEY = "metrics";
   private static final String LOCALHOST = "127.0.0.1";
   public static final long DEFAULT_CHAIN_ID = 9;
   public static final int DEFAULT_ID = 77;
+  static final int WEBSOCKET_MAX_IN_FLIGHT_REQUESTS = 10;
+  static final int WEBSOCKET_SUBSCRIPTION_BUFFER_SIZE = 10;
+  static final String LISTEN_SOCKET_PERMISSIONS = "rw-------";
 
   static final String MALFORMED_JSON = "{Bad Json: {{{}";
 
   private static Vertx vertx;
   private static Runner runner;
   static ClientAndServer clientAndServer;
+  static StubWebSocketNode webSocketNode;
+  // only listened on where the native transport is available
+  static Optional<Path> listenSocketPath;
+  static int metricsPort;
+  // only requests the client has sampled are traced
+  static final List<Span> exportedSpans = new CopyOnWriteArrayList<>();
   static Credentials credentials;
 
   private JsonRpc2_0Web3j jsonRpc;
@@ -128,14 +152,50 @@ public class IntegrationTestBase {
 
     final JsonDecoder jsonDecoder = new JsonDecoder(jsonObjectMapper);
 
-    vertx = Vertx.vertx();
+    vertx = Vertx.vertx(new VertxOptions().setPreferNativeTransport(true));
+    listenSocketPath =
+        vertx.isNativeTransportEnabled()
+            ? Optional.of(dataPath.resolve("ethsigner.sock"))
+            : Optional.empty();
+    webSocketNode = StubWebSocketNode.start(vertx);
+    final HttpClientOptions webSocketClientOptions =
+        new HttpClientOptions().setDefaultHost(LOCALHOST).setDefaultPort(webSocketNode.port());
+
     runner =
         new Runner(
             chainId,
             transactionSignerProvider,
-            httpClientOptions,
+            new DownstreamPoolOptions(
+                List.of(httpClientOptions),
+                LoadBalancingStrategy.POWER_OF_TWO_CHOICES,
+                downstreamTimeout),
+            new DownstreamPoolOptions(
+                List.of(httpClientOptions),
+                LoadBalancingStrategy.POWER_OF_TWO_CHOICES,
+                downstreamTimeout),
+            Optional.empty(),
+            emptySet(),
+            emptySet(),
             httpServerOptions,
-            downstreamTimeout,
+            listenSocketPath.map(
+                path ->
+                    new DomainSocketServerOptions(
+                        path,
+                        PosixFilePermissions.fromString(LISTEN_SOCKET_PERMISSIONS),
+                        new HttpServerOptions())),
+            Optional.of(new HttpServerOptions().setHost(LOCALHOST).setPort(0)),
+            new Tracer(0, exportedSpans::add),
+            true,
+            Optional.empty(),
+            Optional.empty(),
+            Optional.empty(),
+            RetryPolicyOptions.DEFAULT,
+            ResultCacheOptions.DEFAULT,
+            Optional.of(
+                new WebSocketOptions(
+                    WEBSOCKET_MAX_IN_FLIGHT_REQUESTS,
+                    WEBSOCKET_SUBSCRIPTION_BUFFER_SIZE,
+                    Optional.of(webSocketClientOptions))),
             jsonDecoder,
             dataPath,
             vertx);
@@ -143,7 +203,8 @@ public class IntegrationTestBase {
 
     final Path portsFile = dataPath.resolve(PORTS_FILENAME);
     waitForNonEmptyFileToExist(portsFile);
-    final int ethSignerPort = httpJsonRpcPort(portsFile);
+    final int ethSignerPort = port(portsFile, HTTP_JSON_RPC_KEY);
+    metricsPort = port(portsFile, METRICS_KEY);
     RestAssured.port = ethSignerPort;
 
     LOG.info(
@@ -167,6 +228,7 @@ public class IntegrationTestBase {
   public void setup() {
     jsonRpc = new JsonRpc2_0Web3j(null, 2000, defaultExecutorService());
     eeaJsonRpc = new JsonRpc2_0Eea(null);
+    exportedSpans.clear();
     if (clientAndServer.isRunning()) {
       clientAndServer.reset();
     }
@@ -177,6 +239,7 @@ public class IntegrationTestBase {
     clientAndServer.stop();
     vertx.close();
     clientAndServer = null;
+    webSocketNode = null;
     runner = null;
   }
 
@@ -329,11 +392,11 @@ public class IntegrationTestBase {
     return file;
   }
 
-  private static int httpJsonRpcPort(final Path portsFile) {
+  private static int port(final Path portsFile, final String key) {
     try (final FileInputStream fis = new FileInputStream(portsFile.toString())) {
       final Properties portProperties = new Properties();
       portProperties.load(fis);
-      final String value = portProperties.getProperty(HTTP_JSON_RPC_KEY);
+      final String value = portProperties.getProperty(key);
       return Integer.parseInt(value);
     } catch (final IOException e) {
       throw new RuntimeException("Error reading Web3Provider ports file", e);
@@ -0,0 +1,93 @@
+/*
+ * Copyright 2020 ConsenSys AG.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on
+ * an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations under the License.
+ */
+package tech.pegasys.ethsigner.jsonrpcproxy;
+
+import static io.restassured.RestAssured.given;
+import static java.math.BigInteger.ONE;
+import static org.assertj.core.api.Assertions.assertThat;
+import static tech.pegasys.ethsigner.jsonrpcproxy.support.TransactionCountResponder.TRANSACTION_COUNT_METHOD.ETH_GET_TRANSACTION_COUNT;
+
+import tech.pegasys.ethsigner.jsonrpcproxy.model.jsonrpc.SendRawTransaction;
+import tech.pegasys.ethsigner.jsonrpcproxy.model.jsonrpc.SendTransaction;
+import tech.pegasys.ethsigner.jsonrpcproxy.model.jsonrpc.Transaction;
+import tech.pegasys.ethsigner.jsonrpcproxy.support.TransactionCountResponder;
+
+import java.util.Arrays;
+
+import org.junit.jupiter.api.Test;
+
+class MetricsIntegrationTest extends DefaultTestBase {
+
+  @Test
+  void metricsAreServedForPrometheus() {
+    given()
+        .port(metricsPort)
+        .when()
+        .get("/metrics")
+        .then()
+        .statusCode(200)
+        .contentType("text/plain; version=0.0.4; charset=utf-8");
+  }
+
+  @Test
+  void signedTransactionIsRecordedAtEachStage() {
+    final TransactionCountResponder getTransactionResponse =
+        new TransactionCountResponder(nonce -> nonce.add(ONE), ETH_GET_TRANSACTION_COUNT);
+    clientAndServer.when(getTransactionResponse.request()).respond(getTransactionResponse);
+    final SendTransaction sendTransaction = new SendTransaction();
+    final Transaction.Builder transactionBuilder = Transaction.defaultTransaction();
+    final String ethNodeResponseBody = "VALID_RESPONSE";
+    final String rawTransaction =
+        new SendRawTransaction(jsonRpc(), credentials)
+            .request(sendTransaction.request(transactionBuilder.withNonce("0x1")));
+    setUpEthNodeResponse(request.ethNode(rawTransaction), response.ethNode(ethNodeResponseBody));
+
+    sendPostRequestAndVerifyResponse(
+        request.ethSigner(sendTransaction.request(transactionBuilder.missingNonce())),
+        response.ethSigner(ethNodeResponseBody));
+
+    final String metrics = scrape();
+    assertThat(
+            sample(
+                metrics,
+                "ethsigner_json_rpc_request_duration_seconds_count{method=\"eth_sendTransaction\"}"))
+        .isGreaterThanOrEqualTo(1);
+    assertThat(sample(metrics, "ethsigner_json_rpc_decode_duration_seconds_count"))
+        .isGreaterThanOrEqualTo(1);
+    assertThat(sample(metrics, "ethsigner_nonce_fetch_duration_seconds_count"))
+        .isGreaterThanOrEqualTo(1);
+    assertThat(
+            sample(
+                metrics,
+                "ethsigner_signing_duration_seconds_count{signer=\"CredentialTransactionSigner\"}"))
+        .isGreaterThanOrEqualTo(1);
+    assertThat(sample(metrics, "ethsigner_transaction_serialization_duration_seconds_count"))
+        .isGreaterThanOrEqualTo(1);
+    assertThat(sample(metrics, "ethsigner_transaction_submission_duration_seconds_count"))
+        .isGreaterThanOrEqualTo(1);
+    assertThat(sample(metrics, "ethsigner_json_rpc_requests_in_flight")).isEqualTo(0);
+    assertThat(sample(metrics, "ethsigner_worker_pool_queued_tasks")).isEqualTo(0);
+  }
+
+  private String scrape() {
+    return given().port(metricsPort).when().get("/metrics").then().extract().asString();
+  }
+
+  private static double sample(final String metrics, final String series) {
+    return Arrays.stream(metrics.split("\n"))
+        .filter(line -> line.startsWith(series + " "))
+        .map(line -> Double.parseDouble(line.substring(series.length() + 1)))
+        .findFirst()
+        .orElseThrow(() -> new AssertionError("No sample for " + series + " in " + metrics));
+  }
+}
@@ -0,0 +1,93 @@
+/*
+ * Copyright 2020 ConsenSys AG.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on
+ * an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations under the License.
+ */
+package tech.pegasys.ethsigner.jsonrpcproxy;
+
+import static io.restassured.RestAssured.given;
+import static java.math.BigInteger.ONE;
+import static org.assertj.core.api.Assertions.assertThat;
+import static tech.pegasys.ethsigner.jsonrpcproxy.support.TransactionCountResponder.TRANSACTION_COUNT_METHOD.ETH_GET_TRANSACTION_COUNT;
+
+import tech.pegasys.ethsigner.jsonrpcproxy.model.jsonrpc.SendRawTransaction;
+import tech.pegasys.ethsigner.jsonrpcproxy.model.jsonrpc.SendTransaction;
+import tech.pegasys.ethsigner.jsonrpcproxy.model.jsonrpc.Transaction;
+import tech.pegasys.ethsigner.jsonrpcproxy.support.TransactionCountResponder;
+
+import java.util.List;
+import java.util.Map;
+
+import io.vertx.core.json.Json;
+import org.junit.jupiter.api.Test;
+
+class ServerTimingIntegrationTest extends DefaultTestBase {
+
+  private static final String SERVER_TIMING = "Server-Timing";
+  private static final String DURATION = ";dur=\\d+\\.\\d{3}";
+
+  @Test
+  void signedTransactionResponseBreaksDownEachStage() {
+    final TransactionCountResponder getTransactionResponse =
+        new TransactionCountResponder(nonce -> nonce.add(ONE), ETH_GET_TRANSACTION_COUNT);
+    clientAndServer.when(getTransactionResponse.request()).respond(getTransactionResponse);
+    final SendTransaction sendTransaction = new SendTransaction();
+    final Transaction.Builder transactionBuilder = Transaction.defaultTransaction();
+    final String rawTransaction =
+        new SendRawTransaction(jsonRpc(), credentials)
+            .request(sendTransaction.request(transactionBuilder.withNonce("0x1")));
+    setUpEthNodeResponse(request.ethNode(rawTransaction), response.ethNode("VALID_RESPONSE"));
+
+    final List<String> serverTiming =
+        serverTimingOf(Json.encode(sendTransaction.request(transactionBuilder.missingNonce())));
+
+    assertThat(serverTiming).hasSize(1);
+    assertThat(serverTiming.get(0))
+        .matches(
+            "parse"
+                + DURATION
+                + ", signer"
+                + DURATION
+                + ", nonce"
+                + DURATION
+                + ", sign"
+                + DURATION
+                + ", downstream"
+                + DURATION);
+  }
+
+  @Test
+  void proxiedResponseKeepsTimingsOfNode() {
+    final String protocolVersionRequest = Json.encode(jsonRpc().ethProtocolVersion());
+    setUpEthNodeResponse(
+        request.ethNode(protocolVersionRequest),
+        response.ethNode(
+            Map.of(SERVER_TIMING, "db;dur=5"),
+            "{\"jsonrpc\":\"2.0\",\"id\":1,\"result\":\"0x3f\"}"));
+
+    final List<String> serverTiming = serverTimingOf(protocolVersionRequest);
+
+    assertThat(serverTiming).hasSize(2);
+    assertThat(serverTiming.get(0)).isEqualTo("db;dur=5");
+    assertThat(serverTiming.get(1)).matches("parse" + DURATION + ", downstream" + DURATION);
+  }
+
+  private static List<String> serverTimingOf(final String body) {
+    return given()
+        .when()
+        .body(body)
+        .post("/")
+        .then()
+        .statusCode(200)
+        .extract()
+        .headers()
+        .getValues(SERVER_TIMING);
+  }
+}
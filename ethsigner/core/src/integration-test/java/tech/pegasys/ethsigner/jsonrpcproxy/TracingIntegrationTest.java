@@ -0,0 +1,117 @@
+/*
+ * Copyright 2020 ConsenSys AG.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on
+ * an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations under the License.
+ */
+package tech.pegasys.ethsigner.jsonrpcproxy;
+
+import static java.math.BigInteger.ONE;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockserver.model.HttpRequest.request;
+import static tech.pegasys.ethsigner.jsonrpcproxy.support.TransactionCountResponder.TRANSACTION_COUNT_METHOD.ETH_GET_TRANSACTION_COUNT;
+
+import tech.pegasys.ethsigner.core.tracing.Span;
+import tech.pegasys.ethsigner.jsonrpcproxy.model.jsonrpc.SendRawTransaction;
+import tech.pegasys.ethsigner.jsonrpcproxy.model.jsonrpc.SendTransaction;
+import tech.pegasys.ethsigner.jsonrpcproxy.model.jsonrpc.Transaction;
+import tech.pegasys.ethsigner.jsonrpcproxy.support.TransactionCountResponder;
+
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.TimeUnit;
+
+import io.vertx.core.json.Json;
+import org.awaitility.Awaitility;
+import org.junit.jupiter.api.Test;
+import org.mockserver.model.RegexBody;
+
+class TracingIntegrationTest extends DefaultTestBase {
+
+  private static final String TRACE_ID = "0af7651916cd43dd8448eb211c80319c";
+  private static final String CLIENT_SPAN_ID = "b7ad6b7169203331";
+
+  @Test
+  void sampledTraceOfClientIsContinuedThroughEachStage() {
+    sendTransaction("00-" + TRACE_ID + "-" + CLIENT_SPAN_ID + "-01");
+
+    Awaitility.waitAtMost(5, TimeUnit.SECONDS).until(() -> requestSpan().isPresent());
+    final Span requestSpan = requestSpan().orElseThrow();
+    assertThat(requestSpan.name()).isEqualTo("eth_sendTransaction");
+    assertThat(requestSpan.traceId()).isEqualTo(TRACE_ID);
+    assertThat(requestSpan.attributes()).containsEntry("http.status_code", 200);
+    assertThat(requestSpan.error()).isEmpty();
+
+    final Span nonceSpan = childSpan(requestSpan, "fetch nonce");
+    final Span signingSpan = childSpan(requestSpan, "sign transaction");
+    final Span submissionSpan = childSpan(requestSpan, "submit transaction");
+    assertThat(nonceSpan.attributes()).containsEntry("rpc.method", "eth_getTransactionCount");
+    assertThat(signingSpan.attributes()).containsEntry("ethsigner.attempt", 1);
+    assertThat(submissionSpan.attributes()).containsEntry("http.status_code", 200);
+
+    // the node's spans are children of those making each request
+    assertThat(traceparentReceivedByNode("eth_getTransactionCount"))
+        .isEqualTo("00-" + TRACE_ID + "-" + nonceSpan.spanId() + "-01");
+    assertThat(traceparentReceivedByNode("eth_sendRawTransaction"))
+        .isEqualTo("00-" + TRACE_ID + "-" + submissionSpan.spanId() + "-01");
+  }
+
+  @Test
+  void unsampledTraceOfClientIsPassedToNodeWithoutBeingRecorded() {
+    final String traceparent = "00-" + TRACE_ID + "-" + CLIENT_SPAN_ID + "-00";
+    sendTransaction(traceparent);
+
+    assertThat(traceparentReceivedByNode("eth_getTransactionCount")).isEqualTo(traceparent);
+    assertThat(traceparentReceivedByNode("eth_sendRawTransaction")).isEqualTo(traceparent);
+    assertThat(exportedSpans).isEmpty();
+  }
+
+  private void sendTransaction(final String traceparent) {
+    final TransactionCountResponder getTransactionResponse =
+        new TransactionCountResponder(nonce -> nonce.add(ONE), ETH_GET_TRANSACTION_COUNT);
+    clientAndServer.when(getTransactionResponse.request()).respond(getTransactionResponse);
+    final SendTransaction sendTransaction = new SendTransaction();
+    final Transaction.Builder transactionBuilder = Transaction.defaultTransaction();
+    final String ethNodeResponseBody = "VALID_RESPONSE";
+    final String rawTransaction =
+        new SendRawTransaction(jsonRpc(), credentials)
+            .request(sendTransaction.request(transactionBuilder.withNonce("0x1")));
+    setUpEthNodeResponse(request.ethNode(rawTransaction), response.ethNode(ethNodeResponseBody));
+
+    sendPostRequestAndVerifyResponse(
+        request.ethSigner(
+            Map.of("traceparent", traceparent),
+            Json.encode(sendTransaction.request(transactionBuilder.missingNonce()))),
+        response.ethSigner(ethNodeResponseBody));
+  }
+
+  private static Optional<Span> requestSpan() {
+    return exportedSpans.stream()
+        .filter(span -> span.parentSpanId().equals(Optional.of(CLIENT_SPAN_ID)))
+        .findAny();
+  }
+
+  private static Span childSpan(final Span parent, final String name) {
+    final Span child =
+        exportedSpans.stream()
+            .filter(span -> span.name().equals(name))
+            .findAny()
+            .orElseThrow(() -> new AssertionError("No span named " + name));
+    assertThat(child.traceId()).isEqualTo(parent.traceId());
+    assertThat(child.parentSpanId()).contains(parent.spanId());
+    assertThat(child.endEpochNanos()).isGreaterThanOrEqualTo(child.startEpochNanos());
+    return child;
+  }
+
+  private static String traceparentReceivedByNode(final String method) {
+    return clientAndServer
+        .retrieveRecordedRequests(request().withBody(new RegexBody(".*" + method + ".*")))[0]
+        .getFirstHeader("traceparent");
+  }
+}
@@ -0,0 +1,139 @@
+/*
+ * Copyright 2020 ConsenSys AG.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on
+ * an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations under the License.
+ */
+package tech.pegasys.ethsigner.jsonrpcproxy;
+
+import static java.math.BigInteger.ONE;
+import static java.util.Collections.singletonList;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockserver.model.HttpRequest.request;
+import static org.mockserver.model.HttpResponse.response;
+import static tech.pegasys.ethsigner.core.jsonrpc.response.JsonRpcError.PARSE_ERROR;
+import static tech.pegasys.ethsigner.jsonrpcproxy.support.TransactionCountResponder.TRANSACTION_COUNT_METHOD.ETH_GET_TRANSACTION_COUNT;
+
+import tech.pegasys.ethsigner.core.jsonrpc.response.JsonRpcSuccessResponse;
+import tech.pegasys.ethsigner.jsonrpcproxy.model.jsonrpc.SendRawTransaction;
+import tech.pegasys.ethsigner.jsonrpcproxy.model.jsonrpc.SendTransaction;
+import tech.pegasys.ethsigner.jsonrpcproxy.model.jsonrpc.Transaction;
+import tech.pegasys.ethsigner.jsonrpcproxy.support.TransactionCountResponder;
+
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.TimeUnit;
+
+import io.restassured.RestAssured;
+import io.vertx.core.Vertx;
+import io.vertx.core.http.WebSocket;
+import io.vertx.core.json.Json;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockserver.model.RegexBody;
+import org.web3j.protocol.core.Request;
+import org.web3j.protocol.core.methods.response.EthAccounts;
+
+class WebSocketIntegrationTest extends DefaultTestBase {
+
+  private static final long RESPONSE_TIMEOUT_SECONDS = 5;
+
+  private final BlockingQueue<String> responses = new LinkedBlockingQueue<>();
+  private Vertx clientVertx;
+  private WebSocket webSocket;
+
+  @BeforeEach
+  void connect() throws Exception {
+    clientVertx = Vertx.vertx();
+    final CompletableFuture<WebSocket> connected = new CompletableFuture<>();
+    clientVertx
+        .createHttpClient()
+        .webSocket(
+            RestAssured.port,
+            "localhost",
+            "/",
+            result -> {
+              if (result.succeeded()) {
+                connected.complete(result.result());
+              } else {
+                connected.completeExceptionally(result.cause());
+              }
+            });
+    webSocket = connected.get(RESPONSE_TIMEOUT_SECONDS, TimeUnit.SECONDS);
+    webSocket.textMessageHandler(responses::add);
+  }
+
+  @AfterEach
+  void disconnect() {
+    clientVertx.close();
+  }
+
+  @Test
+  void ethAccountsRequestIsRespondedToOverWebSocket() throws InterruptedException {
+    final Request<?, EthAccounts> request = jsonRpc().ethAccounts();
+
+    webSocket.writeTextMessage(Json.encode(request));
+
+    final JsonRpcSuccessResponse expectedResponse =
+        new JsonRpcSuccessResponse(request.getId(), singletonList(unlockedAccount));
+    assertThat(nextResponse()).isEqualTo(Json.encode(expectedResponse));
+  }
+
+  @Test
+  void malformedMessageIsRespondedToWithParseError() throws InterruptedException {
+    webSocket.writeTextMessage(MALFORMED_JSON);
+
+    assertThat(nextResponse()).isEqualTo(response.ethSigner(null, PARSE_ERROR).getBody());
+  }
+
+  @Test
+  void pipelinedRequestsAreRespondedToAsEachCompletes() throws InterruptedException {
+    final String slowResponse = "{\"jsonrpc\":\"2.0\",\"id\":1,\"result\":\"0x2\"}";
+    final String fastResponse = "{\"jsonrpc\":\"2.0\",\"id\":2,\"result\":false}";
+    clientAndServer
+        .when(request().withBody(new RegexBody(".*net_peerCount.*")))
+        .respond(response().withBody(slowResponse).withDelay(TimeUnit.MILLISECONDS, 200));
+    clientAndServer
+        .when(request().withBody(new RegexBody(".*eth_syncing.*")))
+        .respond(response().withBody(fastResponse));
+
+    webSocket.writeTextMessage(
+        "{\"jsonrpc\":\"2.0\",\"method\":\"net_peerCount\",\"params\":[],\"id\":1}");
+    webSocket.writeTextMessage(
+        "{\"jsonrpc\":\"2.0\",\"method\":\"eth_syncing\",\"params\":[],\"id\":2}");
+
+    assertThat(nextResponse()).isEqualTo(fastResponse);
+    assertThat(nextResponse()).isEqualTo(slowResponse);
+  }
+
+  @Test
+  void transactionIsSignedAndSubmittedOverWebSocket() throws InterruptedException {
+    final TransactionCountResponder getTransactionResponse =
+        new TransactionCountResponder(nonce -> nonce.add(ONE), ETH_GET_TRANSACTION_COUNT);
+    clientAndServer.when(getTransactionResponse.request()).respond(getTransactionResponse);
+    final SendTransaction sendTransaction = new SendTransaction();
+    final Transaction.Builder transactionBuilder = Transaction.defaultTransaction();
+    final String ethNodeResponseBody = "VALID_RESPONSE";
+    final String rawTransaction =
+        new SendRawTransaction(jsonRpc(), credentials)
+            .request(sendTransaction.request(transactionBuilder.withNonce("0x1")));
+    setUpEthNodeResponse(request.ethNode(rawTransaction), response.ethNode(ethNodeResponseBody));
+
+    webSocket.writeTextMessage(
+        Json.encode(sendTransaction.request(transactionBuilder.missingNonce())));
+
+    assertThat(nextResponse()).isEqualTo(ethNodeResponseBody);
+  }
+
+  private String nextResponse() throws InterruptedException {
+    return responses.poll(RESPONSE_TIMEOUT_SECONDS, TimeUnit.SECONDS);
+  }
+}
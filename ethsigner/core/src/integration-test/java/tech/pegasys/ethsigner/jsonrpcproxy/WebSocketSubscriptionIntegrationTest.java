@@ -0,0 +1,238 @@
+/*
+ * Copyright 2020 ConsenSys AG.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on
+ * an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations under the License.
+ */
+package tech.pegasys.ethsigner.jsonrpcproxy;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static tech.pegasys.ethsigner.core.jsonrpc.response.JsonRpcError.CONNECTION_TO_DOWNSTREAM_NODE_TIMED_OUT;
+import static tech.pegasys.ethsigner.core.jsonrpc.response.JsonRpcError.SUBSCRIPTION_NOT_FOUND;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
+
+import io.restassured.RestAssured;
+import io.vertx.core.Vertx;
+import io.vertx.core.http.HttpClient;
+import io.vertx.core.http.WebSocket;
+import io.vertx.core.json.JsonArray;
+import io.vertx.core.json.JsonObject;
+import org.awaitility.Awaitility;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+class WebSocketSubscriptionIntegrationTest extends DefaultTestBase {
+
+  private static final long RESPONSE_TIMEOUT_SECONDS = 5;
+
+  private Vertx clientVertx;
+  private HttpClient httpClient;
+
+  @BeforeEach
+  void createClient() {
+    clientVertx = Vertx.vertx();
+    httpClient = clientVertx.createHttpClient();
+  }
+
+  @AfterEach
+  void closeClient() {
+    clientVertx.close();
+  }
+
+  @Test
+  void identicalSubscriptionsShareASingleDownstreamSubscription() throws Exception {
+    final JsonArray params = logsFilter("0x0000000000000000000000000000000000000001");
+    final Client first = connect();
+    final Client second = connect();
+
+    final String firstId = first.subscribe(params);
+    final String secondId = second.subscribe(params);
+
+    assertThat(firstId).isNotEqualTo(secondId);
+    final List<JsonObject> downstreamSubscriptions = downstreamRequests("eth_subscribe", params);
+    assertThat(downstreamSubscriptions).hasSize(1);
+
+    final JsonObject log = new JsonObject().put("logIndex", "0x1");
+    webSocketNode.publish(downstreamId(params), log);
+
+    assertThat(first.nextMessage()).isEqualTo(notification(firstId, log));
+    assertThat(second.nextMessage()).isEqualTo(notification(secondId, log));
+  }
+
+  @Test
+  void filtersDifferingOnlyInMemberOrderShareADownstreamSubscription() throws Exception {
+    final String address = "0x0000000000000000000000000000000000000002";
+    final JsonArray params = logsFilter(address);
+    final JsonArray reordered =
+        new JsonArray()
+            .add("logs")
+            .add(new JsonObject().put("topics", new JsonArray()).put("address", address));
+    final JsonArray otherAddress = logsFilter("0x0000000000000000000000000000000000000003");
+    final Client client = connect();
+
+    client.subscribe(params);
+    client.subscribe(reordered);
+    client.subscribe(otherAddress);
+
+    // equal filters, so both would be counted had the reordered one been subscribed separately
+    assertThat(downstreamRequests("eth_subscribe", params)).hasSize(1);
+    assertThat(downstreamRequests("eth_subscribe", otherAddress)).hasSize(1);
+  }
+
+  @Test
+  void downstreamSubscriptionIsRemovedOnceTheLastClientUnsubscribes() throws Exception {
+    final JsonArray params = logsFilter("0x0000000000000000000000000000000000000004");
+    final Client first = connect();
+    final Client second = connect();
+    final String firstId = first.subscribe(params);
+    final String secondId = second.subscribe(params);
+    final JsonArray unsubscribeParams = new JsonArray().add(downstreamId(params));
+
+    assertThat(first.unsubscribe(firstId).getValue("result")).isEqualTo(true);
+    assertThat(downstreamRequests("eth_unsubscribe", unsubscribeParams)).isEmpty();
+
+    assertThat(second.unsubscribe(secondId).getValue("result")).isEqualTo(true);
+    Awaitility.waitAtMost(RESPONSE_TIMEOUT_SECONDS, TimeUnit.SECONDS)
+        .until(() -> downstreamRequests("eth_unsubscribe", unsubscribeParams).size() == 1);
+  }
+
+  @Test
+  void downstreamSubscriptionIsRemovedWhenTheLastSubscribedClientDisconnects() throws Exception {
+    final JsonArray params = logsFilter("0x0000000000000000000000000000000000000005");
+    final Client client = connect();
+    client.subscribe(params);
+
+    client.webSocket.close();
+
+    final JsonArray unsubscribeParams = new JsonArray().add(downstreamId(params));
+    Awaitility.waitAtMost(RESPONSE_TIMEOUT_SECONDS, TimeUnit.SECONDS)
+        .until(() -> downstreamRequests("eth_unsubscribe", unsubscribeParams).size() == 1);
+  }
+
+  @Test
+  void subscriptionOfAnotherClientCannotBeUnsubscribed() throws Exception {
+    final JsonArray params = logsFilter("0x0000000000000000000000000000000000000006");
+    final Client owner = connect();
+    final Client other = connect();
+    final String subscriptionId = owner.subscribe(params);
+
+    final JsonObject response = other.unsubscribe(subscriptionId);
+
+    assertThat(response.getJsonObject("error").getInteger("code"))
+        .isEqualTo(SUBSCRIPTION_NOT_FOUND.getCode());
+    assertThat(downstreamRequests("eth_unsubscribe", new JsonArray().add(downstreamId(params))))
+        .isEmpty();
+  }
+
+  @Test
+  void subscriptionMadeAfterItsRequestTimedOutIsUnsubscribed() throws Exception {
+    final JsonArray params = logsFilter("0x0000000000000000000000000000000000000007");
+    final Client client = connect();
+    // beyond the downstream timeout of a second
+    webSocketNode.delayNextSubscription(Duration.ofMillis(1500));
+
+    final JsonObject response = client.call("eth_subscribe", params);
+
+    assertThat(response.getJsonObject("error").getInteger("code"))
+        .isEqualTo(CONNECTION_TO_DOWNSTREAM_NODE_TIMED_OUT.getCode());
+    final JsonArray unsubscribeParams = new JsonArray().add(downstreamId(params));
+    Awaitility.waitAtMost(RESPONSE_TIMEOUT_SECONDS, TimeUnit.SECONDS)
+        .until(() -> downstreamRequests("eth_unsubscribe", unsubscribeParams).size() == 1);
+  }
+
+  private Client connect() throws Exception {
+    final CompletableFuture<WebSocket> connected = new CompletableFuture<>();
+    httpClient.webSocket(
+        RestAssured.port,
+        "localhost",
+        "/",
+        result -> {
+          if (result.succeeded()) {
+            connected.complete(result.result());
+          } else {
+            connected.completeExceptionally(result.cause());
+          }
+        });
+    return new Client(connected.get(RESPONSE_TIMEOUT_SECONDS, TimeUnit.SECONDS));
+  }
+
+  private static JsonArray logsFilter(final String address) {
+    return new JsonArray()
+        .add("logs")
+        .add(new JsonObject().put("address", address).put("topics", new JsonArray()));
+  }
+
+  /** Requests received downstream for the given method and params. */
+  private static List<JsonObject> downstreamRequests(final String method, final JsonArray params) {
+    return webSocketNode.requests().stream()
+        .filter(request -> method.equals(request.getString("method")))
+        .filter(request -> params.equals(request.getJsonArray("params")))
+        .collect(Collectors.toList());
+  }
+
+  private static String downstreamId(final JsonArray params) {
+    return webSocketNode.subscriptionId(params).orElseThrow();
+  }
+
+  private static String notification(final String subscriptionId, final Object result) {
+    return new JsonObject()
+        .put("jsonrpc", "2.0")
+        .put("method", "eth_subscription")
+        .put("params", new JsonObject().put("subscription", subscriptionId).put("result", result))
+        .encode();
+  }
+
+  private static class Client {
+    private final WebSocket webSocket;
+    private final BlockingQueue<String> messages = new LinkedBlockingQueue<>();
+    private int lastRequestId = 0;
+
+    private Client(final WebSocket webSocket) {
+      this.webSocket = webSocket;
+      webSocket.textMessageHandler(messages::add);
+    }
+
+    private String subscribe(final JsonArray params) throws InterruptedException {
+      final JsonObject response = call("eth_subscribe", params);
+      assertThat(response.containsKey("result")).as(response.encode()).isTrue();
+      return response.getString("result");
+    }
+
+    private JsonObject unsubscribe(final String subscriptionId) throws InterruptedException {
+      return call("eth_unsubscribe", new JsonArray().add(subscriptionId));
+    }
+
+    private JsonObject call(final String method, final JsonArray params)
+        throws InterruptedException {
+      final int id = ++lastRequestId;
+      webSocket.writeTextMessage(
+          new JsonObject()
+              .put("jsonrpc", "2.0")
+              .put("id", id)
+              .put("method", method)
+              .put("params", params)
+              .encode());
+      final JsonObject response = new JsonObject(nextMessage());
+      assertThat(response.getValue("id")).isEqualTo(id);
+      return response;
+    }
+
+    private String nextMessage() throws InterruptedException {
+      return messages.poll(RESPONSE_TIMEOUT_SECONDS, TimeUnit.SECONDS);
+    }
+  }
+}
@@ -0,0 +1,131 @@
+/*
+ * Copyright 2020 ConsenSys AG.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on
+ * an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations under the License.
+ */
+package tech.pegasys.ethsigner.jsonrpcproxy.support;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+import io.vertx.core.Vertx;
+import io.vertx.core.http.HttpServer;
+import io.vertx.core.http.HttpServerOptions;
+import io.vertx.core.http.ServerWebSocket;
+import io.vertx.core.json.JsonArray;
+import io.vertx.core.json.JsonObject;
+
+/**
+ * A node accepting subscriptions over WebSocket, recording each request received and publishing
+ * notifications on demand.
+ */
+public class StubWebSocketNode {
+
+  private final Vertx vertx;
+  private final HttpServer server;
+  private final List<ServerWebSocket> sockets = new CopyOnWriteArrayList<>();
+  private final List<JsonObject> requests = new CopyOnWriteArrayList<>();
+  private final Map<JsonArray, String> subscriptionIds = new ConcurrentHashMap<>();
+  private final AtomicLong lastSubscriptionId = new AtomicLong();
+  private final AtomicLong nextSubscriptionDelayMillis = new AtomicLong();
+
+  private StubWebSocketNode(final Vertx vertx) {
+    this.vertx = vertx;
+    server =
+        vertx
+            .createHttpServer(new HttpServerOptions().setHost("localhost").setPort(0))
+            .websocketHandler(this::accept);
+  }
+
+  public static StubWebSocketNode start(final Vertx vertx) {
+    final StubWebSocketNode node = new StubWebSocketNode(vertx);
+    final CompletableFuture<HttpServer> listening = new CompletableFuture<>();
+    node.server.listen(
+        result -> {
+          if (result.succeeded()) {
+            listening.complete(result.result());
+          } else {
+            listening.completeExceptionally(result.cause());
+          }
+        });
+    listening.orTimeout(5, TimeUnit.SECONDS).join();
+    return node;
+  }
+
+  public int port() {
+    return server.actualPort();
+  }
+
+  /** @return every request received, in the order received. */
+  public List<JsonObject> requests() {
+    return List.copyOf(requests);
+  }
+
+  /** @return the id of the latest subscription made with the given params. */
+  public Optional<String> subscriptionId(final JsonArray params) {
+    return Optional.ofNullable(subscriptionIds.get(params));
+  }
+
+  /** Delays the response to the next subscription request received. */
+  public void delayNextSubscription(final Duration delay) {
+    nextSubscriptionDelayMillis.set(delay.toMillis());
+  }
+
+  public void publish(final String subscriptionId, final Object result) {
+    final String notification =
+        new JsonObject()
+            .put("jsonrpc", "2.0")
+            .put("method", "eth_subscription")
+            .put(
+                "params",
+                new JsonObject().put("subscription", subscriptionId).put("result", result))
+            .encode();
+    sockets.forEach(socket -> socket.writeTextMessage(notification));
+  }
+
+  private void accept(final ServerWebSocket socket) {
+    sockets.add(socket);
+    socket.closeHandler(v -> sockets.remove(socket));
+    socket.textMessageHandler(
+        message -> {
+          final JsonObject request = new JsonObject(message);
+          requests.add(request);
+          final Object result;
+          long delayMillis = 0;
+          if ("eth_subscribe".equals(request.getString("method"))) {
+            final String subscriptionId =
+                "0x" + Long.toHexString(lastSubscriptionId.incrementAndGet());
+            subscriptionIds.put(request.getJsonArray("params"), subscriptionId);
+            result = subscriptionId;
+            delayMillis = nextSubscriptionDelayMillis.getAndSet(0);
+          } else {
+            result = Boolean.TRUE;
+          }
+          final String response =
+              new JsonObject()
+                  .put("jsonrpc", "2.0")
+                  .put("id", request.getValue("id"))
+                  .put("result", result)
+                  .encode();
+          if (delayMillis > 0) {
+            vertx.setTimer(delayMillis, timerId -> socket.writeTextMessage(response));
+          } else {
+            socket.writeTextMessage(response);
+          }
+        });
+  }
+}
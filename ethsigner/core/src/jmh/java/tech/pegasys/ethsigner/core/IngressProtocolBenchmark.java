@@ -0,0 +1,204 @@
+/*
+ * Copyright 2020 ConsenSys AG.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on
+ * an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations under the License.
+ */
+package tech.pegasys.ethsigner.core;
+
+import tech.pegasys.ethsigner.core.downstream.DownstreamPoolOptions;
+import tech.pegasys.ethsigner.core.downstream.LoadBalancingStrategy;
+import tech.pegasys.ethsigner.core.requesthandler.passthrough.cache.ResultCacheOptions;
+import tech.pegasys.ethsigner.core.requesthandler.sendtransaction.RetryPolicyOptions;
+import tech.pegasys.ethsigner.core.signing.TransactionSigner;
+import tech.pegasys.ethsigner.core.signing.TransactionSignerProvider;
+import tech.pegasys.ethsigner.core.tracing.Tracer;
+
+import java.io.FileInputStream;
+import java.io.InputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.Collections;
+import java.util.List;
+import java.util.Optional;
+import java.util.Properties;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+
+import io.netty.handler.codec.http.HttpHeaderNames;
+import io.netty.handler.codec.http.HttpHeaderValues;
+import io.vertx.core.Vertx;
+import io.vertx.core.buffer.Buffer;
+import io.vertx.core.http.HttpClient;
+import io.vertx.core.http.HttpClientOptions;
+import io.vertx.core.http.HttpClientRequest;
+import io.vertx.core.http.HttpServer;
+import io.vertx.core.http.HttpServerOptions;
+import io.vertx.core.http.HttpVersion;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Measures how many JSON-RPC requests a single client connection can have answered by EthSigner per
+ * second, over HTTP/1.1 and over a multiplexed h2c connection.
+ *
+ * <p>Requests are for eth_chainId, which EthSigner answers itself, so the ingress connection rather
+ * than the stub node behind it is the bottleneck. Run with {@code ./gradlew :ethsigner:core:jmh
+ * -Pinclude=IngressProtocolBenchmark}.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Threads(64)
+@Fork(1)
+@Warmup(iterations = 3, time = 10)
+@Measurement(iterations = 5, time = 10)
+public class IngressProtocolBenchmark {
+
+  private static final String LOCALHOST = "127.0.0.1";
+  private static final long CHAIN_ID = 2018;
+  private static final Duration DOWNSTREAM_TIMEOUT = Duration.ofSeconds(5);
+  private static final Buffer CHAIN_ID_REQUEST =
+      Buffer.buffer("{\"jsonrpc\":\"2.0\",\"method\":\"eth_chainId\",\"params\":[],\"id\":1}");
+  private static final Buffer BLOCK_NUMBER_RESPONSE =
+      Buffer.buffer("{\"jsonrpc\":\"2.0\",\"id\":1,\"result\":\"0x1b4\"}");
+
+  @Param({"HTTP_1_1", "HTTP_2"})
+  public HttpVersion protocol;
+
+  private Vertx vertx;
+  private HttpClient client;
+
+  @Setup
+  public void startEthSigner() throws Exception {
+    vertx = Vertx.vertx();
+    final int stubNodePort = startStubNode();
+    final Path dataPath = Files.createTempDirectory("ethsigner-benchmark");
+
+    final HttpClientOptions downstreamOptions =
+        new HttpClientOptions().setDefaultHost(LOCALHOST).setDefaultPort(stubNodePort);
+    final DownstreamPoolOptions downstreamPoolOptions =
+        new DownstreamPoolOptions(
+            List.of(downstreamOptions),
+            LoadBalancingStrategy.LEAST_OUTSTANDING,
+            DOWNSTREAM_TIMEOUT);
+    final HttpServerOptions serverOptions = new HttpServerOptions().setHost(LOCALHOST).setPort(0);
+    new Runner(
+            CHAIN_ID,
+            new NoSignersProvider(),
+            downstreamPoolOptions,
+            downstreamPoolOptions,
+            Optional.empty(),
+            Collections.emptySet(),
+            Collections.emptySet(),
+            serverOptions,
+            Optional.empty(),
+            Optional.empty(),
+            Tracer.DISABLED,
+            false,
+            Optional.empty(),
+            Optional.empty(),
+            Optional.empty(),
+            RetryPolicyOptions.DEFAULT,
+            ResultCacheOptions.DEFAULT,
+            Optional.empty(),
+            EthSigner.createJsonDecoder(),
+            dataPath,
+            vertx)
+        .start();
+
+    final HttpClientOptions clientOptions =
+        new HttpClientOptions()
+            .setDefaultHost(LOCALHOST)
+            .setDefaultPort(awaitEthSignerPort(dataPath.resolve("ethsigner.ports")))
+            .setMaxPoolSize(1);
+    if (protocol == HttpVersion.HTTP_2) {
+      clientOptions
+          .setProtocolVersion(HttpVersion.HTTP_2)
+          .setHttp2MaxPoolSize(1)
+          .setHttp2ClearTextUpgrade(false);
+    }
+    client = vertx.createHttpClient(clientOptions);
+  }
+
+  private int startStubNode() throws Exception {
+    final CompletableFuture<HttpServer> listening = new CompletableFuture<>();
+    vertx
+        .createHttpServer(new HttpServerOptions().setHost(LOCALHOST).setPort(0))
+        .requestHandler(request -> request.response().end(BLOCK_NUMBER_RESPONSE))
+        .listen(
+            result -> {
+              if (result.succeeded()) {
+                listening.complete(result.result());
+              } else {
+                listening.completeExceptionally(result.cause());
+              }
+            });
+    return listening.get(10, TimeUnit.SECONDS).actualPort();
+  }
+
+  static int awaitEthSignerPort(final Path portsFile) throws Exception {
+    final long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(10);
+    while (!Files.exists(portsFile) || Files.size(portsFile) == 0) {
+      if (System.nanoTime() > deadline) {
+        throw new IllegalStateException("EthSigner did not start listening");
+      }
+      TimeUnit.MILLISECONDS.sleep(50);
+    }
+    final Properties properties = new Properties();
+    try (final InputStream portsStream = new FileInputStream(portsFile.toFile())) {
+      properties.load(portsStream);
+    }
+    return Integer.parseInt(properties.getProperty("http-jsonrpc"));
+  }
+
+  @TearDown
+  public void stopEthSigner() throws Exception {
+    final CompletableFuture<Void> closed = new CompletableFuture<>();
+    vertx.close(result -> closed.complete(null));
+    closed.get(10, TimeUnit.SECONDS);
+  }
+
+  @Benchmark
+  public Buffer chainId() throws Exception {
+    final CompletableFuture<Buffer> responseBody = new CompletableFuture<>();
+    final HttpClientRequest request =
+        client.post("/", response -> response.bodyHandler(responseBody::complete));
+    request.exceptionHandler(responseBody::completeExceptionally);
+    request.putHeader(HttpHeaderNames.CONTENT_TYPE, HttpHeaderValues.APPLICATION_JSON);
+    request.end(CHAIN_ID_REQUEST);
+    return responseBody.get(10, TimeUnit.SECONDS);
+  }
+
+  static class NoSignersProvider implements TransactionSignerProvider {
+
+    @Override
+    public Optional<TransactionSigner> getSigner(final String address) {
+      return Optional.empty();
+    }
+
+    @Override
+    public Set<String> availableAddresses() {
+      return Collections.emptySet();
+    }
+  }
+}
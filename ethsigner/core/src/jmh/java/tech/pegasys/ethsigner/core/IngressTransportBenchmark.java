@@ -0,0 +1,179 @@
+/*
+ * Copyright 2020 ConsenSys AG.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on
+ * an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations under the License.
+ */
+package tech.pegasys.ethsigner.core;
+
+import tech.pegasys.ethsigner.core.IngressProtocolBenchmark.NoSignersProvider;
+import tech.pegasys.ethsigner.core.downstream.DownstreamPoolOptions;
+import tech.pegasys.ethsigner.core.downstream.LoadBalancingStrategy;
+import tech.pegasys.ethsigner.core.http.DomainSocketServerOptions;
+import tech.pegasys.ethsigner.core.requesthandler.passthrough.cache.ResultCacheOptions;
+import tech.pegasys.ethsigner.core.requesthandler.sendtransaction.RetryPolicyOptions;
+import tech.pegasys.ethsigner.core.tracing.Tracer;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.attribute.PosixFilePermissions;
+import java.time.Duration;
+import java.util.Collections;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+
+import io.netty.handler.codec.http.HttpHeaderNames;
+import io.netty.handler.codec.http.HttpHeaderValues;
+import io.vertx.core.Handler;
+import io.vertx.core.Vertx;
+import io.vertx.core.VertxOptions;
+import io.vertx.core.buffer.Buffer;
+import io.vertx.core.http.HttpClient;
+import io.vertx.core.http.HttpClientOptions;
+import io.vertx.core.http.HttpClientRequest;
+import io.vertx.core.http.HttpClientResponse;
+import io.vertx.core.http.HttpMethod;
+import io.vertx.core.http.HttpServerOptions;
+import io.vertx.core.net.SocketAddress;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Compares the latency of requests from a co-located client to EthSigner over its TCP listener with
+ * its Unix domain socket listener, while requests are offered at 5k per second. Both use the native
+ * transport, which the domain socket requires, so only the socket differs.
+ *
+ * <p>Requests are for eth_chainId, which EthSigner answers itself, so only the ingress hop is
+ * measured. The p0.99 row of the sample time output is the figure of interest, e.g. from {@code
+ * ./gradlew :ethsigner:core:jmh -Pinclude=IngressTransportBenchmark}. Linux only.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.SampleTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Threads(64)
+@Fork(1)
+@Warmup(iterations = 3, time = 10)
+@Measurement(iterations = 5, time = 10)
+public class IngressTransportBenchmark {
+
+  private static final String LOCALHOST = "127.0.0.1";
+  private static final long CHAIN_ID = 2018;
+  private static final Duration DOWNSTREAM_TIMEOUT = Duration.ofSeconds(5);
+  private static final int MAX_CONNECTIONS = 5;
+  private static final Buffer CHAIN_ID_REQUEST =
+      Buffer.buffer("{\"jsonrpc\":\"2.0\",\"method\":\"eth_chainId\",\"params\":[],\"id\":1}");
+
+  public enum Transport {
+    TCP,
+    UNIX_DOMAIN_SOCKET
+  }
+
+  @Param({"TCP", "UNIX_DOMAIN_SOCKET"})
+  public Transport transport;
+
+  private Vertx vertx;
+  private Path dataPath;
+  private HttpClient client;
+  private SocketAddress serverAddress;
+  private int port;
+
+  @Setup
+  public void startEthSigner() throws Exception {
+    vertx = Vertx.vertx(new VertxOptions().setPreferNativeTransport(true));
+    if (!vertx.isNativeTransportEnabled()) {
+      throw new IllegalStateException("Native transport is unavailable");
+    }
+    dataPath = Files.createTempDirectory("ethsigner-benchmark");
+    final Path socketPath = dataPath.resolve("ethsigner.sock");
+
+    // eth_chainId is answered without reaching the downstream node, so none is started
+    final DownstreamPoolOptions downstreamPoolOptions =
+        new DownstreamPoolOptions(
+            List.of(new HttpClientOptions().setDefaultHost(LOCALHOST).setDefaultPort(1)),
+            LoadBalancingStrategy.LEAST_OUTSTANDING,
+            DOWNSTREAM_TIMEOUT);
+    new Runner(
+            CHAIN_ID,
+            new NoSignersProvider(),
+            downstreamPoolOptions,
+            downstreamPoolOptions,
+            Optional.empty(),
+            Collections.emptySet(),
+            Collections.emptySet(),
+            new HttpServerOptions().setHost(LOCALHOST).setPort(0),
+            Optional.of(
+                new DomainSocketServerOptions(
+                    socketPath,
+                    PosixFilePermissions.fromString("rw-------"),
+                    new HttpServerOptions())),
+            Optional.empty(),
+            Tracer.DISABLED,
+            false,
+            Optional.empty(),
+            Optional.empty(),
+            Optional.empty(),
+            RetryPolicyOptions.DEFAULT,
+            ResultCacheOptions.DEFAULT,
+            Optional.empty(),
+            EthSigner.createJsonDecoder(),
+            dataPath,
+            vertx)
+        .start();
+
+    port = IngressProtocolBenchmark.awaitEthSignerPort(dataPath.resolve("ethsigner.ports"));
+    serverAddress =
+        transport == Transport.TCP
+            ? SocketAddress.inetSocketAddress(port, LOCALHOST)
+            : SocketAddress.domainSocketAddress(socketPath.toString());
+    client =
+        vertx.createHttpClient(
+            new HttpClientOptions()
+                .setDefaultHost(LOCALHOST)
+                .setDefaultPort(port)
+                .setMaxPoolSize(MAX_CONNECTIONS));
+  }
+
+  @TearDown
+  public void stopEthSigner() throws Exception {
+    final CompletableFuture<Void> closed = new CompletableFuture<>();
+    vertx.close(result -> closed.complete(null));
+    closed.get(10, TimeUnit.SECONDS);
+    Files.deleteIfExists(dataPath.resolve("ethsigner.sock"));
+    Files.deleteIfExists(dataPath.resolve("ethsigner.ports"));
+    Files.deleteIfExists(dataPath);
+  }
+
+  @Benchmark
+  public Buffer chainId(final Pacer pacer) throws Exception {
+    final CompletableFuture<Buffer> responseBody = new CompletableFuture<>();
+    final HttpClientRequest request =
+        post(response -> response.bodyHandler(responseBody::complete));
+    request.exceptionHandler(responseBody::completeExceptionally);
+    request.putHeader(HttpHeaderNames.CONTENT_TYPE, HttpHeaderValues.APPLICATION_JSON);
+    request.end(CHAIN_ID_REQUEST);
+    return responseBody.get(10, TimeUnit.SECONDS);
+  }
+
+  private HttpClientRequest post(final Handler<HttpClientResponse> responseHandler) {
+    return client.request(HttpMethod.POST, serverAddress, port, LOCALHOST, "/", responseHandler);
+  }
+}
@@ -0,0 +1,47 @@
+/*
+ * Copyright 2020 ConsenSys AG.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on
+ * an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations under the License.
+ */
+package tech.pegasys.ethsigner.core;
+
+import com.google.common.util.concurrent.RateLimiter;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+/**
+ * Holds each thread back until the shared rate allows another request, outside of the measured
+ * time, so latency is measured under a fixed offered load rather than as fast as possible. A
+ * benchmark method is paced by taking one as a parameter.
+ */
+@State(Scope.Thread)
+public class Pacer {
+
+  @Setup(Level.Invocation)
+  public void awaitTurn(final OfferedLoad offeredLoad) {
+    offeredLoad.rateLimiter.acquire();
+  }
+
+  /** The rate shared by every thread of a benchmark. */
+  @State(Scope.Benchmark)
+  public static class OfferedLoad {
+
+    private static final int REQUESTS_PER_SECOND = 5_000;
+
+    private RateLimiter rateLimiter;
+
+    @Setup(Level.Trial)
+    public void createRateLimiter() {
+      rateLimiter = RateLimiter.create(REQUESTS_PER_SECOND);
+    }
+  }
+}
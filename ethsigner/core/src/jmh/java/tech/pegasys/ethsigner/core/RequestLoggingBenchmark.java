@@ -0,0 +1,104 @@
+/*
+ * Copyright 2020 ConsenSys AG.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on
+ * an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations under the License.
+ */
+package tech.pegasys.ethsigner.core;
+
+import tech.pegasys.ethsigner.core.http.JsonRpcHandler;
+import tech.pegasys.ethsigner.core.jsonrpc.JsonRpcRequestId;
+import tech.pegasys.ethsigner.core.requesthandler.VertxRequestTransmitter;
+import tech.pegasys.ethsigner.core.requesthandler.passthrough.PassThroughHandler;
+import tech.pegasys.ethsigner.core.requesthandler.sendtransaction.SendTransactionHandler;
+import tech.pegasys.ethsigner.core.requesthandler.sendtransaction.transaction.VertxNonceRequestTransmitter;
+
+import java.math.BigInteger;
+import java.util.concurrent.TimeUnit;
+
+import io.vertx.core.buffer.Buffer;
+import io.vertx.core.http.HttpMethod;
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Measures what the logging on the request path allocates while EthSigner logs at INFO, through the
+ * asynchronous, garbage-free configuration. Each benchmark makes the logging calls the handlers
+ * make for one kind of request, to the loggers of those handlers.
+ *
+ * <p>Run with {@code ./gradlew :ethsigner:core:jmh -Pinclude=RequestLoggingBenchmark -Pprof=gc}.
+ * The {@code gc.alloc.rate.norm} of a request is expected to be zero bytes per operation, while
+ * that of {@code eagerlyFormattedBody} shows what formatting a body regardless of level costs.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Fork(value = 1, jvmArgsAppend = "-Dlog4j.configurationFile=log4j2-async.xml")
+@Warmup(iterations = 3, time = 5)
+@Measurement(iterations = 5, time = 5)
+public class RequestLoggingBenchmark {
+
+  private static final Logger HANDLER_LOG = LogManager.getLogger(JsonRpcHandler.class);
+  private static final Logger PASS_THROUGH_LOG = LogManager.getLogger(PassThroughHandler.class);
+  private static final Logger TRANSMITTER_LOG = LogManager.getLogger(VertxRequestTransmitter.class);
+  private static final Logger SEND_TRANSACTION_LOG =
+      LogManager.getLogger(SendTransactionHandler.class);
+  private static final Logger NONCE_LOG = LogManager.getLogger(VertxNonceRequestTransmitter.class);
+
+  private final Buffer requestBody =
+      Buffer.buffer("{\"jsonrpc\":\"2.0\",\"method\":\"eth_blockNumber\",\"params\":[],\"id\":1}");
+  private final Buffer responseBody =
+      Buffer.buffer("{\"jsonrpc\":\"2.0\",\"id\":1,\"result\":\"0x1b4\"}");
+  private final JsonRpcRequestId id = new JsonRpcRequestId(1);
+  private final String method = "eth_blockNumber";
+  private final int statusCode = 200;
+  private final BigInteger nonce = BigInteger.valueOf(1024);
+
+  @Benchmark
+  public void passThroughRequest() {
+    HANDLER_LOG.trace("Request body = {}", requestBody);
+    PASS_THROUGH_LOG.debug("Passing through request {}, {}", id, method);
+    if (PASS_THROUGH_LOG.isDebugEnabled()) {
+      PASS_THROUGH_LOG.debug(
+          "Proxying method: {}, uri: {}, body: {}", HttpMethod.POST, "/", requestBody);
+    }
+    if (TRANSMITTER_LOG.isDebugEnabled()) {
+      TRANSMITTER_LOG.debug("Response status: {}", statusCode);
+    }
+    TRANSMITTER_LOG.debug("Response body: {}", responseBody);
+  }
+
+  @Benchmark
+  public void sendTransactionRequest() {
+    HANDLER_LOG.trace("Request body = {}", requestBody);
+    SEND_TRANSACTION_LOG.debug("Transforming request {}, {}", id, method);
+    SEND_TRANSACTION_LOG.debug("Nonce not present in request {}", id);
+    NONCE_LOG.debug("Transmitted {}", requestBody);
+    NONCE_LOG.debug("Supplying nonce of {}", nonce);
+    if (TRANSMITTER_LOG.isDebugEnabled()) {
+      TRANSMITTER_LOG.debug("Response status: {}", statusCode);
+    }
+    TRANSMITTER_LOG.debug("Response body: {}", responseBody);
+  }
+
+  @Benchmark
+  public void eagerlyFormattedBody() {
+    PASS_THROUGH_LOG.debug(
+        "Proxying method: {}, uri: {}, body: {}", HttpMethod.POST, "/", requestBody.toString());
+  }
+}
@@ -0,0 +1,140 @@
+/*
+ * Copyright 2020 ConsenSys AG.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on
+ * an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations under the License.
+ */
+package tech.pegasys.ethsigner.core.downstream;
+
+import tech.pegasys.ethsigner.core.Pacer;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+
+import io.netty.handler.codec.http.HttpHeaderNames;
+import io.netty.handler.codec.http.HttpHeaderValues;
+import io.vertx.core.Vertx;
+import io.vertx.core.buffer.Buffer;
+import io.vertx.core.http.HttpClient;
+import io.vertx.core.http.HttpClientOptions;
+import io.vertx.core.http.HttpClientRequest;
+import io.vertx.core.http.HttpServer;
+import io.vertx.core.http.HttpServerOptions;
+import io.vertx.core.http.HttpServerRequest;
+import io.vertx.core.http.HttpVersion;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Compares the latency of requests to a local stub node over pooled HTTP/1.1 connections with a
+ * single multiplexed h2c connection, while requests are offered at 5k per second.
+ *
+ * <p>The p0.99 row of the sample time output is the figure of interest, e.g. from {@code ./gradlew
+ * :ethsigner:core:jmh -Pinclude=DownstreamProtocolBenchmark}.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.SampleTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Threads(64)
+@Fork(1)
+@Warmup(iterations = 3, time = 10)
+@Measurement(iterations = 5, time = 10)
+public class DownstreamProtocolBenchmark {
+
+  private static final String LOCALHOST = "127.0.0.1";
+  // the default --downstream-http-max-connections
+  private static final int HTTP_1_1_MAX_CONNECTIONS = 5;
+  private static final Buffer BLOCK_NUMBER_REQUEST =
+      Buffer.buffer("{\"jsonrpc\":\"2.0\",\"method\":\"eth_blockNumber\",\"params\":[],\"id\":1}");
+  private static final Buffer BLOCK_NUMBER_RESPONSE =
+      Buffer.buffer("{\"jsonrpc\":\"2.0\",\"id\":1,\"result\":\"0x1b4\"}");
+
+  @Param({"HTTP_1_1", "HTTP_2"})
+  public HttpVersion protocol;
+
+  /** How long the stub node takes to answer, standing in for the work done by a real node. */
+  @Param({"0", "5"})
+  public long nodeLatencyMillis;
+
+  private Vertx vertx;
+  private HttpClient client;
+
+  @Setup
+  public void startStubNode() throws Exception {
+    vertx = Vertx.vertx();
+    final CompletableFuture<HttpServer> listening = new CompletableFuture<>();
+    vertx
+        .createHttpServer(new HttpServerOptions().setHost(LOCALHOST).setPort(0))
+        .requestHandler(this::respond)
+        .listen(
+            result -> {
+              if (result.succeeded()) {
+                listening.complete(result.result());
+              } else {
+                listening.completeExceptionally(result.cause());
+              }
+            });
+    final HttpServer stubNode = listening.get(10, TimeUnit.SECONDS);
+
+    final HttpClientOptions clientOptions =
+        new HttpClientOptions()
+            .setDefaultHost(LOCALHOST)
+            .setDefaultPort(stubNode.actualPort())
+            .setMaxPoolSize(HTTP_1_1_MAX_CONNECTIONS);
+    if (protocol == HttpVersion.HTTP_2) {
+      // as configured by --downstream-http2-enabled without TLS
+      clientOptions
+          .setProtocolVersion(HttpVersion.HTTP_2)
+          .setHttp2MaxPoolSize(1)
+          .setHttp2ClearTextUpgrade(false);
+    }
+    client = vertx.createHttpClient(clientOptions);
+  }
+
+  private void respond(final HttpServerRequest request) {
+    request.bodyHandler(
+        body -> {
+          if (nodeLatencyMillis == 0) {
+            request.response().end(BLOCK_NUMBER_RESPONSE);
+          } else {
+            vertx.setTimer(
+                nodeLatencyMillis, timerId -> request.response().end(BLOCK_NUMBER_RESPONSE));
+          }
+        });
+  }
+
+  @TearDown
+  public void stopStubNode() throws Exception {
+    final CompletableFuture<Void> closed = new CompletableFuture<>();
+    vertx.close(result -> closed.complete(null));
+    closed.get(10, TimeUnit.SECONDS);
+  }
+
+  @Benchmark
+  public Buffer blockNumber(final Pacer pacer) throws Exception {
+    final CompletableFuture<Buffer> responseBody = new CompletableFuture<>();
+    final HttpClientRequest request =
+        client.post("/", response -> response.bodyHandler(responseBody::complete));
+    request.exceptionHandler(responseBody::completeExceptionally);
+    request.putHeader(HttpHeaderNames.CONTENT_TYPE, HttpHeaderValues.APPLICATION_JSON);
+    request.end(BLOCK_NUMBER_REQUEST);
+    return responseBody.get(10, TimeUnit.SECONDS);
+  }
+}
@@ -0,0 +1,155 @@
+/*
+ * Copyright 2020 ConsenSys AG.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on
+ * an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations under the License.
+ */
+package tech.pegasys.ethsigner.core.downstream;
+
+import tech.pegasys.ethsigner.core.Pacer;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+
+import com.google.common.net.HostAndPort;
+import io.netty.handler.codec.http.HttpHeaderNames;
+import io.netty.handler.codec.http.HttpHeaderValues;
+import io.vertx.core.Vertx;
+import io.vertx.core.VertxOptions;
+import io.vertx.core.buffer.Buffer;
+import io.vertx.core.http.HttpClient;
+import io.vertx.core.http.HttpClientOptions;
+import io.vertx.core.http.HttpClientRequest;
+import io.vertx.core.http.HttpServer;
+import io.vertx.core.http.HttpServerOptions;
+import io.vertx.core.http.HttpServerRequest;
+import io.vertx.core.net.SocketAddress;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Compares the latency of requests to a co-located stub node over TCP loopback with its Unix domain
+ * socket, while requests are offered at 5k per second. Both use the native transport, which the
+ * domain socket requires, so only the socket differs.
+ *
+ * <p>The p0.99 row of the sample time output is the figure of interest, e.g. from {@code ./gradlew
+ * :ethsigner:core:jmh -Pinclude=DownstreamTransportBenchmark}. Linux only.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.SampleTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Threads(64)
+@Fork(1)
+@Warmup(iterations = 3, time = 10)
+@Measurement(iterations = 5, time = 10)
+public class DownstreamTransportBenchmark {
+
+  private static final String LOCALHOST = "127.0.0.1";
+  // the default --downstream-http-max-connections
+  private static final int MAX_CONNECTIONS = 5;
+  private static final Buffer BLOCK_NUMBER_REQUEST =
+      Buffer.buffer("{\"jsonrpc\":\"2.0\",\"method\":\"eth_blockNumber\",\"params\":[],\"id\":1}");
+  private static final Buffer BLOCK_NUMBER_RESPONSE =
+      Buffer.buffer("{\"jsonrpc\":\"2.0\",\"id\":1,\"result\":\"0x1b4\"}");
+
+  public enum Transport {
+    TCP,
+    UNIX_DOMAIN_SOCKET
+  }
+
+  @Param({"TCP", "UNIX_DOMAIN_SOCKET"})
+  public Transport transport;
+
+  private Vertx vertx;
+  private Path socketDirectory;
+  private DownstreamNode node;
+
+  @Setup
+  public void startStubNode() throws Exception {
+    vertx = Vertx.vertx(new VertxOptions().setPreferNativeTransport(true));
+    if (!vertx.isNativeTransportEnabled()) {
+      throw new IllegalStateException("Native transport is unavailable");
+    }
+
+    final HttpServer tcpListener = listen(SocketAddress.inetSocketAddress(0, LOCALHOST));
+    socketDirectory = Files.createTempDirectory("ethsigner-benchmark");
+    final String socketPath = socketDirectory.resolve("node.sock").toString();
+    listen(SocketAddress.domainSocketAddress(socketPath));
+
+    final HttpClientOptions clientOptions =
+        new HttpClientOptions()
+            .setDefaultHost(LOCALHOST)
+            .setDefaultPort(tcpListener.actualPort())
+            .setMaxPoolSize(MAX_CONNECTIONS);
+    final HttpClient client = vertx.createHttpClient(clientOptions);
+    final ConnectionPoolMetrics connectionPool = new ConnectionPoolMetrics(-1);
+    node =
+        transport == Transport.TCP
+            ? new DownstreamNode("tcp", client, connectionPool)
+            : new DownstreamNode(
+                HostAndPort.fromParts(LOCALHOST, tcpListener.actualPort()),
+                socketPath,
+                client,
+                connectionPool);
+  }
+
+  private HttpServer listen(final SocketAddress address) throws Exception {
+    final CompletableFuture<HttpServer> listening = new CompletableFuture<>();
+    vertx
+        .createHttpServer(new HttpServerOptions())
+        .requestHandler(this::respond)
+        .listen(
+            address,
+            result -> {
+              if (result.succeeded()) {
+                listening.complete(result.result());
+              } else {
+                listening.completeExceptionally(result.cause());
+              }
+            });
+    return listening.get(10, TimeUnit.SECONDS);
+  }
+
+  private void respond(final HttpServerRequest request) {
+    request.bodyHandler(body -> request.response().end(BLOCK_NUMBER_RESPONSE));
+  }
+
+  @TearDown
+  public void stopStubNode() throws Exception {
+    final CompletableFuture<Void> closed = new CompletableFuture<>();
+    vertx.close(result -> closed.complete(null));
+    closed.get(10, TimeUnit.SECONDS);
+    Files.deleteIfExists(socketDirectory.resolve("node.sock"));
+    Files.deleteIfExists(socketDirectory);
+  }
+
+  @Benchmark
+  public Buffer blockNumber(final Pacer pacer) throws Exception {
+    final CompletableFuture<Buffer> responseBody = new CompletableFuture<>();
+    final HttpClientRequest request =
+        node.post("/", response -> response.bodyHandler(responseBody::complete));
+    request.exceptionHandler(responseBody::completeExceptionally);
+    request.putHeader(HttpHeaderNames.CONTENT_TYPE, HttpHeaderValues.APPLICATION_JSON);
+    request.end(BLOCK_NUMBER_REQUEST);
+    return responseBody.get(10, TimeUnit.SECONDS);
+  }
+}
@@ -12,22 +12,52 @@
  */
 package tech.pegasys.ethsigner.core;
 
+import tech.pegasys.ethsigner.core.admission.AdmissionLimits;
+import tech.pegasys.ethsigner.core.admission.AdmissionOptions;
+import tech.pegasys.ethsigner.core.admission.ClientIdentifier;
+import tech.pegasys.ethsigner.core.admission.Priority;
+import tech.pegasys.ethsigner.core.admission.RateLimit;
+import tech.pegasys.ethsigner.core.admission.RateLimitOptions;
 import tech.pegasys.ethsigner.core.config.ClientAuthConstraints;
 import tech.pegasys.ethsigner.core.config.Config;
 import tech.pegasys.ethsigner.core.config.TlsOptions;
+import tech.pegasys.ethsigner.core.downstream.DownstreamPoolOptions;
+import tech.pegasys.ethsigner.core.http.DomainSocketServerOptions;
 import tech.pegasys.ethsigner.core.jsonrpc.JsonDecoder;
+import tech.pegasys.ethsigner.core.requesthandler.passthrough.cache.ResultCacheOptions;
+import tech.pegasys.ethsigner.core.requesthandler.sendtransaction.RetryPolicyOptions;
+import tech.pegasys.ethsigner.core.requesthandler.sendtransaction.SenderSchedulerOptions;
 import tech.pegasys.ethsigner.core.signing.TransactionSignerProvider;
+import tech.pegasys.ethsigner.core.tracing.LogSpanExporter;
+import tech.pegasys.ethsigner.core.tracing.OtlpSpanExporter;
+import tech.pegasys.ethsigner.core.tracing.Tracer;
 import tech.pegasys.ethsigner.core.util.FileUtil;
+import tech.pegasys.ethsigner.core.websocket.WebSocketOptions;
 
+import java.io.File;
 import java.io.IOException;
 import java.nio.file.AccessDeniedException;
 import java.nio.file.NoSuchFileException;
+import java.nio.file.attribute.PosixFilePermission;
+import java.nio.file.attribute.PosixFilePermissions;
 import java.time.Duration;
+import java.util.EnumMap;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
 
 import com.fasterxml.jackson.databind.DeserializationFeature;
 import com.fasterxml.jackson.databind.ObjectMapper;
+import com.google.common.annotations.VisibleForTesting;
 import io.vertx.core.Vertx;
+import io.vertx.core.VertxOptions;
 import io.vertx.core.http.ClientAuth;
+import io.vertx.core.http.HttpClientOptions;
+import io.vertx.core.http.Http2Settings;
 import io.vertx.core.http.HttpServerOptions;
 import io.vertx.core.net.PfxOptions;
 import org.apache.logging.log4j.LogManager;
@@ -37,6 +67,9 @@ import org.apache.tuweni.net.tls.VertxTrustOptions;
 public final class EthSigner {
 
   private static final Logger LOG = LogManager.getLogger();
+  // SETTINGS_MAX_CONCURRENT_STREAMS is an unsigned 32-bit value
+  private static final long MAX_HTTP2_CONCURRENT_STREAMS = 0xFFFFFFFFL;
+  private static final Duration TRACING_EXPORT_INTERVAL = Duration.ofSeconds(1);
 
   private final Config config;
   private final TransactionSignerProvider transactionSignerProvider;
@@ -55,30 +88,278 @@ public final class EthSigner {
       return;
     }
 
+    if (config.getDownstreamHttpReadRequestTimeout().toMillis() <= 0) {
+      LOG.error("Read request timeout must be greater than 0.");
+      return;
+    }
+
+    if (config.getDownstreamHttpMaxConnections() <= 0
+        || config.getDownstreamHttpSigningMaxConnections() <= 0
+        || config.getDownstreamHttpReadMaxConnections() <= 0) {
+      LOG.error("Maximum downstream connections must be greater than 0.");
+      return;
+    }
+
+    if (config.getDownstreamHttp2MaxConcurrentStreams() == 0
+        || config.getDownstreamHttp2MaxConcurrentStreams() < -1) {
+      LOG.error("Maximum concurrent HTTP/2 streams must be greater than 0, or -1 for no limit.");
+      return;
+    }
+
+    if (config.getHttp2MaxConcurrentStreams() <= 0
+        || config.getHttp2MaxConcurrentStreams() > MAX_HTTP2_CONCURRENT_STREAMS) {
+      LOG.error(
+          "Maximum concurrent HTTP/2 streams must be between 1 and {}.",
+          MAX_HTTP2_CONCURRENT_STREAMS);
+      return;
+    }
+
+    if (config.getHttp2InitialWindowSize() <= 0) {
+      LOG.error("HTTP/2 initial window size must be greater than 0.");
+      return;
+    }
+
+    if (config.getWebSocketMaxInFlightRequests() <= 0) {
+      LOG.error("Maximum in flight WebSocket requests must be greater than 0.");
+      return;
+    }
+
+    if (config.getWebSocketSubscriptionBufferSize() <= 0) {
+      LOG.error("WebSocket subscription buffer size must be greater than 0.");
+      return;
+    }
+
+    if (config.getAdmissionMaxConcurrentRequests() <= 0
+        && config.getAdmissionMaxConcurrentRequests() != -1) {
+      LOG.error("Maximum concurrent requests must be greater than 0, or -1 for no limit.");
+      return;
+    }
+
+    if (config.getAdmissionMaxQueuedRequests() < 0) {
+      LOG.error("Maximum queued requests must not be negative.");
+      return;
+    }
+
+    if (config.getAdmissionMethodMaxConcurrentRequests().values().stream().anyMatch(v -> v <= 0)) {
+      LOG.error("Maximum concurrent requests for a method must be greater than 0.");
+      return;
+    }
+
+    if (config.getAdmissionMethodMaxQueuedRequests().values().stream().anyMatch(v -> v < 0)) {
+      LOG.error("Maximum queued requests for a method must not be negative.");
+      return;
+    }
+
+    if (!config.getRateLimitRequestsPerSecond().keySet().stream().allMatch(EthSigner::isMethodClass)
+        || !config.getRateLimitBurst().keySet().stream().allMatch(EthSigner::isMethodClass)) {
+      LOG.error("Rate limits must be given for the transaction or pass_through class of method.");
+      return;
+    }
+
+    if (config.getRateLimitRequestsPerSecond().values().stream().anyMatch(v -> v <= 0)) {
+      LOG.error("Rate limit requests per second must be greater than 0.");
+      return;
+    }
+
+    if (config.getRateLimitBurst().values().stream().anyMatch(v -> v <= 0)) {
+      LOG.error("Rate limit burst must be greater than 0.");
+      return;
+    }
+
+    if (!config
+        .getRateLimitRequestsPerSecond()
+        .keySet()
+        .containsAll(config.getRateLimitBurst().keySet())) {
+      LOG.error("Rate limit burst must only be given for a class of method with a rate limit.");
+      return;
+    }
+
+    if (config.getTransactionMaxInFlight() <= 0 && config.getTransactionMaxInFlight() != -1) {
+      LOG.error("Maximum in flight transactions must be greater than 0, or -1 for no limit.");
+      return;
+    }
+
+    if (config.getTransactionMaxInFlightPerSender() <= 0
+        && config.getTransactionMaxInFlightPerSender() != -1) {
+      LOG.error(
+          "Maximum in flight transactions per sender must be greater than 0, or -1 for no limit.");
+      return;
+    }
+
+    if (config.getTransactionMaxQueuedPerSender() < 0) {
+      LOG.error("Maximum queued transactions per sender must not be negative.");
+      return;
+    }
+
+    if (config.getTransactionSenderWeights().values().stream().anyMatch(v -> v <= 0)) {
+      LOG.error("Transaction sender weights must be greater than 0.");
+      return;
+    }
+
+    if (config.getTransactionMaxRetries() < 0) {
+      LOG.error("Maximum transaction retries must not be negative.");
+      return;
+    }
+
+    if (config.getTransactionRetryBaseDelay().toMillis() <= 0
+        || config.getTransactionRetryMaxDelay().compareTo(config.getTransactionRetryBaseDelay())
+            < 0) {
+      LOG.error(
+          "Transaction retry base delay must be greater than 0, and no greater than the maximum "
+              + "delay.");
+      return;
+    }
+
+    if (config.getTransactionRetryBudgetRatio() < 0) {
+      LOG.error("Transaction retry budget ratio must not be negative.");
+      return;
+    }
+
+    if (config.getImmutableResultCacheMaxSize() < 0) {
+      LOG.error("Immutable result cache maximum size must not be negative.");
+      return;
+    }
+
+    if (config.getLatestBlockCachePollInterval().toMillis() <= 0) {
+      LOG.error("Latest block cache poll interval must be greater than 0.");
+      return;
+    }
+
+    if (config.getLatestBlockCacheMaxSize() <= 0) {
+      LOG.error("Latest block cache maximum size must be greater than 0.");
+      return;
+    }
+
     if (config.getHttpListenHost().equals(config.getDownstreamHttpHost())
         && config.getHttpListenPort().equals(config.getDownstreamHttpPort())) {
       LOG.error("Http host and port must be different to the downstream host and port.");
       return;
     }
 
+    if (config.isMetricsEnabled()
+        && config.getMetricsHost().equals(config.getHttpListenHost())
+        && config.getMetricsPort().equals(config.getHttpListenPort())) {
+      LOG.error("Metrics host and port must be different to the http host and port.");
+      return;
+    }
+
+    if (config.getTracingSampleRatio() < 0 || config.getTracingSampleRatio() > 1) {
+      LOG.error("Tracing sample ratio must be between 0 and 1.");
+      return;
+    }
+
+    final Set<PosixFilePermission> listenSocketPermissions;
+    try {
+      listenSocketPermissions =
+          PosixFilePermissions.fromString(config.getHttpListenSocketPermissions());
+    } catch (final IllegalArgumentException e) {
+      LOG.error("Http listen socket permissions must be of the form rwxrwxrwx.");
+      return;
+    }
+
     final JsonDecoder jsonDecoder = createJsonDecoder();
 
+    final Http2Settings http2Settings =
+        new Http2Settings()
+            .setMaxConcurrentStreams(config.getHttp2MaxConcurrentStreams())
+            .setInitialWindowSize(config.getHttp2InitialWindowSize());
     final HttpServerOptions serverOptions =
         new HttpServerOptions()
             .setPort(config.getHttpListenPort())
             .setHost(config.getHttpListenHost())
             .setReuseAddress(true)
-            .setReusePort(true);
+            .setReusePort(true)
+            .setInitialSettings(http2Settings);
+    // access to the socket is controlled by its file permissions rather than TLS
+    final Optional<DomainSocketServerOptions> domainSocketServerOptions =
+        config
+            .getHttpListenSocketPath()
+            .map(
+                path ->
+                    new DomainSocketServerOptions(
+                        path,
+                        listenSocketPermissions,
+                        new HttpServerOptions().setInitialSettings(http2Settings)));
+    final Optional<HttpServerOptions> metricsServerOptions =
+        config.isMetricsEnabled()
+            ? Optional.of(
+                new HttpServerOptions()
+                    .setHost(config.getMetricsHost())
+                    .setPort(config.getMetricsPort()))
+            : Optional.empty();
+
+    // Unix domain sockets are only available through the native transport
+    final boolean nativeTransportRequired =
+        config.getDownstreamHttpSocketPath().isPresent()
+            || config.getHttpListenSocketPath().isPresent();
+    final Vertx vertx =
+        Vertx.vertx(new VertxOptions().setPreferNativeTransport(nativeTransportRequired));
+    if (nativeTransportRequired && !vertx.isNativeTransportEnabled()) {
+      LOG.error("Unix domain sockets require the native transport, which is unavailable.");
+      vertx.close();
+      return;
+    }
 
-    final Vertx vertx = Vertx.vertx();
     try {
+      final DownstreamPoolOptions signingPoolOptions =
+          new DownstreamPoolOptions(
+              webClientOptionsFactory.createSigningWebClientOptions(config),
+              config.getDownstreamLoadBalancingStrategy(),
+              downstreamHttpRequestTimeout,
+              config.getDownstreamHttpSocketPath());
+      final DownstreamPoolOptions writePoolOptions =
+          new DownstreamPoolOptions(
+              webClientOptionsFactory.createWebClientOptions(config),
+              config.getDownstreamLoadBalancingStrategy(),
+              downstreamHttpRequestTimeout,
+              config.getDownstreamHttpSocketPath());
+      final List<HttpClientOptions> readNodeOptions =
+          webClientOptionsFactory.createReadWebClientOptions(config);
+      final Optional<DownstreamPoolOptions> readPoolOptions =
+          readNodeOptions.isEmpty()
+              ? Optional.empty()
+              : Optional.of(
+                  new DownstreamPoolOptions(
+                      readNodeOptions,
+                      config.getDownstreamLoadBalancingStrategy(),
+                      config.getDownstreamHttpReadRequestTimeout()));
+      final Optional<WebSocketOptions> webSocketOptions =
+          config.isWebSocketEnabled()
+              ? Optional.of(
+                  new WebSocketOptions(
+                      config.getWebSocketMaxInFlightRequests(),
+                      config.getWebSocketSubscriptionBufferSize(),
+                      webClientOptionsFactory.createSubscriptionClientOptions(config)))
+              : Optional.empty();
+
       final Runner runner =
           new Runner(
               config.getChainId().id(),
               transactionSignerProvider,
-              webClientOptionsFactory.createWebClientOptions(config),
-              applyConfigTlsSettingsTo(serverOptions),
-              downstreamHttpRequestTimeout,
+              signingPoolOptions,
+              writePoolOptions,
+              readPoolOptions,
+              config.getDownstreamHttpReadMethods(),
+              config.getDownstreamHttpWriteMethods(),
+              applyTlsOptions(serverOptions, config.getTlsOptions()),
+              domainSocketServerOptions,
+              metricsServerOptions,
+              createTracer(vertx),
+              config.isServerTimingEnabled(),
+              createAdmissionOptions(),
+              createRateLimitOptions(),
+              createSenderSchedulerOptions(),
+              new RetryPolicyOptions(
+                  config.getTransactionMaxRetries(),
+                  config.getTransactionRetryBaseDelay(),
+                  config.getTransactionRetryMaxDelay(),
+                  config.getTransactionRetryBudgetRatio()),
+              new ResultCacheOptions(
+                  config.getImmutableResultCacheMaxSize(),
+                  config.isLatestBlockCacheEnabled(),
+                  config.getLatestBlockCachePollInterval(),
+                  config.getLatestBlockCacheMaxSize()),
+              webSocketOptions,
               jsonDecoder,
               config.getDataPath(),
               vertx);
@@ -90,15 +371,125 @@ public final class EthSigner {
     }
   }
 
-  private HttpServerOptions applyConfigTlsSettingsTo(final HttpServerOptions input) {
+  private Optional<AdmissionOptions> createAdmissionOptions() {
+    final Map<String, Integer> methodMaxConcurrent =
+        config.getAdmissionMethodMaxConcurrentRequests();
+    final Map<String, Integer> methodMaxQueued = config.getAdmissionMethodMaxQueuedRequests();
+    if (config.getAdmissionMaxConcurrentRequests() == -1
+        && methodMaxConcurrent.isEmpty()
+        && methodMaxQueued.isEmpty()) {
+      return Optional.empty();
+    }
+
+    final Set<String> methods = new LinkedHashSet<>(methodMaxConcurrent.keySet());
+    methods.addAll(methodMaxQueued.keySet());
+    final Map<String, AdmissionLimits> methodLimits = new HashMap<>();
+    for (final String method : methods) {
+      methodLimits.put(
+          method,
+          new AdmissionLimits(
+              methodMaxConcurrent.getOrDefault(method, AdmissionLimits.NO_LIMIT),
+              methodMaxQueued.getOrDefault(method, AdmissionLimits.NO_LIMIT)));
+    }
+
+    final int maxConcurrent =
+        config.getAdmissionMaxConcurrentRequests() == -1
+            ? AdmissionLimits.NO_LIMIT
+            : config.getAdmissionMaxConcurrentRequests();
+    return Optional.of(
+        new AdmissionOptions(
+            new AdmissionLimits(maxConcurrent, config.getAdmissionMaxQueuedRequests()),
+            methodLimits));
+  }
+
+  private Optional<SenderSchedulerOptions> createSenderSchedulerOptions() {
+    if (config.getTransactionMaxInFlight() == -1
+        && config.getTransactionMaxInFlightPerSender() == -1) {
+      return Optional.empty();
+    }
+
+    final Map<String, Integer> senderWeights = new HashMap<>();
+    config
+        .getTransactionSenderWeights()
+        .forEach((sender, weight) -> senderWeights.put(sender.toLowerCase(Locale.ROOT), weight));
+    return Optional.of(
+        new SenderSchedulerOptions(
+            noLimitIfUnset(config.getTransactionMaxInFlight()),
+            noLimitIfUnset(config.getTransactionMaxInFlightPerSender()),
+            config.getTransactionMaxQueuedPerSender(),
+            senderWeights));
+  }
+
+  private static int noLimitIfUnset(final int limit) {
+    return limit == -1 ? SenderSchedulerOptions.NO_LIMIT : limit;
+  }
+
+  private static boolean isMethodClass(final String label) {
+    return Priority.forLabel(label).isPresent();
+  }
+
+  private Optional<RateLimitOptions> createRateLimitOptions() {
+    if (config.getRateLimitRequestsPerSecond().isEmpty()) {
+      return Optional.empty();
+    }
+
+    final Map<Priority, RateLimit> limits = new EnumMap<>(Priority.class);
+    config
+        .getRateLimitRequestsPerSecond()
+        .forEach(
+            (label, requestsPerSecond) -> {
+              final int burst =
+                  config
+                      .getRateLimitBurst()
+                      .getOrDefault(label, (int) Math.max(Math.ceil(requestsPerSecond), 1));
+              limits.put(
+                  Priority.forLabel(label).orElseThrow(), new RateLimit(requestsPerSecond, burst));
+            });
+    return Optional.of(new RateLimitOptions(limits, createClientIdentifier()));
+  }
+
+  /** Clients with a certificate in the known clients file are named as they are there. */
+  private ClientIdentifier createClientIdentifier() {
+    final Optional<File> knownClientsFile =
+        config
+            .getTlsOptions()
+            .flatMap(TlsOptions::getClientAuthConstraints)
+            .flatMap(ClientAuthConstraints::getKnownClientsFile);
+    if (knownClientsFile.isEmpty()) {
+      return ClientIdentifier.BY_ADDRESS;
+    }
+    try {
+      return ClientIdentifier.fromKnownClientsFile(knownClientsFile.get().toPath());
+    } catch (final IOException | IllegalArgumentException e) {
+      throw new InitializationException("Failed to read known clients file " + e.getMessage(), e);
+    }
+  }
+
+  private Tracer createTracer(final Vertx vertx) {
+    switch (config.getTracingExporter()) {
+      case LOG:
+        return new Tracer(config.getTracingSampleRatio(), new LogSpanExporter());
+      case OTLP:
+        return new Tracer(
+            config.getTracingSampleRatio(),
+            new OtlpSpanExporter(vertx, config.getTracingOtlpEndpoint(), TRACING_EXPORT_INTERVAL));
+      default:
+        return Tracer.DISABLED;
+    }
+  }
+
+  @VisibleForTesting
+  static HttpServerOptions applyTlsOptions(
+      final HttpServerOptions input, final Optional<TlsOptions> tlsOptions) {
 
-    if (config.getTlsOptions().isEmpty()) {
+    if (tlsOptions.isEmpty()) {
       return input;
     }
 
     HttpServerOptions result = new HttpServerOptions(input);
-    result.setSsl(true);
-    final TlsOptions tlsConfig = config.getTlsOptions().get();
+    // clients offering h2 are multiplexed, others continue to use HTTP/1.1
+    result.setSsl(true).setUseAlpn(true);
+    final TlsOptions tlsConfig = tlsOptions.get();
 
     result = applyTlsKeyStore(result, tlsConfig);
 
@@ -12,37 +12,83 @@
  */
 package tech.pegasys.ethsigner.core;
 
+import tech.pegasys.ethsigner.core.admission.AdmissionController;
+import tech.pegasys.ethsigner.core.admission.AdmissionHandler;
+import tech.pegasys.ethsigner.core.admission.AdmissionLimits;
+import tech.pegasys.ethsigner.core.admission.AdmissionOptions;
+import tech.pegasys.ethsigner.core.admission.ClientRateLimiter;
+import tech.pegasys.ethsigner.core.admission.Priority;
+import tech.pegasys.ethsigner.core.admission.RateLimitHandler;
+import tech.pegasys.ethsigner.core.admission.RateLimitOptions;
+import tech.pegasys.ethsigner.core.downstream.ConnectionPoolMetrics;
+import tech.pegasys.ethsigner.core.downstream.ConnectionPoolReporter;
+import tech.pegasys.ethsigner.core.downstream.DownstreamHealthProbe;
+import tech.pegasys.ethsigner.core.downstream.DownstreamNode;
+import tech.pegasys.ethsigner.core.downstream.DownstreamPool;
+import tech.pegasys.ethsigner.core.downstream.DownstreamPoolOptions;
+import tech.pegasys.ethsigner.core.downstream.DownstreamRoutes;
+import tech.pegasys.ethsigner.core.http.DomainSocketServerOptions;
+import tech.pegasys.ethsigner.core.http.DomainSocketServerService;
 import tech.pegasys.ethsigner.core.http.HttpResponseFactory;
 import tech.pegasys.ethsigner.core.http.HttpServerService;
 import tech.pegasys.ethsigner.core.http.JsonRpcErrorHandler;
 import tech.pegasys.ethsigner.core.http.JsonRpcHandler;
 import tech.pegasys.ethsigner.core.http.LogErrorHandler;
+import tech.pegasys.ethsigner.core.http.MetricsHandler;
 import tech.pegasys.ethsigner.core.http.RequestMapper;
 import tech.pegasys.ethsigner.core.http.UpcheckHandler;
 import tech.pegasys.ethsigner.core.jsonrpc.JsonDecoder;
+import tech.pegasys.ethsigner.core.metrics.EthSignerMetrics;
 import tech.pegasys.ethsigner.core.requesthandler.VertxRequestTransmitter;
 import tech.pegasys.ethsigner.core.requesthandler.VertxRequestTransmitterFactory;
+import tech.pegasys.ethsigner.core.requesthandler.internalresponse.CachedResultHandler;
 import tech.pegasys.ethsigner.core.requesthandler.internalresponse.EthAccountsBodyProvider;
+import tech.pegasys.ethsigner.core.requesthandler.internalresponse.EthChainIdBodyProvider;
 import tech.pegasys.ethsigner.core.requesthandler.internalresponse.InternalResponseHandler;
+import tech.pegasys.ethsigner.core.requesthandler.passthrough.CachingPassThroughHandler;
 import tech.pegasys.ethsigner.core.requesthandler.passthrough.PassThroughHandler;
+import tech.pegasys.ethsigner.core.requesthandler.passthrough.cache.ChainHeadTracker;
+import tech.pegasys.ethsigner.core.requesthandler.passthrough.cache.ImmutableResultCache;
+import tech.pegasys.ethsigner.core.requesthandler.passthrough.cache.LatestBlockResultCache;
+import tech.pegasys.ethsigner.core.requesthandler.passthrough.cache.ResultCache;
+import tech.pegasys.ethsigner.core.requesthandler.passthrough.cache.ResultCacheOptions;
+import tech.pegasys.ethsigner.core.requesthandler.sendtransaction.RetryPolicy;
+import tech.pegasys.ethsigner.core.requesthandler.sendtransaction.RetryPolicyOptions;
 import tech.pegasys.ethsigner.core.requesthandler.sendtransaction.SendTransactionHandler;
+import tech.pegasys.ethsigner.core.requesthandler.sendtransaction.SenderScheduler;
+import tech.pegasys.ethsigner.core.requesthandler.sendtransaction.SenderSchedulerOptions;
 import tech.pegasys.ethsigner.core.requesthandler.sendtransaction.transaction.TransactionFactory;
 import tech.pegasys.ethsigner.core.requesthandler.sendtransaction.transaction.VertxNonceRequestTransmitterFactory;
 import tech.pegasys.ethsigner.core.signing.TransactionSignerProvider;
+import tech.pegasys.ethsigner.core.tracing.Tracer;
+import tech.pegasys.ethsigner.core.websocket.SubscriptionMultiplexer;
+import tech.pegasys.ethsigner.core.websocket.WebSocketOptions;
+import tech.pegasys.ethsigner.core.websocket.WebSocketUpgradeHandler;
+import tech.pegasys.ethsigner.metrics.MetricsRegistry;
 
 import java.io.File;
 import java.io.FileOutputStream;
 import java.nio.file.Path;
 import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
 import java.util.Properties;
+import java.util.Set;
 
+import com.google.common.net.HostAndPort;
 import io.netty.handler.codec.http.HttpHeaderValues;
-import io.vertx.core.AsyncResult;
+import io.vertx.core.Verticle;
 import io.vertx.core.Vertx;
 import io.vertx.core.http.HttpClient;
 import io.vertx.core.http.HttpClientOptions;
 import io.vertx.core.http.HttpMethod;
 import io.vertx.core.http.HttpServerOptions;
+import io.vertx.ext.web.Route;
 import io.vertx.ext.web.Router;
 import io.vertx.ext.web.handler.BodyHandler;
 import io.vertx.ext.web.handler.ResponseContentTypeHandler;
@@ -54,57 +100,167 @@ public class Runner {
   private static final Logger LOG = LogManager.getLogger();
   private static final String JSON = HttpHeaderValues.APPLICATION_JSON.toString();
   private static final String TEXT = HttpHeaderValues.TEXT_PLAIN.toString() + "; charset=utf-8";
+  private static final Duration CACHED_RESULT_REFRESH_INTERVAL = Duration.ofMinutes(1);
+  private static final Duration DOWNSTREAM_HEALTH_PROBE_INTERVAL = Duration.ofSeconds(5);
+  private static final Duration CONNECTION_POOL_REPORT_INTERVAL = Duration.ofSeconds(30);
 
   private final long chainId;
   private final TransactionSignerProvider transactionSignerProvider;
-  private final HttpClientOptions clientOptions;
-  private final Duration httpRequestTimeout;
+  private final DownstreamPoolOptions signingPoolOptions;
+  private final DownstreamPoolOptions writePoolOptions;
+  private final Optional<DownstreamPoolOptions> readPoolOptions;
+  private final Set<String> readMethods;
+  private final Set<String> writeMethods;
+  private final Optional<WebSocketOptions> webSocketOptions;
   private final HttpResponseFactory responseFactory = new HttpResponseFactory();
+  private final MetricsRegistry metricsRegistry = new MetricsRegistry();
+  private final EthSignerMetrics metrics = new EthSignerMetrics(metricsRegistry);
+  private final Tracer tracer;
+  private final boolean serverTimingEnabled;
+  private final AdmissionController admissionController;
+  private final Optional<ClientRateLimiter> rateLimiter;
+  private final SenderScheduler senderScheduler;
+  private final RetryPolicy retryPolicy;
+  private final ResultCacheOptions resultCacheOptions;
   private final JsonDecoder jsonDecoder;
   private final Path dataPath;
   private final Vertx vertx;
   private final HttpServerService httpServerService;
+  private final Optional<DomainSocketServerService> domainSocketServerService;
+  private final Optional<HttpServerService> metricsServerService;
+  private Optional<ChainHeadTracker> chainHeadTracker = Optional.empty();
+  private final List<DownstreamHealthProbe> downstreamHealthProbes = new ArrayList<>();
+  private ConnectionPoolReporter connectionPoolReporter;
 
   public Runner(
       final long chainId,
       final TransactionSignerProvider transactionSignerProvider,
-      final HttpClientOptions clientOptions,
+      final DownstreamPoolOptions signingPoolOptions,
+      final DownstreamPoolOptions writePoolOptions,
+      final Optional<DownstreamPoolOptions> readPoolOptions,
+      final Set<String> readMethods,
+      final Set<String> writeMethods,
       final HttpServerOptions serverOptions,
-      final Duration httpRequestTimeout,
+      final Optional<DomainSocketServerOptions> domainSocketServerOptions,
+      final Optional<HttpServerOptions> metricsServerOptions,
+      final Tracer tracer,
+      final boolean serverTimingEnabled,
+      final Optional<AdmissionOptions> admissionOptions,
+      final Optional<RateLimitOptions> rateLimitOptions,
+      final Optional<SenderSchedulerOptions> senderSchedulerOptions,
+      final RetryPolicyOptions retryPolicyOptions,
+      final ResultCacheOptions resultCacheOptions,
+      final Optional<WebSocketOptions> webSocketOptions,
       final JsonDecoder jsonDecoder,
       final Path dataPath,
       final Vertx vertx) {
     this.chainId = chainId;
     this.transactionSignerProvider = transactionSignerProvider;
-    this.clientOptions = clientOptions;
-    this.httpRequestTimeout = httpRequestTimeout;
+    this.signingPoolOptions = signingPoolOptions;
+    this.writePoolOptions = writePoolOptions;
+    this.readPoolOptions = readPoolOptions;
+    this.readMethods = readMethods;
+    this.writeMethods = writeMethods;
+    this.tracer = tracer;
+    this.serverTimingEnabled = serverTimingEnabled;
+    this.admissionController =
+        new AdmissionController(
+            admissionOptions.orElse(
+                new AdmissionOptions(AdmissionLimits.UNLIMITED, Collections.emptyMap())),
+            metrics);
+    this.rateLimiter = rateLimitOptions.map(options -> new ClientRateLimiter(options, metrics));
+    this.senderScheduler =
+        new SenderScheduler(
+            senderSchedulerOptions.orElse(SenderSchedulerOptions.UNLIMITED), metrics);
+    this.retryPolicy = new RetryPolicy(retryPolicyOptions, metrics);
+    this.resultCacheOptions = resultCacheOptions;
+    this.webSocketOptions = webSocketOptions;
     this.jsonDecoder = jsonDecoder;
     this.dataPath = dataPath;
     this.vertx = vertx;
-    this.httpServerService = new HttpServerService(router(), serverOptions);
+    final Router router = router();
+    this.httpServerService = new HttpServerService(router, serverOptions);
+    this.domainSocketServerService =
+        domainSocketServerOptions.map(options -> new DomainSocketServerService(router, options));
+    this.metricsServerService =
+        metricsServerOptions.map(options -> new HttpServerService(metricsRouter(), options));
   }
 
   public void start() {
-    vertx.deployVerticle(httpServerService, this::httpServerServiceDeployment);
+    downstreamHealthProbes.forEach(DownstreamHealthProbe::start);
+    connectionPoolReporter.start();
+    chainHeadTracker.ifPresent(ChainHeadTracker::start);
+    final Map<String, Verticle> listeners = new LinkedHashMap<>();
+    domainSocketServerService.ifPresent(
+        service -> listeners.put("DomainSocketServerService", service));
+    metricsServerService.ifPresent(service -> listeners.put("MetricsService", service));
+    // the ports file is only written once every listener is up
+    listeners.put("JsonRpcHttpService", httpServerService);
+    deployInOrder(listeners.entrySet().iterator());
+  }
+
+  private void deployInOrder(final Iterator<Map.Entry<String, Verticle>> listeners) {
+    final Map.Entry<String, Verticle> listener = listeners.next();
+    vertx.deployVerticle(
+        listener.getValue(),
+        result -> {
+          if (result.failed()) {
+            deploymentFailed(result.cause());
+            return;
+          }
+          LOG.info("{} Vertx deployment id is: {}", listener.getKey(), result.result());
+          if (listeners.hasNext()) {
+            deployInOrder(listeners);
+          } else if (dataPath != null) {
+            writePortsToFile();
+          }
+        });
   }
 
   private Router router() {
-    final HttpClient downStreamConnection = vertx.createHttpClient(clientOptions);
+    final DownstreamRoutes downstreamRoutes = createDownstreamRoutes();
+    if (resultCacheOptions.isLatestBlockCacheEnabled()) {
+      final DownstreamPool readPool = downstreamRoutes.readPool();
+      chainHeadTracker =
+          Optional.of(
+              new ChainHeadTracker(
+                  vertx,
+                  readPool,
+                  jsonDecoder,
+                  resultCacheOptions.getChainHeadPollInterval(),
+                  readPool.requestTimeout()));
+    }
+    final Duration signingRequestTimeout = downstreamRoutes.signingPool().requestTimeout();
     final VertxRequestTransmitterFactory transmitterFactory =
-        responseBodyHandler -> new VertxRequestTransmitter(httpRequestTimeout, responseBodyHandler);
-    final RequestMapper requestMapper =
-        createRequestMapper(downStreamConnection, transmitterFactory);
+        responseBodyHandler ->
+            new VertxRequestTransmitter(signingRequestTimeout, metrics, responseBodyHandler);
+    final RequestMapper requestMapper = createRequestMapper(downstreamRoutes, transmitterFactory);
 
     final Router router = Router.router(vertx);
 
-    // Handler for JSON-RPC requests
-    router
-        .route(HttpMethod.POST, "/")
-        .produces(JSON)
+    // Handler for JSON-RPC over WebSocket, dispatching each message back through this router
+    webSocketOptions.ifPresent(
+        options ->
+            router
+                .route(HttpMethod.GET, "/")
+                .handler(createWebSocketUpgradeHandler(router, options, downstreamRoutes)));
+
+    // Handler for JSON-RPC requests, whose class is only known once they are decoded
+    final Route jsonRpcRoute = router.route(HttpMethod.POST, "/").produces(JSON);
+    addRateLimitHandler(jsonRpcRoute, Optional.empty());
+    jsonRpcRoute
         .handler(BodyHandler.create())
         .handler(ResponseContentTypeHandler.create())
-        .failureHandler(new JsonRpcErrorHandler(new HttpResponseFactory(), jsonDecoder))
-        .handler(new JsonRpcHandler(responseFactory, requestMapper, jsonDecoder));
+        .failureHandler(new JsonRpcErrorHandler(new HttpResponseFactory()))
+        .handler(
+            new JsonRpcHandler(
+                responseFactory,
+                requestMapper,
+                jsonDecoder,
+                metrics,
+                tracer,
+                admissionController,
+                serverTimingEnabled));
 
     // Handler for UpCheck endpoint
     router
@@ -116,20 +272,110 @@ public class Runner {
         .handler(new UpcheckHandler());
 
     final PassThroughHandler passThroughHandler =
-        new PassThroughHandler(downStreamConnection, transmitterFactory);
-    router.route().handler(BodyHandler.create()).handler(passThroughHandler);
+        new PassThroughHandler(downstreamRoutes, transmitterFactory);
+    final Route passThroughRoute = router.route();
+    addRateLimitHandler(passThroughRoute, Optional.of(Priority.PASS_THROUGH));
+    passThroughRoute
+        .handler(BodyHandler.create())
+        .handler(new AdmissionHandler(admissionController, responseFactory))
+        .handler(passThroughHandler);
+    return router;
+  }
+
+  /** Rate limits requests before their body is read, so that turning them away is cheap. */
+  private void addRateLimitHandler(final Route route, final Optional<Priority> priority) {
+    rateLimiter.ifPresent(
+        limiter -> route.handler(new RateLimitHandler(limiter, priority, responseFactory)));
+  }
+
+  private Router metricsRouter() {
+    final Router router = Router.router(vertx);
+    router.route(HttpMethod.GET, "/metrics").handler(new MetricsHandler(metricsRegistry));
     return router;
   }
 
+  private WebSocketUpgradeHandler createWebSocketUpgradeHandler(
+      final Router router,
+      final WebSocketOptions options,
+      final DownstreamRoutes downstreamRoutes) {
+    final Optional<SubscriptionMultiplexer> subscriptions =
+        options
+            .getSubscriptionNodeOptions()
+            .map(
+                nodeOptions ->
+                    new SubscriptionMultiplexer(
+                        vertx,
+                        vertx.createHttpClient(nodeOptions),
+                        downstreamRoutes.writePool().requestTimeout()));
+    return new WebSocketUpgradeHandler(router, options, subscriptions);
+  }
+
+  private DownstreamRoutes createDownstreamRoutes() {
+    final Map<String, DownstreamPool> poolsByTrafficClass = new LinkedHashMap<>();
+    final DownstreamPool signingPool = createDownstreamPool(signingPoolOptions);
+    poolsByTrafficClass.put("signing", signingPool);
+    final DownstreamPool writePool = createDownstreamPool(writePoolOptions);
+    poolsByTrafficClass.put("write", writePool);
+    // without read replicas, reads share the write pool
+    final DownstreamPool readPool =
+        readPoolOptions.map(this::createDownstreamPool).orElse(writePool);
+    poolsByTrafficClass.putIfAbsent("read", readPool);
+    connectionPoolReporter =
+        new ConnectionPoolReporter(vertx, poolsByTrafficClass, CONNECTION_POOL_REPORT_INTERVAL);
+    return new DownstreamRoutes(signingPool, writePool, readPool, readMethods, writeMethods);
+  }
+
+  private DownstreamPool createDownstreamPool(final DownstreamPoolOptions poolOptions) {
+    final List<DownstreamNode> nodes = new ArrayList<>();
+    for (final HttpClientOptions options : poolOptions.getNodeOptions()) {
+      final HttpClient client = vertx.createHttpClient(options);
+      final ConnectionPoolMetrics connectionPool =
+          new ConnectionPoolMetrics(options.getMaxWaitQueueSize());
+      final Optional<Path> socketPath =
+          nodes.isEmpty() ? poolOptions.getFirstNodeSocketPath() : Optional.empty();
+      nodes.add(
+          socketPath.isPresent()
+              ? new DownstreamNode(
+                  HostAndPort.fromParts(options.getDefaultHost(), options.getDefaultPort()),
+                  socketPath.get().toString(),
+                  client,
+                  connectionPool)
+              : new DownstreamNode(
+                  options.getDefaultHost() + ":" + options.getDefaultPort(),
+                  client,
+                  connectionPool));
+    }
+    final DownstreamPool pool =
+        new DownstreamPool(
+            nodes, poolOptions.getLoadBalancingStrategy(), poolOptions.getRequestTimeout());
+    downstreamHealthProbes.add(
+        new DownstreamHealthProbe(vertx, pool, jsonDecoder, DOWNSTREAM_HEALTH_PROBE_INTERVAL));
+    return pool;
+  }
+
   private RequestMapper createRequestMapper(
-      final HttpClient downStreamConnection,
+      final DownstreamRoutes downstreamRoutes,
       final VertxRequestTransmitterFactory transmitterFactory) {
+    final List<ResultCache> caches = new ArrayList<>();
+    if (resultCacheOptions.getImmutableResultCacheSizeInBytes() > 0) {
+      caches.add(new ImmutableResultCache(resultCacheOptions.getImmutableResultCacheSizeInBytes()));
+    }
+    chainHeadTracker.ifPresent(
+        tracker -> {
+          final LatestBlockResultCache latestBlockResultCache =
+              new LatestBlockResultCache(resultCacheOptions.getLatestBlockCacheSizeInBytes());
+          tracker.addListener(latestBlockResultCache::onNewHead);
+          caches.add(latestBlockResultCache);
+        });
+
     final PassThroughHandler defaultHandler =
-        new PassThroughHandler(downStreamConnection, transmitterFactory);
+        new CachingPassThroughHandler(
+            downstreamRoutes, transmitterFactory, responseFactory, jsonDecoder, caches);
 
+    final DownstreamPool signingPool = downstreamRoutes.signingPool();
     final VertxNonceRequestTransmitterFactory nonceRequestTransmitterFactory =
         new VertxNonceRequestTransmitterFactory(
-            downStreamConnection, jsonDecoder, httpRequestTimeout);
+            signingPool, jsonDecoder, signingPool.requestTimeout(), metrics.nonceFetchDuration());
 
     final TransactionFactory transactionFactory =
         new TransactionFactory(jsonDecoder, nonceRequestTransmitterFactory);
@@ -137,10 +383,13 @@ public class Runner {
     final SendTransactionHandler sendTransactionHandler =
         new SendTransactionHandler(
             chainId,
-            downStreamConnection,
+            signingPool,
             transactionSignerProvider,
             transactionFactory,
-            transmitterFactory);
+            transmitterFactory,
+            metrics,
+            senderScheduler,
+            retryPolicy);
 
     final RequestMapper requestMapper = new RequestMapper(defaultHandler);
     requestMapper.addHandler("eth_sendTransaction", sendTransactionHandler);
@@ -149,22 +398,27 @@ public class Runner {
         "eth_accounts",
         new InternalResponseHandler(
             responseFactory,
-            new EthAccountsBodyProvider(transactionSignerProvider::availableAddresses),
-            jsonDecoder));
+            new EthAccountsBodyProvider(transactionSignerProvider::availableAddresses)));
+    requestMapper.addHandler(
+        "eth_chainId",
+        new InternalResponseHandler(responseFactory, new EthChainIdBodyProvider(chainId)));
+    requestMapper.addHandler(
+        "net_version", createCachedResultHandler(downstreamRoutes, transmitterFactory));
+    requestMapper.addHandler(
+        "web3_clientVersion", createCachedResultHandler(downstreamRoutes, transmitterFactory));
 
     return requestMapper;
   }
 
-  private void httpServerServiceDeployment(final AsyncResult<String> result) {
-    if (result.succeeded()) {
-      LOG.info("JsonRpcHttpService Vertx deployment id is: {}", result.result());
-
-      if (dataPath != null) {
-        writePortsToFile(httpServerService);
-      }
-    } else {
-      deploymentFailed(result.cause());
-    }
+  private CachedResultHandler createCachedResultHandler(
+      final DownstreamRoutes downstreamRoutes,
+      final VertxRequestTransmitterFactory transmitterFactory) {
+    return new CachedResultHandler(
+        responseFactory,
+        downstreamRoutes,
+        transmitterFactory,
+        jsonDecoder,
+        CACHED_RESULT_REFRESH_INTERVAL);
   }
 
   private void deploymentFailed(final Throwable cause) {
@@ -173,12 +427,14 @@ public class Runner {
     System.exit(1);
   }
 
-  private void writePortsToFile(final HttpServerService httpService) {
+  private void writePortsToFile() {
     final File portsFile = new File(dataPath.toFile(), "ethsigner.ports");
     portsFile.deleteOnExit();
 
     final Properties properties = new Properties();
-    properties.setProperty("http-jsonrpc", String.valueOf(httpService.actualPort()));
+    properties.setProperty("http-jsonrpc", String.valueOf(httpServerService.actualPort()));
+    metricsServerService.ifPresent(
+        service -> properties.setProperty("metrics", String.valueOf(service.actualPort())));
 
     LOG.info(
         "Writing ethsigner.ports file: {}, with contents: {}",
@@ -21,22 +21,114 @@ import tech.pegasys.ethsigner.core.util.FileUtil;
 
 import java.io.IOException;
 import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
 import java.util.Optional;
 
+import com.google.common.net.HostAndPort;
+
+import io.vertx.core.http.HttpClientOptions;
+import io.vertx.core.http.HttpVersion;
 import io.vertx.core.net.PfxOptions;
 import io.vertx.ext.web.client.WebClientOptions;
 
 class WebClientOptionsFactory {
-  public WebClientOptions createWebClientOptions(final Config config) {
+
+  /**
+   * @return options for the passed through requests to each downstream node, the primary downstream
+   *     node first.
+   */
+  public List<HttpClientOptions> createWebClientOptions(final Config config) {
+    return createWebClientOptions(
+        config,
+        downstreamEndpoints(config),
+        config.getDownstreamHttpMaxConnections(),
+        config.getDownstreamHttpMaxWaitQueueSize());
+  }
+
+  /**
+   * @return options for the nonce lookups and transaction submissions to each downstream node, the
+   *     primary downstream node first.
+   */
+  public List<HttpClientOptions> createSigningWebClientOptions(final Config config) {
+    return createWebClientOptions(
+        config,
+        downstreamEndpoints(config),
+        config.getDownstreamHttpSigningMaxConnections(),
+        config.getDownstreamHttpSigningMaxWaitQueueSize());
+  }
+
+  /** @return options for each read replica, empty if none are configured. */
+  public List<HttpClientOptions> createReadWebClientOptions(final Config config) {
+    return createWebClientOptions(
+        config,
+        config.getDownstreamHttpReadEndpoints(),
+        config.getDownstreamHttpReadMaxConnections(),
+        config.getDownstreamHttpReadMaxWaitQueueSize());
+  }
+
+  /**
+   * @return options for the WebSocket over which client subscriptions are shared, empty if the
+   *     primary downstream node's WebSocket port is not configured.
+   */
+  public Optional<HttpClientOptions> createSubscriptionClientOptions(final Config config) {
+    return config
+        .getDownstreamWsPort()
+        .map(port -> createWebClientOptions(config, config.getDownstreamHttpHost(), port));
+  }
+
+  private List<HostAndPort> downstreamEndpoints(final Config config) {
+    final List<HostAndPort> endpoints = new ArrayList<>();
+    endpoints.add(
+        HostAndPort.fromParts(config.getDownstreamHttpHost(), config.getDownstreamHttpPort()));
+    endpoints.addAll(config.getDownstreamHttpAdditionalEndpoints());
+    return endpoints;
+  }
+
+  private List<HttpClientOptions> createWebClientOptions(
+      final Config config,
+      final List<HostAndPort> endpoints,
+      final int maxConnections,
+      final int maxWaitQueueSize) {
+    final List<HttpClientOptions> nodeOptions = new ArrayList<>();
+    for (final HostAndPort endpoint : endpoints) {
+      final WebClientOptions clientOptions =
+          createWebClientOptions(config, endpoint.getHost(), endpoint.getPort());
+      clientOptions.setMaxPoolSize(maxConnections).setMaxWaitQueueSize(maxWaitQueueSize);
+      if (config.isDownstreamHttp2Enabled()) {
+        applyHttp2Options(clientOptions, config);
+      }
+      nodeOptions.add(clientOptions);
+    }
+    return nodeOptions;
+  }
+
+  private WebClientOptions createWebClientOptions(
+      final Config config, final String host, final int port) {
     final WebClientOptions clientOptions =
-        new WebClientOptions()
-            .setDefaultPort(config.getDownstreamHttpPort())
-            .setDefaultHost(config.getDownstreamHttpHost());
+        new WebClientOptions().setDefaultPort(port).setDefaultHost(host);
 
     applyTlsOptions(clientOptions, config);
     return clientOptions;
   }
 
+  /**
+   * Requests are multiplexed over a single connection to each node. Over TLS, HTTP/2 is negotiated
+   * by ALPN, falling back to HTTP/1.1 if the node does not offer it. Without TLS, h2c is spoken
+   * from the outset, so the node must support it.
+   */
+  private void applyHttp2Options(final WebClientOptions webClientOptions, final Config config) {
+    webClientOptions
+        .setProtocolVersion(HttpVersion.HTTP_2)
+        .setHttp2MaxPoolSize(1)
+        .setHttp2MultiplexingLimit(config.getDownstreamHttp2MaxConcurrentStreams());
+    if (config.getClientTlsOptions().isPresent()) {
+      webClientOptions.setUseAlpn(true);
+    } else {
+      webClientOptions.setHttp2ClearTextUpgrade(false);
+    }
+  }
+
   private void applyTlsOptions(final WebClientOptions webClientOptions, final Config config) {
     final Optional<ClientTlsOptions> optionalClientTlsOptions = config.getClientTlsOptions();
     if (optionalClientTlsOptions.isEmpty()) {
@@ -0,0 +1,47 @@
+/*
+ * Copyright 2020 ConsenSys AG.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on
+ * an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations under the License.
+ */
+package tech.pegasys.ethsigner.core.admission;
+
+/**
+ * The place of a request in an {@link AdmissionController}, from arriving to being responded to.
+ *
+ * <p>It is to be released once the request has been responded to, or its connection has closed,
+ * whether it was admitted, is still queued or was rejected.
+ */
+public class Admission {
+
+  enum State {
+    QUEUED,
+    ADMITTED,
+    REJECTED,
+    RELEASED
+  }
+
+  final String method;
+  final Priority priority;
+  final Runnable onAdmitted;
+  final Runnable onRejected;
+  State state;
+
+  /** @param method the JSON-RPC method of the request, or null if it is not a JSON-RPC request. */
+  public Admission(
+      final String method,
+      final Priority priority,
+      final Runnable onAdmitted,
+      final Runnable onRejected) {
+    this.method = method;
+    this.priority = priority;
+    this.onAdmitted = onAdmitted;
+    this.onRejected = onRejected;
+  }
+}
@@ -0,0 +1,205 @@
+/*
+ * Copyright 2020 ConsenSys AG.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on
+ * an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations under the License.
+ */
+package tech.pegasys.ethsigner.core.admission;
+
+import tech.pegasys.ethsigner.core.metrics.EthSignerMetrics;
+import tech.pegasys.ethsigner.metrics.Counter;
+import tech.pegasys.ethsigner.metrics.Gauge;
+import tech.pegasys.ethsigner.metrics.LabelledMetric;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Deque;
+import java.util.EnumMap;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Limits the requests being handled at once, overall and for individual methods. Requests beyond a
+ * limit wait in a queue for their priority, and are admitted most favoured priority first as
+ * earlier requests are responded to. Requests which find the queue full are rejected, unless a
+ * request of a lesser priority is waiting, which is then shed in their place.
+ *
+ * <p>Callbacks are made on the thread which admits, rejects or releases a request, never while the
+ * controller is locked.
+ */
+public class AdmissionController {
+
+  private final AdmissionLimits limits;
+  private final Map<String, AdmissionLimits> methodLimits;
+  private final Gauge queuedRequests;
+  private final LabelledMetric<Counter> rejectedRequests;
+  private final Usage usage = new Usage();
+  // only methods with limits of their own are tracked
+  private final Map<String, Usage> methodUsage = new HashMap<>();
+  private final Map<Priority, Deque<Admission>> queues = new EnumMap<>(Priority.class);
+
+  public AdmissionController(final AdmissionOptions options, final EthSignerMetrics metrics) {
+    this.limits = options.getLimits();
+    this.methodLimits = options.getMethodLimits();
+    this.queuedRequests = metrics.admissionQueuedRequests();
+    this.rejectedRequests = metrics.admissionRejectedRequests();
+    methodLimits.keySet().forEach(method -> methodUsage.put(method, new Usage()));
+    for (final Priority priority : Priority.values()) {
+      queues.put(priority, new ArrayDeque<>());
+    }
+  }
+
+  /**
+   * Admits the request, now or once there is room for it, or rejects it. Either callback may be
+   * made before this returns.
+   */
+  public void admit(final Admission admission) {
+    final String method = admission.method;
+    Admission shed = null;
+    // once the lock is let go, a queued request may be admitted or shed by another thread, which
+    // then makes the callback itself
+    final Admission.State outcome;
+    synchronized (this) {
+      if (admission.state != null) {
+        // released before it could be admitted
+        return;
+      }
+      final Usage ofMethod = methodUsage.get(method);
+      if (hasRoomFor(method, ofMethod)) {
+        start(admission, ofMethod);
+      } else if (ofMethod != null && ofMethod.queued >= methodLimits.get(method).getMaxQueued()) {
+        admission.state = Admission.State.REJECTED;
+      } else if (usage.queued < limits.getMaxQueued()) {
+        enqueue(admission, ofMethod);
+      } else {
+        shed = removeLeastFavouredBelow(admission.priority);
+        if (shed == null) {
+          admission.state = Admission.State.REJECTED;
+        } else {
+          enqueue(admission, ofMethod);
+        }
+      }
+      outcome = admission.state;
+    }
+
+    if (shed != null) {
+      rejected(shed);
+    }
+    if (outcome == Admission.State.ADMITTED) {
+      admission.onAdmitted.run();
+    } else if (outcome == Admission.State.REJECTED) {
+      rejected(admission);
+    }
+  }
+
+  /** Gives up the place of the request, letting the next queued request be admitted. */
+  public void release(final Admission admission) {
+    final List<Admission> admitted = new ArrayList<>();
+    synchronized (this) {
+      final Usage ofMethod = methodUsage.get(admission.method);
+      if (admission.state == Admission.State.QUEUED) {
+        queues.get(admission.priority).remove(admission);
+        dequeued(ofMethod);
+      } else if (admission.state == Admission.State.ADMITTED) {
+        usage.inFlight--;
+        if (ofMethod != null) {
+          ofMethod.inFlight--;
+        }
+        admitQueued(admitted);
+      }
+      admission.state = Admission.State.RELEASED;
+    }
+
+    admitted.forEach(next -> next.onAdmitted.run());
+  }
+
+  public synchronized int inFlight() {
+    return usage.inFlight;
+  }
+
+  public synchronized int queued() {
+    return usage.queued;
+  }
+
+  private boolean hasRoomFor(final String method, final Usage ofMethod) {
+    return usage.inFlight < limits.getMaxConcurrent()
+        && (ofMethod == null || ofMethod.inFlight < methodLimits.get(method).getMaxConcurrent());
+  }
+
+  private void start(final Admission admission, final Usage ofMethod) {
+    usage.inFlight++;
+    if (ofMethod != null) {
+      ofMethod.inFlight++;
+    }
+    admission.state = Admission.State.ADMITTED;
+  }
+
+  private void enqueue(final Admission admission, final Usage ofMethod) {
+    queues.get(admission.priority).addLast(admission);
+    usage.queued++;
+    if (ofMethod != null) {
+      ofMethod.queued++;
+    }
+    queuedRequests.inc();
+    admission.state = Admission.State.QUEUED;
+  }
+
+  private void dequeued(final Usage ofMethod) {
+    usage.queued--;
+    if (ofMethod != null) {
+      ofMethod.queued--;
+    }
+    queuedRequests.dec();
+  }
+
+  /**
+   * Admits the queued requests there is now room for, skipping those whose method is at its limit.
+   */
+  private void admitQueued(final List<Admission> admitted) {
+    for (final Priority priority : Priority.values()) {
+      final Iterator<Admission> queued = queues.get(priority).iterator();
+      while (queued.hasNext() && usage.inFlight < limits.getMaxConcurrent()) {
+        final Admission next = queued.next();
+        final Usage ofMethod = methodUsage.get(next.method);
+        if (hasRoomFor(next.method, ofMethod)) {
+          queued.remove();
+          dequeued(ofMethod);
+          start(next, ofMethod);
+          admitted.add(next);
+        }
+      }
+    }
+  }
+
+  /** The most recently queued request of the least favoured priority below that given, if any. */
+  private Admission removeLeastFavouredBelow(final Priority priority) {
+    final Priority[] priorities = Priority.values();
+    for (int i = priorities.length - 1; i > priority.ordinal(); i--) {
+      final Admission shed = queues.get(priorities[i]).pollLast();
+      if (shed != null) {
+        dequeued(methodUsage.get(shed.method));
+        shed.state = Admission.State.REJECTED;
+        return shed;
+      }
+    }
+    return null;
+  }
+
+  private void rejected(final Admission admission) {
+    rejectedRequests.labels(admission.priority.label()).inc();
+    admission.onRejected.run();
+  }
+
+  private static class Usage {
+    private int inFlight;
+    private int queued;
+  }
+}
@@ -0,0 +1,76 @@
+/*
+ * Copyright 2020 ConsenSys AG.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on
+ * an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations under the License.
+ */
+package tech.pegasys.ethsigner.core.admission;
+
+import static io.netty.handler.codec.http.HttpResponseStatus.SERVICE_UNAVAILABLE;
+
+import tech.pegasys.ethsigner.core.http.HttpResponseFactory;
+import tech.pegasys.ethsigner.core.jsonrpc.response.JsonRpcError;
+
+import io.netty.handler.codec.http.HttpHeaderNames;
+import io.vertx.core.Context;
+import io.vertx.core.Handler;
+import io.vertx.core.Vertx;
+import io.vertx.ext.web.RoutingContext;
+
+/**
+ * Admits requests which are not JSON-RPC to the handlers which follow it on their route, as
+ * requests to pass through to the downstream node.
+ */
+public class AdmissionHandler implements Handler<RoutingContext> {
+
+  /** How long, in seconds, a client whose request was rejected is asked to wait before retrying. */
+  private static final String RETRY_AFTER_SECONDS = "1";
+
+  private final AdmissionController admissionController;
+  private final HttpResponseFactory responseFactory;
+
+  public AdmissionHandler(
+      final AdmissionController admissionController, final HttpResponseFactory responseFactory) {
+    this.admissionController = admissionController;
+    this.responseFactory = responseFactory;
+  }
+
+  @Override
+  public void handle(final RoutingContext context) {
+    final Context vertxContext = Vertx.currentContext();
+    final Admission admission =
+        new Admission(
+            null,
+            Priority.PASS_THROUGH,
+            onContext(vertxContext, context::next),
+            onContext(vertxContext, () -> reject(responseFactory, context, null)));
+    // also called if the connection closes before the response is sent
+    context.response().endHandler(v -> admissionController.release(admission));
+    admissionController.admit(admission);
+  }
+
+  /** Responds that the request cannot be handled for now, and when it may be retried. */
+  public static void reject(
+      final HttpResponseFactory responseFactory, final RoutingContext context, final Object id) {
+    context.response().putHeader(HttpHeaderNames.RETRY_AFTER, RETRY_AFTER_SECONDS);
+    responseFactory.createError(
+        context.request(), SERVICE_UNAVAILABLE.code(), id, JsonRpcError.REQUEST_LIMIT_EXCEEDED);
+  }
+
+  /** Runs the task on the given context, as admissions may be made from another event loop. */
+  public static Runnable onContext(final Context vertxContext, final Runnable task) {
+    return () -> {
+      if (Vertx.currentContext() == vertxContext) {
+        task.run();
+      } else {
+        vertxContext.runOnContext(v -> task.run());
+      }
+    };
+  }
+}
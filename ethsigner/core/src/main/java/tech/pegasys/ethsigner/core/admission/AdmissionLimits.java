@@ -0,0 +1,46 @@
+/*
+ * Copyright 2020 ConsenSys AG.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on
+ * an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations under the License.
+ */
+package tech.pegasys.ethsigner.core.admission;
+
+import com.google.common.base.MoreObjects;
+
+/** How many requests may be handled at once, and how many more may wait for their turn. */
+public class AdmissionLimits {
+
+  public static final int NO_LIMIT = Integer.MAX_VALUE;
+  public static final AdmissionLimits UNLIMITED = new AdmissionLimits(NO_LIMIT, NO_LIMIT);
+
+  private final int maxConcurrent;
+  private final int maxQueued;
+
+  public AdmissionLimits(final int maxConcurrent, final int maxQueued) {
+    this.maxConcurrent = maxConcurrent;
+    this.maxQueued = maxQueued;
+  }
+
+  public int getMaxConcurrent() {
+    return maxConcurrent;
+  }
+
+  public int getMaxQueued() {
+    return maxQueued;
+  }
+
+  @Override
+  public String toString() {
+    return MoreObjects.toStringHelper(this)
+        .add("maxConcurrent", maxConcurrent)
+        .add("maxQueued", maxQueued)
+        .toString();
+  }
+}
@@ -0,0 +1,49 @@
+/*
+ * Copyright 2020 ConsenSys AG.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on
+ * an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations under the License.
+ */
+package tech.pegasys.ethsigner.core.admission;
+
+import java.util.Map;
+
+import com.google.common.base.MoreObjects;
+
+/**
+ * The limits on the requests EthSigner handles at once, overall and for individual methods, such as
+ * those known to be expensive for the downstream node to answer.
+ */
+public class AdmissionOptions {
+
+  private final AdmissionLimits limits;
+  private final Map<String, AdmissionLimits> methodLimits;
+
+  public AdmissionOptions(
+      final AdmissionLimits limits, final Map<String, AdmissionLimits> methodLimits) {
+    this.limits = limits;
+    this.methodLimits = methodLimits;
+  }
+
+  public AdmissionLimits getLimits() {
+    return limits;
+  }
+
+  public Map<String, AdmissionLimits> getMethodLimits() {
+    return methodLimits;
+  }
+
+  @Override
+  public String toString() {
+    return MoreObjects.toStringHelper(this)
+        .add("limits", limits)
+        .add("methodLimits", methodLimits)
+        .toString();
+  }
+}
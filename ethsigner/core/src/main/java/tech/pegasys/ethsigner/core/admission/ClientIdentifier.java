@@ -0,0 +1,117 @@
+/*
+ * Copyright 2020 ConsenSys AG.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on
+ * an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations under the License.
+ */
+package tech.pegasys.ethsigner.core.admission;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.security.cert.Certificate;
+import java.security.cert.CertificateEncodingException;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import javax.net.ssl.SSLPeerUnverifiedException;
+import javax.net.ssl.SSLSession;
+
+import com.google.common.base.MoreObjects;
+import io.vertx.core.http.HttpServerRequest;
+import io.vertx.core.net.SocketAddress;
+import org.apache.tuweni.net.tls.TLS;
+
+/**
+ * Names the client making a request, by its certificate where it presented one, otherwise by its
+ * address.
+ *
+ * <p>A certificate in the known clients file is named as it is there, any other by its fingerprint.
+ * The name is kept in the TLS session, so the certificate is only fingerprinted once.
+ */
+public class ClientIdentifier {
+
+  public static final ClientIdentifier BY_ADDRESS = new ClientIdentifier(Collections.emptyMap());
+
+  private static final String SESSION_KEY = "ethsigner.client";
+  // a Unix domain socket has no remote address to tell its clients apart
+  private static final String LOCAL_CLIENT = "local";
+
+  private final Map<String, String> knownClients;
+
+  /** @param knownClients the name of each known client, by its certificate's fingerprint. */
+  public ClientIdentifier(final Map<String, String> knownClients) {
+    this.knownClients = knownClients;
+  }
+
+  /**
+   * Reads the names of clients from a file of the form accepted by {@code
+   * --tls-known-clients-file}, each line being a name followed by the SHA-256 fingerprint of the
+   * client's certificate.
+   */
+  public static ClientIdentifier fromKnownClientsFile(final Path file) throws IOException {
+    final Map<String, String> knownClients = new HashMap<>();
+    final List<String> lines = Files.readAllLines(file, StandardCharsets.UTF_8);
+    for (final String line : lines) {
+      final String content = line.replaceFirst("#.*", "").trim();
+      if (content.isEmpty()) {
+        continue;
+      }
+      final String[] fields = content.split("\\s+", 2);
+      if (fields.length != 2) {
+        throw new IllegalArgumentException("Invalid known client entry: " + line);
+      }
+      knownClients.put(normalise(fields[1]), fields[0]);
+    }
+    return new ClientIdentifier(knownClients);
+  }
+
+  public String identify(final HttpServerRequest request) {
+    if (request.isSSL()) {
+      final String client = identify(request.sslSession());
+      if (client != null) {
+        return client;
+      }
+    }
+    final SocketAddress address = request.remoteAddress();
+    return address == null || address.host() == null ? LOCAL_CLIENT : address.host();
+  }
+
+  private String identify(final SSLSession session) {
+    if (session == null) {
+      return null;
+    }
+    final Object known = session.getValue(SESSION_KEY);
+    if (known instanceof String) {
+      return (String) known;
+    }
+    try {
+      final Certificate[] certificates = session.getPeerCertificates();
+      final String fingerprint = TLS.certificateHexFingerprint(certificates[0]);
+      final String client = knownClients.getOrDefault(fingerprint, fingerprint);
+      session.putValue(SESSION_KEY, client);
+      return client;
+    } catch (final SSLPeerUnverifiedException | CertificateEncodingException e) {
+      // the client presented no certificate
+      return null;
+    }
+  }
+
+  private static String normalise(final String fingerprint) {
+    return fingerprint.replace(":", "").toLowerCase(Locale.ROOT);
+  }
+
+  @Override
+  public String toString() {
+    return MoreObjects.toStringHelper(this).add("knownClients", knownClients.values()).toString();
+  }
+}
@@ -0,0 +1,82 @@
+/*
+ * Copyright 2020 ConsenSys AG.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on
+ * an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations under the License.
+ */
+package tech.pegasys.ethsigner.core.admission;
+
+import tech.pegasys.ethsigner.metrics.Counter;
+
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/** The buckets from which the requests of one client are taken, one for each limited class. */
+public class ClientRateLimit {
+
+  private final Map<Priority, TokenBucket> buckets;
+  private final Counter requests;
+  private final Counter rateLimited;
+
+  ClientRateLimit(
+      final Map<Priority, TokenBucket> buckets, final Counter requests, final Counter rateLimited) {
+    this.buckets = buckets;
+    this.requests = requests;
+    this.rateLimited = rateLimited;
+  }
+
+  /** Whether a request of the given class is within the limits of the client. */
+  boolean tryAcquire(final Priority priority, final long nowNanos) {
+    final TokenBucket bucket = buckets.get(priority);
+    return bucket == null || bucket.tryAcquire(nowNanos);
+  }
+
+  /**
+   * Whether a request, whose class is not yet known, could be within the limits of the client. No
+   * token is taken, as that is left until the class is known.
+   */
+  boolean mayAcquire(final long nowNanos) {
+    if (buckets.size() < Priority.values().length) {
+      return true;
+    }
+    for (final TokenBucket bucket : buckets.values()) {
+      if (bucket.hasToken(nowNanos)) {
+        return true;
+      }
+    }
+    return false;
+  }
+
+  boolean isIdle(final long nowNanos) {
+    for (final TokenBucket bucket : buckets.values()) {
+      if (!bucket.isFull(nowNanos)) {
+        return false;
+      }
+    }
+    return true;
+  }
+
+  /** How long, in whole seconds, until a request of any limited class would be within limits. */
+  long secondsUntilToken(final long nowNanos) {
+    long nanos = Long.MAX_VALUE;
+    for (final TokenBucket bucket : buckets.values()) {
+      nanos = Math.min(nanos, bucket.nanosUntilToken(nowNanos));
+    }
+    final long second = TimeUnit.SECONDS.toNanos(1);
+    return Math.max((nanos + second - 1) / second, 1);
+  }
+
+  Counter requests() {
+    return requests;
+  }
+
+  Counter rateLimited() {
+    return rateLimited;
+  }
+}
@@ -0,0 +1,69 @@
+/*
+ * Copyright 2020 ConsenSys AG.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on
+ * an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations under the License.
+ */
+package tech.pegasys.ethsigner.core.admission;
+
+import tech.pegasys.ethsigner.core.metrics.EthSignerMetrics;
+import tech.pegasys.ethsigner.metrics.Counter;
+import tech.pegasys.ethsigner.metrics.LabelledMetric;
+
+import java.util.EnumMap;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+import io.vertx.core.http.HttpServerRequest;
+
+/** Holds the rate limits of each client, created when the client is first seen. */
+public class ClientRateLimiter {
+
+  // beyond which clients whose buckets have refilled are forgotten
+  private static final int MAX_TRACKED_CLIENTS = 10_000;
+
+  private final Map<Priority, RateLimit> limits;
+  private final ClientIdentifier clientIdentifier;
+  private final LabelledMetric<Counter> clientRequests;
+  private final LabelledMetric<Counter> rateLimitedRequests;
+  private final Map<String, ClientRateLimit> clients = new ConcurrentHashMap<>();
+
+  public ClientRateLimiter(final RateLimitOptions options, final EthSignerMetrics metrics) {
+    this.limits = options.getLimits();
+    this.clientIdentifier = options.getClientIdentifier();
+    this.clientRequests = metrics.clientRequests();
+    this.rateLimitedRequests = metrics.rateLimitedRequests();
+  }
+
+  public ClientRateLimit forClient(final HttpServerRequest request, final long nowNanos) {
+    return forClient(clientIdentifier.identify(request), nowNanos);
+  }
+
+  ClientRateLimit forClient(final String client, final long nowNanos) {
+    final ClientRateLimit limit = clients.get(client);
+    if (limit != null) {
+      return limit;
+    }
+    if (clients.size() >= MAX_TRACKED_CLIENTS) {
+      clients.values().removeIf(other -> other.isIdle(nowNanos));
+    }
+    return clients.computeIfAbsent(client, ignored -> create(client, nowNanos));
+  }
+
+  int clientCount() {
+    return clients.size();
+  }
+
+  private ClientRateLimit create(final String client, final long nowNanos) {
+    final Map<Priority, TokenBucket> buckets = new EnumMap<>(Priority.class);
+    limits.forEach((priority, limit) -> buckets.put(priority, new TokenBucket(limit, nowNanos)));
+    return new ClientRateLimit(
+        buckets, clientRequests.labels(client), rateLimitedRequests.labels(client));
+  }
+}
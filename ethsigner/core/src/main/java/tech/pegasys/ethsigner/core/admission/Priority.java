@@ -0,0 +1,41 @@
+/*
+ * Copyright 2020 ConsenSys AG.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on
+ * an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations under the License.
+ */
+package tech.pegasys.ethsigner.core.admission;
+
+import java.util.Arrays;
+import java.util.Locale;
+import java.util.Optional;
+
+/** The order in which queued requests are admitted, most favoured first. */
+public enum Priority {
+  /** Transactions to be signed and submitted, being what EthSigner is there to do. */
+  TRANSACTION,
+  /** Requests answered from the downstream node, or by EthSigner on its behalf. */
+  PASS_THROUGH;
+
+  private final String label = name().toLowerCase(Locale.ROOT);
+
+  public static Priority forMethod(final String method) {
+    return "eth_sendTransaction".equals(method) || "eea_sendTransaction".equals(method)
+        ? TRANSACTION
+        : PASS_THROUGH;
+  }
+
+  public static Optional<Priority> forLabel(final String label) {
+    return Arrays.stream(values()).filter(priority -> priority.label.equals(label)).findFirst();
+  }
+
+  public String label() {
+    return label;
+  }
+}
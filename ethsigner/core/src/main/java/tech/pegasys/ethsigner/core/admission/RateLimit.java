@@ -0,0 +1,43 @@
+/*
+ * Copyright 2020 ConsenSys AG.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on
+ * an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations under the License.
+ */
+package tech.pegasys.ethsigner.core.admission;
+
+import com.google.common.base.MoreObjects;
+
+/** How many requests a client may make each second, and how many it may make at once. */
+public class RateLimit {
+
+  private final double requestsPerSecond;
+  private final int burst;
+
+  public RateLimit(final double requestsPerSecond, final int burst) {
+    this.requestsPerSecond = requestsPerSecond;
+    this.burst = burst;
+  }
+
+  public double getRequestsPerSecond() {
+    return requestsPerSecond;
+  }
+
+  public int getBurst() {
+    return burst;
+  }
+
+  @Override
+  public String toString() {
+    return MoreObjects.toStringHelper(this)
+        .add("requestsPerSecond", requestsPerSecond)
+        .add("burst", burst)
+        .toString();
+  }
+}
@@ -0,0 +1,90 @@
+/*
+ * Copyright 2020 ConsenSys AG.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on
+ * an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations under the License.
+ */
+package tech.pegasys.ethsigner.core.admission;
+
+import static io.netty.handler.codec.http.HttpResponseStatus.TOO_MANY_REQUESTS;
+
+import tech.pegasys.ethsigner.core.http.HttpResponseFactory;
+import tech.pegasys.ethsigner.core.jsonrpc.response.JsonRpcError;
+
+import java.util.Optional;
+
+import io.netty.handler.codec.http.HttpHeaderNames;
+import io.vertx.core.Handler;
+import io.vertx.ext.web.RoutingContext;
+
+/**
+ * Turns away requests beyond the rate limits of the client making them, before their body is read.
+ *
+ * <p>Where the class of the requests on a route is only known once they are decoded, a request is
+ * only turned away here if no class has a token left. Its token is taken later, by {@link
+ * #tryAcquire(RoutingContext, Priority)}.
+ */
+public class RateLimitHandler implements Handler<RoutingContext> {
+
+  private static final String CLIENT_RATE_LIMIT = "ethsigner.clientRateLimit";
+
+  private final ClientRateLimiter rateLimiter;
+  private final Optional<Priority> priority;
+  private final HttpResponseFactory responseFactory;
+
+  /** @param priority the class of all requests on the route, if known before they are decoded. */
+  public RateLimitHandler(
+      final ClientRateLimiter rateLimiter,
+      final Optional<Priority> priority,
+      final HttpResponseFactory responseFactory) {
+    this.rateLimiter = rateLimiter;
+    this.priority = priority;
+    this.responseFactory = responseFactory;
+  }
+
+  @Override
+  public void handle(final RoutingContext context) {
+    final long nowNanos = System.nanoTime();
+    final ClientRateLimit limit = rateLimiter.forClient(context.request(), nowNanos);
+    limit.requests().inc();
+    context.put(CLIENT_RATE_LIMIT, limit);
+    final boolean withinLimit =
+        priority.isPresent()
+            ? limit.tryAcquire(priority.get(), nowNanos)
+            : limit.mayAcquire(nowNanos);
+    if (withinLimit) {
+      context.next();
+    } else {
+      reject(responseFactory, context, null);
+    }
+  }
+
+  /**
+   * Takes a token for a request from the bucket of its class, once that is known.
+   *
+   * @return whether the request is within the limits of its client, or true if not rate limited.
+   */
+  public static boolean tryAcquire(final RoutingContext context, final Priority priority) {
+    final ClientRateLimit limit = context.get(CLIENT_RATE_LIMIT);
+    return limit == null || limit.tryAcquire(priority, System.nanoTime());
+  }
+
+  /** Responds that the client has made too many requests, and when it may make another. */
+  public static void reject(
+      final HttpResponseFactory responseFactory, final RoutingContext context, final Object id) {
+    final ClientRateLimit limit = context.get(CLIENT_RATE_LIMIT);
+    limit.rateLimited().inc();
+    context
+        .response()
+        .putHeader(
+            HttpHeaderNames.RETRY_AFTER, Long.toString(limit.secondsUntilToken(System.nanoTime())));
+    responseFactory.createError(
+        context.request(), TOO_MANY_REQUESTS.code(), id, JsonRpcError.REQUEST_LIMIT_EXCEEDED);
+  }
+}
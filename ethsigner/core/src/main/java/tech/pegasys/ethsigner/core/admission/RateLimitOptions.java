@@ -0,0 +1,46 @@
+/*
+ * Copyright 2020 ConsenSys AG.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on
+ * an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations under the License.
+ */
+package tech.pegasys.ethsigner.core.admission;
+
+import java.util.Map;
+
+import com.google.common.base.MoreObjects;
+
+public class RateLimitOptions {
+
+  private final Map<Priority, RateLimit> limits;
+  private final ClientIdentifier clientIdentifier;
+
+  /** @param limits the limit of each client for each class of method, where it has one. */
+  public RateLimitOptions(
+      final Map<Priority, RateLimit> limits, final ClientIdentifier clientIdentifier) {
+    this.limits = limits;
+    this.clientIdentifier = clientIdentifier;
+  }
+
+  public Map<Priority, RateLimit> getLimits() {
+    return limits;
+  }
+
+  public ClientIdentifier getClientIdentifier() {
+    return clientIdentifier;
+  }
+
+  @Override
+  public String toString() {
+    return MoreObjects.toStringHelper(this)
+        .add("limits", limits)
+        .add("clientIdentifier", clientIdentifier)
+        .toString();
+  }
+}
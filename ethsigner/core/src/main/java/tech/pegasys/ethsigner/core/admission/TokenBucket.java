@@ -0,0 +1,68 @@
+/*
+ * Copyright 2020 ConsenSys AG.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on
+ * an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations under the License.
+ */
+package tech.pegasys.ethsigner.core.admission;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * A token bucket shared by threads without locking, held as the time at which the bucket will be
+ * full again rather than as a count of tokens refilled by a timer (the generic cell rate
+ * algorithm).
+ *
+ * <p>Times are those of {@link System#nanoTime()}, so are only ever compared by difference.
+ */
+class TokenBucket {
+
+  private final long nanosPerToken;
+  private final long capacityNanos;
+  private final AtomicLong fullAtNanos;
+
+  TokenBucket(final RateLimit limit, final long nowNanos) {
+    this.nanosPerToken =
+        Math.max((long) (TimeUnit.SECONDS.toNanos(1) / limit.getRequestsPerSecond()), 1);
+    this.capacityNanos = nanosPerToken * limit.getBurst();
+    this.fullAtNanos = new AtomicLong(nowNanos);
+  }
+
+  boolean tryAcquire(final long nowNanos) {
+    while (true) {
+      final long fullAt = fullAtNanos.get();
+      final long drained = drained(fullAt, nowNanos) + nanosPerToken;
+      if (drained > capacityNanos) {
+        return false;
+      }
+      if (fullAtNanos.compareAndSet(fullAt, nowNanos + drained)) {
+        return true;
+      }
+    }
+  }
+
+  boolean hasToken(final long nowNanos) {
+    return drained(fullAtNanos.get(), nowNanos) + nanosPerToken <= capacityNanos;
+  }
+
+  /** A full bucket is no different to a new one, so may be dropped. */
+  boolean isFull(final long nowNanos) {
+    return drained(fullAtNanos.get(), nowNanos) == 0;
+  }
+
+  long nanosUntilToken(final long nowNanos) {
+    return Math.max(drained(fullAtNanos.get(), nowNanos) + nanosPerToken - capacityNanos, 0);
+  }
+
+  /** The time the tokens taken from the bucket will take to be replaced. */
+  private static long drained(final long fullAtNanos, final long nowNanos) {
+    return Math.max(fullAtNanos - nowNanos, 0);
+  }
+}
@@ -13,12 +13,18 @@
 package tech.pegasys.ethsigner.core.config;
 
 import tech.pegasys.ethsigner.core.config.tls.client.ClientTlsOptions;
+import tech.pegasys.ethsigner.core.downstream.LoadBalancingStrategy;
 import tech.pegasys.ethsigner.core.signing.ChainIdProvider;
+import tech.pegasys.ethsigner.core.tracing.TracingExporter;
 
 import java.nio.file.Path;
 import java.time.Duration;
+import java.util.List;
+import java.util.Map;
 import java.util.Optional;
+import java.util.Set;
 
+import com.google.common.net.HostAndPort;
 import org.apache.logging.log4j.Level;
 
 public interface Config {
@@ -31,10 +37,106 @@ public interface Config {
 
   Duration getDownstreamHttpRequestTimeout();
 
+  List<HostAndPort> getDownstreamHttpAdditionalEndpoints();
+
+  Optional<Path> getDownstreamHttpSocketPath();
+
+  LoadBalancingStrategy getDownstreamLoadBalancingStrategy();
+
+  int getDownstreamHttpMaxConnections();
+
+  int getDownstreamHttpMaxWaitQueueSize();
+
+  int getDownstreamHttpSigningMaxConnections();
+
+  int getDownstreamHttpSigningMaxWaitQueueSize();
+
+  List<HostAndPort> getDownstreamHttpReadEndpoints();
+
+  Duration getDownstreamHttpReadRequestTimeout();
+
+  int getDownstreamHttpReadMaxConnections();
+
+  int getDownstreamHttpReadMaxWaitQueueSize();
+
+  Set<String> getDownstreamHttpReadMethods();
+
+  Set<String> getDownstreamHttpWriteMethods();
+
+  boolean isDownstreamHttp2Enabled();
+
+  int getDownstreamHttp2MaxConcurrentStreams();
+
+  Optional<Integer> getDownstreamWsPort();
+
   String getHttpListenHost();
 
   Integer getHttpListenPort();
 
+  Optional<Path> getHttpListenSocketPath();
+
+  String getHttpListenSocketPermissions();
+
+  long getHttp2MaxConcurrentStreams();
+
+  int getHttp2InitialWindowSize();
+
+  boolean isWebSocketEnabled();
+
+  int getWebSocketMaxInFlightRequests();
+
+  int getWebSocketSubscriptionBufferSize();
+
+  boolean isMetricsEnabled();
+
+  String getMetricsHost();
+
+  Integer getMetricsPort();
+
+  TracingExporter getTracingExporter();
+
+  HostAndPort getTracingOtlpEndpoint();
+
+  double getTracingSampleRatio();
+
+  boolean isServerTimingEnabled();
+
+  int getAdmissionMaxConcurrentRequests();
+
+  int getAdmissionMaxQueuedRequests();
+
+  Map<String, Integer> getAdmissionMethodMaxConcurrentRequests();
+
+  Map<String, Integer> getAdmissionMethodMaxQueuedRequests();
+
+  Map<String, Double> getRateLimitRequestsPerSecond();
+
+  Map<String, Integer> getRateLimitBurst();
+
+  int getTransactionMaxInFlight();
+
+  int getTransactionMaxInFlightPerSender();
+
+  int getTransactionMaxQueuedPerSender();
+
+  Map<String, Integer> getTransactionSenderWeights();
+
+  int getTransactionMaxRetries();
+
+  Duration getTransactionRetryBaseDelay();
+
+  Duration getTransactionRetryMaxDelay();
+
+  double getTransactionRetryBudgetRatio();
+
+  long getImmutableResultCacheMaxSize();
+
+  boolean isLatestBlockCacheEnabled();
+
+  Duration getLatestBlockCachePollInterval();
+
+  long getLatestBlockCacheMaxSize();
+
   ChainIdProvider getChainId();
 
   Path getDataPath();
@@ -0,0 +1,127 @@
+/*
+ * Copyright 2020 ConsenSys AG.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on
+ * an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations under the License.
+ */
+package tech.pegasys.ethsigner.core.downstream;
+
+import java.time.Duration;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.LongAccumulator;
+import java.util.concurrent.atomic.LongAdder;
+
+import com.google.common.base.MoreObjects;
+import io.netty.handler.codec.http.HttpHeaderNames;
+import io.vertx.core.Handler;
+import io.vertx.core.buffer.Buffer;
+import io.vertx.core.http.ConnectionPoolTooBusyException;
+import io.vertx.core.http.HttpClientRequest;
+
+/**
+ * Records how requests fare against the connection pool of a downstream client: how many are
+ * waiting for a connection, how long they waited, and how many were turned away because the wait
+ * queue was full.
+ *
+ * <p>Counts and totals are cumulative, so rates and mean wait times can be taken over any interval.
+ */
+public class ConnectionPoolMetrics {
+
+  private final int maxWaitQueueSize;
+  private final AtomicInteger waiting = new AtomicInteger();
+  private final LongAdder connectionsAcquired = new LongAdder();
+  private final LongAdder totalWaitNanos = new LongAdder();
+  private final LongAccumulator maxWaitNanos = new LongAccumulator(Math::max, 0);
+  private final LongAdder rejectedRequests = new LongAdder();
+
+  /** @param maxWaitQueueSize the wait queue limit of the client, negative if unbounded. */
+  public ConnectionPoolMetrics(final int maxWaitQueueSize) {
+    this.maxWaitQueueSize = maxWaitQueueSize;
+  }
+
+  /**
+   * Ends the request with the given body, timing how long it waits for a connection.
+   *
+   * <p>The head is sent separately so its completion marks the point the request was given a
+   * connection, which requires the content length to be known up front.
+   */
+  public void end(
+      final HttpClientRequest request,
+      final Buffer body,
+      final Handler<Throwable> exceptionHandler) {
+    final long queuedAt = System.nanoTime();
+    final AtomicBoolean dequeued = new AtomicBoolean(false);
+    waiting.incrementAndGet();
+
+    request.exceptionHandler(
+        thrown -> {
+          if (dequeued.compareAndSet(false, true)) {
+            waiting.decrementAndGet();
+            if (thrown instanceof ConnectionPoolTooBusyException) {
+              rejectedRequests.increment();
+            }
+          }
+          exceptionHandler.handle(thrown);
+        });
+    request.headers().set(HttpHeaderNames.CONTENT_LENGTH, Integer.toString(body.length()));
+    request.sendHead(
+        version -> {
+          if (dequeued.compareAndSet(false, true)) {
+            waiting.decrementAndGet();
+            connectionAcquired(System.nanoTime() - queuedAt);
+          }
+        });
+    request.end(body);
+  }
+
+  private void connectionAcquired(final long waitNanos) {
+    connectionsAcquired.increment();
+    totalWaitNanos.add(waitNanos);
+    maxWaitNanos.accumulate(waitNanos);
+  }
+
+  /** Requests currently waiting for a connection. */
+  public int waiting() {
+    return waiting.get();
+  }
+
+  /** The fraction of the wait queue in use, always zero if the queue is unbounded. */
+  public double saturation() {
+    return maxWaitQueueSize > 0 ? (double) waiting.get() / maxWaitQueueSize : 0;
+  }
+
+  public long connectionsAcquired() {
+    return connectionsAcquired.sum();
+  }
+
+  public Duration totalWaitTime() {
+    return Duration.ofNanos(totalWaitNanos.sum());
+  }
+
+  public Duration maxWaitTime() {
+    return Duration.ofNanos(maxWaitNanos.get());
+  }
+
+  public long rejectedRequests() {
+    return rejectedRequests.sum();
+  }
+
+  @Override
+  public String toString() {
+    return MoreObjects.toStringHelper(this)
+        .add("waiting", waiting)
+        .add("maxWaitQueueSize", maxWaitQueueSize)
+        .add("connectionsAcquired", connectionsAcquired)
+        .add("totalWaitTime", totalWaitTime())
+        .add("maxWaitTime", maxWaitTime())
+        .add("rejectedRequests", rejectedRequests)
+        .toString();
+  }
+}
@@ -0,0 +1,70 @@
+/*
+ * Copyright 2020 ConsenSys AG.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on
+ * an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations under the License.
+ */
+package tech.pegasys.ethsigner.core.downstream;
+
+import java.time.Duration;
+import java.util.IdentityHashMap;
+import java.util.Map;
+
+import io.vertx.core.Vertx;
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+
+/**
+ * Periodically reports the connection pool metrics of each downstream node, warning when requests
+ * have been turned away because a wait queue was full.
+ */
+public class ConnectionPoolReporter {
+
+  private static final Logger LOG = LogManager.getLogger();
+
+  private final Vertx vertx;
+  private final Map<String, DownstreamPool> poolsByTrafficClass;
+  private final Duration reportInterval;
+  // only accessed from the timer, so needs no synchronisation
+  private final Map<ConnectionPoolMetrics, Long> reportedRejections = new IdentityHashMap<>();
+
+  public ConnectionPoolReporter(
+      final Vertx vertx,
+      final Map<String, DownstreamPool> poolsByTrafficClass,
+      final Duration reportInterval) {
+    this.vertx = vertx;
+    this.poolsByTrafficClass = poolsByTrafficClass;
+    this.reportInterval = reportInterval;
+  }
+
+  public void start() {
+    vertx.setPeriodic(reportInterval.toMillis(), timerId -> report());
+  }
+
+  private void report() {
+    poolsByTrafficClass.forEach(
+        (trafficClass, pool) -> {
+          for (final DownstreamNode node : pool.nodes()) {
+            final ConnectionPoolMetrics metrics = node.connectionPool();
+            LOG.debug("{} connection pool of {}: {}", trafficClass, node.name(), metrics);
+
+            final long rejections = metrics.rejectedRequests();
+            final long previousRejections = reportedRejections.getOrDefault(metrics, 0L);
+            reportedRejections.put(metrics, rejections);
+            if (rejections > previousRejections) {
+              LOG.warn(
+                  "{} {} requests to {} were rejected as too many were waiting for a connection",
+                  rejections - previousRejections,
+                  trafficClass,
+                  node.name());
+            }
+          }
+        });
+  }
+}
@@ -0,0 +1,116 @@
+/*
+ * Copyright 2020 ConsenSys AG.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on
+ * an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations under the License.
+ */
+package tech.pegasys.ethsigner.core.downstream;
+
+import static tech.pegasys.ethsigner.core.jsonrpc.RpcUtil.JSON_RPC_VERSION;
+
+import tech.pegasys.ethsigner.core.jsonrpc.JsonDecoder;
+import tech.pegasys.ethsigner.core.jsonrpc.JsonRpcRequest;
+import tech.pegasys.ethsigner.core.jsonrpc.JsonRpcRequestId;
+import tech.pegasys.ethsigner.core.jsonrpc.response.JsonRpcSuccessResponse;
+
+import java.time.Duration;
+import java.util.List;
+
+import io.netty.handler.codec.http.HttpHeaderNames;
+import io.netty.handler.codec.http.HttpHeaderValues;
+import io.netty.handler.codec.http.HttpResponseStatus;
+import io.vertx.core.Vertx;
+import io.vertx.core.buffer.Buffer;
+import io.vertx.core.http.HttpClientRequest;
+import io.vertx.core.json.DecodeException;
+import io.vertx.core.json.Json;
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+
+/**
+ * Periodically checks each node of a pool answers JSON-RPC requests, taking those which do not out
+ * of rotation until they recover.
+ */
+public class DownstreamHealthProbe {
+
+  private static final Logger LOG = LogManager.getLogger();
+  private static final Buffer PROBE_REQUEST = Json.encodeToBuffer(probeRequest());
+
+  private final Vertx vertx;
+  private final DownstreamPool pool;
+  private final JsonDecoder jsonDecoder;
+  private final Duration probeInterval;
+
+  public DownstreamHealthProbe(
+      final Vertx vertx,
+      final DownstreamPool pool,
+      final JsonDecoder jsonDecoder,
+      final Duration probeInterval) {
+    this.vertx = vertx;
+    this.pool = pool;
+    this.jsonDecoder = jsonDecoder;
+    this.probeInterval = probeInterval;
+  }
+
+  /** A pool of a single node has nowhere else to send requests, so is not probed. */
+  public void start() {
+    if (pool.nodes().size() > 1) {
+      vertx.setPeriodic(probeInterval.toMillis(), timerId -> pool.nodes().forEach(this::probe));
+    }
+  }
+
+  private void probe(final DownstreamNode node) {
+    final HttpClientRequest request =
+        node.post(
+            "/",
+            response -> {
+              response.exceptionHandler(thrown -> updateHealth(node, false, thrown));
+              response.bodyHandler(
+                  body -> updateHealth(node, isHealthy(response.statusCode(), body), null));
+            });
+    request.putHeader(HttpHeaderNames.CONTENT_TYPE, HttpHeaderValues.APPLICATION_JSON);
+    // an answer arriving after the next probe has been sent is as good as no answer
+    request.setTimeout(probeInterval.toMillis());
+    request.exceptionHandler(thrown -> updateHealth(node, false, thrown));
+    request.end(PROBE_REQUEST);
+  }
+
+  private boolean isHealthy(final int statusCode, final Buffer body) {
+    if (statusCode != HttpResponseStatus.OK.code()) {
+      return false;
+    }
+    try {
+      jsonDecoder.decodeValue(body, JsonRpcSuccessResponse.class);
+      return true;
+    } catch (final DecodeException e) {
+      return false;
+    }
+  }
+
+  private void updateHealth(
+      final DownstreamNode node, final boolean healthy, final Throwable cause) {
+    if (node.isHealthy() == healthy) {
+      return;
+    }
+    node.setHealthy(healthy);
+    if (healthy) {
+      LOG.info("Downstream node {} has recovered", node.name());
+    } else {
+      LOG.warn("Downstream node {} failed its health probe, taking out of rotation", node.name());
+      LOG.debug("Health probe failure", cause);
+    }
+  }
+
+  private static JsonRpcRequest probeRequest() {
+    final JsonRpcRequest request = new JsonRpcRequest(JSON_RPC_VERSION, "eth_syncing");
+    request.setId(new JsonRpcRequestId(1));
+    request.setParams(List.of());
+    return request;
+  }
+}
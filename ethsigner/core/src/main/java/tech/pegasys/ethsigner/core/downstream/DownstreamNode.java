@@ -0,0 +1,163 @@
+/*
+ * Copyright 2020 ConsenSys AG.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on
+ * an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations under the License.
+ */
+package tech.pegasys.ethsigner.core.downstream;
+
+import java.util.Optional;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import com.google.common.base.MoreObjects;
+import com.google.common.net.HostAndPort;
+import io.vertx.core.Handler;
+import io.vertx.core.http.HttpClient;
+import io.vertx.core.http.HttpClientRequest;
+import io.vertx.core.http.HttpClientResponse;
+import io.vertx.core.http.HttpMethod;
+import io.vertx.core.net.SocketAddress;
+
+/**
+ * A node to which requests are forwarded, along with the load and latency observed on requests
+ * balanced across it.
+ *
+ * <p>A co-located node may be reached through a Unix domain socket, rather than a TCP connection to
+ * the client's default host and port.
+ */
+public class DownstreamNode {
+
+  // weight given to each new latency sample, roughly averaging over the last ten requests
+  private static final double LATENCY_SAMPLE_WEIGHT = 0.2;
+
+  private final String name;
+  private final HttpClient client;
+  private final ConnectionPoolMetrics connectionPool;
+  private final Optional<DomainSocket> domainSocket;
+  private final AtomicInteger outstandingRequests = new AtomicInteger();
+  private volatile double latencyEstimateNanos;
+  private volatile boolean healthy = true;
+
+  public DownstreamNode(
+      final String name, final HttpClient client, final ConnectionPoolMetrics connectionPool) {
+    this.name = name;
+    this.client = client;
+    this.connectionPool = connectionPool;
+    this.domainSocket = Optional.empty();
+  }
+
+  /**
+   * @param address the host and port of the node, which name it in the Host header of the requests
+   *     sent through the socket.
+   * @param socketPath the Unix domain socket on which the node serves HTTP.
+   */
+  public DownstreamNode(
+      final HostAndPort address,
+      final String socketPath,
+      final HttpClient client,
+      final ConnectionPoolMetrics connectionPool) {
+    this.name = address + " (" + socketPath + ")";
+    this.client = client;
+    this.connectionPool = connectionPool;
+    this.domainSocket =
+        Optional.of(new DomainSocket(SocketAddress.domainSocketAddress(socketPath), address));
+  }
+
+  public String name() {
+    return name;
+  }
+
+  /** Creates a request to the node, to be sent through its Unix domain socket if it has one. */
+  public HttpClientRequest request(
+      final HttpMethod method,
+      final String requestUri,
+      final Handler<HttpClientResponse> responseHandler) {
+    if (domainSocket.isEmpty()) {
+      return client.request(method, requestUri, responseHandler);
+    }
+    final DomainSocket socket = domainSocket.get();
+    return client.request(
+        method,
+        socket.address,
+        socket.authority.getPort(),
+        socket.authority.getHost(),
+        requestUri,
+        responseHandler);
+  }
+
+  public HttpClientRequest post(
+      final String requestUri, final Handler<HttpClientResponse> responseHandler) {
+    return request(HttpMethod.POST, requestUri, responseHandler);
+  }
+
+  public ConnectionPoolMetrics connectionPool() {
+    return connectionPool;
+  }
+
+  public int outstandingRequests() {
+    return outstandingRequests.get();
+  }
+
+  /** Exponentially weighted moving average of the time taken to respond, in nanoseconds. */
+  public double latencyEstimate() {
+    return latencyEstimateNanos;
+  }
+
+  public boolean isHealthy() {
+    return healthy;
+  }
+
+  void setHealthy(final boolean healthy) {
+    this.healthy = healthy;
+  }
+
+  /** @return the start time, to be handed back when the request completes or fails. */
+  public long requestStarted() {
+    outstandingRequests.incrementAndGet();
+    return System.nanoTime();
+  }
+
+  public void requestCompleted(final long startedAt) {
+    outstandingRequests.decrementAndGet();
+    recordLatency(System.nanoTime() - startedAt);
+  }
+
+  /** Failures count as slow responses, so latency-aware balancing steers away from the node. */
+  public void requestFailed(final long startedAt) {
+    outstandingRequests.decrementAndGet();
+    recordLatency(Math.max(System.nanoTime() - startedAt, 2 * (long) latencyEstimateNanos));
+  }
+
+  private synchronized void recordLatency(final long latencyNanos) {
+    latencyEstimateNanos =
+        latencyEstimateNanos == 0
+            ? latencyNanos
+            : latencyEstimateNanos + LATENCY_SAMPLE_WEIGHT * (latencyNanos - latencyEstimateNanos);
+  }
+
+  @Override
+  public String toString() {
+    return MoreObjects.toStringHelper(this)
+        .add("name", name)
+        .add("outstandingRequests", outstandingRequests)
+        .add("latencyEstimateNanos", latencyEstimateNanos)
+        .add("healthy", healthy)
+        .toString();
+  }
+
+  private static class DomainSocket {
+    private final SocketAddress address;
+    private final HostAndPort authority;
+
+    private DomainSocket(final SocketAddress address, final HostAndPort authority) {
+      this.address = address;
+      this.authority = authority;
+    }
+  }
+}
@@ -0,0 +1,102 @@
+/*
+ * Copyright 2020 ConsenSys AG.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on
+ * an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations under the License.
+ */
+package tech.pegasys.ethsigner.core.downstream;
+
+import static java.nio.charset.StandardCharsets.UTF_8;
+import static java.util.stream.Collectors.toList;
+
+import java.time.Duration;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Locale;
+import java.util.Optional;
+
+import com.google.common.hash.HashFunction;
+import com.google.common.hash.Hashing;
+
+/**
+ * The downstream nodes requests may be forwarded to.
+ *
+ * <p>Nodes failing their health probe are avoided, unless every node is failing, in which case all
+ * are considered so requests still have somewhere to go.
+ */
+public class DownstreamPool {
+
+  private static final HashFunction AFFINITY_HASH = Hashing.murmur3_32();
+
+  private final List<DownstreamNode> nodes;
+  private final LoadBalancingStrategy strategy;
+  private final Duration requestTimeout;
+
+  public DownstreamPool(
+      final List<DownstreamNode> nodes,
+      final LoadBalancingStrategy strategy,
+      final Duration requestTimeout) {
+    if (nodes.isEmpty()) {
+      throw new IllegalArgumentException("A downstream pool requires at least one node");
+    }
+    this.nodes = List.copyOf(nodes);
+    this.strategy = strategy;
+    this.requestTimeout = requestTimeout;
+  }
+
+  public List<DownstreamNode> nodes() {
+    return nodes;
+  }
+
+  /** How long to wait for a node of this pool to respond. */
+  public Duration requestTimeout() {
+    return requestTimeout;
+  }
+
+  public DownstreamNode select() {
+    return strategy.select(available());
+  }
+
+  /** Selects a node other than the one given, e.g. to retry a request which failed on it. */
+  public Optional<DownstreamNode> selectExcluding(final DownstreamNode excluded) {
+    final List<DownstreamNode> candidates =
+        available().stream().filter(node -> node != excluded).collect(toList());
+    return candidates.isEmpty() ? Optional.empty() : Optional.of(strategy.select(candidates));
+  }
+
+  /**
+   * Selects the same node for every request sharing the key, e.g. so the nonce lookups and
+   * transaction submissions of a sender see a consistent view of its account. Keys are compared
+   * ignoring case, as they are typically hex encoded addresses.
+   *
+   * <p>Uses rendezvous hashing, so a key only moves to another node when its node becomes
+   * unavailable.
+   */
+  public DownstreamNode selectByAffinity(final String affinityKey) {
+    final String key = affinityKey.toLowerCase(Locale.ROOT);
+    return available().stream()
+        .max(Comparator.comparingInt(node -> affinity(key, node)))
+        .orElseThrow();
+  }
+
+  private List<DownstreamNode> available() {
+    final List<DownstreamNode> healthy =
+        nodes.stream().filter(DownstreamNode::isHealthy).collect(toList());
+    return healthy.isEmpty() ? nodes : healthy;
+  }
+
+  private static int affinity(final String key, final DownstreamNode node) {
+    return AFFINITY_HASH
+        .newHasher()
+        .putString(key, UTF_8)
+        .putString(node.name(), UTF_8)
+        .hash()
+        .asInt();
+  }
+}
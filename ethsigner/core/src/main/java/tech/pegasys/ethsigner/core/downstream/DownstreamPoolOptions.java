@@ -0,0 +1,82 @@
+/*
+ * Copyright 2020 ConsenSys AG.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on
+ * an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations under the License.
+ */
+package tech.pegasys.ethsigner.core.downstream;
+
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.List;
+import java.util.Optional;
+
+import com.google.common.base.MoreObjects;
+import io.vertx.core.http.HttpClientOptions;
+
+/** How to connect to, and balance requests across, the nodes of a downstream pool. */
+public class DownstreamPoolOptions {
+
+  private final List<HttpClientOptions> nodeOptions;
+  private final LoadBalancingStrategy loadBalancingStrategy;
+  private final Duration requestTimeout;
+  private final Optional<Path> firstNodeSocketPath;
+
+  /**
+   * @param nodeOptions the options of the client connecting to each node, which also carry the
+   *     connection limit of each node.
+   */
+  public DownstreamPoolOptions(
+      final List<HttpClientOptions> nodeOptions,
+      final LoadBalancingStrategy loadBalancingStrategy,
+      final Duration requestTimeout) {
+    this(nodeOptions, loadBalancingStrategy, requestTimeout, Optional.empty());
+  }
+
+  /**
+   * @param firstNodeSocketPath the Unix domain socket through which the first node, being
+   *     co-located, is reached in place of its host and port.
+   */
+  public DownstreamPoolOptions(
+      final List<HttpClientOptions> nodeOptions,
+      final LoadBalancingStrategy loadBalancingStrategy,
+      final Duration requestTimeout,
+      final Optional<Path> firstNodeSocketPath) {
+    this.nodeOptions = nodeOptions;
+    this.loadBalancingStrategy = loadBalancingStrategy;
+    this.requestTimeout = requestTimeout;
+    this.firstNodeSocketPath = firstNodeSocketPath;
+  }
+
+  public List<HttpClientOptions> getNodeOptions() {
+    return nodeOptions;
+  }
+
+  public LoadBalancingStrategy getLoadBalancingStrategy() {
+    return loadBalancingStrategy;
+  }
+
+  public Duration getRequestTimeout() {
+    return requestTimeout;
+  }
+
+  public Optional<Path> getFirstNodeSocketPath() {
+    return firstNodeSocketPath;
+  }
+
+  @Override
+  public String toString() {
+    return MoreObjects.toStringHelper(this)
+        .add("nodes", nodeOptions.size())
+        .add("loadBalancingStrategy", loadBalancingStrategy)
+        .add("requestTimeout", requestTimeout)
+        .add("firstNodeSocketPath", firstNodeSocketPath)
+        .toString();
+  }
+}
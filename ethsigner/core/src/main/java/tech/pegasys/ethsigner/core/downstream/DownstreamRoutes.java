@@ -0,0 +1,77 @@
+/*
+ * Copyright 2020 ConsenSys AG.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on
+ * an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations under the License.
+ */
+package tech.pegasys.ethsigner.core.downstream;
+
+import tech.pegasys.ethsigner.core.jsonrpc.ReadOnlyMethods;
+
+import java.util.Set;
+
+/**
+ * Routes requests between the signing pool, which carries the nonce lookups and transaction
+ * submissions of the signer, the write pool, which receives passed through requests that may change
+ * state, and the read pool, which serves everything known to be read-only.
+ *
+ * <p>The signing and write pools connect to the same nodes through separate clients, so signing is
+ * never queued behind slow passed through requests.
+ *
+ * <p>Methods may be moved between the read and write pools, e.g. to send archive queries to the
+ * read replicas, or to keep a read the signer depends on consistent with the nodes receiving its
+ * transactions.
+ */
+public class DownstreamRoutes {
+
+  private final DownstreamPool signingPool;
+  private final DownstreamPool writePool;
+  private final DownstreamPool readPool;
+  private final Set<String> readMethods;
+  private final Set<String> writeMethods;
+
+  /**
+   * @param readMethods methods sent to the read pool, in addition to those known to be read-only.
+   * @param writeMethods methods sent to the write pool, even if they are read-only.
+   */
+  public DownstreamRoutes(
+      final DownstreamPool signingPool,
+      final DownstreamPool writePool,
+      final DownstreamPool readPool,
+      final Set<String> readMethods,
+      final Set<String> writeMethods) {
+    this.signingPool = signingPool;
+    this.writePool = writePool;
+    this.readPool = readPool;
+    this.readMethods = Set.copyOf(readMethods);
+    this.writeMethods = Set.copyOf(writeMethods);
+  }
+
+  public DownstreamPool signingPool() {
+    return signingPool;
+  }
+
+  public DownstreamPool writePool() {
+    return writePool;
+  }
+
+  public DownstreamPool readPool() {
+    return readPool;
+  }
+
+  public DownstreamPool poolFor(final String method) {
+    if (writeMethods.contains(method)) {
+      return writePool;
+    }
+    if (readMethods.contains(method) || ReadOnlyMethods.contains(method)) {
+      return readPool;
+    }
+    return writePool;
+  }
+}
@@ -0,0 +1,67 @@
+/*
+ * Copyright 2020 ConsenSys AG.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on
+ * an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations under the License.
+ */
+package tech.pegasys.ethsigner.core.downstream;
+
+import java.util.Comparator;
+import java.util.List;
+import java.util.concurrent.ThreadLocalRandom;
+
+/** How requests which need no particular node are spread across the nodes of a pool. */
+public enum LoadBalancingStrategy {
+
+  /** The node with the fewest requests awaiting a response. */
+  LEAST_OUTSTANDING {
+    @Override
+    DownstreamNode select(final List<DownstreamNode> candidates) {
+      return candidates.stream()
+          .min(Comparator.comparingInt(DownstreamNode::outstandingRequests))
+          .orElseThrow();
+    }
+  },
+
+  /** The node which has recently been quickest to respond. */
+  EWMA_LATENCY {
+    @Override
+    DownstreamNode select(final List<DownstreamNode> candidates) {
+      return candidates.stream()
+          .min(Comparator.comparingDouble(DownstreamNode::latencyEstimate))
+          .orElseThrow();
+    }
+  },
+
+  /**
+   * The cheaper of two nodes chosen at random, where cost is latency scaled by outstanding load.
+   * This avoids every request herding onto whichever node currently looks best.
+   */
+  POWER_OF_TWO_CHOICES {
+    @Override
+    DownstreamNode select(final List<DownstreamNode> candidates) {
+      if (candidates.size() == 1) {
+        return candidates.get(0);
+      }
+      final ThreadLocalRandom random = ThreadLocalRandom.current();
+      final int first = random.nextInt(candidates.size());
+      final int second = (first + 1 + random.nextInt(candidates.size() - 1)) % candidates.size();
+      final DownstreamNode a = candidates.get(first);
+      final DownstreamNode b = candidates.get(second);
+      return cost(a) <= cost(b) ? a : b;
+    }
+
+    private double cost(final DownstreamNode node) {
+      return Math.max(node.latencyEstimate(), 1) * (node.outstandingRequests() + 1);
+    }
+  };
+
+  /** @param candidates the nodes to choose between, never empty. */
+  abstract DownstreamNode select(List<DownstreamNode> candidates);
+}
@@ -0,0 +1,57 @@
+/*
+ * Copyright 2020 ConsenSys AG.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on
+ * an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations under the License.
+ */
+package tech.pegasys.ethsigner.core.http;
+
+import java.nio.file.Path;
+import java.nio.file.attribute.PosixFilePermission;
+import java.util.Set;
+
+import com.google.common.base.MoreObjects;
+import io.vertx.core.http.HttpServerOptions;
+
+public class DomainSocketServerOptions {
+
+  private final Path path;
+  private final Set<PosixFilePermission> permissions;
+  private final HttpServerOptions serverOptions;
+
+  public DomainSocketServerOptions(
+      final Path path,
+      final Set<PosixFilePermission> permissions,
+      final HttpServerOptions serverOptions) {
+    this.path = path;
+    this.permissions = permissions;
+    this.serverOptions = serverOptions;
+  }
+
+  public Path getPath() {
+    return path;
+  }
+
+  /** Given to the socket file before it is placed, deciding which users are able to connect. */
+  public Set<PosixFilePermission> getPermissions() {
+    return permissions;
+  }
+
+  public HttpServerOptions getServerOptions() {
+    return serverOptions;
+  }
+
+  @Override
+  public String toString() {
+    return MoreObjects.toStringHelper(this)
+        .add("path", path)
+        .add("permissions", permissions)
+        .toString();
+  }
+}
@@ -0,0 +1,177 @@
+/*
+ * Copyright 2020 ConsenSys AG.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on
+ * an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations under the License.
+ */
+package tech.pegasys.ethsigner.core.http;
+
+import static java.nio.file.LinkOption.NOFOLLOW_LINKS;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.attribute.PosixFilePermission;
+import java.nio.file.attribute.PosixFilePermissions;
+
+import io.vertx.core.AbstractVerticle;
+import io.vertx.core.Future;
+import io.vertx.core.http.HttpServer;
+import io.vertx.core.net.NetClient;
+import io.vertx.core.net.SocketAddress;
+import io.vertx.ext.web.Router;
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+
+/**
+ * Serves the routes over a Unix domain socket, for clients on the same host. Connecting requires
+ * write permission on the socket file, so access is controlled by the permissions it is given.
+ *
+ * <p>The socket is bound inside a directory only this user may enter, given its permissions there,
+ * and only then moved into place, so it is never reachable with those left by the process umask.
+ * The directory it is placed in must not be writable by other users, who could otherwise replace
+ * it.
+ */
+public class DomainSocketServerService extends AbstractVerticle {
+
+  private static final Logger LOG = LogManager.getLogger();
+  private static final int FILE_TYPE_MASK = 0170000;
+  private static final int SOCKET_FILE_TYPE = 0140000;
+  private static final String BINDING_DIRECTORY_PREFIX = ".ethsigner";
+
+  private final Router routes;
+  private final DomainSocketServerOptions options;
+  private HttpServer httpServer;
+
+  public DomainSocketServerService(final Router routes, final DomainSocketServerOptions options) {
+    this.routes = routes;
+    this.options = options;
+  }
+
+  @Override
+  public void start(final Future<Void> startFuture) {
+    final Path path = options.getPath().toAbsolutePath();
+    try {
+      if (Files.getPosixFilePermissions(path.getParent())
+          .contains(PosixFilePermission.OTHERS_WRITE)) {
+        startFuture.fail(
+            new IllegalStateException(
+                "Directory of " + path + " must not be writable by other users"));
+        return;
+      }
+    } catch (final IOException | UnsupportedOperationException e) {
+      startFuture.fail(e);
+      return;
+    }
+
+    if (isSocket(path)) {
+      deleteIfStale(path, startFuture);
+    } else {
+      listen(path, startFuture);
+    }
+  }
+
+  // a socket left behind by an instance which did not shut down would otherwise prevent binding,
+  // but one with a server still listening on it belongs to an instance which is running
+  private void deleteIfStale(final Path path, final Future<Void> startFuture) {
+    final NetClient client = vertx.createNetClient();
+    client.connect(
+        SocketAddress.domainSocketAddress(path.toString()),
+        result -> {
+          client.close();
+          if (result.succeeded()) {
+            startFuture.fail(new IllegalStateException("Another server is listening on " + path));
+            return;
+          }
+          try {
+            LOG.info("Deleting stale socket {}", path);
+            Files.delete(path);
+          } catch (final IOException e) {
+            startFuture.fail(e);
+            return;
+          }
+          listen(path, startFuture);
+        });
+  }
+
+  private void listen(final Path path, final Future<Void> startFuture) {
+    final Path bindingDirectory;
+    try {
+      bindingDirectory =
+          Files.createTempDirectory(
+              path.getParent(),
+              BINDING_DIRECTORY_PREFIX,
+              PosixFilePermissions.asFileAttribute(PosixFilePermissions.fromString("rwx------")));
+    } catch (final IOException | UnsupportedOperationException e) {
+      startFuture.fail(e);
+      return;
+    }
+    final Path bindingPath = bindingDirectory.resolve(path.getFileName());
+
+    httpServer = vertx.createHttpServer(options.getServerOptions());
+    httpServer
+        .requestHandler(routes)
+        .listen(
+            SocketAddress.domainSocketAddress(bindingPath.toString()),
+            result -> {
+              if (result.failed()) {
+                LOG.error("HTTP server service failed to listen on {}", path, result.cause());
+                deleteQuietly(bindingDirectory);
+                startFuture.fail(result.cause());
+                return;
+              }
+              try {
+                Files.setPosixFilePermissions(bindingPath, options.getPermissions());
+                Files.move(bindingPath, path, StandardCopyOption.ATOMIC_MOVE);
+              } catch (final IOException | UnsupportedOperationException e) {
+                LOG.error("Failed to place {} with its permissions", path, e);
+                httpServer.close();
+                deleteQuietly(bindingPath);
+                deleteQuietly(bindingDirectory);
+                startFuture.fail(e);
+                return;
+              }
+              deleteQuietly(bindingDirectory);
+              LOG.info("HTTP server service started on {}", path);
+              startFuture.complete();
+            });
+  }
+
+  @Override
+  public void stop(final Future<Void> stopFuture) {
+    httpServer.close(
+        result -> {
+          // the server only knows the socket by the path it was bound at, so leaves it behind
+          deleteQuietly(options.getPath().toAbsolutePath());
+          if (result.succeeded()) {
+            stopFuture.complete();
+          } else {
+            stopFuture.fail(result.cause());
+          }
+        });
+  }
+
+  private static boolean isSocket(final Path path) {
+    try {
+      final int mode = (int) Files.getAttribute(path, "unix:mode", NOFOLLOW_LINKS);
+      return (mode & FILE_TYPE_MASK) == SOCKET_FILE_TYPE;
+    } catch (final IOException | UnsupportedOperationException e) {
+      return false;
+    }
+  }
+
+  private static void deleteQuietly(final Path path) {
+    try {
+      Files.deleteIfExists(path);
+    } catch (final IOException e) {
+      LOG.warn("Failed to delete {}", path, e);
+    }
+  }
+}
@@ -12,9 +12,12 @@
  */
 package tech.pegasys.ethsigner.core.http;
 
+import tech.pegasys.ethsigner.core.jsonrpc.response.JsonRpcError;
+import tech.pegasys.ethsigner.core.jsonrpc.response.JsonRpcErrorResponseEncoder;
 import tech.pegasys.ethsigner.core.jsonrpc.response.JsonRpcResponse;
 
 import io.netty.handler.codec.http.HttpHeaderValues;
+import io.vertx.core.buffer.Buffer;
 import io.vertx.core.http.HttpServerRequest;
 import io.vertx.core.http.HttpServerResponse;
 import io.vertx.core.json.Json;
@@ -25,11 +28,24 @@ public class HttpResponseFactory {
 
   public void create(
       final HttpServerRequest httpRequest, final int statusCode, final JsonRpcResponse body) {
+    create(httpRequest, statusCode, Json.encodeToBuffer(body));
+  }
+
+  public void createError(
+      final HttpServerRequest httpRequest,
+      final int statusCode,
+      final Object id,
+      final JsonRpcError error) {
+    create(httpRequest, statusCode, JsonRpcErrorResponseEncoder.encode(id, error));
+  }
+
+  public void create(
+      final HttpServerRequest httpRequest, final int statusCode, final Buffer encodedBody) {
     final HttpServerResponse response = httpRequest.response();
 
     response.putHeader("Content", JSON);
     response.setStatusCode(statusCode);
     response.setChunked(false);
-    response.end(Json.encodeToBuffer(body));
+    response.end(encodedBody);
   }
 }
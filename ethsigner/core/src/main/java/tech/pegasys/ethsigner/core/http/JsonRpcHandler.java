@@ -12,14 +12,28 @@
  */
 package tech.pegasys.ethsigner.core.http;
 
+import tech.pegasys.ethsigner.core.admission.Admission;
+import tech.pegasys.ethsigner.core.admission.AdmissionController;
+import tech.pegasys.ethsigner.core.admission.AdmissionHandler;
+import tech.pegasys.ethsigner.core.admission.Priority;
+import tech.pegasys.ethsigner.core.admission.RateLimitHandler;
 import tech.pegasys.ethsigner.core.jsonrpc.JsonDecoder;
 import tech.pegasys.ethsigner.core.jsonrpc.JsonRpcRequest;
 import tech.pegasys.ethsigner.core.jsonrpc.response.JsonRpcError;
-import tech.pegasys.ethsigner.core.jsonrpc.response.JsonRpcErrorResponse;
-import tech.pegasys.ethsigner.core.requesthandler.JsonRpcRequestHandler;
+import tech.pegasys.ethsigner.core.metrics.EthSignerMetrics;
+import tech.pegasys.ethsigner.core.metrics.RequestTimings;
+import tech.pegasys.ethsigner.core.metrics.RequestTimings.Stage;
+import tech.pegasys.ethsigner.core.requesthandler.sendtransaction.SenderScheduler;
+import tech.pegasys.ethsigner.core.tracing.Span;
+import tech.pegasys.ethsigner.core.tracing.Tracer;
+
+import java.util.Optional;
 
 import io.netty.handler.codec.http.HttpResponseStatus;
+import io.vertx.core.Context;
 import io.vertx.core.Handler;
+import io.vertx.core.Vertx;
+import io.vertx.core.http.HttpServerResponse;
 import io.vertx.core.json.DecodeException;
 import io.vertx.ext.web.RoutingContext;
 import org.apache.logging.log4j.LogManager;
@@ -28,59 +42,146 @@ import org.apache.logging.log4j.Logger;
 public class JsonRpcHandler implements Handler<RoutingContext> {
 
   private static final Logger LOG = LogManager.getLogger();
+  private static final String JSON_RPC_REQUEST = "ethsigner.jsonRpcRequest";
+  private static final String ADMISSION = "ethsigner.admission";
+  // renamed after the method, once the request is decoded
+  private static final String SPAN_NAME = "JSON-RPC request";
 
   private final RequestMapper requestHandlerMapper;
   private final HttpResponseFactory responseFactory;
   private final JsonDecoder jsonDecoder;
+  private final EthSignerMetrics metrics;
+  private final Tracer tracer;
+  private final AdmissionController admissionController;
+  private final boolean serverTimingEnabled;
 
   public JsonRpcHandler(
       final HttpResponseFactory responseFactory,
       final RequestMapper requestHandlerMapper,
-      final JsonDecoder jsonDecoder) {
+      final JsonDecoder jsonDecoder,
+      final EthSignerMetrics metrics,
+      final Tracer tracer,
+      final AdmissionController admissionController,
+      final boolean serverTimingEnabled) {
     this.responseFactory = responseFactory;
     this.requestHandlerMapper = requestHandlerMapper;
     this.jsonDecoder = jsonDecoder;
+    this.metrics = metrics;
+    this.tracer = tracer;
+    this.admissionController = admissionController;
+    this.serverTimingEnabled = serverTimingEnabled;
   }
 
   @Override
   public void handle(final RoutingContext context) {
+    final long startNanos = System.nanoTime();
+    metrics.requestsInFlight().inc();
+    final Span span = tracer.startRequestSpan(SPAN_NAME, context.request().headers());
+    span.attachTo(context);
+    if (serverTimingEnabled) {
+      new RequestTimings().attachTo(context);
+    }
+    // also called if the connection closes before the response is sent
+    context.response().endHandler(v -> requestEnded(context, span, startNanos));
+
+    final JsonRpcRequest request;
+    try {
+      request = decode(context);
+    } catch (final DecodeException | IllegalArgumentException e) {
+      sendParseErrorResponse(context, e);
+      return;
+    }
+
+    // the method is needed to admit the request, so it is decoded before waiting for a worker
+    final Priority priority = Priority.forMethod(request.getMethod());
+    if (!RateLimitHandler.tryAcquire(context, priority)) {
+      RateLimitHandler.reject(responseFactory, context, request.getId());
+      return;
+    }
+
+    final Context vertxContext = Vertx.currentContext();
+    final Admission admission =
+        new Admission(
+            request.getMethod(),
+            priority,
+            AdmissionHandler.onContext(vertxContext, () -> process(context, request)),
+            AdmissionHandler.onContext(
+                vertxContext,
+                () -> AdmissionHandler.reject(responseFactory, context, request.getId())));
+    context.put(ADMISSION, admission);
+    admissionController.admit(admission);
+  }
 
+  private JsonRpcRequest decode(final RoutingContext context) {
+    LOG.trace("Request body = {}", context.getBody());
+    final long decodeStartNanos = System.nanoTime();
+    final JsonRpcRequest request = jsonDecoder.decodeValue(context.getBody(), JsonRpcRequest.class);
+    metrics.decodeDuration().observeSince(decodeStartNanos);
+    RequestTimings.fromContext(context).record(Stage.PARSE, decodeStartNanos);
+    context.put(JSON_RPC_REQUEST, request);
+    Span.fromContext(context).updateName(request.getMethod());
+    return request;
+  }
+
+  private void process(final RoutingContext context, final JsonRpcRequest request) {
+    metrics.workerPoolQueuedTasks().inc();
     context
         .vertx()
         .executeBlocking(
             future -> {
-              process(context);
+              metrics.workerPoolQueuedTasks().dec();
+              requestHandlerMapper.getMatchingHandler(request.getMethod()).handle(context, request);
               future.complete();
             },
             false,
             res -> {
               if (res.failed()) {
                 LOG.error(
-                    "An unhandled error occurred while processing " + context.getBodyAsString(),
+                    "An unhandled error occurred while processing {}",
+                    context.getBody(),
                     res.cause());
               }
             });
   }
 
-  private void process(final RoutingContext context) {
-    try {
-      LOG.trace("Request body = {}", context.getBodyAsString());
-      final JsonRpcRequest request =
-          jsonDecoder.decodeValue(context.getBody(), JsonRpcRequest.class);
-      final JsonRpcRequestHandler handler =
-          requestHandlerMapper.getMatchingHandler(request.getMethod());
-      handler.handle(context, request);
-    } catch (final DecodeException | IllegalArgumentException e) {
-      sendParseErrorResponse(context, e);
+  private void requestEnded(final RoutingContext context, final Span span, final long startNanos) {
+    metrics.requestsInFlight().dec();
+    final Admission admission = context.get(ADMISSION);
+    if (admission != null) {
+      admissionController.release(admission);
     }
+    SenderScheduler.release(context);
+    final JsonRpcRequest request = context.get(JSON_RPC_REQUEST);
+    if (request != null) {
+      metrics.requestDuration().labels(request.getMethod()).observeSince(startNanos);
+    }
+
+    final HttpServerResponse response = context.response();
+    if (!response.ended()) {
+      span.recordError("Connection closed before the response was sent");
+    } else {
+      span.setAttribute("http.status_code", response.getStatusCode());
+      if (response.getStatusCode() >= 400) {
+        span.recordError(response.getStatusMessage());
+      }
+    }
+    span.end();
   }
 
   private void sendParseErrorResponse(final RoutingContext context, final Throwable error) {
     LOG.info("Dropping request from {}", context.request().remoteAddress());
-    LOG.debug("Parsing body as JSON failed for: {}", context.getBodyAsString(), error);
-    responseFactory.create(
-        context.request(),
-        HttpResponseStatus.BAD_REQUEST.code(),
-        new JsonRpcErrorResponse(JsonRpcError.PARSE_ERROR));
+    LOG.debug("Parsing body as JSON failed for: {}", context.getBody(), error);
+    responseFactory.createError(
+        context.request(), HttpResponseStatus.BAD_REQUEST.code(), null, JsonRpcError.PARSE_ERROR);
+  }
+
+  /**
+   * The request decoded by this handler, allowing failure handlers to report against it without
+   * decoding the body a second time.
+   *
+   * @return empty if the failure occurred before the body was successfully decoded.
+   */
+  public static Optional<JsonRpcRequest> jsonRpcRequest(final RoutingContext context) {
+    return Optional.ofNullable(context.get(JSON_RPC_REQUEST));
   }
 }
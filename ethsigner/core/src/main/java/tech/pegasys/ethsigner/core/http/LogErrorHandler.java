@@ -27,8 +27,7 @@ public class LogErrorHandler implements Handler<RoutingContext> {
 
     if (failureContext.failed()) {
       LOG.error(
-          String.format("Failed request: %s", failureContext.request().absoluteURI()),
-          failureContext.failure());
+          "Failed request: {}", failureContext.request().absoluteURI(), failureContext.failure());
       // Let the next matching route or error handler deal with the error, we only handle logging
       failureContext.next();
     } else {
@@ -0,0 +1,36 @@
+/*
+ * Copyright 2020 ConsenSys AG.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on
+ * an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations under the License.
+ */
+package tech.pegasys.ethsigner.core.http;
+
+import tech.pegasys.ethsigner.metrics.MetricsRegistry;
+
+import io.netty.handler.codec.http.HttpHeaderNames;
+import io.vertx.core.Handler;
+import io.vertx.ext.web.RoutingContext;
+
+public class MetricsHandler implements Handler<RoutingContext> {
+
+  private final MetricsRegistry registry;
+
+  public MetricsHandler(final MetricsRegistry registry) {
+    this.registry = registry;
+  }
+
+  @Override
+  public void handle(final RoutingContext routingContext) {
+    routingContext
+        .response()
+        .putHeader(HttpHeaderNames.CONTENT_TYPE, MetricsRegistry.contentType())
+        .end(registry.scrape());
+  }
+}
@@ -0,0 +1,78 @@
+/*
+ * Copyright 2020 ConsenSys AG.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on
+ * an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations under the License.
+ */
+package tech.pegasys.ethsigner.core.jfr;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+
+/**
+ * A request sent to a downstream node, from being sent until its response arrives or it fails.
+ *
+ * <p>The event is described as it begins, which should only be done once {@link #isEnabled()}, and
+ * is committed by {@link #responded(int)} or {@link #failed(Throwable)}, whichever is called first.
+ */
+@Name("tech.pegasys.ethsigner.DownstreamRequest")
+@Label("Downstream Request")
+@Category({"EthSigner", "Downstream"})
+@Description("A request forwarded to, or submitted on behalf of a client to, a downstream node")
+@StackTrace(false)
+public class DownstreamRequestEvent extends Event {
+
+  @Label("Method")
+  @Description("The JSON-RPC method of the client request, or its HTTP method and path")
+  String method;
+
+  @Label("Node")
+  String node;
+
+  @Label("Retries")
+  @Description("The number of earlier attempts to send the same client request downstream")
+  int retries;
+
+  @Label("Status Code")
+  int statusCode;
+
+  @Label("Failure")
+  String failure;
+
+  private transient boolean committed;
+
+  public void begin(final String method, final String node, final int retries) {
+    this.method = method;
+    this.node = node;
+    this.retries = retries;
+    begin();
+  }
+
+  public void responded(final int statusCode) {
+    if (!committed) {
+      committed = true;
+      this.statusCode = statusCode;
+      commit();
+    }
+  }
+
+  public void failed(final Throwable cause) {
+    if (!committed) {
+      committed = true;
+      if (shouldCommit()) {
+        failure = String.valueOf(cause);
+      }
+      commit();
+    }
+  }
+}
@@ -0,0 +1,53 @@
+/*
+ * Copyright 2020 ConsenSys AG.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on
+ * an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations under the License.
+ */
+package tech.pegasys.ethsigner.core.jfr;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+
+/** The next nonce of a sender being requested from a downstream node. */
+@Name("tech.pegasys.ethsigner.NonceFetch")
+@Label("Nonce Fetch")
+@Category({"EthSigner", "Downstream"})
+@Description("A request for the next nonce of a sender, during which the requesting thread blocks")
+@StackTrace(false)
+public class NonceFetchEvent extends Event {
+
+  @Label("Sender")
+  final String sender;
+
+  @Label("Method")
+  final String method;
+
+  @Label("Node")
+  final String node;
+
+  @Label("Failure")
+  String failure;
+
+  public NonceFetchEvent(final String sender, final String method, final String node) {
+    this.sender = sender;
+    this.method = method;
+    this.node = node;
+  }
+
+  public void failed(final Throwable cause) {
+    if (shouldCommit()) {
+      failure = String.valueOf(cause);
+    }
+  }
+}
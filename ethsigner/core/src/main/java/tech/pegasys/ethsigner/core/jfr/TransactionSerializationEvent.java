@@ -0,0 +1,45 @@
+/*
+ * Copyright 2020 ConsenSys AG.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on
+ * an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations under the License.
+ */
+package tech.pegasys.ethsigner.core.jfr;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+
+/** A transaction being encoded, signed and encoded again with its signature. */
+@Name("tech.pegasys.ethsigner.TransactionSerialization")
+@Label("Transaction Serialization")
+@Category({"EthSigner", "Signing"})
+@Description("The serialization of a transaction into its signed, raw form, including signing")
+@StackTrace(false)
+public class TransactionSerializationEvent extends Event {
+
+  @Label("Sender")
+  final String sender;
+
+  @Label("Signer Type")
+  final String signerType;
+
+  @Label("Chain Id")
+  final long chainId;
+
+  public TransactionSerializationEvent(
+      final String sender, final String signerType, final long chainId) {
+    this.sender = sender;
+    this.signerType = signerType;
+    this.chainId = chainId;
+  }
+}
@@ -0,0 +1,40 @@
+/*
+ * Copyright 2020 ConsenSys AG.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on
+ * an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations under the License.
+ */
+package tech.pegasys.ethsigner.core.jfr;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+
+/** An encoded transaction being signed, which for some signers is a call to a remote vault. */
+@Name("tech.pegasys.ethsigner.TransactionSigning")
+@Label("Transaction Signing")
+@Category({"EthSigner", "Signing"})
+@Description("The signing of an encoded transaction by the signer of its sender")
+@StackTrace(false)
+public class TransactionSigningEvent extends Event {
+
+  @Label("Sender")
+  final String sender;
+
+  @Label("Signer Type")
+  final String signerType;
+
+  public TransactionSigningEvent(final String sender, final String signerType) {
+    this.sender = sender;
+    this.signerType = signerType;
+  }
+}
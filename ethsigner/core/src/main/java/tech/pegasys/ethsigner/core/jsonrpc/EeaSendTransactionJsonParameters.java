@@ -12,7 +12,6 @@
  */
 package tech.pegasys.ethsigner.core.jsonrpc;
 
-import static org.web3j.utils.Numeric.decodeQuantity;
 import static tech.pegasys.ethsigner.core.jsonrpc.RpcUtil.decodeBigInteger;
 import static tech.pegasys.ethsigner.core.jsonrpc.RpcUtil.fromRpcRequestToJsonParam;
 import static tech.pegasys.ethsigner.core.jsonrpc.RpcUtil.validateNotEmpty;
@@ -78,8 +77,8 @@ public class EeaSendTransactionJsonParameters {
 
   @JsonSetter("value")
   public void value(final String value) {
-    validateValue(value);
     this.value = decodeBigInteger(value);
+    validateValue(this.value);
   }
 
   @JsonSetter("data")
@@ -146,8 +145,8 @@ public class EeaSendTransactionJsonParameters {
     return fromRpcRequestToJsonParam(EeaSendTransactionJsonParameters.class, request);
   }
 
-  private void validateValue(final String value) {
-    if (value != null && !decodeQuantity(value).equals(BigInteger.ZERO)) {
+  private void validateValue(final BigInteger value) {
+    if (value != null && !value.equals(BigInteger.ZERO)) {
       throw new IllegalArgumentException(
           "Non-zero value, private transactions cannot transfer ether");
     }
@@ -22,6 +22,7 @@ import com.fasterxml.jackson.annotation.JsonCreator;
 import com.fasterxml.jackson.annotation.JsonIgnoreProperties;
 import com.fasterxml.jackson.annotation.JsonProperty;
 import com.fasterxml.jackson.annotation.JsonSetter;
+import org.web3j.utils.Numeric;
 
 @JsonIgnoreProperties(ignoreUnknown = true)
 public class EthSendTransactionJsonParameters {
@@ -31,7 +32,7 @@ public class EthSendTransactionJsonParameters {
   private BigInteger nonce;
   private BigInteger value;
   private String receiver;
-  private String data;
+  private byte[] data;
 
   @JsonCreator
   public EthSendTransactionJsonParameters(@JsonProperty("from") final String sender) {
@@ -66,10 +67,10 @@ public class EthSendTransactionJsonParameters {
 
   @JsonSetter("data")
   public void data(final String data) {
-    this.data = data;
+    this.data = data == null ? null : Numeric.hexStringToByteArray(data);
   }
 
-  public Optional<String> data() {
+  public Optional<byte[]> data() {
     return Optional.ofNullable(data);
   }
 
@@ -35,4 +35,16 @@ public class JsonDecoder {
       throw new DecodeException("Failed to decode:" + e.getMessage(), e);
     }
   }
+
+  /**
+   * Binds an already decoded JSON value (e.g. the params of a JSON-RPC request) to the given type
+   * by streaming its tokens straight into the target, without rendering it back to JSON text.
+   */
+  public <T> T convertValue(final Object value, final Class<T> clazz) throws DecodeException {
+    try {
+      return mapper.convertValue(value, clazz);
+    } catch (final IllegalArgumentException e) {
+      throw new DecodeException("Failed to decode:" + e.getMessage(), e);
+    }
+  }
 }
@@ -0,0 +1,46 @@
+/*
+ * Copyright 2020 ConsenSys AG.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on
+ * an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations under the License.
+ */
+package tech.pegasys.ethsigner.core.jsonrpc;
+
+import java.util.Set;
+
+/**
+ * JSON-RPC methods which neither change nor depend on state held by the node for the client, so may
+ * be sent to any node any number of times.
+ */
+public class ReadOnlyMethods {
+
+  private static final Set<String> METHODS =
+      Set.of(
+          "eth_blockNumber",
+          "eth_call",
+          "eth_estimateGas",
+          "eth_gasPrice",
+          "eth_getBalance",
+          "eth_getBlockByHash",
+          "eth_getBlockByNumber",
+          "eth_getBlockTransactionCountByHash",
+          "eth_getBlockTransactionCountByNumber",
+          "eth_getCode",
+          "eth_getLogs",
+          "eth_getStorageAt",
+          "eth_getTransactionByHash",
+          "eth_getTransactionCount",
+          "eth_getTransactionReceipt",
+          "eth_syncing",
+          "net_peerCount");
+
+  public static boolean contains(final String method) {
+    return METHODS.contains(method);
+  }
+}
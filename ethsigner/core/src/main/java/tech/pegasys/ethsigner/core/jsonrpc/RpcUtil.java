@@ -12,16 +12,19 @@
  */
 package tech.pegasys.ethsigner.core.jsonrpc;
 
-import static org.web3j.utils.Numeric.decodeQuantity;
-
 import java.math.BigInteger;
 import java.util.List;
 
 import io.vertx.core.json.JsonObject;
+import org.web3j.utils.Numeric;
 
 public class RpcUtil {
   public static final String JSON_RPC_VERSION = "2.0";
 
+  private static final String HEX_PREFIX = "0x";
+  // 15 hex digits (60 bits) can never overflow a signed long
+  private static final int MAX_LONG_HEX_DIGITS = 15;
+
   static <T> T fromRpcRequestToJsonParam(final Class<T> type, final JsonRpcRequest request) {
 
     final Object object;
@@ -54,4 +57,28 @@ public class RpcUtil {
   static BigInteger decodeBigInteger(final String value) {
     return value == null ? null : decodeQuantity(value);
   }
+
+  /**
+   * Decodes a hex encoded quantity. Values which fit in a long (gas, nonce and most gas prices) are
+   * accumulated in place, avoiding both the substring and the failed decimal parse attempted by
+   * {@link Numeric#decodeQuantity(String)}, which remains the fallback for everything else.
+   */
+  static BigInteger decodeQuantity(final String value) {
+    final int length = value.length();
+    if (length <= HEX_PREFIX.length()
+        || length > HEX_PREFIX.length() + MAX_LONG_HEX_DIGITS
+        || !value.startsWith(HEX_PREFIX)) {
+      return Numeric.decodeQuantity(value);
+    }
+
+    long result = 0;
+    for (int i = HEX_PREFIX.length(); i < length; i++) {
+      final int digit = Character.digit(value.charAt(i), 16);
+      if (digit < 0) {
+        return Numeric.decodeQuantity(value);
+      }
+      result = (result << 4) | digit;
+    }
+    return BigInteger.valueOf(result);
+  }
 }
@@ -0,0 +1,41 @@
+/*
+ * Copyright 2020 ConsenSys AG.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on
+ * an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations under the License.
+ */
+package tech.pegasys.ethsigner.core.jsonrpc.response;
+
+import java.util.EnumMap;
+import java.util.Map;
+
+import io.vertx.core.buffer.Buffer;
+
+/**
+ * Serializes error responses from templates encoded once per {@link JsonRpcError}, leaving only the
+ * request id to be encoded when a failure is reported.
+ *
+ * <p>The output is equivalent to encoding a {@link JsonRpcErrorResponse}.
+ */
+public class JsonRpcErrorResponseEncoder {
+
+  private static final Map<JsonRpcError, JsonRpcResponseTemplate> TEMPLATES = createTemplates();
+
+  public static Buffer encode(final Object id, final JsonRpcError error) {
+    return TEMPLATES.get(error).encode(id);
+  }
+
+  private static Map<JsonRpcError, JsonRpcResponseTemplate> createTemplates() {
+    final Map<JsonRpcError, JsonRpcResponseTemplate> templates = new EnumMap<>(JsonRpcError.class);
+    for (final JsonRpcError error : JsonRpcError.values()) {
+      templates.put(error, JsonRpcResponseTemplate.forError(error));
+    }
+    return templates;
+  }
+}
@@ -0,0 +1,60 @@
+/*
+ * Copyright 2020 ConsenSys AG.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on
+ * an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations under the License.
+ */
+package tech.pegasys.ethsigner.core.jsonrpc.response;
+
+import static tech.pegasys.ethsigner.core.jsonrpc.RpcUtil.JSON_RPC_VERSION;
+
+import io.netty.buffer.Unpooled;
+import io.vertx.core.buffer.Buffer;
+import io.vertx.core.json.Json;
+
+/**
+ * A JSON-RPC response whose result (or error) has been encoded ahead of time, leaving only the
+ * request id to be spliced in when it is sent.
+ *
+ * <p>Responses are composed from the shared template buffers rather than copied into a new one.
+ */
+public class JsonRpcResponseTemplate {
+
+  private static final Buffer PREFIX =
+      Buffer.buffer("{\"jsonrpc\":\"" + JSON_RPC_VERSION + "\",\"id\":");
+  private static final Buffer NULL_ID = Buffer.buffer("null");
+
+  private final Buffer suffix;
+
+  private JsonRpcResponseTemplate(final String member, final Object value) {
+    this.suffix =
+        Buffer.buffer(",\"" + member + "\":")
+            .appendBuffer(Json.encodeToBuffer(value))
+            .appendString("}");
+  }
+
+  public static JsonRpcResponseTemplate forResult(final Object result) {
+    return new JsonRpcResponseTemplate("result", result);
+  }
+
+  public static JsonRpcResponseTemplate forError(final JsonRpcError error) {
+    return new JsonRpcResponseTemplate("error", error);
+  }
+
+  /** The number of bytes taken by the encoded result (or error). */
+  public int size() {
+    return suffix.length();
+  }
+
+  public Buffer encode(final Object id) {
+    final Buffer encodedId = id == null ? NULL_ID : Json.encodeToBuffer(id);
+    return Buffer.buffer(
+        Unpooled.wrappedBuffer(PREFIX.getByteBuf(), encodedId.getByteBuf(), suffix.getByteBuf()));
+  }
+}
@@ -0,0 +1,196 @@
+/*
+ * Copyright 2020 ConsenSys AG.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on
+ * an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations under the License.
+ */
+package tech.pegasys.ethsigner.core.metrics;
+
+import tech.pegasys.ethsigner.metrics.Counter;
+import tech.pegasys.ethsigner.metrics.Gauge;
+import tech.pegasys.ethsigner.metrics.Histogram;
+import tech.pegasys.ethsigner.metrics.LabelledMetric;
+import tech.pegasys.ethsigner.metrics.MetricsRegistry;
+
+/**
+ * The metrics recorded as a request passes through EthSigner, from decoding it to submitting the
+ * signed transaction to the downstream node.
+ */
+public class EthSignerMetrics {
+
+  private final LabelledMetric<Histogram> requestDuration;
+  private final Gauge requestsInFlight;
+  private final Histogram decodeDuration;
+  private final Histogram nonceFetchDuration;
+  private final LabelledMetric<Histogram> signingDuration;
+  private final Histogram serializationDuration;
+  private final Histogram submissionDuration;
+  private final Counter nonceTooLowRetries;
+  private final Gauge workerPoolQueuedTasks;
+  private final Gauge admissionQueuedRequests;
+  private final LabelledMetric<Counter> admissionRejectedRequests;
+  private final LabelledMetric<Counter> clientRequests;
+  private final LabelledMetric<Counter> rateLimitedRequests;
+  private final Gauge senderQueuedTransactions;
+  private final LabelledMetric<Counter> transactionRetries;
+  private final LabelledMetric<Counter> transactionRetryOutcomes;
+  private final Histogram transactionRetryDelay;
+
+  public EthSignerMetrics(final MetricsRegistry registry) {
+    requestDuration =
+        registry.labelledHistogram(
+            "ethsigner_json_rpc_request_duration_seconds",
+            "Time from receiving a JSON-RPC request to its response being sent",
+            "method");
+    requestsInFlight =
+        registry.gauge(
+            "ethsigner_json_rpc_requests_in_flight",
+            "JSON-RPC requests received which have not yet been responded to");
+    decodeDuration =
+        registry.histogram(
+            "ethsigner_json_rpc_decode_duration_seconds", "Time spent decoding JSON-RPC requests");
+    nonceFetchDuration =
+        registry.histogram(
+            "ethsigner_nonce_fetch_duration_seconds",
+            "Time spent fetching the nonce of a transaction's sender from the downstream node");
+    signingDuration =
+        registry.labelledHistogram(
+            "ethsigner_signing_duration_seconds", "Time spent signing transactions", "signer");
+    serializationDuration =
+        registry.histogram(
+            "ethsigner_transaction_serialization_duration_seconds",
+            "Time spent RLP encoding transactions, before and after they are signed");
+    submissionDuration =
+        registry.histogram(
+            "ethsigner_transaction_submission_duration_seconds",
+            "Time from submitting a signed transaction to the downstream node to its response");
+    nonceTooLowRetries =
+        registry.counter(
+            "ethsigner_nonce_too_low_retries_total",
+            "Transactions resubmitted with a fresh nonce after the node rejected it as too low");
+    workerPoolQueuedTasks =
+        registry.gauge(
+            "ethsigner_worker_pool_queued_tasks",
+            "Requests and responses waiting for a worker thread to process them");
+    admissionQueuedRequests =
+        registry.gauge(
+            "ethsigner_admission_queued_requests",
+            "Requests waiting to be admitted, as too many are being handled already");
+    admissionRejectedRequests =
+        registry.labelledCounter(
+            "ethsigner_admission_rejected_requests_total",
+            "Requests turned away or shed from the queue, as too many were being handled",
+            "priority");
+    clientRequests =
+        registry.labelledCounter(
+            "ethsigner_client_requests_total", "Requests received from each client", "client");
+    rateLimitedRequests =
+        registry.labelledCounter(
+            "ethsigner_client_rate_limited_requests_total",
+            "Requests turned away as beyond the rate limits of the client making them",
+            "client");
+    senderQueuedTransactions =
+        registry.gauge(
+            "ethsigner_sender_queued_transactions",
+            "Transactions waiting for their sender's turn to be signed and submitted");
+    transactionRetries =
+        registry.labelledCounter(
+            "ethsigner_transaction_retries_total",
+            "Transactions retried, by the reason they were retried",
+            "reason");
+    transactionRetryOutcomes =
+        registry.labelledCounter(
+            "ethsigner_transaction_retry_outcomes_total",
+            "Transactions which were retried, or needed retrying, by how they turned out",
+            "outcome");
+    transactionRetryDelay =
+        registry.histogram(
+            "ethsigner_transaction_retry_delay_seconds",
+            "Time waited before retrying a transaction");
+  }
+
+  /** Observed once each request is responded to, labelled by its method. */
+  public LabelledMetric<Histogram> requestDuration() {
+    return requestDuration;
+  }
+
+  public Gauge requestsInFlight() {
+    return requestsInFlight;
+  }
+
+  public Histogram decodeDuration() {
+    return decodeDuration;
+  }
+
+  public Histogram nonceFetchDuration() {
+    return nonceFetchDuration;
+  }
+
+  /** Labelled by the type of the signer, as the time taken differs greatly between them. */
+  public LabelledMetric<Histogram> signingDuration() {
+    return signingDuration;
+  }
+
+  public Histogram serializationDuration() {
+    return serializationDuration;
+  }
+
+  public Histogram submissionDuration() {
+    return submissionDuration;
+  }
+
+  public Counter nonceTooLowRetries() {
+    return nonceTooLowRetries;
+  }
+
+  /** Incremented when work is handed to the worker pool, decremented once a worker picks it up. */
+  public Gauge workerPoolQueuedTasks() {
+    return workerPoolQueuedTasks;
+  }
+
+  public Gauge admissionQueuedRequests() {
+    return admissionQueuedRequests;
+  }
+
+  /** Labelled by the priority of the request rejected. */
+  public LabelledMetric<Counter> admissionRejectedRequests() {
+    return admissionRejectedRequests;
+  }
+
+  /**
+   * Labelled by the client's name in the known clients file, or its certificate's fingerprint or
+   * its address. Only counted while rate limiting.
+   */
+  public LabelledMetric<Counter> clientRequests() {
+    return clientRequests;
+  }
+
+  /** Labelled as {@link #clientRequests()}. */
+  public LabelledMetric<Counter> rateLimitedRequests() {
+    return rateLimitedRequests;
+  }
+
+  public Gauge senderQueuedTransactions() {
+    return senderQueuedTransactions;
+  }
+
+  /** Labelled as nonce_too_low or downstream_unavailable. */
+  public LabelledMetric<Counter> transactionRetries() {
+    return transactionRetries;
+  }
+
+  /** Labelled as succeeded, failed, exhausted or over_budget. */
+  public LabelledMetric<Counter> transactionRetryOutcomes() {
+    return transactionRetryOutcomes;
+  }
+
+  public Histogram transactionRetryDelay() {
+    return transactionRetryDelay;
+  }
+}
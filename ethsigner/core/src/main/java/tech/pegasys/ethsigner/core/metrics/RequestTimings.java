@@ -0,0 +1,129 @@
+/*
+ * Copyright 2020 ConsenSys AG.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on
+ * an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations under the License.
+ */
+package tech.pegasys.ethsigner.core.metrics;
+
+import java.util.Arrays;
+import java.util.concurrent.TimeUnit;
+
+import io.vertx.ext.web.RoutingContext;
+
+/**
+ * The time a single request spent in each stage of EthSigner, reported to the client in a {@code
+ * Server-Timing} response header (https://www.w3.org/TR/server-timing/).
+ *
+ * <p>Stages repeated by a retry accumulate their time under {@link Stage#RETRIES}, leaving the
+ * other stages to describe the attempt which produced the response.
+ */
+public class RequestTimings {
+
+  public static final String SERVER_TIMING = "Server-Timing";
+
+  private static final String ROUTING_CONTEXT_KEY = "ethsigner.requestTimings";
+
+  public enum Stage {
+    PARSE("parse"),
+    SIGNER_LOOKUP("signer"),
+    NONCE_FETCH("nonce"),
+    SIGN("sign"),
+    DOWNSTREAM("downstream"),
+    RETRIES("retries");
+
+    private final String metricName;
+
+    Stage(final String metricName) {
+      this.metricName = metricName;
+    }
+  }
+
+  private static final Stage[] STAGES = Stage.values();
+  // recorded, if at all, by each attempt
+  private static final Stage[] RETRIED_STAGES = {Stage.NONCE_FETCH, Stage.SIGN, Stage.DOWNSTREAM};
+  private static final RequestTimings DISABLED = new RequestTimings();
+
+  // -1 where the stage was never reached
+  private final long[] nanos = new long[STAGES.length];
+  private int retries;
+
+  public RequestTimings() {
+    Arrays.fill(nanos, -1);
+  }
+
+  /** The timings of the request being handled, which record nothing if not enabled for it. */
+  public static RequestTimings fromContext(final RoutingContext routingContext) {
+    final RequestTimings timings = routingContext.get(ROUTING_CONTEXT_KEY);
+    return timings == null ? DISABLED : timings;
+  }
+
+  /** Records the stages of the request, adding them to its response as it is sent. */
+  public void attachTo(final RoutingContext routingContext) {
+    routingContext.put(ROUTING_CONTEXT_KEY, this);
+    // added to, rather than replacing, any timings the downstream node reported
+    routingContext.addHeadersEndHandler(
+        v -> routingContext.response().headers().add(SERVER_TIMING, toHeaderValue()));
+  }
+
+  public void record(final Stage stage, final long startNanos) {
+    if (this == DISABLED) {
+      return;
+    }
+    synchronized (this) {
+      nanos[stage.ordinal()] = Math.max(nanos[stage.ordinal()], 0) + System.nanoTime() - startNanos;
+    }
+  }
+
+  /** Moves the time spent by the attempt being retried into {@link Stage#RETRIES}. */
+  public void retrying() {
+    if (this == DISABLED) {
+      return;
+    }
+    synchronized (this) {
+      retries++;
+      long retriedNanos = Math.max(nanos[Stage.RETRIES.ordinal()], 0);
+      for (final Stage stage : RETRIED_STAGES) {
+        retriedNanos += Math.max(nanos[stage.ordinal()], 0);
+        nanos[stage.ordinal()] = -1;
+      }
+      nanos[Stage.RETRIES.ordinal()] = retriedNanos;
+    }
+  }
+
+  /** One metric per stage reached, with its duration in milliseconds. */
+  public synchronized String toHeaderValue() {
+    final StringBuilder header = new StringBuilder();
+    for (final Stage stage : STAGES) {
+      if (nanos[stage.ordinal()] < 0) {
+        continue;
+      }
+      if (header.length() > 0) {
+        header.append(", ");
+      }
+      header.append(stage.metricName).append(";dur=");
+      appendMillis(header, nanos[stage.ordinal()]);
+      if (stage == Stage.RETRIES) {
+        header.append(";desc=\"").append(retries).append('"');
+      }
+    }
+    return header.toString();
+  }
+
+  // to microsecond precision, without the exponent Double.toString uses for small values
+  private static void appendMillis(final StringBuilder header, final long nanos) {
+    final long micros = TimeUnit.NANOSECONDS.toMicros(nanos);
+    final long fraction = micros % 1000;
+    header.append(micros / 1000).append('.');
+    if (fraction < 100) {
+      header.append(fraction < 10 ? "00" : "0");
+    }
+    header.append(fraction);
+  }
+}
@@ -17,5 +17,11 @@ import tech.pegasys.ethsigner.core.jsonrpc.JsonRpcRequest;
 @FunctionalInterface
 public interface BodyProvider {
 
+  /**
+   * Provides the response to a request which is answered without contacting the downstream node.
+   *
+   * @return either an error, or the complete encoded JSON-RPC response which is written to the
+   *     client as is.
+   */
   JsonRpcBody getBody(JsonRpcRequest request);
 }
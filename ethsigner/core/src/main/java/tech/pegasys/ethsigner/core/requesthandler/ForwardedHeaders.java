@@ -0,0 +1,51 @@
+/*
+ * Copyright 2020 ConsenSys AG.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on
+ * an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations under the License.
+ */
+package tech.pegasys.ethsigner.core.requesthandler;
+
+import java.util.Set;
+
+import com.google.common.base.Splitter;
+
+import io.netty.handler.codec.http.HttpHeaderNames;
+import io.netty.util.AsciiString;
+import io.vertx.core.MultiMap;
+
+/**
+ * Copies headers between the client and downstream side of a forwarded request, leaving out those
+ * which only apply to a single connection (RFC 7230, section 6.1): the standard ones, and any the
+ * sender named in its Connection header. HTTP/2 forbids them outright, and each side may be
+ * speaking a different version of the protocol.
+ */
+public class ForwardedHeaders {
+
+  private static final Set<AsciiString> HOP_BY_HOP =
+      Set.of(
+          HttpHeaderNames.CONNECTION,
+          HttpHeaderNames.KEEP_ALIVE,
+          HttpHeaderNames.PROXY_CONNECTION,
+          HttpHeaderNames.TE,
+          HttpHeaderNames.TRAILER,
+          HttpHeaderNames.TRANSFER_ENCODING,
+          HttpHeaderNames.UPGRADE);
+
+  private static final Splitter CONNECTION_OPTIONS =
+      Splitter.on(',').trimResults().omitEmptyStrings();
+
+  public static void copy(final MultiMap source, final MultiMap target) {
+    target.setAll(source);
+    source.getAll(HttpHeaderNames.CONNECTION).stream()
+        .flatMap(options -> CONNECTION_OPTIONS.splitToList(options).stream())
+        .forEach(target::remove);
+    HOP_BY_HOP.forEach(target::remove);
+  }
+}
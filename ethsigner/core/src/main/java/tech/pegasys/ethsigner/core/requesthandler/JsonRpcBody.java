@@ -36,7 +36,7 @@ public class JsonRpcBody {
   }
 
   /**
-   * JSON-RPC body.
+   * Encoded JSON-RPC response, ready to be sent to the client.
    *
    * @return <code>null</code> when an error was encountered.
    */
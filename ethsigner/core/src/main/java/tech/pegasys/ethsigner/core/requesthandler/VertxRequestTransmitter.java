@@ -15,13 +15,23 @@ package tech.pegasys.ethsigner.core.requesthandler;
 import static io.netty.handler.codec.http.HttpResponseStatus.BAD_GATEWAY;
 import static io.netty.handler.codec.http.HttpResponseStatus.GATEWAY_TIMEOUT;
 import static io.netty.handler.codec.http.HttpResponseStatus.INTERNAL_SERVER_ERROR;
+import static io.netty.handler.codec.http.HttpResponseStatus.SERVICE_UNAVAILABLE;
+
+import tech.pegasys.ethsigner.core.downstream.DownstreamNode;
+import tech.pegasys.ethsigner.core.http.JsonRpcHandler;
+import tech.pegasys.ethsigner.core.jfr.DownstreamRequestEvent;
+import tech.pegasys.ethsigner.core.jsonrpc.JsonRpcRequest;
+import tech.pegasys.ethsigner.core.metrics.EthSignerMetrics;
+import tech.pegasys.ethsigner.core.tracing.Span;
 
 import java.net.ConnectException;
 import java.time.Duration;
 import java.util.concurrent.TimeoutException;
 import javax.net.ssl.SSLHandshakeException;
 
+import io.vertx.core.Handler;
 import io.vertx.core.buffer.Buffer;
+import io.vertx.core.http.ConnectionPoolTooBusyException;
 import io.vertx.core.http.HttpClientRequest;
 import io.vertx.core.http.HttpClientResponse;
 import io.vertx.ext.web.RoutingContext;
@@ -31,18 +41,27 @@ import org.apache.logging.log4j.Logger;
 public class VertxRequestTransmitter {
 
   private static final Logger LOG = LogManager.getLogger();
+  private static final String DOWNSTREAM_REQUEST_EVENT = "ethsigner.downstreamRequestEvent";
+  private static final String DOWNSTREAM_ATTEMPTS = "ethsigner.downstreamAttempts";
+
   private final Duration httpRequestTimeout;
+  private final EthSignerMetrics metrics;
   private final ResponseBodyHandler bodyHandler;
 
   public VertxRequestTransmitter(
-      final Duration httpRequestTimeout, final ResponseBodyHandler bodyHandler) {
+      final Duration httpRequestTimeout,
+      final EthSignerMetrics metrics,
+      final ResponseBodyHandler bodyHandler) {
     this.httpRequestTimeout = httpRequestTimeout;
+    this.metrics = metrics;
     this.bodyHandler = bodyHandler;
   }
 
-  private void handleException(final RoutingContext context, final Throwable thrown) {
+  public void handleException(final RoutingContext context, final Throwable thrown) {
     if (thrown instanceof TimeoutException || thrown instanceof ConnectException) {
       context.fail(GATEWAY_TIMEOUT.code(), thrown);
+    } else if (thrown instanceof ConnectionPoolTooBusyException) {
+      context.fail(SERVICE_UNAVAILABLE.code(), thrown);
     } else if (thrown instanceof SSLHandshakeException) {
       context.fail(BAD_GATEWAY.code(), thrown);
     } else {
@@ -52,41 +71,152 @@ public class VertxRequestTransmitter {
 
   public void handleResponse(final RoutingContext context, final HttpClientResponse response) {
     logResponse(response);
+    final DownstreamRequestEvent event = context.remove(DOWNSTREAM_REQUEST_EVENT);
+    if (event != null) {
+      event.responded(response.statusCode());
+    }
 
     response.bodyHandler(
-        body ->
-            context
-                .vertx()
-                .executeBlocking(
-                    future -> {
-                      logResponseBody(body);
-                      bodyHandler.handleResponseBody(context, response, body);
-                      future.complete();
-                    },
-                    false,
-                    res -> {
-                      if (res.failed()) {
-                        LOG.error(
-                            "An unhandled error occurred while processing "
-                                + context.getBodyAsString(),
-                            res.cause());
-                        context.fail(res.cause());
-                      }
-                    }));
+        body -> {
+          metrics.workerPoolQueuedTasks().inc();
+          context
+              .vertx()
+              .executeBlocking(
+                  future -> {
+                    metrics.workerPoolQueuedTasks().dec();
+                    logResponseBody(body);
+                    bodyHandler.handleResponseBody(context, response, body);
+                    future.complete();
+                  },
+                  false,
+                  res -> {
+                    if (res.failed()) {
+                      LOG.error(
+                          "An unhandled error occurred while processing {}",
+                          context.getBody(),
+                          res.cause());
+                      context.fail(res.cause());
+                    }
+                  });
+        });
+  }
+
+  /**
+   * Sends the request to the node as part of the given span, which is ended with an error should
+   * the node not be reached. Otherwise it is left to the response handler to end.
+   */
+  public void sendRequest(
+      final DownstreamNode node,
+      final HttpClientRequest request,
+      final Buffer bodyContent,
+      final RoutingContext context,
+      final Span span) {
+    sendRequest(
+        node, request, bodyContent, context, span, thrown -> handleException(context, thrown));
+  }
+
+  /**
+   * Sends the request to the node as part of the given span, which is ended with an error should
+   * the node not be reached before the failure is left to the given handler.
+   */
+  public void sendRequest(
+      final DownstreamNode node,
+      final HttpClientRequest request,
+      final Buffer bodyContent,
+      final RoutingContext context,
+      final Span span,
+      final Handler<Throwable> exceptionHandler) {
+    sendRequest(
+        node,
+        request,
+        bodyContent,
+        context,
+        span,
+        httpRequestTimeout,
+        thrown -> {
+          span.recordError(thrown.toString());
+          span.end();
+          exceptionHandler.handle(thrown);
+        });
   }
 
+  /**
+   * Sends the request to the node with its own timeout, leaving failures to reach the node to the
+   * given handler.
+   */
   public void sendRequest(
-      final HttpClientRequest request, final Buffer bodyContent, final RoutingContext context) {
-    request.setTimeout(httpRequestTimeout.toMillis());
-    request.exceptionHandler(thrown -> handleException(context, thrown));
-    request.headers().setAll(context.request().headers());
-    request.headers().remove("Content-Length"); // created during 'end'.
+      final DownstreamNode node,
+      final HttpClientRequest request,
+      final Buffer bodyContent,
+      final RoutingContext context,
+      final Duration requestTimeout,
+      final Handler<Throwable> exceptionHandler) {
+    sendRequest(
+        node,
+        request,
+        bodyContent,
+        context,
+        Span.fromContext(context),
+        requestTimeout,
+        exceptionHandler);
+  }
+
+  private void sendRequest(
+      final DownstreamNode node,
+      final HttpClientRequest request,
+      final Buffer bodyContent,
+      final RoutingContext context,
+      final Span span,
+      final Duration requestTimeout,
+      final Handler<Throwable> exceptionHandler) {
+    request.setTimeout(requestTimeout.toMillis());
+    ForwardedHeaders.copy(context.request().headers(), request.headers());
+    // replaces any traceparent of the client, so the node's spans are children of this one
+    span.injectInto(request.headers());
     request.setChunked(false);
-    request.end(bodyContent);
+
+    final DownstreamRequestEvent event = startEvent(node, context);
+    if (event == null) {
+      node.connectionPool().end(request, bodyContent, exceptionHandler);
+    } else {
+      node.connectionPool()
+          .end(
+              request,
+              bodyContent,
+              thrown -> {
+                event.failed(thrown);
+                exceptionHandler.handle(thrown);
+              });
+    }
+  }
+
+  /**
+   * Begins an event for the request when JFR is recording them, holding it in the context until the
+   * response is handled.
+   */
+  private DownstreamRequestEvent startEvent(
+      final DownstreamNode node, final RoutingContext context) {
+    final DownstreamRequestEvent event = new DownstreamRequestEvent();
+    if (!event.isEnabled()) {
+      return null;
+    }
+    final Integer attempts = context.get(DOWNSTREAM_ATTEMPTS);
+    final int retries = attempts == null ? 0 : attempts;
+    context.put(DOWNSTREAM_ATTEMPTS, retries + 1);
+    context.put(DOWNSTREAM_REQUEST_EVENT, event);
+    event.begin(
+        JsonRpcHandler.jsonRpcRequest(context)
+            .map(JsonRpcRequest::getMethod)
+            .orElseGet(() -> context.request().method() + " " + context.request().path()),
+        node.name(),
+        retries);
+    return event;
   }
 
   private void logResponse(final HttpClientResponse response) {
-    LOG.debug("Response status: {}", response.statusCode());
+    if (LOG.isDebugEnabled()) {
+      LOG.debug("Response status: {}", response.statusCode());
+    }
   }
 
   private void logResponseBody(final Buffer body) {
@@ -0,0 +1,156 @@
+/*
+ * Copyright 2020 ConsenSys AG.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on
+ * an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations under the License.
+ */
+package tech.pegasys.ethsigner.core.requesthandler.internalresponse;
+
+import tech.pegasys.ethsigner.core.downstream.DownstreamPool;
+import tech.pegasys.ethsigner.core.downstream.DownstreamRoutes;
+import tech.pegasys.ethsigner.core.http.HttpResponseFactory;
+import tech.pegasys.ethsigner.core.jsonrpc.JsonDecoder;
+import tech.pegasys.ethsigner.core.jsonrpc.JsonRpcRequest;
+import tech.pegasys.ethsigner.core.jsonrpc.response.JsonRpcResponseTemplate;
+import tech.pegasys.ethsigner.core.jsonrpc.response.JsonRpcSuccessResponse;
+import tech.pegasys.ethsigner.core.requesthandler.ForwardedHeaders;
+import tech.pegasys.ethsigner.core.requesthandler.JsonRpcBody;
+import tech.pegasys.ethsigner.core.requesthandler.VertxRequestTransmitterFactory;
+import tech.pegasys.ethsigner.core.requesthandler.passthrough.PassThroughHandler;
+
+import java.time.Duration;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import io.netty.handler.codec.http.HttpHeaderNames;
+import io.netty.handler.codec.http.HttpResponseStatus;
+import io.vertx.core.MultiMap;
+import io.vertx.core.buffer.Buffer;
+import io.vertx.core.http.HttpClientRequest;
+import io.vertx.core.http.HttpClientResponse;
+import io.vertx.core.json.DecodeException;
+import io.vertx.core.json.Json;
+import io.vertx.ext.web.RoutingContext;
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+
+/**
+ * Answers a method whose result does not change while the downstream node is running (e.g.
+ * web3_clientVersion) from the last result the node returned for it.
+ *
+ * <p>Requests are passed through until the node has answered one successfully. Once that result is
+ * older than the refresh interval it continues to be served while a replacement is fetched in the
+ * background.
+ */
+public class CachedResultHandler extends PassThroughHandler {
+
+  private static final Logger LOG = LogManager.getLogger();
+
+  private final DownstreamRoutes downstreamRoutes;
+  private final JsonDecoder jsonDecoder;
+  private final long refreshIntervalNanos;
+  private final InternalResponseHandler internalResponseHandler;
+  private final AtomicBoolean refreshInProgress = new AtomicBoolean(false);
+  private volatile CachedResult cachedResult;
+
+  public CachedResultHandler(
+      final HttpResponseFactory responder,
+      final DownstreamRoutes downstreamRoutes,
+      final VertxRequestTransmitterFactory vertxTransmitterFactory,
+      final JsonDecoder jsonDecoder,
+      final Duration refreshInterval) {
+    super(downstreamRoutes, vertxTransmitterFactory);
+    this.downstreamRoutes = downstreamRoutes;
+    this.jsonDecoder = jsonDecoder;
+    this.refreshIntervalNanos = refreshInterval.toNanos();
+    this.internalResponseHandler = new InternalResponseHandler(responder, this::cachedBody);
+  }
+
+  @Override
+  public void handle(final RoutingContext context, final JsonRpcRequest request) {
+    final CachedResult current = cachedResult;
+    if (current == null) {
+      super.handle(context, request);
+      return;
+    }
+
+    if (System.nanoTime() - current.fetchedAt > refreshIntervalNanos) {
+      refresh(request, context.request().headers());
+    }
+    internalResponseHandler.handle(context, request);
+  }
+
+  @Override
+  protected void handleResponseBody(
+      final RoutingContext context, final HttpClientResponse response, final Buffer body) {
+    cacheResult(response.statusCode(), body);
+    super.handleResponseBody(context, response, body);
+  }
+
+  private JsonRpcBody cachedBody(final JsonRpcRequest request) {
+    return new JsonRpcBody(cachedResult.template.encode(request.getId()));
+  }
+
+  private void refresh(final JsonRpcRequest request, final MultiMap headers) {
+    if (!refreshInProgress.compareAndSet(false, true)) {
+      return;
+    }
+    LOG.debug("Refreshing cached result of {}", request.getMethod());
+
+    final DownstreamPool pool = downstreamRoutes.poolFor(request.getMethod());
+    final HttpClientRequest refreshRequest =
+        pool.select()
+            .post(
+                "/",
+                response -> {
+                  response.exceptionHandler(this::refreshFailed);
+                  response.bodyHandler(body -> refreshCompleted(response.statusCode(), body));
+                });
+    ForwardedHeaders.copy(headers, refreshRequest.headers());
+    refreshRequest.headers().remove(HttpHeaderNames.CONTENT_LENGTH);
+    refreshRequest.setChunked(false);
+    refreshRequest.setTimeout(pool.requestTimeout().toMillis());
+    refreshRequest.exceptionHandler(this::refreshFailed);
+    refreshRequest.end(Json.encodeToBuffer(request));
+  }
+
+  private void refreshCompleted(final int statusCode, final Buffer body) {
+    cacheResult(statusCode, body);
+    refreshInProgress.set(false);
+  }
+
+  private void refreshFailed(final Throwable thrown) {
+    LOG.debug("Failed to refresh cached result", thrown);
+    refreshInProgress.set(false);
+  }
+
+  private void cacheResult(final int statusCode, final Buffer body) {
+    if (statusCode != HttpResponseStatus.OK.code()) {
+      return;
+    }
+
+    try {
+      final JsonRpcSuccessResponse response =
+          jsonDecoder.decodeValue(body, JsonRpcSuccessResponse.class);
+      if (response.getResult() != null) {
+        cachedResult = new CachedResult(JsonRpcResponseTemplate.forResult(response.getResult()));
+      }
+    } catch (final DecodeException e) {
+      LOG.debug("Downstream response is not a cacheable result: {}", body);
+    }
+  }
+
+  private static class CachedResult {
+    private final JsonRpcResponseTemplate template;
+    private final long fetchedAt = System.nanoTime();
+
+    private CachedResult(final JsonRpcResponseTemplate template) {
+      this.template = template;
+    }
+  }
+}
@@ -14,7 +14,7 @@ package tech.pegasys.ethsigner.core.requesthandler.internalresponse;
 
 import tech.pegasys.ethsigner.core.jsonrpc.JsonRpcRequest;
 import tech.pegasys.ethsigner.core.jsonrpc.response.JsonRpcError;
-import tech.pegasys.ethsigner.core.jsonrpc.response.JsonRpcSuccessResponse;
+import tech.pegasys.ethsigner.core.jsonrpc.response.JsonRpcResponseTemplate;
 import tech.pegasys.ethsigner.core.requesthandler.BodyProvider;
 import tech.pegasys.ethsigner.core.requesthandler.JsonRpcBody;
 
@@ -24,7 +24,6 @@ import java.util.Set;
 import java.util.function.Supplier;
 import java.util.stream.Collectors;
 
-import io.vertx.core.json.Json;
 import org.apache.logging.log4j.LogManager;
 import org.apache.logging.log4j.Logger;
 
@@ -33,6 +32,7 @@ public class EthAccountsBodyProvider implements BodyProvider {
   private static final Logger LOG = LogManager.getLogger();
 
   private final Supplier<Set<String>> addressesSupplier;
+  private volatile EncodedAccounts encodedAccounts = new EncodedAccounts(Set.of());
 
   public EthAccountsBodyProvider(final Supplier<Set<String>> addressesSupplier) {
     this.addressesSupplier = addressesSupplier;
@@ -47,10 +47,18 @@ public class EthAccountsBodyProvider implements BodyProvider {
       return new JsonRpcBody(JsonRpcError.INVALID_PARAMS);
     }
 
-    final List<String> addresses =
-        addressesSupplier.get().stream().sorted().collect(Collectors.toList());
-    final JsonRpcSuccessResponse response = new JsonRpcSuccessResponse(request.getId(), addresses);
-    return new JsonRpcBody(Json.encodeToBuffer(response));
+    return new JsonRpcBody(encodedAccounts(addressesSupplier.get()).encode(request.getId()));
+  }
+
+  /** The encoded result is only rebuilt when the set of available addresses changes. */
+  private JsonRpcResponseTemplate encodedAccounts(final Set<String> addresses) {
+    final EncodedAccounts current = encodedAccounts;
+    if (current.addresses.equals(addresses)) {
+      return current.template;
+    }
+    final EncodedAccounts updated = new EncodedAccounts(addresses);
+    encodedAccounts = updated;
+    return updated.template;
   }
 
   private boolean isPopulated(final Object params) {
@@ -67,4 +75,16 @@ public class EthAccountsBodyProvider implements BodyProvider {
 
     return !(paramsIsArray && arrayIsEmpty);
   }
+
+  private static class EncodedAccounts {
+    private final Set<String> addresses;
+    private final JsonRpcResponseTemplate template;
+
+    private EncodedAccounts(final Set<String> addresses) {
+      this.addresses = Set.copyOf(addresses);
+      final List<String> sortedAddresses =
+          this.addresses.stream().sorted().collect(Collectors.toList());
+      this.template = JsonRpcResponseTemplate.forResult(sortedAddresses);
+    }
+  }
 }
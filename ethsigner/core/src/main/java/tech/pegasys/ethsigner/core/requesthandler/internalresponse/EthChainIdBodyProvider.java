@@ -0,0 +1,38 @@
+/*
+ * Copyright 2020 ConsenSys AG.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on
+ * an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations under the License.
+ */
+package tech.pegasys.ethsigner.core.requesthandler.internalresponse;
+
+import tech.pegasys.ethsigner.core.jsonrpc.JsonRpcRequest;
+import tech.pegasys.ethsigner.core.jsonrpc.response.JsonRpcResponseTemplate;
+import tech.pegasys.ethsigner.core.requesthandler.BodyProvider;
+import tech.pegasys.ethsigner.core.requesthandler.JsonRpcBody;
+
+import java.math.BigInteger;
+
+import org.web3j.utils.Numeric;
+
+/** Answers eth_chainId from the chain id EthSigner was configured to sign for. */
+public class EthChainIdBodyProvider implements BodyProvider {
+
+  private final JsonRpcResponseTemplate template;
+
+  public EthChainIdBodyProvider(final long chainId) {
+    this.template =
+        JsonRpcResponseTemplate.forResult(Numeric.encodeQuantity(BigInteger.valueOf(chainId)));
+  }
+
+  @Override
+  public JsonRpcBody getBody(final JsonRpcRequest request) {
+    return new JsonRpcBody(template.encode(request.getId()));
+  }
+}
@@ -0,0 +1,179 @@
+/*
+ * Copyright 2020 ConsenSys AG.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on
+ * an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations under the License.
+ */
+package tech.pegasys.ethsigner.core.requesthandler.passthrough;
+
+import tech.pegasys.ethsigner.core.downstream.DownstreamRoutes;
+import tech.pegasys.ethsigner.core.http.HttpResponseFactory;
+import tech.pegasys.ethsigner.core.jsonrpc.JsonDecoder;
+import tech.pegasys.ethsigner.core.jsonrpc.JsonRpcRequest;
+import tech.pegasys.ethsigner.core.jsonrpc.response.JsonRpcResponseTemplate;
+import tech.pegasys.ethsigner.core.jsonrpc.response.JsonRpcSuccessResponse;
+import tech.pegasys.ethsigner.core.requesthandler.VertxRequestTransmitterFactory;
+import tech.pegasys.ethsigner.core.requesthandler.passthrough.InFlightRequests.Flight;
+import tech.pegasys.ethsigner.core.requesthandler.passthrough.InFlightRequests.WaitingRequest;
+import tech.pegasys.ethsigner.core.requesthandler.passthrough.cache.RequestKey;
+import tech.pegasys.ethsigner.core.requesthandler.passthrough.cache.ResultCache;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+import java.util.function.Consumer;
+
+import io.netty.handler.codec.http.HttpResponseStatus;
+import io.vertx.core.buffer.Buffer;
+import io.vertx.core.http.HttpClientResponse;
+import io.vertx.core.http.HttpHeaders;
+import io.vertx.core.json.DecodeException;
+import io.vertx.ext.web.RoutingContext;
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+
+/**
+ * Answers requests from the given caches where possible, passing the remainder through to the
+ * downstream and offering its successful results to the caches which accept the request.
+ *
+ * <p>Identical read-only requests passed through concurrently share a single downstream request,
+ * each receiving the result under its own id. Should that request fail, or not return a result, the
+ * requests waiting on it are passed through individually.
+ */
+public class CachingPassThroughHandler extends PassThroughHandler {
+
+  private static final Logger LOG = LogManager.getLogger();
+  private static final String PENDING_RESULTS = "ethsigner.passThroughPendingResults";
+  private static final String FLIGHT = "ethsigner.passThroughFlight";
+
+  private final HttpResponseFactory responder;
+  private final JsonDecoder jsonDecoder;
+  private final List<ResultCache> caches;
+  private final InFlightRequests inFlightRequests = new InFlightRequests();
+
+  public CachingPassThroughHandler(
+      final DownstreamRoutes downstreamRoutes,
+      final VertxRequestTransmitterFactory vertxTransmitterFactory,
+      final HttpResponseFactory responder,
+      final JsonDecoder jsonDecoder,
+      final List<ResultCache> caches) {
+    super(downstreamRoutes, vertxTransmitterFactory);
+    this.responder = responder;
+    this.jsonDecoder = jsonDecoder;
+    this.caches = caches;
+  }
+
+  @Override
+  public void handle(final RoutingContext context, final JsonRpcRequest request) {
+    final boolean cacheable = caches.stream().anyMatch(cache -> cache.isCacheable(request));
+    final boolean coalescable = inFlightRequests.isCoalescable(request);
+    if (!cacheable && !coalescable) {
+      super.handle(context, request);
+      return;
+    }
+
+    final RequestKey key =
+        RequestKey.of(request, context.request().getHeader(HttpHeaders.AUTHORIZATION));
+    if (cacheable) {
+      final Optional<JsonRpcResponseTemplate> cached = cachedResult(request, key);
+      if (cached.isPresent()) {
+        LOG.debug("Answering request {}, {} from cache", request.getId(), request.getMethod());
+        respond(context, request, cached.get());
+        return;
+      }
+      context.put(PENDING_RESULTS, pendingResults(request, key));
+    }
+
+    if (coalescable) {
+      final Optional<Flight> flight = inFlightRequests.joinOrLead(key, context, request);
+      if (flight.isEmpty()) {
+        LOG.debug("Request {}, {} joined one in flight", request.getId(), request.getMethod());
+        return;
+      }
+      context.put(FLIGHT, flight.get());
+      // releases the waiting requests should this one fail before its response body is handled
+      context.addBodyEndHandler(ignored -> land(flight.get(), Optional.empty()));
+    }
+
+    super.handle(context, request);
+  }
+
+  @Override
+  protected void handleResponseBody(
+      final RoutingContext context, final HttpClientResponse response, final Buffer body) {
+    final List<Consumer<Object>> pendingResults = context.get(PENDING_RESULTS);
+    final Flight flight = context.get(FLIGHT);
+    if (pendingResults != null || flight != null) {
+      final Optional<Object> result = decodeResult(response, body);
+      if (pendingResults != null && result.isPresent()) {
+        pendingResults.forEach(pendingResult -> pendingResult.accept(result.get()));
+      }
+      if (flight != null) {
+        land(flight, result.map(JsonRpcResponseTemplate::forResult));
+      }
+    }
+    super.handleResponseBody(context, response, body);
+  }
+
+  private Optional<JsonRpcResponseTemplate> cachedResult(
+      final JsonRpcRequest request, final RequestKey key) {
+    for (final ResultCache cache : caches) {
+      if (cache.isCacheable(request)) {
+        final Optional<JsonRpcResponseTemplate> cached = cache.get(key);
+        if (cached.isPresent()) {
+          return cached;
+        }
+      }
+    }
+    return Optional.empty();
+  }
+
+  private List<Consumer<Object>> pendingResults(
+      final JsonRpcRequest request, final RequestKey key) {
+    final List<Consumer<Object>> pendingResults = new ArrayList<>(caches.size());
+    for (final ResultCache cache : caches) {
+      if (cache.isCacheable(request)) {
+        pendingResults.add(cache.awaitResult(request, key));
+      }
+    }
+    return pendingResults;
+  }
+
+  private Optional<Object> decodeResult(final HttpClientResponse response, final Buffer body) {
+    if (response.statusCode() != HttpResponseStatus.OK.code()) {
+      return Optional.empty();
+    }
+    try {
+      return Optional.ofNullable(
+          jsonDecoder.decodeValue(body, JsonRpcSuccessResponse.class).getResult());
+    } catch (final DecodeException e) {
+      LOG.debug("Downstream response is not a successful result");
+      return Optional.empty();
+    }
+  }
+
+  private void land(final Flight flight, final Optional<JsonRpcResponseTemplate> result) {
+    final List<WaitingRequest> waiting = inFlightRequests.land(flight);
+    for (final WaitingRequest waitingRequest : waiting) {
+      if (result.isPresent()) {
+        respond(waitingRequest.context(), waitingRequest.request(), result.get());
+      } else {
+        super.handle(waitingRequest.context(), waitingRequest.request());
+      }
+    }
+  }
+
+  private void respond(
+      final RoutingContext context,
+      final JsonRpcRequest request,
+      final JsonRpcResponseTemplate result) {
+    responder.create(
+        context.request(), HttpResponseStatus.OK.code(), result.encode(request.getId()));
+  }
+}
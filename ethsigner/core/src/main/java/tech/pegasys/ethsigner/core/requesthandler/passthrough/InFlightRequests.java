@@ -0,0 +1,108 @@
+/*
+ * Copyright 2020 ConsenSys AG.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on
+ * an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations under the License.
+ */
+package tech.pegasys.ethsigner.core.requesthandler.passthrough;
+
+import tech.pegasys.ethsigner.core.jsonrpc.JsonRpcRequest;
+import tech.pegasys.ethsigner.core.jsonrpc.ReadOnlyMethods;
+import tech.pegasys.ethsigner.core.requesthandler.passthrough.cache.RequestKey;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+
+import io.vertx.ext.web.RoutingContext;
+
+/**
+ * Tracks read-only requests currently being passed through, so identical requests arriving before
+ * the first has been answered wait for its result rather than being sent downstream again.
+ *
+ * <p>Requests only coalesce with others of the same {@link RequestKey}, which includes their
+ * Authorization header.
+ */
+class InFlightRequests {
+
+  private final Map<RequestKey, Flight> flights = new ConcurrentHashMap<>();
+
+  boolean isCoalescable(final JsonRpcRequest request) {
+    return ReadOnlyMethods.contains(request.getMethod());
+  }
+
+  /**
+   * Attaches the request to an identical one already in flight, or starts a new flight for it.
+   *
+   * @return the flight the request leads, or empty if it is waiting on another request's flight.
+   */
+  Optional<Flight> joinOrLead(
+      final RequestKey key, final RoutingContext context, final JsonRpcRequest request) {
+    final Flight flight = new Flight(key);
+    final Flight existing = flights.putIfAbsent(key, flight);
+    if (existing == null) {
+      return Optional.of(flight);
+    }
+    if (existing.join(new WaitingRequest(context, request))) {
+      return Optional.empty();
+    }
+    // the existing flight has landed but is not yet removed, so this request travels alone
+    return Optional.of(new Flight(key));
+  }
+
+  /** Ends the flight, returning the requests which were waiting on its result. */
+  List<WaitingRequest> land(final Flight flight) {
+    flights.remove(flight.key, flight);
+    return flight.land();
+  }
+
+  static class Flight {
+    private final RequestKey key;
+    private List<WaitingRequest> waiting = new ArrayList<>();
+
+    private Flight(final RequestKey key) {
+      this.key = key;
+    }
+
+    private synchronized boolean join(final WaitingRequest request) {
+      if (waiting == null) {
+        return false;
+      }
+      waiting.add(request);
+      return true;
+    }
+
+    private synchronized List<WaitingRequest> land() {
+      final List<WaitingRequest> landed = waiting == null ? Collections.emptyList() : waiting;
+      waiting = null;
+      return landed;
+    }
+  }
+
+  static class WaitingRequest {
+    private final RoutingContext context;
+    private final JsonRpcRequest request;
+
+    private WaitingRequest(final RoutingContext context, final JsonRpcRequest request) {
+      this.context = context;
+      this.request = request;
+    }
+
+    RoutingContext context() {
+      return context;
+    }
+
+    JsonRpcRequest request() {
+      return request;
+    }
+  }
+}
@@ -12,33 +12,48 @@
  */
 package tech.pegasys.ethsigner.core.requesthandler.passthrough;
 
+import tech.pegasys.ethsigner.core.downstream.DownstreamNode;
+import tech.pegasys.ethsigner.core.downstream.DownstreamPool;
+import tech.pegasys.ethsigner.core.downstream.DownstreamRoutes;
+import tech.pegasys.ethsigner.core.http.JsonRpcHandler;
 import tech.pegasys.ethsigner.core.jsonrpc.JsonRpcRequest;
+import tech.pegasys.ethsigner.core.jsonrpc.ReadOnlyMethods;
+import tech.pegasys.ethsigner.core.metrics.RequestTimings;
+import tech.pegasys.ethsigner.core.metrics.RequestTimings.Stage;
+import tech.pegasys.ethsigner.core.requesthandler.ForwardedHeaders;
 import tech.pegasys.ethsigner.core.requesthandler.JsonRpcRequestHandler;
 import tech.pegasys.ethsigner.core.requesthandler.VertxRequestTransmitter;
 import tech.pegasys.ethsigner.core.requesthandler.VertxRequestTransmitterFactory;
 
+import java.util.Optional;
+import java.util.concurrent.atomic.AtomicBoolean;
+
 import io.vertx.core.Handler;
 import io.vertx.core.buffer.Buffer;
-import io.vertx.core.http.HttpClient;
 import io.vertx.core.http.HttpClientRequest;
 import io.vertx.core.http.HttpClientResponse;
+import io.vertx.core.http.HttpMethod;
 import io.vertx.core.http.HttpServerRequest;
 import io.vertx.ext.web.RoutingContext;
 import org.apache.logging.log4j.LogManager;
 import org.apache.logging.log4j.Logger;
 
+/**
+ * Forwards requests to a node of the pool the request is routed to; requests which are not JSON-RPC
+ * go to the write pool. Read-only requests which fail to reach a node are retried once on another.
+ */
 public class PassThroughHandler implements JsonRpcRequestHandler, Handler<RoutingContext> {
 
   private static final Logger LOG = LogManager.getLogger();
 
-  private final HttpClient ethNodeClient;
+  private final DownstreamRoutes downstreamRoutes;
   private final VertxRequestTransmitter transmitter;
 
   public PassThroughHandler(
-      final HttpClient ethNodeClient,
+      final DownstreamRoutes downstreamRoutes,
       final VertxRequestTransmitterFactory vertxTransmitterFactory) {
     transmitter = vertxTransmitterFactory.create(this::handleResponseBody);
-    this.ethNodeClient = ethNodeClient;
+    this.downstreamRoutes = downstreamRoutes;
   }
 
   @Override
@@ -49,31 +64,78 @@ public class PassThroughHandler implements JsonRpcRequestHandler, Handler<Routin
 
   @Override
   public void handle(final RoutingContext context) {
+    final DownstreamPool pool =
+        JsonRpcHandler.jsonRpcRequest(context)
+            .map(request -> downstreamRoutes.poolFor(request.getMethod()))
+            .orElse(downstreamRoutes.writePool());
+    send(context, pool, pool.select(), isRetryable(context));
+    logRequest(context);
+  }
+
+  private void send(
+      final RoutingContext context,
+      final DownstreamPool pool,
+      final DownstreamNode node,
+      final boolean retryable) {
     final HttpServerRequest httpServerRequest = context.request();
+    final long startedAt = node.requestStarted();
+    final AtomicBoolean responded = new AtomicBoolean(false);
     final HttpClientRequest proxyRequest =
-        ethNodeClient.request(
+        node.request(
             httpServerRequest.method(),
             httpServerRequest.uri(),
-            response -> transmitter.handleResponse(context, response));
+            response -> {
+              responded.set(true);
+              node.requestCompleted(startedAt);
+              RequestTimings.fromContext(context).record(Stage.DOWNSTREAM, startedAt);
+              transmitter.handleResponse(context, response);
+            });
+
+    transmitter.sendRequest(
+        node,
+        proxyRequest,
+        context.getBody(),
+        context,
+        pool.requestTimeout(),
+        thrown -> {
+          if (responded.get()) {
+            transmitter.handleException(context, thrown);
+            return;
+          }
+          node.requestFailed(startedAt);
+          RequestTimings.fromContext(context).record(Stage.DOWNSTREAM, startedAt);
+          final Optional<DownstreamNode> retryNode =
+              retryable ? pool.selectExcluding(node) : Optional.empty();
+          if (retryNode.isPresent()) {
+            LOG.debug("Request to {} failed, retrying on {}", node.name(), retryNode.get().name());
+            send(context, pool, retryNode.get(), false);
+          } else {
+            transmitter.handleException(context, thrown);
+          }
+        });
+  }
 
-    final Buffer body = context.getBody();
-    transmitter.sendRequest(proxyRequest, body, context);
-    logRequest(httpServerRequest, body.toString());
+  private boolean isRetryable(final RoutingContext context) {
+    return JsonRpcHandler.jsonRpcRequest(context)
+        .map(request -> ReadOnlyMethods.contains(request.getMethod()))
+        .orElse(context.request().method() == HttpMethod.GET);
   }
 
-  private void handleResponseBody(
+  protected void handleResponseBody(
       final RoutingContext context, final HttpClientResponse response, final Buffer body) {
     context.request().response().setStatusCode(response.statusCode());
-    context.request().response().headers().setAll(response.headers());
+    ForwardedHeaders.copy(response.headers(), context.request().response().headers());
     context.request().response().setChunked(false);
     context.request().response().end(body);
   }
 
-  private void logRequest(final HttpServerRequest httpRequest, final String body) {
-    LOG.debug(
-        "Proxying method: {}, uri: {}, body: {}",
-        httpRequest::method,
-        httpRequest::absoluteURI,
-        () -> body);
+  private void logRequest(final RoutingContext context) {
+    if (LOG.isDebugEnabled()) {
+      LOG.debug(
+          "Proxying method: {}, uri: {}, body: {}",
+          context.request().method(),
+          context.request().absoluteURI(),
+          context.getBody());
+    }
   }
 }
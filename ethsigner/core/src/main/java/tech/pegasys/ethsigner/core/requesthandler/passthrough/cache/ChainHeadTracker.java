@@ -0,0 +1,163 @@
+/*
+ * Copyright 2020 ConsenSys AG.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on
+ * an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations under the License.
+ */
+package tech.pegasys.ethsigner.core.requesthandler.passthrough.cache;
+
+import static tech.pegasys.ethsigner.core.jsonrpc.RpcUtil.JSON_RPC_VERSION;
+
+import tech.pegasys.ethsigner.core.downstream.DownstreamPool;
+import tech.pegasys.ethsigner.core.jsonrpc.JsonDecoder;
+import tech.pegasys.ethsigner.core.jsonrpc.JsonRpcRequest;
+import tech.pegasys.ethsigner.core.jsonrpc.JsonRpcRequestId;
+import tech.pegasys.ethsigner.core.jsonrpc.response.JsonRpcSuccessResponse;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.OptionalLong;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import io.netty.handler.codec.http.HttpHeaderNames;
+import io.netty.handler.codec.http.HttpHeaderValues;
+import io.netty.handler.codec.http.HttpResponseStatus;
+import io.vertx.core.Vertx;
+import io.vertx.core.buffer.Buffer;
+import io.vertx.core.http.HttpClientRequest;
+import io.vertx.core.json.DecodeException;
+import io.vertx.core.json.Json;
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+import org.web3j.exceptions.MessageDecodingException;
+import org.web3j.utils.Numeric;
+
+/**
+ * Follows the head of the chain by periodically asking the downstream node for its latest block,
+ * informing listeners each time a new head is observed. A head is new if its hash differs, so a
+ * reorg replacing the head with another block at the same height is observed too.
+ *
+ * <p>Where the pool has several nodes, the same node is asked each time while it remains available,
+ * so the head does not move back and forth between nodes which are at slightly different heights.
+ */
+public class ChainHeadTracker {
+
+  private static final Logger LOG = LogManager.getLogger();
+  private static final String AFFINITY_KEY = "chainHead";
+  private static final Buffer LATEST_BLOCK_REQUEST = Json.encodeToBuffer(latestBlockRequest());
+
+  private final Vertx vertx;
+  private final DownstreamPool downstreamPool;
+  private final JsonDecoder jsonDecoder;
+  private final Duration pollInterval;
+  private final Duration httpRequestTimeout;
+  private final List<Listener> listeners = new CopyOnWriteArrayList<>();
+  private final AtomicBoolean pollInProgress = new AtomicBoolean(false);
+  private volatile OptionalLong head = OptionalLong.empty();
+  private volatile String headHash;
+
+  @FunctionalInterface
+  public interface Listener {
+    void onNewHead(long blockNumber, String blockHash);
+  }
+
+  public ChainHeadTracker(
+      final Vertx vertx,
+      final DownstreamPool downstreamPool,
+      final JsonDecoder jsonDecoder,
+      final Duration pollInterval,
+      final Duration httpRequestTimeout) {
+    this.vertx = vertx;
+    this.downstreamPool = downstreamPool;
+    this.jsonDecoder = jsonDecoder;
+    this.pollInterval = pollInterval;
+    this.httpRequestTimeout = httpRequestTimeout;
+  }
+
+  public void addListener(final Listener headListener) {
+    listeners.add(headListener);
+  }
+
+  public void start() {
+    vertx.setPeriodic(pollInterval.toMillis(), timerId -> poll());
+  }
+
+  public OptionalLong head() {
+    return head;
+  }
+
+  private void poll() {
+    if (!pollInProgress.compareAndSet(false, true)) {
+      return;
+    }
+
+    final HttpClientRequest request =
+        downstreamPool
+            .selectByAffinity(AFFINITY_KEY)
+            .post(
+                "/",
+                response -> {
+                  response.exceptionHandler(this::pollFailed);
+                  response.bodyHandler(body -> pollCompleted(response.statusCode(), body));
+                });
+    request.putHeader(HttpHeaderNames.CONTENT_TYPE, HttpHeaderValues.APPLICATION_JSON);
+    request.setTimeout(httpRequestTimeout.toMillis());
+    request.exceptionHandler(this::pollFailed);
+    request.end(LATEST_BLOCK_REQUEST);
+  }
+
+  private void pollCompleted(final int statusCode, final Buffer body) {
+    try {
+      if (statusCode == HttpResponseStatus.OK.code()) {
+        final JsonRpcSuccessResponse response =
+            jsonDecoder.decodeValue(body, JsonRpcSuccessResponse.class);
+        if (response.getResult() instanceof Map) {
+          final Map<?, ?> block = (Map<?, ?>) response.getResult();
+          if (block.get("number") instanceof String && block.get("hash") instanceof String) {
+            updateHead(
+                Numeric.decodeQuantity((String) block.get("number")).longValueExact(),
+                (String) block.get("hash"));
+          }
+        }
+      } else {
+        LOG.debug("Latest block request failed with status {}", statusCode);
+      }
+    } catch (final DecodeException | MessageDecodingException | ArithmeticException e) {
+      LOG.debug("Invalid latest block response: {}", body, e);
+    } finally {
+      pollInProgress.set(false);
+    }
+  }
+
+  private void pollFailed(final Throwable thrown) {
+    LOG.debug("Latest block request failed", thrown);
+    pollInProgress.set(false);
+  }
+
+  private void updateHead(final long blockNumber, final String blockHash) {
+    if (Objects.equals(headHash, blockHash)) {
+      return;
+    }
+    LOG.trace("New chain head {} ({})", blockNumber, blockHash);
+    head = OptionalLong.of(blockNumber);
+    headHash = blockHash;
+    listeners.forEach(listener -> listener.onNewHead(blockNumber, blockHash));
+  }
+
+  private static JsonRpcRequest latestBlockRequest() {
+    final JsonRpcRequest request = new JsonRpcRequest(JSON_RPC_VERSION, "eth_getBlockByNumber");
+    request.setId(new JsonRpcRequestId(1));
+    // only the header is needed, not the block's transactions
+    request.setParams(List.of("latest", false));
+    return request;
+  }
+}
@@ -0,0 +1,88 @@
+/*
+ * Copyright 2020 ConsenSys AG.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on
+ * an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations under the License.
+ */
+package tech.pegasys.ethsigner.core.requesthandler.passthrough.cache;
+
+import tech.pegasys.ethsigner.core.jsonrpc.JsonRpcRequest;
+import tech.pegasys.ethsigner.core.jsonrpc.response.JsonRpcResponseTemplate;
+
+import java.util.Map;
+import java.util.Optional;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+
+/**
+ * Caches results which can never change once the node has returned them: blocks looked up by hash,
+ * transactions and receipts which have been mined, and code at an explicit block number.
+ *
+ * <p>The cache is bounded by the size of the encoded results it holds, and evicts using W-TinyLFU
+ * so entries read repeatedly (e.g. by an indexer) survive scans of entries read once.
+ */
+public class ImmutableResultCache implements ResultCache {
+
+  private static final String BLOCK_HASH = "blockHash";
+
+  private final Cache<RequestKey, JsonRpcResponseTemplate> cache;
+
+  public ImmutableResultCache(final long maximumSizeInBytes) {
+    this.cache =
+        Caffeine.newBuilder()
+            .maximumWeight(maximumSizeInBytes)
+            .weigher(
+                (final RequestKey key, final JsonRpcResponseTemplate template) ->
+                    key.size() + template.size())
+            .build();
+  }
+
+  @Override
+  public boolean isCacheable(final JsonRpcRequest request) {
+    switch (request.getMethod()) {
+      case "eth_getBlockByHash":
+      case "eth_getTransactionByHash":
+      case "eth_getTransactionReceipt":
+        return true;
+      case "eth_getCode":
+        return isBlockNumber(RequestParams.get(request, 1));
+      default:
+        return false;
+    }
+  }
+
+  @Override
+  public Optional<JsonRpcResponseTemplate> get(final RequestKey key) {
+    return Optional.ofNullable(cache.getIfPresent(key));
+  }
+
+  @Override
+  public void put(final JsonRpcRequest request, final RequestKey key, final Object result) {
+    if (isImmutable(request.getMethod(), result)) {
+      cache.put(key, JsonRpcResponseTemplate.forResult(result));
+    }
+  }
+
+  /** Transactions and receipts are only final once they have been included in a block. */
+  private boolean isImmutable(final String method, final Object result) {
+    switch (method) {
+      case "eth_getTransactionByHash":
+      case "eth_getTransactionReceipt":
+        return result instanceof Map && ((Map<?, ?>) result).get(BLOCK_HASH) != null;
+      default:
+        return result != null;
+    }
+  }
+
+  /** Block tags such as "latest" and "pending" refer to different blocks over time. */
+  private static boolean isBlockNumber(final Object blockParameter) {
+    return blockParameter instanceof String && ((String) blockParameter).startsWith("0x");
+  }
+}
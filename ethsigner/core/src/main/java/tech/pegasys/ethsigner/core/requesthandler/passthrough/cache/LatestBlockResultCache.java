@@ -0,0 +1,136 @@
+/*
+ * Copyright 2020 ConsenSys AG.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on
+ * an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations under the License.
+ */
+package tech.pegasys.ethsigner.core.requesthandler.passthrough.cache;
+
+import tech.pegasys.ethsigner.core.jsonrpc.JsonRpcRequest;
+import tech.pegasys.ethsigner.core.jsonrpc.response.JsonRpcResponseTemplate;
+
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Consumer;
+
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+
+/**
+ * Caches results of requests made against the latest block until the chain head moves on, so
+ * identical reads (e.g. dashboards polling a balance) reach the node once per block.
+ *
+ * <p>Results are held against the head known when the request was passed through, and dropped
+ * should they be returned once another head has been observed. Nothing is cached until a head has
+ * been observed. The results held for a head are bounded by their encoded size, as those of
+ * eth_call may be large.
+ */
+public class LatestBlockResultCache implements ResultCache {
+
+  private static final Logger LOG = LogManager.getLogger();
+  private static final String LATEST = "latest";
+
+  private final long maximumSizeInBytesPerBlock;
+  private volatile BlockResults blockResults;
+
+  public LatestBlockResultCache(final long maximumSizeInBytesPerBlock) {
+    this.maximumSizeInBytesPerBlock = maximumSizeInBytesPerBlock;
+  }
+
+  /** Discards all results held for the previous head, which may be at the same height. */
+  public void onNewHead(final long blockNumber, final String blockHash) {
+    final BlockResults previous = blockResults;
+    blockResults = new BlockResults(blockNumber, blockHash);
+    if (previous != null) {
+      LOG.debug(
+          "Answered {} requests from cache at block {} ({})",
+          previous.hits.get(),
+          previous.blockNumber,
+          previous.blockHash);
+    }
+  }
+
+  @Override
+  public boolean isCacheable(final JsonRpcRequest request) {
+    if (blockResults == null) {
+      return false;
+    }
+
+    switch (request.getMethod()) {
+      case "eth_blockNumber":
+      case "eth_gasPrice":
+        return true;
+      case "eth_call":
+      case "eth_getBalance":
+      case "eth_estimateGas":
+        return LATEST.equals(RequestParams.get(request, 1));
+      default:
+        return false;
+    }
+  }
+
+  @Override
+  public Optional<JsonRpcResponseTemplate> get(final RequestKey key) {
+    final BlockResults current = blockResults;
+    if (current == null) {
+      return Optional.empty();
+    }
+
+    final JsonRpcResponseTemplate cached = current.results.get(key);
+    if (cached != null) {
+      current.hits.incrementAndGet();
+    }
+    return Optional.ofNullable(cached);
+  }
+
+  @Override
+  public void put(final JsonRpcRequest request, final RequestKey key, final Object result) {
+    put(blockResults, key, result);
+  }
+
+  @Override
+  public Consumer<Object> awaitResult(final JsonRpcRequest request, final RequestKey key) {
+    final BlockResults requestedAt = blockResults;
+    return result -> put(requestedAt, key, result);
+  }
+
+  private void put(final BlockResults requestedAt, final RequestKey key, final Object result) {
+    // a result for a head which has since been replaced would be served as the new head's
+    if (requestedAt == null || requestedAt != blockResults) {
+      return;
+    }
+    final JsonRpcResponseTemplate template = JsonRpcResponseTemplate.forResult(result);
+    final long size = key.size() + template.size();
+    if (requestedAt.sizeInBytes.addAndGet(size) > maximumSizeInBytesPerBlock
+        || requestedAt.results.putIfAbsent(key, template) != null) {
+      requestedAt.sizeInBytes.addAndGet(-size);
+    }
+  }
+
+  /** The number of requests answered from cache since the current head was observed. */
+  public long hitsAtCurrentHead() {
+    final BlockResults current = blockResults;
+    return current == null ? 0 : current.hits.get();
+  }
+
+  private static class BlockResults {
+    private final long blockNumber;
+    private final String blockHash;
+    private final Map<RequestKey, JsonRpcResponseTemplate> results = new ConcurrentHashMap<>();
+    private final AtomicLong hits = new AtomicLong();
+    private final AtomicLong sizeInBytes = new AtomicLong();
+
+    private BlockResults(final long blockNumber, final String blockHash) {
+      this.blockNumber = blockNumber;
+      this.blockHash = blockHash;
+    }
+  }
+}
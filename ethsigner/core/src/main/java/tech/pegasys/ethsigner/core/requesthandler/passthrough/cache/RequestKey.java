@@ -0,0 +1,116 @@
+/*
+ * Copyright 2020 ConsenSys AG.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on
+ * an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations under the License.
+ */
+package tech.pegasys.ethsigner.core.requesthandler.passthrough.cache;
+
+import tech.pegasys.ethsigner.core.jsonrpc.JsonRpcRequest;
+
+import java.util.Collection;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Objects;
+import java.util.TreeMap;
+
+import com.google.common.base.MoreObjects;
+import io.vertx.core.json.Json;
+
+/**
+ * Identifies a JSON-RPC request by its method and parameters, so requests asking the same question
+ * share a key regardless of their id, the case of their hex encoded values or the order of the
+ * members of their parameter objects.
+ *
+ * <p>The key also holds the Authorization header the request is forwarded with, so a client is
+ * never answered with a result obtained using another client's credentials.
+ */
+public class RequestKey {
+
+  private static final String HEX_PREFIX = "0x";
+
+  private final String value;
+  private final String authorization;
+
+  private RequestKey(final String value, final String authorization) {
+    this.value = value;
+    this.authorization = authorization;
+  }
+
+  public static RequestKey of(final JsonRpcRequest request) {
+    return of(request, null);
+  }
+
+  /** @param authorization the request's Authorization header, or null if it has none. */
+  public static RequestKey of(final JsonRpcRequest request, final String authorization) {
+    final StringBuilder builder = new StringBuilder(request.getMethod()).append(':');
+    // omitted params are equivalent to an empty list
+    appendCanonical(builder, request.getParams() == null ? List.of() : request.getParams());
+    return new RequestKey(builder.toString(), authorization);
+  }
+
+  /** An estimate of the number of bytes the key occupies once cached. */
+  public int size() {
+    final int length = value.length() + (authorization == null ? 0 : authorization.length());
+    return length * Character.BYTES;
+  }
+
+  private static void appendCanonical(final StringBuilder builder, final Object value) {
+    if (value instanceof Map) {
+      builder.append('{');
+      String separator = "";
+      for (final Map.Entry<?, ?> entry : new TreeMap<>((Map<?, ?>) value).entrySet()) {
+        builder.append(separator).append(Json.encode(entry.getKey())).append(':');
+        appendCanonical(builder, entry.getValue());
+        separator = ",";
+      }
+      builder.append('}');
+    } else if (value instanceof Collection) {
+      builder.append('[');
+      String separator = "";
+      for (final Object element : (Collection<?>) value) {
+        builder.append(separator);
+        appendCanonical(builder, element);
+        separator = ",";
+      }
+      builder.append(']');
+    } else if (value instanceof String && ((String) value).startsWith(HEX_PREFIX)) {
+      builder.append(Json.encode(((String) value).toLowerCase(Locale.ROOT)));
+    } else {
+      builder.append(Json.encode(value));
+    }
+  }
+
+  @Override
+  public boolean equals(final Object o) {
+    if (this == o) {
+      return true;
+    }
+    if (o == null || getClass() != o.getClass()) {
+      return false;
+    }
+    final RequestKey that = (RequestKey) o;
+    return value.equals(that.value) && Objects.equals(authorization, that.authorization);
+  }
+
+  @Override
+  public int hashCode() {
+    return Objects.hash(value, authorization);
+  }
+
+  @Override
+  public String toString() {
+    // the credentials themselves are kept out of logs
+    return MoreObjects.toStringHelper(this)
+        .add("value", value)
+        .add("authorized", authorization != null)
+        .toString();
+  }
+}
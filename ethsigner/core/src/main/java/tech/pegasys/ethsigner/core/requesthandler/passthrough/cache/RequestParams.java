@@ -0,0 +1,29 @@
+/*
+ * Copyright 2020 ConsenSys AG.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on
+ * an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations under the License.
+ */
+package tech.pegasys.ethsigner.core.requesthandler.passthrough.cache;
+
+import tech.pegasys.ethsigner.core.jsonrpc.JsonRpcRequest;
+
+import java.util.List;
+
+class RequestParams {
+
+  /** @return the positional parameter at the index, or null if the request does not have it. */
+  static Object get(final JsonRpcRequest request, final int index) {
+    final Object params = request.getParams();
+    if (params instanceof List && ((List<?>) params).size() > index) {
+      return ((List<?>) params).get(index);
+    }
+    return null;
+  }
+}
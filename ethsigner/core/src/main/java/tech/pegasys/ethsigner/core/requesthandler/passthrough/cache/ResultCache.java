@@ -0,0 +1,40 @@
+/*
+ * Copyright 2020 ConsenSys AG.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on
+ * an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations under the License.
+ */
+package tech.pegasys.ethsigner.core.requesthandler.passthrough.cache;
+
+import tech.pegasys.ethsigner.core.jsonrpc.JsonRpcRequest;
+import tech.pegasys.ethsigner.core.jsonrpc.response.JsonRpcResponseTemplate;
+
+import java.util.Optional;
+import java.util.function.Consumer;
+
+/** Holds results returned by the downstream node so repeated requests can be answered locally. */
+public interface ResultCache {
+
+  /** Whether results of the request may be held by this cache at all. */
+  boolean isCacheable(JsonRpcRequest request);
+
+  Optional<JsonRpcResponseTemplate> get(RequestKey key);
+
+  /** Offers a successful downstream result, which the cache may decline to hold. */
+  void put(JsonRpcRequest request, RequestKey key, Object result);
+
+  /**
+   * Called as a request which missed the cache is passed through, returning where its successful
+   * result is to be offered once returned. Caches whose contents move on over time capture what
+   * they hold now, so a result returned after they move on is not held as a current one.
+   */
+  default Consumer<Object> awaitResult(final JsonRpcRequest request, final RequestKey key) {
+    return result -> put(request, key, result);
+  }
+}
@@ -0,0 +1,74 @@
+/*
+ * Copyright 2020 ConsenSys AG.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on
+ * an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations under the License.
+ */
+package tech.pegasys.ethsigner.core.requesthandler.passthrough.cache;
+
+import java.time.Duration;
+
+import com.google.common.base.MoreObjects;
+
+public class ResultCacheOptions {
+
+  public static final ResultCacheOptions DEFAULT =
+      new ResultCacheOptions(64L * 1024 * 1024, false, Duration.ofSeconds(1), 8L * 1024 * 1024);
+
+  private final long immutableResultCacheSizeInBytes;
+  private final boolean latestBlockCacheEnabled;
+  private final Duration chainHeadPollInterval;
+  private final long latestBlockCacheSizeInBytes;
+
+  /**
+   * @param immutableResultCacheSizeInBytes the most results held which can never change, by encoded
+   *     size, or 0 for none to be cached.
+   * @param latestBlockCacheEnabled whether results at the latest block are cached, which has the
+   *     head of the chain polled for.
+   * @param chainHeadPollInterval how often the downstream node is asked for its head, so results
+   *     may be this much out of date once the chain moves on.
+   * @param latestBlockCacheSizeInBytes the most results held for any one head, by encoded size.
+   */
+  public ResultCacheOptions(
+      final long immutableResultCacheSizeInBytes,
+      final boolean latestBlockCacheEnabled,
+      final Duration chainHeadPollInterval,
+      final long latestBlockCacheSizeInBytes) {
+    this.immutableResultCacheSizeInBytes = immutableResultCacheSizeInBytes;
+    this.latestBlockCacheEnabled = latestBlockCacheEnabled;
+    this.chainHeadPollInterval = chainHeadPollInterval;
+    this.latestBlockCacheSizeInBytes = latestBlockCacheSizeInBytes;
+  }
+
+  public long getImmutableResultCacheSizeInBytes() {
+    return immutableResultCacheSizeInBytes;
+  }
+
+  public boolean isLatestBlockCacheEnabled() {
+    return latestBlockCacheEnabled;
+  }
+
+  public Duration getChainHeadPollInterval() {
+    return chainHeadPollInterval;
+  }
+
+  public long getLatestBlockCacheSizeInBytes() {
+    return latestBlockCacheSizeInBytes;
+  }
+
+  @Override
+  public String toString() {
+    return MoreObjects.toStringHelper(this)
+        .add("immutableResultCacheSizeInBytes", immutableResultCacheSizeInBytes)
+        .add("latestBlockCacheEnabled", latestBlockCacheEnabled)
+        .add("chainHeadPollInterval", chainHeadPollInterval)
+        .add("latestBlockCacheSizeInBytes", latestBlockCacheSizeInBytes)
+        .toString();
+  }
+}
@@ -15,6 +15,7 @@ package tech.pegasys.ethsigner.core.requesthandler.sendtransaction;
 import static tech.pegasys.ethsigner.core.jsonrpc.response.JsonRpcError.NONCE_TOO_LOW;
 
 import tech.pegasys.ethsigner.core.jsonrpc.response.JsonRpcErrorResponse;
+import tech.pegasys.ethsigner.metrics.Counter;
 
 import io.netty.handler.codec.http.HttpResponseStatus;
 import io.vertx.core.buffer.Buffer;
@@ -27,8 +28,17 @@ public class NonceTooLowRetryMechanism extends RetryMechanism {
 
   private static final Logger LOG = LogManager.getLogger();
 
-  public NonceTooLowRetryMechanism(final int maxRetries) {
+  private final Counter retries;
+
+  public NonceTooLowRetryMechanism(final int maxRetries, final Counter retries) {
     super(maxRetries);
+    this.retries = retries;
+  }
+
+  @Override
+  public void incrementRetries() {
+    super.incrementRetries();
+    retries.inc();
   }
 
   @Override
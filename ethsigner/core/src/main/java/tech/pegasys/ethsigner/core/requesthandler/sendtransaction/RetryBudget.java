@@ -0,0 +1,54 @@
+/*
+ * Copyright 2020 ConsenSys AG.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on
+ * an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations under the License.
+ */
+package tech.pegasys.ethsigner.core.requesthandler.sendtransaction;
+
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Allows retries as a share of the transactions sent, so that retrying cannot multiply the load on
+ * a node which is already struggling. Shared by threads without locking.
+ *
+ * <p>Each transaction sent adds its share of a retry to the balance, and each retry takes a whole
+ * one. The balance starts full, allowing a burst of retries beyond the share.
+ */
+class RetryBudget {
+
+  // the balance is kept in thousandths of a retry
+  private static final long RETRY = 1000;
+
+  private final long deposit;
+  private final long capacity;
+  private final AtomicLong balance;
+
+  RetryBudget(final double ratio, final int burst) {
+    this.deposit = (long) (ratio * RETRY);
+    this.capacity = burst * RETRY;
+    this.balance = new AtomicLong(capacity);
+  }
+
+  void deposit() {
+    balance.accumulateAndGet(deposit, (current, added) -> Math.min(current + added, capacity));
+  }
+
+  boolean tryWithdraw() {
+    while (true) {
+      final long current = balance.get();
+      if (current < RETRY) {
+        return false;
+      }
+      if (balance.compareAndSet(current, current - RETRY)) {
+        return true;
+      }
+    }
+  }
+}
@@ -0,0 +1,131 @@
+/*
+ * Copyright 2020 ConsenSys AG.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on
+ * an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations under the License.
+ */
+package tech.pegasys.ethsigner.core.requesthandler.sendtransaction;
+
+import tech.pegasys.ethsigner.core.metrics.EthSignerMetrics;
+import tech.pegasys.ethsigner.metrics.Counter;
+import tech.pegasys.ethsigner.metrics.Histogram;
+import tech.pegasys.ethsigner.metrics.LabelledMetric;
+
+import java.net.ConnectException;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+import io.netty.handler.codec.http.HttpResponseStatus;
+import io.vertx.core.http.ConnectionPoolTooBusyException;
+
+/**
+ * Decides whether, and after how long, transactions are retried. Shared by all transactions, so
+ * that their retries draw on one budget.
+ *
+ * <p>Delays grow exponentially with decorrelated jitter: each is drawn at random from between the
+ * base delay and three times the one before, up to the maximum. Transactions rejected together are
+ * so spread out rather than retried in step.
+ */
+public class RetryPolicy {
+
+  public enum Reason {
+    /** The nonce is fetched again and the transaction signed again. */
+    NONCE_TOO_LOW("nonce_too_low"),
+    /** The node never took the transaction, which is sent again as it was. */
+    DOWNSTREAM_UNAVAILABLE("downstream_unavailable");
+
+    private final String label;
+
+    Reason(final String label) {
+      this.label = label;
+    }
+  }
+
+  public enum Outcome {
+    SUCCEEDED("succeeded"),
+    FAILED("failed"),
+    EXHAUSTED("exhausted"),
+    OVER_BUDGET("over_budget");
+
+    private final String label;
+
+    Outcome(final String label) {
+      this.label = label;
+    }
+  }
+
+  // retries allowed beyond the budget's share, such as after an idle spell
+  private static final int BUDGET_BURST = 10;
+
+  private final int maxRetries;
+  private final long baseDelayMillis;
+  private final long maxDelayMillis;
+  private final RetryBudget budget;
+  private final LabelledMetric<Counter> retries;
+  private final LabelledMetric<Counter> outcomes;
+  private final Histogram delays;
+
+  public RetryPolicy(final RetryPolicyOptions options, final EthSignerMetrics metrics) {
+    this.maxRetries = options.getMaxRetries();
+    this.baseDelayMillis = options.getBaseDelay().toMillis();
+    this.maxDelayMillis = options.getMaxDelay().toMillis();
+    this.budget = new RetryBudget(options.getBudgetRatio(), BUDGET_BURST);
+    this.retries = metrics.transactionRetries();
+    this.outcomes = metrics.transactionRetryOutcomes();
+    this.delays = metrics.transactionRetryDelay();
+  }
+
+  public int maxRetries() {
+    return maxRetries;
+  }
+
+  /** Called once for each transaction sent, adding to the retry budget. */
+  void sent() {
+    budget.deposit();
+  }
+
+  /**
+   * Takes a retry from the budget for a transaction retried so many times already.
+   *
+   * @return why the transaction may not be retried, or null if it may.
+   */
+  Outcome refusal(final int retriesPerformed) {
+    if (retriesPerformed >= maxRetries) {
+      return Outcome.EXHAUSTED;
+    }
+    if (!budget.tryWithdraw()) {
+      return Outcome.OVER_BUDGET;
+    }
+    return null;
+  }
+
+  /** The delay before the next retry, given the delay before the last, or 0 for the first. */
+  long nextDelayMillis(final long previousDelayMillis, final Reason reason) {
+    retries.labels(reason.label).inc();
+    final long upper = Math.max(previousDelayMillis, baseDelayMillis) * 3;
+    final long delay =
+        Math.min(ThreadLocalRandom.current().nextLong(baseDelayMillis, upper + 1), maxDelayMillis);
+    delays.observeNanos(TimeUnit.MILLISECONDS.toNanos(delay));
+    return delay;
+  }
+
+  void recordOutcome(final Outcome outcome) {
+    outcomes.labels(outcome.label).inc();
+  }
+
+  /** Whether the node was never reached, or turned the transaction away without looking at it. */
+  static boolean isTransient(final Throwable thrown) {
+    return thrown instanceof ConnectException || thrown instanceof ConnectionPoolTooBusyException;
+  }
+
+  static boolean isTransient(final int statusCode) {
+    return statusCode == HttpResponseStatus.SERVICE_UNAVAILABLE.code()
+        || statusCode == HttpResponseStatus.TOO_MANY_REQUESTS.code();
+  }
+}
@@ -0,0 +1,71 @@
+/*
+ * Copyright 2020 ConsenSys AG.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on
+ * an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations under the License.
+ */
+package tech.pegasys.ethsigner.core.requesthandler.sendtransaction;
+
+import java.time.Duration;
+
+import com.google.common.base.MoreObjects;
+
+public class RetryPolicyOptions {
+
+  public static final RetryPolicyOptions DEFAULT =
+      new RetryPolicyOptions(5, Duration.ofMillis(10), Duration.ofSeconds(1), 0.1);
+
+  private final int maxRetries;
+  private final Duration baseDelay;
+  private final Duration maxDelay;
+  private final double budgetRatio;
+
+  /**
+   * @param maxRetries times any one transaction may be retried.
+   * @param baseDelay the least time before a retry.
+   * @param maxDelay the most time before a retry, however many there have been.
+   * @param budgetRatio retries allowed for each transaction sent, across all transactions.
+   */
+  public RetryPolicyOptions(
+      final int maxRetries,
+      final Duration baseDelay,
+      final Duration maxDelay,
+      final double budgetRatio) {
+    this.maxRetries = maxRetries;
+    this.baseDelay = baseDelay;
+    this.maxDelay = maxDelay;
+    this.budgetRatio = budgetRatio;
+  }
+
+  public int getMaxRetries() {
+    return maxRetries;
+  }
+
+  public Duration getBaseDelay() {
+    return baseDelay;
+  }
+
+  public Duration getMaxDelay() {
+    return maxDelay;
+  }
+
+  public double getBudgetRatio() {
+    return budgetRatio;
+  }
+
+  @Override
+  public String toString() {
+    return MoreObjects.toStringHelper(this)
+        .add("maxRetries", maxRetries)
+        .add("baseDelay", baseDelay)
+        .add("maxDelay", maxDelay)
+        .add("budgetRatio", budgetRatio)
+        .toString();
+  }
+}
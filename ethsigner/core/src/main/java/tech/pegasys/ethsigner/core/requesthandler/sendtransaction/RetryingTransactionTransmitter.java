@@ -15,14 +15,16 @@ package tech.pegasys.ethsigner.core.requesthandler.sendtransaction;
 import static io.netty.handler.codec.http.HttpResponseStatus.BAD_REQUEST;
 import static tech.pegasys.ethsigner.core.jsonrpc.response.JsonRpcError.INTERNAL_ERROR;
 
+import tech.pegasys.ethsigner.core.downstream.DownstreamNode;
 import tech.pegasys.ethsigner.core.jsonrpc.exception.JsonRpcException;
+import tech.pegasys.ethsigner.core.metrics.EthSignerMetrics;
 import tech.pegasys.ethsigner.core.requesthandler.VertxRequestTransmitterFactory;
+import tech.pegasys.ethsigner.core.requesthandler.sendtransaction.RetryPolicy.Reason;
 import tech.pegasys.ethsigner.core.requesthandler.sendtransaction.transaction.Transaction;
 import tech.pegasys.ethsigner.core.signing.TransactionSerializer;
 
 import io.netty.handler.codec.http.HttpResponseStatus;
 import io.vertx.core.buffer.Buffer;
-import io.vertx.core.http.HttpClient;
 import io.vertx.core.http.HttpClientResponse;
 import io.vertx.ext.web.RoutingContext;
 
@@ -31,14 +33,22 @@ public class RetryingTransactionTransmitter extends TransactionTransmitter {
   private final RetryMechanism retryMechanism;
 
   public RetryingTransactionTransmitter(
-      final HttpClient ethNodeClient,
+      final DownstreamNode ethNode,
       final Transaction transaction,
       final TransactionSerializer transactionSerializer,
       final VertxRequestTransmitterFactory vertxTransmitterFactory,
       final RetryMechanism retryMechanism,
+      final RetryPolicy retryPolicy,
+      final EthSignerMetrics metrics,
       final RoutingContext routingContext) {
     super(
-        ethNodeClient, transaction, transactionSerializer, vertxTransmitterFactory, routingContext);
+        ethNode,
+        transaction,
+        transactionSerializer,
+        vertxTransmitterFactory,
+        retryPolicy,
+        metrics,
+        routingContext);
 
     this.retryMechanism = retryMechanism;
   }
@@ -48,9 +58,9 @@ public class RetryingTransactionTransmitter extends TransactionTransmitter {
       final RoutingContext context, final HttpClientResponse response, final Buffer body) {
     if (response.statusCode() != HttpResponseStatus.OK.code()
         && retryMechanism.responseRequiresRetry(response, body)) {
-      if (retryMechanism.retriesAvailable()) {
+      // the retry policy bounds retries of every kind, so is consulted in place of the mechanism
+      if (retry(Reason.NONCE_TOO_LOW, this::resign)) {
         retryMechanism.incrementRetries();
-        send();
       } else {
         context.fail(BAD_REQUEST.code(), new JsonRpcException(INTERNAL_ERROR));
       }
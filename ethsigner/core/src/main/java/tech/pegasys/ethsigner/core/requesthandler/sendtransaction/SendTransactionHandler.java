@@ -13,11 +13,18 @@
 package tech.pegasys.ethsigner.core.requesthandler.sendtransaction;
 
 import static io.netty.handler.codec.http.HttpResponseStatus.BAD_REQUEST;
+import static io.netty.handler.codec.http.HttpResponseStatus.SERVICE_UNAVAILABLE;
 import static tech.pegasys.ethsigner.core.jsonrpc.response.JsonRpcError.INVALID_PARAMS;
+import static tech.pegasys.ethsigner.core.jsonrpc.response.JsonRpcError.REQUEST_LIMIT_EXCEEDED;
 import static tech.pegasys.ethsigner.core.jsonrpc.response.JsonRpcError.SIGNING_FROM_IS_NOT_AN_UNLOCKED_ACCOUNT;
 
+import tech.pegasys.ethsigner.core.downstream.DownstreamNode;
+import tech.pegasys.ethsigner.core.downstream.DownstreamPool;
 import tech.pegasys.ethsigner.core.jsonrpc.JsonRpcRequest;
 import tech.pegasys.ethsigner.core.jsonrpc.exception.JsonRpcException;
+import tech.pegasys.ethsigner.core.metrics.EthSignerMetrics;
+import tech.pegasys.ethsigner.core.metrics.RequestTimings;
+import tech.pegasys.ethsigner.core.metrics.RequestTimings.Stage;
 import tech.pegasys.ethsigner.core.requesthandler.JsonRpcRequestHandler;
 import tech.pegasys.ethsigner.core.requesthandler.VertxRequestTransmitterFactory;
 import tech.pegasys.ethsigner.core.requesthandler.sendtransaction.transaction.Transaction;
@@ -25,10 +32,10 @@ import tech.pegasys.ethsigner.core.requesthandler.sendtransaction.transaction.Tr
 import tech.pegasys.ethsigner.core.signing.TransactionSerializer;
 import tech.pegasys.ethsigner.core.signing.TransactionSigner;
 import tech.pegasys.ethsigner.core.signing.TransactionSignerProvider;
+import tech.pegasys.ethsigner.core.tracing.Span;
 
 import java.util.Optional;
 
-import io.vertx.core.http.HttpClient;
 import io.vertx.core.json.DecodeException;
 import io.vertx.ext.web.RoutingContext;
 import org.apache.logging.log4j.LogManager;
@@ -39,24 +46,31 @@ public class SendTransactionHandler implements JsonRpcRequestHandler {
   private static final Logger LOG = LogManager.getLogger();
 
   private final long chainId;
-  private final HttpClient ethNodeClient;
+  private final DownstreamPool downstreamPool;
   private final TransactionSignerProvider transactionSignerProvider;
   private final TransactionFactory transactionFactory;
   private final VertxRequestTransmitterFactory vertxTransmitterFactory;
-
-  private static final int MAX_NONCE_RETRIES = 5;
+  private final EthSignerMetrics metrics;
+  private final SenderScheduler senderScheduler;
+  private final RetryPolicy retryPolicy;
 
   public SendTransactionHandler(
       final long chainId,
-      final HttpClient ethNodeClient,
+      final DownstreamPool downstreamPool,
       final TransactionSignerProvider transactionSignerProvider,
       final TransactionFactory transactionFactory,
-      final VertxRequestTransmitterFactory vertxTransmitterFactory) {
+      final VertxRequestTransmitterFactory vertxTransmitterFactory,
+      final EthSignerMetrics metrics,
+      final SenderScheduler senderScheduler,
+      final RetryPolicy retryPolicy) {
     this.chainId = chainId;
-    this.ethNodeClient = ethNodeClient;
+    this.downstreamPool = downstreamPool;
     this.transactionSignerProvider = transactionSignerProvider;
     this.transactionFactory = transactionFactory;
     this.vertxTransmitterFactory = vertxTransmitterFactory;
+    this.metrics = metrics;
+    this.senderScheduler = senderScheduler;
+    this.retryPolicy = retryPolicy;
   }
 
   @Override
@@ -74,9 +88,12 @@ public class SendTransactionHandler implements JsonRpcRequestHandler {
       context.fail(BAD_REQUEST.code(), new JsonRpcException(INVALID_PARAMS));
       return;
     }
+    Span.fromContext(context).setAttribute("ethsigner.sender", transaction.sender());
 
+    final long signerLookupStartNanos = System.nanoTime();
     final Optional<TransactionSigner> transactionSigner =
         transactionSignerProvider.getSigner(transaction.sender());
+    RequestTimings.fromContext(context).record(Stage.SIGNER_LOOKUP, signerLookupStartNanos);
 
     if (transactionSigner.isEmpty()) {
       LOG.info("From address ({}) does not match any available account", transaction.sender());
@@ -86,8 +103,16 @@ public class SendTransactionHandler implements JsonRpcRequestHandler {
     }
 
     final TransactionSerializer transactionSerializer =
-        new TransactionSerializer(transactionSigner.get(), chainId);
-    sendTransaction(transaction, transactionSerializer, context, request);
+        new TransactionSerializer(transactionSigner.get(), chainId, metrics);
+    final boolean scheduled =
+        senderScheduler.schedule(
+            context,
+            transaction.sender(),
+            () -> sendTransaction(transaction, transactionSerializer, context, request));
+    if (!scheduled) {
+      LOG.debug("Too many transactions from {} are waiting", transaction.sender());
+      context.fail(SERVICE_UNAVAILABLE.code(), new JsonRpcException(REQUEST_LIMIT_EXCEEDED));
+    }
   }
 
   private void sendTransaction(
@@ -105,23 +130,29 @@ public class SendTransactionHandler implements JsonRpcRequestHandler {
       final TransactionSerializer transactionSerializer,
       final RoutingContext routingContext,
       final JsonRpcRequest request) {
+    // submitted to the node the sender's nonce was looked up on
+    final DownstreamNode ethNode = downstreamPool.selectByAffinity(transaction.sender());
 
     if (!transaction.isNonceUserSpecified()) {
       LOG.debug("Nonce not present in request {}", request.getId());
       return new RetryingTransactionTransmitter(
-          ethNodeClient,
+          ethNode,
           transaction,
           transactionSerializer,
           vertxTransmitterFactory,
-          new NonceTooLowRetryMechanism(MAX_NONCE_RETRIES),
+          new NonceTooLowRetryMechanism(retryPolicy.maxRetries(), metrics.nonceTooLowRetries()),
+          retryPolicy,
+          metrics,
           routingContext);
     } else {
       LOG.debug("Nonce supplied by client, forwarding request");
       return new TransactionTransmitter(
-          ethNodeClient,
+          ethNode,
           transaction,
           transactionSerializer,
           vertxTransmitterFactory,
+          retryPolicy,
+          metrics,
           routingContext);
     }
   }
@@ -0,0 +1,250 @@
+/*
+ * Copyright 2020 ConsenSys AG.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on
+ * an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations under the License.
+ */
+package tech.pegasys.ethsigner.core.requesthandler.sendtransaction;
+
+import tech.pegasys.ethsigner.core.metrics.EthSignerMetrics;
+import tech.pegasys.ethsigner.metrics.Gauge;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Deque;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+
+import io.vertx.ext.web.RoutingContext;
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+
+/**
+ * Shares the signing pipeline between senders, so that one sending many transactions cannot hold up
+ * the others.
+ *
+ * <p>Each sender has a queue of its own, and senders with a transaction waiting take turns to start
+ * one, weighted turns being several in a row (deficit round robin). A sender may only have so many
+ * transactions in flight, matching how many the node will hold for it in its pool.
+ *
+ * <p>A transaction holds its turn, including any retries, until its request ends. Waiting
+ * transactions hold no worker thread.
+ */
+public class SenderScheduler {
+
+  private static final Logger LOG = LogManager.getLogger();
+  private static final String TURN = "ethsigner.senderTurn";
+
+  private final int maxInFlight;
+  private final int maxInFlightPerSender;
+  private final int maxQueuedPerSender;
+  private final Map<String, Integer> senderWeights;
+  // with no limits, transactions are started as they arrive without being tracked
+  private final boolean unlimited;
+  private final EthSignerMetrics metrics;
+  private final Gauge queuedTransactions;
+  private final Map<String, Sender> senders = new HashMap<>();
+  // senders with a transaction waiting which may start it, in the order of their turns
+  private final Deque<Sender> ready = new ArrayDeque<>();
+  private int inFlight;
+
+  public SenderScheduler(final SenderSchedulerOptions options, final EthSignerMetrics metrics) {
+    this.maxInFlight = options.getMaxInFlight();
+    this.maxInFlightPerSender = options.getMaxInFlightPerSender();
+    this.maxQueuedPerSender = options.getMaxQueuedPerSender();
+    this.senderWeights = options.getSenderWeights();
+    this.unlimited =
+        maxInFlight == SenderSchedulerOptions.NO_LIMIT
+            && maxInFlightPerSender == SenderSchedulerOptions.NO_LIMIT;
+    this.metrics = metrics;
+    this.queuedTransactions = metrics.senderQueuedTransactions();
+  }
+
+  /**
+   * Runs the task when it is the sender's turn, which may be before this returns. Otherwise the
+   * task is run by a worker thread once a transaction in flight ends.
+   *
+   * @return false if too many of the sender's transactions are waiting already, leaving the task
+   *     unrun.
+   */
+  public boolean schedule(final RoutingContext context, final String sender, final Runnable task) {
+    if (unlimited) {
+      task.run();
+      return true;
+    }
+
+    final Turn turn = new Turn(context, sender.toLowerCase(Locale.ROOT), task);
+    // a queued turn may be started by a release on another thread as soon as the lock is let go,
+    // in which case that thread runs the task
+    final boolean startedNow;
+    synchronized (this) {
+      final Sender queue = senders.computeIfAbsent(turn.sender, this::createSender);
+      startedNow = inFlight < maxInFlight && queue.hasRoom() && queue.waiting.isEmpty();
+      if (startedNow) {
+        start(queue, turn);
+      } else if (queue.waiting.size() < maxQueuedPerSender) {
+        queue.waiting.addLast(turn);
+        queuedTransactions.inc();
+        if (queue.hasRoom() && !queue.ready) {
+          makeReady(queue);
+        }
+      } else {
+        removeIfUnused(queue);
+        return false;
+      }
+      context.put(TURN, turn);
+    }
+
+    if (startedNow) {
+      task.run();
+    }
+    return true;
+  }
+
+  /** Ends the turn of the request's transaction, or its wait for one, once the request ends. */
+  public static void release(final RoutingContext context) {
+    final Turn turn = context.get(TURN);
+    if (turn != null) {
+      turn.release();
+    }
+  }
+
+  synchronized int inFlight() {
+    return inFlight;
+  }
+
+  synchronized int queued(final String sender) {
+    final Sender queue = senders.get(sender.toLowerCase(Locale.ROOT));
+    return queue == null ? 0 : queue.waiting.size();
+  }
+
+  private Sender createSender(final String address) {
+    return new Sender(address, senderWeights.getOrDefault(address, 1));
+  }
+
+  private void start(final Sender sender, final Turn turn) {
+    sender.inFlight++;
+    inFlight++;
+    turn.started = true;
+  }
+
+  private void makeReady(final Sender sender) {
+    sender.ready = true;
+    sender.credits = sender.weight;
+    ready.addLast(sender);
+  }
+
+  /** Starts waiting transactions, sender by sender, while there is room in the pipeline. */
+  private void startWaiting(final List<Turn> started) {
+    while (inFlight < maxInFlight && !ready.isEmpty()) {
+      final Sender sender = ready.peekFirst();
+      final Turn next = sender.waiting.pollFirst();
+      queuedTransactions.dec();
+      start(sender, next);
+      started.add(next);
+      sender.credits--;
+      if (sender.waiting.isEmpty() || !sender.hasRoom()) {
+        ready.pollFirst();
+        sender.ready = false;
+      } else if (sender.credits == 0) {
+        sender.credits = sender.weight;
+        ready.addLast(ready.pollFirst());
+      }
+    }
+  }
+
+  private void removeIfUnused(final Sender sender) {
+    if (sender.inFlight == 0 && sender.waiting.isEmpty()) {
+      senders.remove(sender.address);
+    }
+  }
+
+  private void run(final Turn turn) {
+    metrics.workerPoolQueuedTasks().inc();
+    turn.context
+        .vertx()
+        .executeBlocking(
+            future -> {
+              metrics.workerPoolQueuedTasks().dec();
+              turn.task.run();
+              future.complete();
+            },
+            false,
+            result -> {
+              if (result.failed()) {
+                LOG.error("Failed to send transaction of {}", turn.sender, result.cause());
+                turn.context.fail(result.cause());
+              }
+            });
+  }
+
+  private class Turn {
+    private final RoutingContext context;
+    private final String sender;
+    private final Runnable task;
+    private boolean started;
+    private boolean released;
+
+    private Turn(final RoutingContext context, final String sender, final Runnable task) {
+      this.context = context;
+      this.sender = sender;
+      this.task = task;
+    }
+
+    private void release() {
+      final List<Turn> started = new ArrayList<>();
+      synchronized (SenderScheduler.this) {
+        if (released) {
+          return;
+        }
+        released = true;
+        final Sender queue = senders.get(sender);
+        if (this.started) {
+          queue.inFlight--;
+          inFlight--;
+          if (!queue.waiting.isEmpty() && !queue.ready) {
+            makeReady(queue);
+          }
+        } else {
+          // the request ended, most likely by its connection closing, while waiting
+          queue.waiting.remove(this);
+          queuedTransactions.dec();
+          if (queue.waiting.isEmpty() && queue.ready) {
+            ready.remove(queue);
+            queue.ready = false;
+          }
+        }
+        startWaiting(started);
+        removeIfUnused(queue);
+      }
+
+      started.forEach(SenderScheduler.this::run);
+    }
+  }
+
+  private class Sender {
+    private final String address;
+    private final int weight;
+    private final Deque<Turn> waiting = new ArrayDeque<>();
+    private int inFlight;
+    private int credits;
+    private boolean ready;
+
+    private Sender(final String address, final int weight) {
+      this.address = address;
+      this.weight = weight;
+    }
+
+    private boolean hasRoom() {
+      return inFlight < maxInFlightPerSender;
+    }
+  }
+}
@@ -0,0 +1,74 @@
+/*
+ * Copyright 2020 ConsenSys AG.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on
+ * an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations under the License.
+ */
+package tech.pegasys.ethsigner.core.requesthandler.sendtransaction;
+
+import java.util.Collections;
+import java.util.Map;
+
+import com.google.common.base.MoreObjects;
+
+public class SenderSchedulerOptions {
+
+  public static final int NO_LIMIT = Integer.MAX_VALUE;
+  public static final SenderSchedulerOptions UNLIMITED =
+      new SenderSchedulerOptions(NO_LIMIT, NO_LIMIT, NO_LIMIT, Collections.emptyMap());
+
+  private final int maxInFlight;
+  private final int maxInFlightPerSender;
+  private final int maxQueuedPerSender;
+  private final Map<String, Integer> senderWeights;
+
+  /**
+   * @param maxInFlight transactions signed and submitted at once, across all senders.
+   * @param maxInFlightPerSender transactions of any one sender signed and submitted at once.
+   * @param maxQueuedPerSender transactions of any one sender waiting for its turn.
+   * @param senderWeights the turns each sender takes for every turn of a sender not listed, by its
+   *     lower case address.
+   */
+  public SenderSchedulerOptions(
+      final int maxInFlight,
+      final int maxInFlightPerSender,
+      final int maxQueuedPerSender,
+      final Map<String, Integer> senderWeights) {
+    this.maxInFlight = maxInFlight;
+    this.maxInFlightPerSender = maxInFlightPerSender;
+    this.maxQueuedPerSender = maxQueuedPerSender;
+    this.senderWeights = senderWeights;
+  }
+
+  public int getMaxInFlight() {
+    return maxInFlight;
+  }
+
+  public int getMaxInFlightPerSender() {
+    return maxInFlightPerSender;
+  }
+
+  public int getMaxQueuedPerSender() {
+    return maxQueuedPerSender;
+  }
+
+  public Map<String, Integer> getSenderWeights() {
+    return senderWeights;
+  }
+
+  @Override
+  public String toString() {
+    return MoreObjects.toStringHelper(this)
+        .add("maxInFlight", maxInFlight)
+        .add("maxInFlightPerSender", maxInFlightPerSender)
+        .add("maxQueuedPerSender", maxQueuedPerSender)
+        .add("senderWeights", senderWeights)
+        .toString();
+  }
+}
@@ -18,13 +18,23 @@ import static io.netty.handler.codec.http.HttpResponseStatus.GATEWAY_TIMEOUT;
 import static tech.pegasys.ethsigner.core.jsonrpc.response.JsonRpcError.CONNECTION_TO_DOWNSTREAM_NODE_TIMED_OUT;
 import static tech.pegasys.ethsigner.core.jsonrpc.response.JsonRpcError.INTERNAL_ERROR;
 
+import tech.pegasys.ethsigner.core.downstream.DownstreamNode;
 import tech.pegasys.ethsigner.core.jsonrpc.JsonRpcRequest;
 import tech.pegasys.ethsigner.core.jsonrpc.exception.JsonRpcException;
 import tech.pegasys.ethsigner.core.jsonrpc.response.JsonRpcError;
+import tech.pegasys.ethsigner.core.metrics.EthSignerMetrics;
+import tech.pegasys.ethsigner.core.metrics.RequestTimings;
+import tech.pegasys.ethsigner.core.metrics.RequestTimings.Stage;
+import tech.pegasys.ethsigner.core.requesthandler.ForwardedHeaders;
 import tech.pegasys.ethsigner.core.requesthandler.VertxRequestTransmitter;
 import tech.pegasys.ethsigner.core.requesthandler.VertxRequestTransmitterFactory;
+import tech.pegasys.ethsigner.core.requesthandler.sendtransaction.RetryPolicy.Outcome;
+import tech.pegasys.ethsigner.core.requesthandler.sendtransaction.RetryPolicy.Reason;
 import tech.pegasys.ethsigner.core.requesthandler.sendtransaction.transaction.Transaction;
 import tech.pegasys.ethsigner.core.signing.TransactionSerializer;
+import tech.pegasys.ethsigner.core.tracing.Span;
+import tech.pegasys.ethsigner.metrics.Gauge;
+import tech.pegasys.ethsigner.metrics.Histogram;
 
 import java.net.SocketException;
 import java.net.SocketTimeoutException;
@@ -32,8 +42,8 @@ import java.util.Optional;
 import java.util.concurrent.TimeoutException;
 import javax.net.ssl.SSLHandshakeException;
 
+import io.netty.handler.codec.http.HttpResponseStatus;
 import io.vertx.core.buffer.Buffer;
-import io.vertx.core.http.HttpClient;
 import io.vertx.core.http.HttpClientRequest;
 import io.vertx.core.http.HttpClientResponse;
 import io.vertx.core.http.HttpServerRequest;
@@ -47,29 +57,53 @@ public class TransactionTransmitter {
 
   private static final Logger LOG = LogManager.getLogger();
 
-  private final HttpClient ethNodeClient;
+  private final DownstreamNode ethNode;
   private final TransactionSerializer transactionSerializer;
   private final Transaction transaction;
   private final VertxRequestTransmitter transmitter;
+  private final RetryPolicy retryPolicy;
   private final RoutingContext routingContext;
+  private final Histogram submissionDuration;
+  private final Gauge workerPoolQueuedTasks;
+  private final Span requestSpan;
+  private final RequestTimings timings;
+  private int attempts;
+  private int retries;
+  private long retryDelayMillis;
+  private boolean outcomeRecorded;
+  private long submissionStartNanos;
+  private Span submissionSpan;
+  private Buffer submittedBody;
 
   public TransactionTransmitter(
-      final HttpClient ethNodeClient,
+      final DownstreamNode ethNode,
       final Transaction transaction,
       final TransactionSerializer transactionSerializer,
       final VertxRequestTransmitterFactory vertxTransmitterFactory,
+      final RetryPolicy retryPolicy,
+      final EthSignerMetrics metrics,
       final RoutingContext routingContext) {
-    this.transmitter = vertxTransmitterFactory.create(this::handleResponseBody);
-    this.ethNodeClient = ethNodeClient;
+    this.transmitter = vertxTransmitterFactory.create(this::submissionResponded);
+    this.ethNode = ethNode;
     this.transaction = transaction;
     this.transactionSerializer = transactionSerializer;
+    this.retryPolicy = retryPolicy;
+    this.submissionDuration = metrics.submissionDuration();
+    this.workerPoolQueuedTasks = metrics.workerPoolQueuedTasks();
     this.routingContext = routingContext;
+    this.requestSpan = Span.fromContext(routingContext);
+    this.timings = RequestTimings.fromContext(routingContext);
   }
 
   public void send() {
+    if (attempts == 0) {
+      retryPolicy.sent();
+    }
+    attempts++;
     final Optional<JsonRpcRequest> request = createSignedTransactionBody();
 
     if (request.isEmpty()) {
+      recordOutcome(Outcome.FAILED);
       return;
     }
 
@@ -89,25 +123,37 @@ public class TransactionTransmitter {
       }
     }
 
+    final Span signingSpan =
+        requestSpan
+            .startChild("sign transaction", Span.Kind.INTERNAL)
+            .setAttribute("ethsigner.attempt", attempts);
+    final long signingStartNanos = System.nanoTime();
     final String signedTransactionHexString;
     try {
       signedTransactionHexString = transactionSerializer.serialize(transaction);
     } catch (final IllegalArgumentException e) {
       LOG.debug("Failed to encode transaction: {}", transaction, e);
+      signingSpan.recordError(e.toString());
       routingContext.fail(BAD_REQUEST.code(), new JsonRpcException(JsonRpcError.INVALID_PARAMS));
       return Optional.empty();
     } catch (final Throwable thrown) {
       LOG.debug("Failed to encode transaction: {}", transaction, thrown);
+      signingSpan.recordError(thrown.toString());
       routingContext.fail(BAD_REQUEST.code(), new JsonRpcException(INTERNAL_ERROR));
       return Optional.empty();
+    } finally {
+      timings.record(Stage.SIGN, signingStartNanos);
+      signingSpan.end();
     }
 
     return Optional.of(transaction.jsonRpcRequest(signedTransactionHexString, transaction.getId()));
   }
 
   private boolean populateNonce() {
+    final long startNanos = System.nanoTime();
     try {
       transaction.updateNonce();
+      timings.record(Stage.NONCE_FETCH, startNanos);
       return true;
     } catch (final RuntimeException e) {
       LOG.warn("Unable to get nonce from web3j provider.", e);
@@ -130,17 +176,106 @@ public class TransactionTransmitter {
   }
 
   private void sendTransaction(final Buffer bodyContent) {
+    submittedBody = bodyContent;
+    submissionStartNanos = System.nanoTime();
+    submissionSpan =
+        requestSpan
+            .startChild("submit transaction", Span.Kind.CLIENT)
+            .setAttribute("ethsigner.attempt", attempts)
+            .setAttribute("net.peer.name", ethNode.name());
     final HttpClientRequest request =
-        ethNodeClient.post("/", response -> transmitter.handleResponse(routingContext, response));
+        ethNode.post("/", response -> transmitter.handleResponse(routingContext, response));
+
+    transmitter.sendRequest(
+        ethNode, request, bodyContent, routingContext, submissionSpan, this::submissionFailed);
+  }
+
+  private void submissionFailed(final Throwable thrown) {
+    if (RetryPolicy.isTransient(thrown) && retry(Reason.DOWNSTREAM_UNAVAILABLE, this::resend)) {
+      return;
+    }
+    recordOutcome(Outcome.FAILED);
+    transmitter.handleException(routingContext, thrown);
+  }
+
+  /**
+   * Retries the transaction once a delay has passed, unless it has been retried too often already
+   * or the retry budget is spent.
+   *
+   * @return whether the transaction is to be retried.
+   */
+  protected boolean retry(final Reason reason, final Runnable attempt) {
+    final Outcome refusal = retryPolicy.refusal(retries);
+    if (refusal != null) {
+      recordOutcome(refusal);
+      return false;
+    }
+    retries++;
+    retryDelayMillis = retryPolicy.nextDelayMillis(retryDelayMillis, reason);
+    timings.retrying();
+    routingContext.vertx().setTimer(retryDelayMillis, timerId -> attempt.run());
+    return true;
+  }
+
+  /** Sends the transaction again as it was signed, for a node which never took it. */
+  private void resend() {
+    attempts++;
+    sendTransaction(submittedBody);
+  }
 
-    transmitter.sendRequest(request, bodyContent, routingContext);
+  /** Fetches the nonce and signs the transaction again before sending it. */
+  protected void resign() {
+    workerPoolQueuedTasks.inc();
+    routingContext
+        .vertx()
+        .executeBlocking(
+            future -> {
+              workerPoolQueuedTasks.dec();
+              send();
+              future.complete();
+            },
+            false,
+            result -> {
+              if (result.failed()) {
+                LOG.error("Failed to retry transaction {}", transaction, result.cause());
+                routingContext.fail(result.cause());
+              }
+            });
+  }
+
+  /** Records how the retries of a transaction turned out, once, if it was retried at all. */
+  private void recordOutcome(final Outcome outcome) {
+    final boolean refused = outcome == Outcome.EXHAUSTED || outcome == Outcome.OVER_BUDGET;
+    if (!outcomeRecorded && (retries > 0 || refused)) {
+      retryPolicy.recordOutcome(outcome);
+      outcomeRecorded = true;
+    }
+  }
+
+  private void submissionResponded(
+      final RoutingContext context, final HttpClientResponse response, final Buffer body) {
+    submissionDuration.observeSince(submissionStartNanos);
+    timings.record(Stage.DOWNSTREAM, submissionStartNanos);
+    submissionSpan.setAttribute("http.status_code", response.statusCode()).end();
+    handleResponseBody(context, response, body);
   }
 
   protected void handleResponseBody(
       final RoutingContext context, final HttpClientResponse response, final Buffer body) {
+    if (RetryPolicy.isTransient(response.statusCode())
+        && retry(Reason.DOWNSTREAM_UNAVAILABLE, this::resend)) {
+      return;
+    }
+    respond(context, response, body);
+  }
+
+  private void respond(
+      final RoutingContext context, final HttpClientResponse response, final Buffer body) {
+    recordOutcome(
+        response.statusCode() == HttpResponseStatus.OK.code() ? Outcome.SUCCEEDED : Outcome.FAILED);
     final HttpServerRequest httpServerRequest = context.request();
     httpServerRequest.response().setStatusCode(response.statusCode());
-    httpServerRequest.response().headers().setAll(response.headers());
+    ForwardedHeaders.copy(response.headers(), httpServerRequest.response().headers());
     httpServerRequest.response().setChunked(false);
     httpServerRequest.response().end(body);
   }
@@ -18,19 +18,23 @@ import tech.pegasys.ethsigner.core.jsonrpc.JsonRpcRequestId;
 import tech.pegasys.ethsigner.core.requesthandler.sendtransaction.NonceProvider;
 
 import java.math.BigInteger;
+import java.util.ArrayList;
 import java.util.List;
 
 import com.google.common.base.MoreObjects;
-import org.web3j.crypto.RawTransaction;
 import org.web3j.crypto.Sign.SignatureData;
-import org.web3j.crypto.TransactionEncoder;
 import org.web3j.rlp.RlpEncoder;
 import org.web3j.rlp.RlpList;
+import org.web3j.rlp.RlpString;
 import org.web3j.rlp.RlpType;
+import org.web3j.utils.Bytes;
+import org.web3j.utils.Numeric;
 
 public class EthTransaction implements Transaction {
 
   private static final String JSON_RPC_METHOD = "eth_sendRawTransaction";
+  private static final byte[] EMPTY_BYTES = new byte[0];
+  private static final int RLP_FIELD_COUNT = 9;
   private final EthSendTransactionJsonParameters transactionJsonParameters;
   private final NonceProvider nonceProvider;
   private final JsonRpcRequestId id;
@@ -53,9 +57,7 @@ public class EthTransaction implements Transaction {
 
   @Override
   public byte[] rlpEncode(final SignatureData signatureData) {
-    final RawTransaction rawTransaction = createTransaction();
-    final List<RlpType> values = TransactionEncoder.asRlpValues(rawTransaction, signatureData);
-    final RlpList rlpList = new RlpList(values);
+    final RlpList rlpList = new RlpList(asRlpValues(signatureData));
     return RlpEncoder.encode(rlpList);
   }
 
@@ -90,13 +92,29 @@ public class EthTransaction implements Transaction {
         .toString();
   }
 
-  private RawTransaction createTransaction() {
-    return RawTransaction.createTransaction(
-        nonce,
-        transactionJsonParameters.gasPrice().orElse(DEFAULT_GAS_PRICE),
-        transactionJsonParameters.gas().orElse(DEFAULT_GAS),
-        transactionJsonParameters.receiver().orElse(DEFAULT_TO),
-        transactionJsonParameters.value().orElse(DEFAULT_VALUE),
-        transactionJsonParameters.data().orElse(DEFAULT_DATA));
+  /**
+   * Equivalent to web3j's TransactionEncoder.asRlpValues, but works from the already decoded
+   * payload bytes rather than round tripping them through a hex string on every encoding.
+   */
+  private List<RlpType> asRlpValues(final SignatureData signatureData) {
+    final List<RlpType> values = new ArrayList<>(RLP_FIELD_COUNT);
+    values.add(RlpString.create(nonce));
+    values.add(RlpString.create(transactionJsonParameters.gasPrice().orElse(DEFAULT_GAS_PRICE)));
+    values.add(RlpString.create(transactionJsonParameters.gas().orElse(DEFAULT_GAS)));
+    // an empty receiver (contract creation) must not be encoded as a numeric zero, and leading
+    // zeros of an address are significant
+    final String receiver = transactionJsonParameters.receiver().orElse(DEFAULT_TO);
+    values.add(
+        RlpString.create(
+            receiver.isEmpty() ? EMPTY_BYTES : Numeric.hexStringToByteArray(receiver)));
+    values.add(RlpString.create(transactionJsonParameters.value().orElse(DEFAULT_VALUE)));
+    values.add(RlpString.create(transactionJsonParameters.data().orElse(EMPTY_BYTES)));
+
+    if (signatureData != null) {
+      values.add(RlpString.create(Bytes.trimLeadingZeroes(signatureData.getV())));
+      values.add(RlpString.create(Bytes.trimLeadingZeroes(signatureData.getR())));
+      values.add(RlpString.create(Bytes.trimLeadingZeroes(signatureData.getS())));
+    }
+    return values;
   }
 }
@@ -17,10 +17,10 @@ import tech.pegasys.ethsigner.core.jsonrpc.EthSendTransactionJsonParameters;
 import tech.pegasys.ethsigner.core.jsonrpc.JsonDecoder;
 import tech.pegasys.ethsigner.core.jsonrpc.JsonRpcRequest;
 import tech.pegasys.ethsigner.core.requesthandler.sendtransaction.NonceProvider;
+import tech.pegasys.ethsigner.core.tracing.Span;
 
 import java.util.List;
 
-import io.vertx.core.json.JsonObject;
 import io.vertx.ext.web.RoutingContext;
 import org.apache.logging.log4j.LogManager;
 import org.apache.logging.log4j.Logger;
@@ -41,23 +41,24 @@ public class TransactionFactory {
 
   public Transaction createTransaction(final RoutingContext context, final JsonRpcRequest request) {
     final String method = request.getMethod().toLowerCase();
-    final VertxNonceRequestTransmitter nonceRequestTransmitter =
-        nonceRequestTransmitterFactory.create(context.request().headers());
 
     switch (method) {
       case "eth_sendtransaction":
-        return createEthTransaction(request, nonceRequestTransmitter);
+        return createEthTransaction(context, request);
       case "eea_sendtransaction":
-        return createEeaTransaction(request, nonceRequestTransmitter);
+        return createEeaTransaction(context, request);
       default:
         throw new IllegalStateException("Unknown send transaction method " + method);
     }
   }
 
   private Transaction createEthTransaction(
-      final JsonRpcRequest request, final VertxNonceRequestTransmitter requestTransmitter) {
+      final RoutingContext context, final JsonRpcRequest request) {
     final EthSendTransactionJsonParameters params =
         fromRpcRequestToJsonParam(EthSendTransactionJsonParameters.class, request);
+    final VertxNonceRequestTransmitter requestTransmitter =
+        nonceRequestTransmitterFactory.create(
+            context.request().headers(), Span.fromContext(context), params.sender());
 
     final NonceProvider ethNonceProvider =
         new EthNonceProvider(params.sender(), requestTransmitter);
@@ -65,10 +66,13 @@ public class TransactionFactory {
   }
 
   private Transaction createEeaTransaction(
-      final JsonRpcRequest request, final VertxNonceRequestTransmitter requestTransmitter) {
+      final RoutingContext context, final JsonRpcRequest request) {
 
     final EeaSendTransactionJsonParameters params =
         fromRpcRequestToJsonParam(EeaSendTransactionJsonParameters.class, request);
+    final VertxNonceRequestTransmitter requestTransmitter =
+        nonceRequestTransmitterFactory.create(
+            context.request().headers(), Span.fromContext(context), params.sender());
 
     if (params.privacyGroupId().isPresent() == params.privateFor().isPresent()) {
       LOG.warn(
@@ -109,8 +113,10 @@ public class TransactionFactory {
       object = params;
     }
 
-    final JsonObject receivedParams = JsonObject.mapFrom(object);
+    if (object == null) {
+      throw new IllegalArgumentException(type.getSimpleName() + " json Rpc requires a parameter");
+    }
 
-    return decoder.decodeValue(receivedParams.toBuffer(), type);
+    return decoder.convertValue(object, type);
   }
 }
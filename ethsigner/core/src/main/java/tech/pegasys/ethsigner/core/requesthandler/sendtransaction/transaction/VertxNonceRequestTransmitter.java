@@ -14,10 +14,15 @@ package tech.pegasys.ethsigner.core.requesthandler.sendtransaction.transaction;
 
 import static java.nio.charset.StandardCharsets.UTF_8;
 
+import tech.pegasys.ethsigner.core.downstream.DownstreamNode;
+import tech.pegasys.ethsigner.core.jfr.NonceFetchEvent;
 import tech.pegasys.ethsigner.core.jsonrpc.JsonDecoder;
 import tech.pegasys.ethsigner.core.jsonrpc.JsonRpcRequest;
 import tech.pegasys.ethsigner.core.jsonrpc.JsonRpcRequestId;
 import tech.pegasys.ethsigner.core.jsonrpc.response.JsonRpcSuccessResponse;
+import tech.pegasys.ethsigner.core.requesthandler.ForwardedHeaders;
+import tech.pegasys.ethsigner.core.tracing.Span;
+import tech.pegasys.ethsigner.metrics.Histogram;
 
 import java.math.BigInteger;
 import java.time.Duration;
@@ -27,7 +32,6 @@ import java.util.concurrent.atomic.AtomicInteger;
 
 import io.vertx.core.MultiMap;
 import io.vertx.core.buffer.Buffer;
-import io.vertx.core.http.HttpClient;
 import io.vertx.core.http.HttpClientRequest;
 import io.vertx.core.http.HttpMethod;
 import io.vertx.core.json.DecodeException;
@@ -41,55 +45,78 @@ public class VertxNonceRequestTransmitter {
 
   private static final Logger LOG = LogManager.getLogger();
 
+  private final String sender;
   private final MultiMap headers;
-  private final HttpClient client;
+  private final Span requestSpan;
+  private final DownstreamNode node;
   private final JsonDecoder decoder;
   private final Duration requestTimeout;
+  private final Histogram fetchDuration;
   private static final AtomicInteger nextId = new AtomicInteger(0);
 
   public VertxNonceRequestTransmitter(
+      final String sender,
       final MultiMap headers,
-      final HttpClient client,
+      final Span requestSpan,
+      final DownstreamNode node,
       final JsonDecoder decoder,
-      final Duration requestTimeout) {
+      final Duration requestTimeout,
+      final Histogram fetchDuration) {
+    this.sender = sender;
     this.headers = headers;
-    this.client = client;
+    this.requestSpan = requestSpan;
+    this.node = node;
     this.decoder = decoder;
     this.requestTimeout = requestTimeout;
+    this.fetchDuration = fetchDuration;
   }
 
   public BigInteger requestNonce(final JsonRpcRequest request) {
-    final CompletableFuture<BigInteger> result = getNonceFromWeb3Provider(request, headers);
+    final NonceFetchEvent event = new NonceFetchEvent(sender, request.getMethod(), node.name());
+    event.begin();
+    final long startNanos = System.nanoTime();
+    final Span span =
+        requestSpan
+            .startChild("fetch nonce", Span.Kind.CLIENT)
+            .setAttribute("rpc.method", request.getMethod())
+            .setAttribute("net.peer.name", node.name());
+    final CompletableFuture<BigInteger> result = getNonceFromWeb3Provider(request, headers, span);
 
     try {
       final BigInteger nonce = result.get();
-      LOG.debug("Supplying nonce of {}", nonce.toString());
+      LOG.debug("Supplying nonce of {}", nonce);
       return nonce;
     } catch (final InterruptedException | ExecutionException e) {
+      span.recordError(String.valueOf(e.getCause()));
+      event.failed(e.getCause());
       throw new RuntimeException("Failed to retrieve nonce:" + e.getMessage(), e.getCause());
+    } finally {
+      fetchDuration.observeSince(startNanos);
+      span.end();
+      event.commit();
     }
   }
 
   private CompletableFuture<BigInteger> getNonceFromWeb3Provider(
-      final JsonRpcRequest requestBody, final MultiMap headers) {
+      final JsonRpcRequest requestBody, final MultiMap headers, final Span span) {
 
     requestBody.setId(new JsonRpcRequestId(nextId.getAndIncrement()));
 
     final CompletableFuture<BigInteger> result = new CompletableFuture<>();
 
     final HttpClientRequest request =
-        client.request(
+        node.request(
             HttpMethod.POST,
             "/",
             response -> response.bodyHandler(responseBody -> handleResponse(responseBody, result)));
 
     request.setTimeout(requestTimeout.toMillis());
-    request.headers().setAll(headers);
-    request.exceptionHandler(result::completeExceptionally);
-    request.headers().remove("Content-Length"); // created during 'end'.
+    ForwardedHeaders.copy(headers, request.headers());
+    span.injectInto(request.headers());
     request.setChunked(false);
-    request.end(Json.encode(requestBody));
-    LOG.info("Transmitted {}", Json.encode(requestBody));
+    final Buffer encodedBody = Json.encodeToBuffer(requestBody);
+    node.connectionPool().end(request, encodedBody, result::completeExceptionally);
+    LOG.debug("Transmitted {}", encodedBody);
 
     return result;
   }
@@ -12,27 +12,43 @@
  */
 package tech.pegasys.ethsigner.core.requesthandler.sendtransaction.transaction;
 
+import tech.pegasys.ethsigner.core.downstream.DownstreamPool;
 import tech.pegasys.ethsigner.core.jsonrpc.JsonDecoder;
+import tech.pegasys.ethsigner.core.tracing.Span;
+import tech.pegasys.ethsigner.metrics.Histogram;
 
 import java.time.Duration;
 
 import io.vertx.core.MultiMap;
-import io.vertx.core.http.HttpClient;
 
 public class VertxNonceRequestTransmitterFactory {
 
-  private final HttpClient client;
+  private final DownstreamPool downstreamPool;
   private final JsonDecoder decoder;
   private final Duration requestTimeout;
+  private final Histogram fetchDuration;
 
   public VertxNonceRequestTransmitterFactory(
-      final HttpClient client, final JsonDecoder decoder, final Duration requestTimeout) {
-    this.client = client;
+      final DownstreamPool downstreamPool,
+      final JsonDecoder decoder,
+      final Duration requestTimeout,
+      final Histogram fetchDuration) {
+    this.downstreamPool = downstreamPool;
     this.decoder = decoder;
     this.requestTimeout = requestTimeout;
+    this.fetchDuration = fetchDuration;
   }
 
-  public VertxNonceRequestTransmitter create(final MultiMap headers) {
-    return new VertxNonceRequestTransmitter(headers, client, decoder, requestTimeout);
+  /** Nonces of a sender are always requested from the same node, while it is available. */
+  public VertxNonceRequestTransmitter create(
+      final MultiMap headers, final Span requestSpan, final String sender) {
+    return new VertxNonceRequestTransmitter(
+        sender,
+        headers,
+        requestSpan,
+        downstreamPool.selectByAffinity(sender),
+        decoder,
+        requestTimeout,
+        fetchDuration);
   }
 }
@@ -12,7 +12,11 @@
  */
 package tech.pegasys.ethsigner.core.signing;
 
+import tech.pegasys.ethsigner.core.jfr.TransactionSerializationEvent;
+import tech.pegasys.ethsigner.core.jfr.TransactionSigningEvent;
+import tech.pegasys.ethsigner.core.metrics.EthSignerMetrics;
 import tech.pegasys.ethsigner.core.requesthandler.sendtransaction.transaction.Transaction;
+import tech.pegasys.ethsigner.metrics.Histogram;
 
 import org.web3j.crypto.Sign.SignatureData;
 import org.web3j.crypto.TransactionEncoder;
@@ -22,16 +26,34 @@ public class TransactionSerializer {
 
   private final TransactionSigner signer;
   private final long chainId;
+  private final String signerType;
+  private final Histogram signingDuration;
+  private final Histogram serializationDuration;
 
-  public TransactionSerializer(final TransactionSigner signer, final long chainId) {
+  public TransactionSerializer(
+      final TransactionSigner signer, final long chainId, final EthSignerMetrics metrics) {
     this.signer = signer;
     this.chainId = chainId;
+    this.signerType = signer.getClass().getSimpleName();
+    this.signingDuration = metrics.signingDuration().labels(signerType);
+    this.serializationDuration = metrics.serializationDuration();
   }
 
   public String serialize(final Transaction transaction) {
+    final TransactionSerializationEvent serializationEvent =
+        new TransactionSerializationEvent(transaction.sender(), signerType, chainId);
+    serializationEvent.begin();
+    final long encodeStartNanos = System.nanoTime();
     final byte[] bytesToSign = transaction.rlpEncode(chainId);
 
+    final TransactionSigningEvent signingEvent =
+        new TransactionSigningEvent(transaction.sender(), signerType);
+    signingEvent.begin();
+    final long signStartNanos = System.nanoTime();
     final Signature signature = signer.sign(bytesToSign);
+    final long signEndNanos = System.nanoTime();
+    signingEvent.commit();
+    signingDuration.observeNanos(signEndNanos - signStartNanos);
 
     final SignatureData web3jSignature =
         new SignatureData(
@@ -43,7 +65,11 @@ public class TransactionSerializer {
         TransactionEncoder.createEip155SignatureData(web3jSignature, chainId);
 
     final byte[] serializedBytes = transaction.rlpEncode(eip155Signature);
-    return Numeric.toHexString(serializedBytes);
+    final String serialized = Numeric.toHexString(serializedBytes);
+    serializationDuration.observeNanos(
+        (signStartNanos - encodeStartNanos) + (System.nanoTime() - signEndNanos));
+    serializationEvent.commit();
+    return serialized;
   }
 
   public String getAddress() {
@@ -0,0 +1,37 @@
+/*
+ * Copyright 2020 ConsenSys AG.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on
+ * an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations under the License.
+ */
+package tech.pegasys.ethsigner.core.tracing;
+
+import java.util.concurrent.TimeUnit;
+
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+
+public class LogSpanExporter implements SpanExporter {
+
+  private static final Logger LOG = LogManager.getLogger();
+
+  @Override
+  public void export(final Span span) {
+    LOG.info(
+        "Span {} ({}) trace={} span={} parent={} took {}us{} {}",
+        span.name(),
+        span.kind(),
+        span.traceId(),
+        span.spanId(),
+        span.parentSpanId().orElse("none"),
+        TimeUnit.NANOSECONDS.toMicros(span.endEpochNanos() - span.startEpochNanos()),
+        span.error().map(error -> " failed: " + error).orElse(""),
+        span.attributes());
+  }
+}
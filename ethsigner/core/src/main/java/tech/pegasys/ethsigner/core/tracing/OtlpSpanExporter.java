@@ -0,0 +1,167 @@
+/*
+ * Copyright 2020 ConsenSys AG.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on
+ * an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations under the License.
+ */
+package tech.pegasys.ethsigner.core.tracing;
+
+import java.time.Duration;
+import java.util.Map;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+import com.google.common.net.HostAndPort;
+import io.netty.handler.codec.http.HttpHeaderNames;
+import io.netty.handler.codec.http.HttpHeaderValues;
+import io.vertx.core.Vertx;
+import io.vertx.core.http.HttpClient;
+import io.vertx.core.http.HttpClientOptions;
+import io.vertx.core.http.HttpClientRequest;
+import io.vertx.core.json.JsonArray;
+import io.vertx.core.json.JsonObject;
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+
+/**
+ * Sends spans to an OpenTelemetry collector in batches, using OTLP over HTTP with JSON encoding.
+ *
+ * <p>Spans are queued as they end and sent periodically. Should the collector fall behind, spans
+ * are dropped rather than holding up the requests they belong to.
+ */
+public class OtlpSpanExporter implements SpanExporter {
+
+  private static final Logger LOG = LogManager.getLogger();
+  private static final String TRACES_PATH = "/v1/traces";
+  private static final String SERVICE_NAME = "ethsigner";
+  private static final int MAX_QUEUED_SPANS = 2048;
+  private static final int MAX_BATCH_SIZE = 512;
+  private static final Duration EXPORT_TIMEOUT = Duration.ofSeconds(10);
+  // OTLP status codes and span kinds
+  private static final int STATUS_CODE_ERROR = 2;
+  private static final Map<Span.Kind, Integer> SPAN_KINDS =
+      Map.of(Span.Kind.INTERNAL, 1, Span.Kind.SERVER, 2, Span.Kind.CLIENT, 3);
+
+  private final HttpClient client;
+  private final Queue<Span> queue = new ConcurrentLinkedQueue<>();
+  private final AtomicInteger queued = new AtomicInteger();
+  private final AtomicLong dropped = new AtomicLong();
+
+  public OtlpSpanExporter(
+      final Vertx vertx, final HostAndPort collector, final Duration exportInterval) {
+    this.client =
+        vertx.createHttpClient(
+            new HttpClientOptions()
+                .setDefaultHost(collector.getHost())
+                .setDefaultPort(collector.getPort()));
+    vertx.setPeriodic(exportInterval.toMillis(), id -> exportQueued());
+  }
+
+  @Override
+  public void export(final Span span) {
+    if (queued.incrementAndGet() > MAX_QUEUED_SPANS) {
+      queued.decrementAndGet();
+      dropped.incrementAndGet();
+      return;
+    }
+    queue.add(span);
+  }
+
+  private void exportQueued() {
+    final long droppedSpans = dropped.getAndSet(0);
+    if (droppedSpans > 0) {
+      LOG.warn("Dropped {} spans which could not be exported quickly enough", droppedSpans);
+    }
+    while (!queue.isEmpty()) {
+      final JsonArray spans = new JsonArray();
+      Span span;
+      while (spans.size() < MAX_BATCH_SIZE && (span = queue.poll()) != null) {
+        queued.decrementAndGet();
+        spans.add(encode(span));
+      }
+      send(spans);
+    }
+  }
+
+  private void send(final JsonArray spans) {
+    final HttpClientRequest request =
+        client.post(
+            TRACES_PATH,
+            response -> {
+              if (response.statusCode() / 100 != 2) {
+                LOG.warn(
+                    "Collector rejected {} spans with status {}",
+                    spans.size(),
+                    response.statusCode());
+              }
+            });
+    request.setTimeout(EXPORT_TIMEOUT.toMillis());
+    request.exceptionHandler(
+        thrown -> LOG.warn("Failed to export {} spans: {}", spans.size(), thrown.getMessage()));
+    request.putHeader(HttpHeaderNames.CONTENT_TYPE, HttpHeaderValues.APPLICATION_JSON);
+    request.end(exportRequest(spans).toBuffer());
+  }
+
+  private static JsonObject exportRequest(final JsonArray spans) {
+    final JsonObject resource =
+        new JsonObject()
+            .put("attributes", new JsonArray().add(attribute("service.name", SERVICE_NAME)));
+    final JsonObject scopeSpans =
+        new JsonObject()
+            .put("scope", new JsonObject().put("name", SERVICE_NAME))
+            .put("spans", spans);
+    return new JsonObject()
+        .put(
+            "resourceSpans",
+            new JsonArray()
+                .add(
+                    new JsonObject()
+                        .put("resource", resource)
+                        .put("scopeSpans", new JsonArray().add(scopeSpans))));
+  }
+
+  static JsonObject encode(final Span span) {
+    final JsonArray attributes = new JsonArray();
+    span.attributes().forEach((key, value) -> attributes.add(attribute(key, value)));
+    final JsonObject encoded =
+        new JsonObject()
+            .put("traceId", span.traceId())
+            .put("spanId", span.spanId())
+            .put("name", span.name())
+            .put("kind", SPAN_KINDS.get(span.kind()))
+            // 64 bit integers are encoded as strings
+            .put("startTimeUnixNano", Long.toString(span.startEpochNanos()))
+            .put("endTimeUnixNano", Long.toString(span.endEpochNanos()))
+            .put("attributes", attributes);
+    span.parentSpanId().ifPresent(parentSpanId -> encoded.put("parentSpanId", parentSpanId));
+    span.error()
+        .ifPresent(
+            error ->
+                encoded.put(
+                    "status",
+                    new JsonObject().put("code", STATUS_CODE_ERROR).put("message", error)));
+    return encoded;
+  }
+
+  private static JsonObject attribute(final String key, final Object value) {
+    final JsonObject encodedValue = new JsonObject();
+    if (value instanceof Boolean) {
+      encodedValue.put("boolValue", value);
+    } else if (value instanceof Integer || value instanceof Long) {
+      encodedValue.put("intValue", value.toString());
+    } else if (value instanceof Double) {
+      encodedValue.put("doubleValue", value);
+    } else {
+      encodedValue.put("stringValue", String.valueOf(value));
+    }
+    return new JsonObject().put("key", key).put("value", encodedValue);
+  }
+}
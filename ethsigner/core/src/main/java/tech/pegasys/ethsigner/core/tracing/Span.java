@@ -0,0 +1,177 @@
+/*
+ * Copyright 2020 ConsenSys AG.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on
+ * an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations under the License.
+ */
+package tech.pegasys.ethsigner.core.tracing;
+
+import java.time.Instant;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import io.vertx.core.MultiMap;
+import io.vertx.ext.web.RoutingContext;
+
+/**
+ * A timed stage in the handling of a request, exported once it ends if its trace was sampled.
+ *
+ * <p>Spans of traces which are not sampled record nothing, but still carry their context so it can
+ * be propagated downstream. Their children are the span itself, so an unsampled request costs no
+ * more than a sampled one would without tracing.
+ */
+public class Span {
+
+  private static final String ROUTING_CONTEXT_KEY = "ethsigner.span";
+
+  /** Neither recorded nor propagated, as used when tracing is disabled. */
+  public static final Span NOOP = new Span(null, null, null, Kind.INTERNAL, "");
+
+  public enum Kind {
+    INTERNAL,
+    SERVER,
+    CLIENT
+  }
+
+  private final SpanExporter exporter;
+  private final TraceContext context;
+  private final String parentSpanId;
+  private final Kind kind;
+  private final long startEpochNanos;
+  private final long startNanos;
+  private final Map<String, Object> attributes = new LinkedHashMap<>();
+  private final AtomicBoolean ended = new AtomicBoolean();
+  private String name;
+  private String error;
+  private long durationNanos;
+
+  /**
+   * @param exporter the destination of the span once ended, or null if it is not recorded.
+   * @param context the context propagated downstream, or null if there is none.
+   */
+  Span(
+      final SpanExporter exporter,
+      final TraceContext context,
+      final String parentSpanId,
+      final Kind kind,
+      final String name) {
+    this.exporter = exporter;
+    this.context = context;
+    this.parentSpanId = parentSpanId;
+    this.kind = kind;
+    this.name = name;
+    if (exporter != null) {
+      final Instant now = Instant.now();
+      this.startEpochNanos = now.getEpochSecond() * 1_000_000_000L + now.getNano();
+      this.startNanos = System.nanoTime();
+    } else {
+      this.startEpochNanos = 0;
+      this.startNanos = 0;
+    }
+  }
+
+  /** The span of the request being handled, or {@link #NOOP} if it is not traced. */
+  public static Span fromContext(final RoutingContext routingContext) {
+    final Span span = routingContext.get(ROUTING_CONTEXT_KEY);
+    return span == null ? NOOP : span;
+  }
+
+  public void attachTo(final RoutingContext routingContext) {
+    routingContext.put(ROUTING_CONTEXT_KEY, this);
+  }
+
+  public Span startChild(final String name, final Kind kind) {
+    if (exporter == null) {
+      return this;
+    }
+    return new Span(exporter, context.newSpan(), context.spanId(), kind, name);
+  }
+
+  /** Sets the traceparent of a request sent downstream, making this span the parent of its own. */
+  public void injectInto(final MultiMap headers) {
+    if (context != null) {
+      headers.set(TraceContext.TRACEPARENT, context.toTraceparent());
+    }
+  }
+
+  public boolean isRecording() {
+    return exporter != null;
+  }
+
+  public synchronized Span updateName(final String name) {
+    if (exporter != null) {
+      this.name = name;
+    }
+    return this;
+  }
+
+  public synchronized Span setAttribute(final String key, final Object value) {
+    if (exporter != null) {
+      attributes.put(key, value);
+    }
+    return this;
+  }
+
+  public synchronized Span recordError(final String description) {
+    if (exporter != null) {
+      this.error = description;
+    }
+    return this;
+  }
+
+  /** Exports the span, if it is recorded. Only the first call has any effect. */
+  public void end() {
+    if (exporter == null || !ended.compareAndSet(false, true)) {
+      return;
+    }
+    synchronized (this) {
+      durationNanos = System.nanoTime() - startNanos;
+    }
+    exporter.export(this);
+  }
+
+  public synchronized String name() {
+    return name;
+  }
+
+  public Kind kind() {
+    return kind;
+  }
+
+  public String traceId() {
+    return context.traceId();
+  }
+
+  public String spanId() {
+    return context.spanId();
+  }
+
+  /** @return empty if this is the root of its trace. */
+  public Optional<String> parentSpanId() {
+    return Optional.ofNullable(parentSpanId);
+  }
+
+  public long startEpochNanos() {
+    return startEpochNanos;
+  }
+
+  public synchronized long endEpochNanos() {
+    return startEpochNanos + durationNanos;
+  }
+
+  public synchronized Map<String, Object> attributes() {
+    return new LinkedHashMap<>(attributes);
+  }
+
+  public synchronized Optional<String> error() {
+    return Optional.ofNullable(error);
+  }
+}
@@ -0,0 +1,152 @@
+/*
+ * Copyright 2020 ConsenSys AG.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on
+ * an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations under the License.
+ */
+package tech.pegasys.ethsigner.core.tracing;
+
+import java.util.Optional;
+import java.util.concurrent.ThreadLocalRandom;
+
+import com.google.common.base.MoreObjects;
+
+/**
+ * Identifies a span within a trace, as carried between processes by the W3C Trace Context {@code
+ * traceparent} header (https://www.w3.org/TR/trace-context/).
+ */
+public class TraceContext {
+
+  public static final String TRACEPARENT = "traceparent";
+
+  private static final String VERSION = "00";
+  private static final int TRACE_ID_LENGTH = 32;
+  private static final int SPAN_ID_LENGTH = 16;
+  // version-traceid-parentid-flags
+  private static final int TRACEPARENT_LENGTH = 55;
+  private static final int SAMPLED_FLAG = 0x01;
+  private static final char[] HEX_DIGITS = "0123456789abcdef".toCharArray();
+
+  private final String traceId;
+  private final String spanId;
+  private final boolean sampled;
+
+  private TraceContext(final String traceId, final String spanId, final boolean sampled) {
+    this.traceId = traceId;
+    this.spanId = spanId;
+    this.sampled = sampled;
+  }
+
+  /** The context of a span starting a new trace. */
+  static TraceContext newTrace(final boolean sampled) {
+    final ThreadLocalRandom random = ThreadLocalRandom.current();
+    final String traceId = randomId(random, TRACE_ID_LENGTH);
+    return new TraceContext(traceId, randomId(random, SPAN_ID_LENGTH), sampled);
+  }
+
+  /** The context of a span within the same trace as this one. */
+  TraceContext newSpan() {
+    return new TraceContext(
+        traceId, randomId(ThreadLocalRandom.current(), SPAN_ID_LENGTH), sampled);
+  }
+
+  /**
+   * Parses a {@code traceparent} header, ignoring fields appended by versions later than the one
+   * understood here.
+   *
+   * @return empty if the header is absent or malformed, in which case a new trace is started.
+   */
+  public static Optional<TraceContext> fromTraceparent(final String traceparent) {
+    if (traceparent == null || traceparent.length() < TRACEPARENT_LENGTH) {
+      return Optional.empty();
+    }
+    final String version = traceparent.substring(0, 2);
+    if (!isHex(version) || version.equals("ff")) {
+      return Optional.empty();
+    }
+    if (traceparent.length() > TRACEPARENT_LENGTH
+        && (version.equals(VERSION) || traceparent.charAt(TRACEPARENT_LENGTH) != '-')) {
+      return Optional.empty();
+    }
+    if (traceparent.charAt(2) != '-'
+        || traceparent.charAt(35) != '-'
+        || traceparent.charAt(52) != '-') {
+      return Optional.empty();
+    }
+    final String traceId = traceparent.substring(3, 35);
+    final String spanId = traceparent.substring(36, 52);
+    final String flags = traceparent.substring(53, 55);
+    if (!isHex(traceId) || !isHex(spanId) || !isHex(flags) || isZero(traceId) || isZero(spanId)) {
+      return Optional.empty();
+    }
+    final boolean sampled = (Integer.parseInt(flags, 16) & SAMPLED_FLAG) != 0;
+    return Optional.of(new TraceContext(traceId, spanId, sampled));
+  }
+
+  public String toTraceparent() {
+    return VERSION + "-" + traceId + "-" + spanId + (sampled ? "-01" : "-00");
+  }
+
+  public String traceId() {
+    return traceId;
+  }
+
+  public String spanId() {
+    return spanId;
+  }
+
+  public boolean isSampled() {
+    return sampled;
+  }
+
+  private static boolean isHex(final String value) {
+    for (int i = 0; i < value.length(); i++) {
+      final char c = value.charAt(i);
+      if ((c < '0' || c > '9') && (c < 'a' || c > 'f')) {
+        return false;
+      }
+    }
+    return true;
+  }
+
+  private static boolean isZero(final String value) {
+    for (int i = 0; i < value.length(); i++) {
+      if (value.charAt(i) != '0') {
+        return false;
+      }
+    }
+    return true;
+  }
+
+  private static String randomId(final ThreadLocalRandom random, final int length) {
+    final char[] id = new char[length];
+    boolean zero = true;
+    long bits = 0;
+    for (int i = 0; i < length; i++) {
+      if (i % 16 == 0) {
+        bits = random.nextLong();
+      }
+      final int digit = (int) (bits & 0xF);
+      zero &= digit == 0;
+      id[i] = HEX_DIGITS[digit];
+      bits >>>= 4;
+    }
+    // an id of all zeros is invalid, however unlikely
+    return zero ? randomId(random, length) : new String(id);
+  }
+
+  @Override
+  public String toString() {
+    return MoreObjects.toStringHelper(this)
+        .add("traceId", traceId)
+        .add("spanId", spanId)
+        .add("sampled", sampled)
+        .toString();
+  }
+}
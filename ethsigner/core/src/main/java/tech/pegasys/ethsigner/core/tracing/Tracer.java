@@ -0,0 +1,57 @@
+/*
+ * Copyright 2020 ConsenSys AG.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on
+ * an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations under the License.
+ */
+package tech.pegasys.ethsigner.core.tracing;
+
+import java.util.Optional;
+import java.util.concurrent.ThreadLocalRandom;
+
+import io.vertx.core.MultiMap;
+
+/**
+ * Starts the span of each request received, continuing the trace of the client if it sent a {@code
+ * traceparent} header.
+ *
+ * <p>A trace continued from a client is recorded if the client sampled it. Otherwise a new trace is
+ * recorded for the configured proportion of requests.
+ */
+public class Tracer {
+
+  public static final Tracer DISABLED = new Tracer(0, null);
+
+  private final double sampleRatio;
+  private final SpanExporter exporter;
+
+  public Tracer(final double sampleRatio, final SpanExporter exporter) {
+    this.sampleRatio = sampleRatio;
+    this.exporter = exporter;
+  }
+
+  public Span startRequestSpan(final String name, final MultiMap requestHeaders) {
+    if (exporter == null) {
+      return Span.NOOP;
+    }
+    final Optional<TraceContext> clientContext =
+        TraceContext.fromTraceparent(requestHeaders.get(TraceContext.TRACEPARENT));
+    if (clientContext.isPresent()) {
+      final TraceContext parent = clientContext.get();
+      return parent.isSampled()
+          ? new Span(exporter, parent.newSpan(), parent.spanId(), Span.Kind.SERVER, name)
+          // passed downstream unchanged
+          : new Span(null, parent, null, Span.Kind.SERVER, name);
+    }
+    if (sampleRatio > 0 && ThreadLocalRandom.current().nextDouble() < sampleRatio) {
+      return new Span(exporter, TraceContext.newTrace(true), null, Span.Kind.SERVER, name);
+    }
+    return Span.NOOP;
+  }
+}
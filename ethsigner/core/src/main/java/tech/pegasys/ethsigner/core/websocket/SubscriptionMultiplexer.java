@@ -0,0 +1,493 @@
+/*
+ * Copyright 2020 ConsenSys AG.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on
+ * an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations under the License.
+ */
+package tech.pegasys.ethsigner.core.websocket;
+
+import static tech.pegasys.ethsigner.core.jsonrpc.RpcUtil.JSON_RPC_VERSION;
+
+import tech.pegasys.ethsigner.core.jsonrpc.response.JsonRpcError;
+import tech.pegasys.ethsigner.core.jsonrpc.response.JsonRpcErrorResponseEncoder;
+import tech.pegasys.ethsigner.core.jsonrpc.response.JsonRpcSuccessResponse;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.concurrent.TimeoutException;
+
+import io.vertx.core.AsyncResult;
+import io.vertx.core.Context;
+import io.vertx.core.Future;
+import io.vertx.core.Handler;
+import io.vertx.core.Vertx;
+import io.vertx.core.buffer.Buffer;
+import io.vertx.core.http.HttpClient;
+import io.vertx.core.http.WebSocket;
+import io.vertx.core.json.DecodeException;
+import io.vertx.core.json.Json;
+import io.vertx.core.json.JsonArray;
+import io.vertx.core.json.JsonObject;
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+
+/**
+ * Shares the subscriptions of WebSocket clients, holding a single subscription on the downstream
+ * node for each distinct subscription type and filter, the notifications of which are fanned out to
+ * every client subscribed to it.
+ *
+ * <p>Clients are given subscription ids of their own, so their subscriptions outlive the WebSocket
+ * to the node; should it close, the downstream subscriptions are made again once reconnected.
+ *
+ * <p>All state is confined to the context the multiplexer was created on.
+ */
+public class SubscriptionMultiplexer {
+
+  private static final Logger LOG = LogManager.getLogger();
+  private static final Duration RECONNECT_DELAY = Duration.ofSeconds(1);
+  private static final String SUBSCRIBE_METHOD = "eth_subscribe";
+  private static final String NOTIFICATION_METHOD = "eth_subscription";
+  private static final String NOTIFICATION_PREFIX =
+      "{\"jsonrpc\":\""
+          + JSON_RPC_VERSION
+          + "\",\"method\":\""
+          + NOTIFICATION_METHOD
+          + "\",\"params\":{\"subscription\":\"";
+  private static final String NOTIFICATION_RESULT = "\",\"result\":";
+  private static final String NOTIFICATION_SUFFIX = "}}";
+
+  private final Vertx vertx;
+  private final Context context;
+  private final HttpClient client;
+  private final Duration requestTimeout;
+  private final Map<String, Topic> topicsByKey = new HashMap<>();
+  private final Map<String, Topic> topicsByDownstreamId = new HashMap<>();
+  private final Map<String, Topic> topicsBySubscriptionId = new HashMap<>();
+  private final Map<Long, PendingCall> pendingCalls = new HashMap<>();
+  // subscriptions the node may yet make after they were given up on, to be unsubscribed from
+  private final Set<Long> timedOutSubscribeCalls = new HashSet<>();
+  private long lastCallId = 0;
+  private long lastSubscriptionId = 0;
+  private WebSocket socket;
+  private boolean connecting = false;
+  private boolean reconnectScheduled = false;
+
+  /**
+   * @param client connects to the WebSocket of the downstream node, at its default host and port.
+   * @param requestTimeout how long to wait for the node to respond to a subscription request.
+   */
+  public SubscriptionMultiplexer(
+      final Vertx vertx, final HttpClient client, final Duration requestTimeout) {
+    this.vertx = vertx;
+    this.context = vertx.getOrCreateContext();
+    this.client = client;
+    this.requestTimeout = requestTimeout;
+  }
+
+  /** Handles an eth_subscribe request, passing its response to the response handler. */
+  void subscribe(
+      final WebSocketConnection connection,
+      final Object requestId,
+      final JsonArray params,
+      final Handler<Buffer> responseHandler) {
+    context.runOnContext(
+        v ->
+            addSubscriber(new PendingSubscription(connection, requestId, responseHandler), params));
+  }
+
+  /** Handles an eth_unsubscribe request, passing its response to the response handler. */
+  void unsubscribe(
+      final WebSocketConnection connection,
+      final Object requestId,
+      final JsonArray params,
+      final Handler<Buffer> responseHandler) {
+    context.runOnContext(v -> removeSubscriber(connection, requestId, params, responseHandler));
+  }
+
+  /** Removes every subscription of a connection which has closed. */
+  void unsubscribeAll(final WebSocketConnection connection) {
+    context.runOnContext(v -> removeConnection(connection));
+  }
+
+  private void addSubscriber(final PendingSubscription subscription, final JsonArray params) {
+    if (params.isEmpty() || !(params.getValue(0) instanceof String)) {
+      subscription.fail(JsonRpcError.INVALID_PARAMS);
+      return;
+    }
+
+    final String key = Json.encode(canonical(params));
+    final Topic topic = topicsByKey.computeIfAbsent(key, k -> new Topic(k, params));
+    if (topic.downstreamId != null) {
+      accept(topic, subscription);
+      return;
+    }
+
+    topic.pendingSubscriptions.add(subscription);
+    subscribeDownstream(topic);
+  }
+
+  private void accept(final Topic topic, final PendingSubscription subscription) {
+    final String subscriptionId = "0x" + Long.toHexString(++lastSubscriptionId);
+    topic.subscribers.put(subscriptionId, subscription.connection);
+    topicsBySubscriptionId.put(subscriptionId, topic);
+    subscription.respond(
+        Json.encodeToBuffer(new JsonRpcSuccessResponse(subscription.requestId, subscriptionId)));
+  }
+
+  private void removeSubscriber(
+      final WebSocketConnection connection,
+      final Object requestId,
+      final JsonArray params,
+      final Handler<Buffer> responseHandler) {
+    final Object subscriptionId = params.isEmpty() ? null : params.getValue(0);
+    final Topic topic = topicsBySubscriptionId.get(subscriptionId);
+    if (topic == null || topic.subscribers.get(subscriptionId) != connection) {
+      responseHandler.handle(
+          JsonRpcErrorResponseEncoder.encode(requestId, JsonRpcError.SUBSCRIPTION_NOT_FOUND));
+      return;
+    }
+
+    topic.subscribers.remove(subscriptionId);
+    topicsBySubscriptionId.remove(subscriptionId);
+    releaseIfUnused(topic);
+    responseHandler.handle(Json.encodeToBuffer(new JsonRpcSuccessResponse(requestId, true)));
+  }
+
+  private void removeConnection(final WebSocketConnection connection) {
+    for (final Topic topic : List.copyOf(topicsByKey.values())) {
+      final Iterator<Map.Entry<String, WebSocketConnection>> subscribers =
+          topic.subscribers.entrySet().iterator();
+      while (subscribers.hasNext()) {
+        final Map.Entry<String, WebSocketConnection> subscriber = subscribers.next();
+        if (subscriber.getValue() == connection) {
+          topicsBySubscriptionId.remove(subscriber.getKey());
+          subscribers.remove();
+        }
+      }
+      topic.pendingSubscriptions.removeIf(subscription -> subscription.connection == connection);
+      releaseIfUnused(topic);
+    }
+  }
+
+  private void releaseIfUnused(final Topic topic) {
+    if (!topic.subscribers.isEmpty() || !topic.pendingSubscriptions.isEmpty()) {
+      return;
+    }
+
+    topicsByKey.remove(topic.key);
+    if (topic.downstreamId != null) {
+      topicsByDownstreamId.remove(topic.downstreamId);
+      unsubscribeDownstream(topic.downstreamId);
+    }
+  }
+
+  private void subscribeDownstream(final Topic topic) {
+    if (topic.subscribing) {
+      return;
+    }
+    if (socket == null) {
+      // every topic not yet subscribed to downstream is subscribed to once connected
+      connect();
+      return;
+    }
+
+    topic.subscribing = true;
+    call(
+        SUBSCRIBE_METHOD,
+        topic.params,
+        result -> {
+          topic.subscribing = false;
+          final Object downstreamId =
+              result.succeeded() ? result.result().getValue("result") : null;
+          if (topicsByKey.get(topic.key) != topic) {
+            // every client left while the subscription was being made
+            if (downstreamId instanceof String) {
+              unsubscribeDownstream((String) downstreamId);
+            }
+          } else if (downstreamId instanceof String) {
+            topic.downstreamId = (String) downstreamId;
+            topicsByDownstreamId.put(topic.downstreamId, topic);
+            topic.pendingSubscriptions.forEach(subscription -> accept(topic, subscription));
+            topic.pendingSubscriptions.clear();
+          } else if (result.succeeded()) {
+            LOG.debug("Downstream node rejected subscription {}", topic.key);
+            final Object error = result.result().getValue("error");
+            topic.pendingSubscriptions.forEach(subscription -> subscription.reject(error));
+            topic.pendingSubscriptions.clear();
+            releaseIfUnused(topic);
+            retryLater(topic);
+          } else {
+            failPendingSubscriptions(topic, result.cause());
+            retryLater(topic);
+          }
+        });
+  }
+
+  /** Clients already subscribed to a topic keep it alive until it can be subscribed to again. */
+  private void retryLater(final Topic topic) {
+    vertx.setTimer(
+        RECONNECT_DELAY.toMillis(),
+        timerId -> {
+          if (topicsByKey.get(topic.key) == topic && topic.downstreamId == null) {
+            subscribeDownstream(topic);
+          }
+        });
+  }
+
+  private void unsubscribeDownstream(final String downstreamId) {
+    if (socket == null) {
+      return;
+    }
+
+    call(
+        "eth_unsubscribe",
+        new JsonArray().add(downstreamId),
+        result -> {
+          if (result.failed()) {
+            LOG.debug("Failed to unsubscribe from {}", downstreamId, result.cause());
+          }
+        });
+  }
+
+  private void failPendingSubscriptions(final Topic topic, final Throwable cause) {
+    final JsonRpcError error =
+        cause instanceof TimeoutException
+            ? JsonRpcError.CONNECTION_TO_DOWNSTREAM_NODE_TIMED_OUT
+            : JsonRpcError.FAILED_TO_CONNECT_TO_DOWNSTREAM_NODE;
+    topic.pendingSubscriptions.forEach(subscription -> subscription.fail(error));
+    topic.pendingSubscriptions.clear();
+    releaseIfUnused(topic);
+  }
+
+  private void connect() {
+    if (connecting || socket != null) {
+      return;
+    }
+
+    connecting = true;
+    client.webSocket(
+        "/",
+        result -> {
+          connecting = false;
+          if (result.failed()) {
+            LOG.warn("Failed to open WebSocket to downstream node", result.cause());
+            List.copyOf(topicsByKey.values())
+                .forEach(topic -> failPendingSubscriptions(topic, result.cause()));
+            scheduleReconnect();
+            return;
+          }
+
+          LOG.debug("WebSocket to downstream node opened");
+          socket = result.result();
+          socket.textMessageHandler(this::handleMessage);
+          socket.binaryMessageHandler(message -> handleMessage(message.toString()));
+          socket.exceptionHandler(e -> LOG.debug("WebSocket to downstream node failed", e));
+          socket.closeHandler(v -> disconnected());
+          List.copyOf(topicsByKey.values()).forEach(this::subscribeDownstream);
+        });
+  }
+
+  private void disconnected() {
+    LOG.warn(
+        "WebSocket to downstream node closed, {} subscriptions to be made again",
+        topicsByKey.size());
+    socket = null;
+    topicsByDownstreamId.clear();
+    timedOutSubscribeCalls.clear();
+    topicsByKey.values().forEach(topic -> topic.downstreamId = null);
+
+    final List<PendingCall> calls = List.copyOf(pendingCalls.values());
+    pendingCalls.clear();
+    for (final PendingCall call : calls) {
+      vertx.cancelTimer(call.timerId);
+      call.responseHandler.handle(
+          Future.failedFuture(new IllegalStateException("WebSocket to downstream node closed")));
+    }
+    scheduleReconnect();
+  }
+
+  private void scheduleReconnect() {
+    if (reconnectScheduled || topicsByKey.isEmpty()) {
+      return;
+    }
+
+    reconnectScheduled = true;
+    vertx.setTimer(
+        RECONNECT_DELAY.toMillis(),
+        timerId -> {
+          reconnectScheduled = false;
+          if (!topicsByKey.isEmpty()) {
+            connect();
+          }
+        });
+  }
+
+  private void call(
+      final String method,
+      final JsonArray params,
+      final Handler<AsyncResult<JsonObject>> responseHandler) {
+    final long callId = ++lastCallId;
+    final long timerId =
+        vertx.setTimer(
+            requestTimeout.toMillis(),
+            t -> {
+              final PendingCall call = pendingCalls.remove(callId);
+              if (call != null) {
+                if (SUBSCRIBE_METHOD.equals(method)) {
+                  timedOutSubscribeCalls.add(callId);
+                }
+                call.responseHandler.handle(
+                    Future.failedFuture(new TimeoutException(method + " timed out")));
+              }
+            });
+    pendingCalls.put(callId, new PendingCall(responseHandler, timerId));
+    socket.writeTextMessage(
+        new JsonObject()
+            .put("jsonrpc", JSON_RPC_VERSION)
+            .put("id", callId)
+            .put("method", method)
+            .put("params", params)
+            .encode());
+  }
+
+  private void handleMessage(final String text) {
+    final JsonObject message;
+    try {
+      message = new JsonObject(text);
+    } catch (final DecodeException e) {
+      LOG.warn("Malformed message received from downstream node: {}", text);
+      return;
+    }
+
+    if (NOTIFICATION_METHOD.equals(message.getValue("method"))) {
+      final Object params = message.getValue("params");
+      if (params instanceof JsonObject) {
+        fanOut((JsonObject) params);
+      }
+      return;
+    }
+
+    final Object id = message.getValue("id");
+    if (!(id instanceof Number)) {
+      return;
+    }
+    final long callId = ((Number) id).longValue();
+    final PendingCall call = pendingCalls.remove(callId);
+    if (call != null) {
+      vertx.cancelTimer(call.timerId);
+      call.responseHandler.handle(Future.succeededFuture(message));
+    } else if (timedOutSubscribeCalls.remove(callId)
+        && message.getValue("result") instanceof String) {
+      final String downstreamId = message.getString("result");
+      LOG.debug("Subscription {} made after its request timed out", downstreamId);
+      unsubscribeDownstream(downstreamId);
+    }
+  }
+
+  private void fanOut(final JsonObject params) {
+    final Topic topic = topicsByDownstreamId.get(params.getValue("subscription"));
+    if (topic == null) {
+      LOG.debug(
+          "Notification received for unknown subscription {}", params.getValue("subscription"));
+      return;
+    }
+
+    // the result is encoded once, only the subscription id differing between clients
+    final String result = Json.encode(params.getValue("result"));
+    topic.subscribers.forEach(
+        (subscriptionId, connection) ->
+            connection.notify(
+                NOTIFICATION_PREFIX
+                    + subscriptionId
+                    + NOTIFICATION_RESULT
+                    + result
+                    + NOTIFICATION_SUFFIX));
+  }
+
+  /** Orders the members of every object, so equivalent filters share a subscription. */
+  private static Object canonical(final Object value) {
+    if (value instanceof JsonObject) {
+      final Map<String, Object> members = new TreeMap<>();
+      ((JsonObject) value)
+          .forEach(member -> members.put(member.getKey(), canonical(member.getValue())));
+      return members;
+    }
+    if (value instanceof JsonArray) {
+      final List<Object> elements = new ArrayList<>();
+      ((JsonArray) value).forEach(element -> elements.add(canonical(element)));
+      return elements;
+    }
+    return value;
+  }
+
+  private static class Topic {
+    private final String key;
+    private final JsonArray params;
+    private final Map<String, WebSocketConnection> subscribers = new HashMap<>();
+    private final List<PendingSubscription> pendingSubscriptions = new ArrayList<>();
+    private String downstreamId;
+    private boolean subscribing;
+
+    private Topic(final String key, final JsonArray params) {
+      this.key = key;
+      this.params = params;
+    }
+  }
+
+  private static class PendingSubscription {
+    private final WebSocketConnection connection;
+    private final Object requestId;
+    private final Handler<Buffer> responseHandler;
+
+    private PendingSubscription(
+        final WebSocketConnection connection,
+        final Object requestId,
+        final Handler<Buffer> responseHandler) {
+      this.connection = connection;
+      this.requestId = requestId;
+      this.responseHandler = responseHandler;
+    }
+
+    private void respond(final Buffer response) {
+      responseHandler.handle(response);
+    }
+
+    private void fail(final JsonRpcError error) {
+      respond(JsonRpcErrorResponseEncoder.encode(requestId, error));
+    }
+
+    /** Relays the error with which the downstream node rejected the subscription. */
+    private void reject(final Object error) {
+      respond(
+          new JsonObject()
+              .put("jsonrpc", JSON_RPC_VERSION)
+              .put("id", requestId)
+              .put("error", error)
+              .toBuffer());
+    }
+  }
+
+  private static class PendingCall {
+    private final Handler<AsyncResult<JsonObject>> responseHandler;
+    private final long timerId;
+
+    private PendingCall(
+        final Handler<AsyncResult<JsonObject>> responseHandler, final long timerId) {
+      this.responseHandler = responseHandler;
+      this.timerId = timerId;
+    }
+  }
+}
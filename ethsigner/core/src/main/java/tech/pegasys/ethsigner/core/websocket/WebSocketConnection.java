@@ -0,0 +1,203 @@
+/*
+ * Copyright 2020 ConsenSys AG.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on
+ * an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations under the License.
+ */
+package tech.pegasys.ethsigner.core.websocket;
+
+import java.util.ArrayDeque;
+import java.util.Optional;
+import java.util.Queue;
+
+import io.vertx.core.Context;
+import io.vertx.core.Handler;
+import io.vertx.core.buffer.Buffer;
+import io.vertx.core.http.HttpServerRequest;
+import io.vertx.core.http.ServerWebSocket;
+import io.vertx.core.json.DecodeException;
+import io.vertx.core.json.JsonArray;
+import io.vertx.core.json.JsonObject;
+import io.vertx.ext.web.Router;
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+
+/**
+ * Dispatches each message of a WebSocket to the router as its own request, so a client may pipeline
+ * requests and have the responses sent back as each completes, rather than in the order sent.
+ *
+ * <p>Once the connection has the maximum number of requests in flight, or the socket cannot keep up
+ * with the responses, reading from the socket is paused until both have drained.
+ *
+ * <p>Subscription requests are instead handed to the {@link SubscriptionMultiplexer}, if any. Its
+ * notifications are buffered while the socket cannot keep up, the connection being closed should
+ * that buffer fill.
+ *
+ * <p>All state is confined to the context the socket was accepted on.
+ */
+class WebSocketConnection {
+
+  private static final Logger LOG = LogManager.getLogger();
+  private static final short POLICY_VIOLATION = 1008;
+  private static final String SUBSCRIBE = "eth_subscribe";
+  private static final String UNSUBSCRIBE = "eth_unsubscribe";
+
+  private final HttpServerRequest upgradeRequest;
+  private final ServerWebSocket socket;
+  private final Router router;
+  private final Context context;
+  private final int maxInFlightRequests;
+  private final Optional<SubscriptionMultiplexer> subscriptions;
+  private final int subscriptionBufferSize;
+  private final Queue<String> bufferedNotifications = new ArrayDeque<>();
+  private int inFlightRequests = 0;
+  private boolean paused = false;
+
+  WebSocketConnection(
+      final HttpServerRequest upgradeRequest,
+      final ServerWebSocket socket,
+      final Router router,
+      final Context context,
+      final int maxInFlightRequests,
+      final Optional<SubscriptionMultiplexer> subscriptions,
+      final int subscriptionBufferSize) {
+    this.upgradeRequest = upgradeRequest;
+    this.socket = socket;
+    this.router = router;
+    this.context = context;
+    this.maxInFlightRequests = maxInFlightRequests;
+    this.subscriptions = subscriptions;
+    this.subscriptionBufferSize = subscriptionBufferSize;
+  }
+
+  void start() {
+    socket.textMessageHandler(message -> handleMessage(Buffer.buffer(message)));
+    socket.binaryMessageHandler(this::handleMessage);
+    socket.drainHandler(v -> drained());
+    socket.exceptionHandler(e -> LOG.debug("WebSocket from {} failed", socket.remoteAddress(), e));
+    socket.closeHandler(v -> closed());
+  }
+
+  /** Sends a subscription notification, which may be called from any thread. */
+  void notify(final String notification) {
+    context.runOnContext(v -> sendNotification(notification));
+  }
+
+  private void handleMessage(final Buffer message) {
+    inFlightRequests++;
+    updateFlow();
+    final Handler<Buffer> responseHandler = body -> context.runOnContext(v -> respond(body));
+    final Optional<JsonObject> subscriptionRequest =
+        subscriptions.isPresent() ? decodeSubscriptionRequest(message) : Optional.empty();
+    if (subscriptionRequest.isPresent()) {
+      handleSubscriptionRequest(subscriptions.get(), subscriptionRequest.get(), responseHandler);
+    } else {
+      dispatch(message, responseHandler);
+    }
+  }
+
+  private void dispatch(final Buffer message, final Handler<Buffer> responseHandler) {
+    final WebSocketRequest request =
+        new WebSocketRequest(upgradeRequest, message, new WebSocketResponse(responseHandler));
+    router.handle(request);
+    request.deliverBody();
+  }
+
+  private Optional<JsonObject> decodeSubscriptionRequest(final Buffer message) {
+    final String text = message.toString();
+    // only messages which could be subscription requests are decoded here
+    if (!text.contains(SUBSCRIBE) && !text.contains(UNSUBSCRIBE)) {
+      return Optional.empty();
+    }
+    try {
+      final JsonObject request = new JsonObject(text);
+      final Object method = request.getValue("method");
+      return SUBSCRIBE.equals(method) || UNSUBSCRIBE.equals(method)
+          ? Optional.of(request)
+          : Optional.empty();
+    } catch (final DecodeException | ClassCastException e) {
+      // left for the router to reject
+      return Optional.empty();
+    }
+  }
+
+  private void handleSubscriptionRequest(
+      final SubscriptionMultiplexer multiplexer,
+      final JsonObject request,
+      final Handler<Buffer> responseHandler) {
+    final Object id = request.getValue("id");
+    final Object params = request.getValue("params");
+    final JsonArray paramList = params instanceof JsonArray ? (JsonArray) params : new JsonArray();
+    if (SUBSCRIBE.equals(request.getValue("method"))) {
+      multiplexer.subscribe(this, id, paramList, responseHandler);
+    } else {
+      multiplexer.unsubscribe(this, id, paramList, responseHandler);
+    }
+  }
+
+  private void respond(final Buffer body) {
+    inFlightRequests--;
+    if (socket.isClosed()) {
+      LOG.debug("Dropping response to {} as its WebSocket has closed", socket.remoteAddress());
+      return;
+    }
+    if (body.length() > 0) {
+      socket.writeTextMessage(body.toString());
+    }
+    updateFlow();
+  }
+
+  private void sendNotification(final String notification) {
+    if (socket.isClosed()) {
+      return;
+    }
+    if (bufferedNotifications.isEmpty() && !socket.writeQueueFull()) {
+      socket.writeTextMessage(notification);
+      return;
+    }
+    if (bufferedNotifications.size() >= subscriptionBufferSize) {
+      LOG.info(
+          "Closing WebSocket from {} as it is not keeping up with its subscriptions",
+          socket.remoteAddress());
+      bufferedNotifications.clear();
+      socket.close(POLICY_VIOLATION, "Subscription notifications not consumed");
+      return;
+    }
+    bufferedNotifications.add(notification);
+  }
+
+  private void drained() {
+    while (!bufferedNotifications.isEmpty() && !socket.writeQueueFull()) {
+      socket.writeTextMessage(bufferedNotifications.poll());
+    }
+    updateFlow();
+  }
+
+  private void closed() {
+    LOG.debug(
+        "WebSocket from {} closed with {} requests in flight",
+        socket.remoteAddress(),
+        inFlightRequests);
+    bufferedNotifications.clear();
+    subscriptions.ifPresent(multiplexer -> multiplexer.unsubscribeAll(this));
+  }
+
+  private void updateFlow() {
+    final boolean saturated = inFlightRequests >= maxInFlightRequests || socket.writeQueueFull();
+    if (saturated && !paused) {
+      LOG.trace("Pausing WebSocket from {}", socket.remoteAddress());
+      socket.pause();
+      paused = true;
+    } else if (!saturated && paused) {
+      LOG.trace("Resuming WebSocket from {}", socket.remoteAddress());
+      socket.resume();
+      paused = false;
+    }
+  }
+}
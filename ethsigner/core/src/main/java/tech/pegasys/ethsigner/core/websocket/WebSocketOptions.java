@@ -0,0 +1,63 @@
+/*
+ * Copyright 2020 ConsenSys AG.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on
+ * an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations under the License.
+ */
+package tech.pegasys.ethsigner.core.websocket;
+
+import java.util.Optional;
+
+import com.google.common.base.MoreObjects;
+import io.vertx.core.http.HttpClientOptions;
+
+/** How JSON-RPC requests received over WebSocket connections are admitted. */
+public class WebSocketOptions {
+
+  private final int maxInFlightRequests;
+  private final int subscriptionBufferSize;
+  private final Optional<HttpClientOptions> subscriptionNodeOptions;
+
+  /**
+   * @param maxInFlightRequests the number of requests a connection may have outstanding before
+   *     further messages are left unread.
+   * @param subscriptionBufferSize the number of notifications buffered for a connection which is
+   *     not keeping up with its subscriptions, before it is closed.
+   * @param subscriptionNodeOptions the WebSocket of the node over which subscriptions are shared,
+   *     subscription requests being passed through like any other if empty.
+   */
+  public WebSocketOptions(
+      final int maxInFlightRequests,
+      final int subscriptionBufferSize,
+      final Optional<HttpClientOptions> subscriptionNodeOptions) {
+    this.maxInFlightRequests = maxInFlightRequests;
+    this.subscriptionBufferSize = subscriptionBufferSize;
+    this.subscriptionNodeOptions = subscriptionNodeOptions;
+  }
+
+  public int getMaxInFlightRequests() {
+    return maxInFlightRequests;
+  }
+
+  public int getSubscriptionBufferSize() {
+    return subscriptionBufferSize;
+  }
+
+  public Optional<HttpClientOptions> getSubscriptionNodeOptions() {
+    return subscriptionNodeOptions;
+  }
+
+  @Override
+  public String toString() {
+    return MoreObjects.toStringHelper(this)
+        .add("maxInFlightRequests", maxInFlightRequests)
+        .add("subscriptionBufferSize", subscriptionBufferSize)
+        .toString();
+  }
+}
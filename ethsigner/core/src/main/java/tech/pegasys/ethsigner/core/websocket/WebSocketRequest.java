@@ -0,0 +1,306 @@
+/*
+ * Copyright 2020 ConsenSys AG.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on
+ * an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations under the License.
+ */
+package tech.pegasys.ethsigner.core.websocket;
+
+import tech.pegasys.ethsigner.core.requesthandler.ForwardedHeaders;
+
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.stream.Collectors;
+import javax.net.ssl.SSLPeerUnverifiedException;
+import javax.net.ssl.SSLSession;
+import javax.security.cert.X509Certificate;
+
+import io.netty.handler.codec.http.HttpHeaderValues;
+import io.vertx.core.Handler;
+import io.vertx.core.MultiMap;
+import io.vertx.core.buffer.Buffer;
+import io.vertx.core.http.Cookie;
+import io.vertx.core.http.HttpConnection;
+import io.vertx.core.http.HttpFrame;
+import io.vertx.core.http.HttpHeaders;
+import io.vertx.core.http.HttpMethod;
+import io.vertx.core.http.HttpServerFileUpload;
+import io.vertx.core.http.HttpServerRequest;
+import io.vertx.core.http.HttpServerResponse;
+import io.vertx.core.http.HttpVersion;
+import io.vertx.core.http.ServerWebSocket;
+import io.vertx.core.http.StreamPriority;
+import io.vertx.core.net.NetSocket;
+import io.vertx.core.net.SocketAddress;
+
+/**
+ * A message received on a WebSocket, presented as a JSON-RPC POST to the root path so that it can
+ * be routed like any other request. Connection level properties (addresses, TLS session, cookies)
+ * are those of the request which was upgraded, as are its end-to-end headers (such as
+ * Authorization), less those negotiating the WebSocket itself and those describing a body.
+ *
+ * <p>The body is only delivered by {@link #deliverBody()}, once the router has had the chance to
+ * register its handlers.
+ */
+class WebSocketRequest implements HttpServerRequest {
+
+  private static final String ROOT_PATH = "/";
+  private static final String WEBSOCKET_HEADER_PREFIX = "sec-websocket-";
+
+  private final HttpServerRequest upgradeRequest;
+  private final Buffer body;
+  private final HttpServerResponse response;
+  private final MultiMap headers = MultiMap.caseInsensitiveMultiMap();
+  private final MultiMap params = MultiMap.caseInsensitiveMultiMap();
+  private final MultiMap formAttributes = MultiMap.caseInsensitiveMultiMap();
+  private Handler<Buffer> dataHandler;
+  private Handler<Void> endHandler;
+  private boolean expectMultipart = false;
+  private boolean ended = false;
+
+  WebSocketRequest(
+      final HttpServerRequest upgradeRequest,
+      final Buffer body,
+      final HttpServerResponse response) {
+    this.upgradeRequest = upgradeRequest;
+    this.body = body;
+    this.response = response;
+    ForwardedHeaders.copy(upgradeRequest.headers(), headers);
+    webSocketHeaderNames(headers).forEach(headers::remove);
+    headers.set(HttpHeaders.HOST, upgradeRequest.host());
+    headers.set(HttpHeaders.CONTENT_TYPE, HttpHeaderValues.APPLICATION_JSON);
+    headers.set(HttpHeaders.ACCEPT, HttpHeaderValues.APPLICATION_JSON);
+    headers.set(HttpHeaders.CONTENT_LENGTH, String.valueOf(body.length()));
+  }
+
+  private static List<String> webSocketHeaderNames(final MultiMap headers) {
+    return headers.names().stream()
+        .filter(name -> name.toLowerCase(Locale.ROOT).startsWith(WEBSOCKET_HEADER_PREFIX))
+        .collect(Collectors.toList());
+  }
+
+  void deliverBody() {
+    if (dataHandler != null) {
+      dataHandler.handle(body);
+    }
+    ended = true;
+    if (endHandler != null) {
+      endHandler.handle(null);
+    }
+  }
+
+  @Override
+  public HttpServerRequest exceptionHandler(final Handler<Throwable> handler) {
+    return this;
+  }
+
+  @Override
+  public HttpServerRequest handler(final Handler<Buffer> handler) {
+    this.dataHandler = handler;
+    return this;
+  }
+
+  @Override
+  public HttpServerRequest pause() {
+    return this;
+  }
+
+  @Override
+  public HttpServerRequest resume() {
+    return this;
+  }
+
+  @Override
+  public HttpServerRequest fetch(final long amount) {
+    return this;
+  }
+
+  @Override
+  public HttpServerRequest endHandler(final Handler<Void> handler) {
+    this.endHandler = handler;
+    return this;
+  }
+
+  @Override
+  public HttpVersion version() {
+    return upgradeRequest.version();
+  }
+
+  @Override
+  public HttpMethod method() {
+    return HttpMethod.POST;
+  }
+
+  @Override
+  public String rawMethod() {
+    return HttpMethod.POST.name();
+  }
+
+  @Override
+  public boolean isSSL() {
+    return upgradeRequest.isSSL();
+  }
+
+  @Override
+  public String scheme() {
+    return upgradeRequest.scheme();
+  }
+
+  @Override
+  public String uri() {
+    return ROOT_PATH;
+  }
+
+  @Override
+  public String path() {
+    return ROOT_PATH;
+  }
+
+  @Override
+  public String query() {
+    return null;
+  }
+
+  @Override
+  public String host() {
+    return upgradeRequest.host();
+  }
+
+  @Override
+  public long bytesRead() {
+    return ended ? body.length() : 0;
+  }
+
+  @Override
+  public HttpServerResponse response() {
+    return response;
+  }
+
+  @Override
+  public MultiMap headers() {
+    return headers;
+  }
+
+  @Override
+  public String getHeader(final String headerName) {
+    return headers.get(headerName);
+  }
+
+  @Override
+  public String getHeader(final CharSequence headerName) {
+    return headers.get(headerName);
+  }
+
+  @Override
+  public MultiMap params() {
+    return params;
+  }
+
+  @Override
+  public String getParam(final String paramName) {
+    return params.get(paramName);
+  }
+
+  @Override
+  public SocketAddress remoteAddress() {
+    return upgradeRequest.remoteAddress();
+  }
+
+  @Override
+  public SocketAddress localAddress() {
+    return upgradeRequest.localAddress();
+  }
+
+  @Override
+  public SSLSession sslSession() {
+    return upgradeRequest.sslSession();
+  }
+
+  @Override
+  public X509Certificate[] peerCertificateChain() throws SSLPeerUnverifiedException {
+    return upgradeRequest.peerCertificateChain();
+  }
+
+  @Override
+  public String absoluteURI() {
+    return scheme() + "://" + host() + ROOT_PATH;
+  }
+
+  @Override
+  public NetSocket netSocket() {
+    throw new UnsupportedOperationException("A WebSocket message has no socket of its own");
+  }
+
+  @Override
+  public HttpServerRequest setExpectMultipart(final boolean expect) {
+    this.expectMultipart = expect;
+    return this;
+  }
+
+  @Override
+  public boolean isExpectMultipart() {
+    return expectMultipart;
+  }
+
+  @Override
+  public HttpServerRequest uploadHandler(final Handler<HttpServerFileUpload> uploadHandler) {
+    return this;
+  }
+
+  @Override
+  public MultiMap formAttributes() {
+    return formAttributes;
+  }
+
+  @Override
+  public String getFormAttribute(final String attributeName) {
+    return formAttributes.get(attributeName);
+  }
+
+  @Override
+  public ServerWebSocket upgrade() {
+    throw new UnsupportedOperationException("A WebSocket message cannot be upgraded");
+  }
+
+  @Override
+  public boolean isEnded() {
+    return ended;
+  }
+
+  @Override
+  public HttpServerRequest customFrameHandler(final Handler<HttpFrame> handler) {
+    return this;
+  }
+
+  @Override
+  public HttpConnection connection() {
+    return upgradeRequest.connection();
+  }
+
+  @Override
+  public HttpServerRequest streamPriorityHandler(final Handler<StreamPriority> handler) {
+    return this;
+  }
+
+  @Override
+  public Cookie getCookie(final String name) {
+    return upgradeRequest.getCookie(name);
+  }
+
+  @Override
+  public int cookieCount() {
+    return upgradeRequest.cookieCount();
+  }
+
+  @Override
+  public Map<String, Cookie> cookieMap() {
+    return upgradeRequest.cookieMap();
+  }
+}
@@ -0,0 +1,404 @@
+/*
+ * Copyright 2020 ConsenSys AG.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on
+ * an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations under the License.
+ */
+package tech.pegasys.ethsigner.core.websocket;
+
+import io.netty.handler.codec.http.HttpResponseStatus;
+import io.vertx.core.AsyncResult;
+import io.vertx.core.Future;
+import io.vertx.core.Handler;
+import io.vertx.core.MultiMap;
+import io.vertx.core.buffer.Buffer;
+import io.vertx.core.http.Cookie;
+import io.vertx.core.http.HttpMethod;
+import io.vertx.core.http.HttpServerResponse;
+
+/**
+ * Collects the response to a {@link WebSocketRequest}, handing its body to the connection once it
+ * has ended. The status and headers are only observed by the handlers producing the response, as
+ * JSON-RPC over a WebSocket carries just the body.
+ *
+ * <p>A response which is closed or reset rather than ended is handed over with an empty body, so
+ * the connection can still account for the request having completed.
+ */
+class WebSocketResponse implements HttpServerResponse {
+
+  private final Handler<Buffer> completionHandler;
+  private final Buffer body = Buffer.buffer();
+  private final MultiMap headers = MultiMap.caseInsensitiveMultiMap();
+  private final MultiMap trailers = MultiMap.caseInsensitiveMultiMap();
+  private int statusCode = HttpResponseStatus.OK.code();
+  private String statusMessage;
+  private boolean chunked = false;
+  private boolean ended = false;
+  private boolean closed = false;
+  private Handler<Void> headersEndHandler;
+  private Handler<Void> bodyEndHandler;
+  private Handler<Void> endHandler;
+
+  WebSocketResponse(final Handler<Buffer> completionHandler) {
+    this.completionHandler = completionHandler;
+  }
+
+  @Override
+  public HttpServerResponse exceptionHandler(final Handler<Throwable> handler) {
+    return this;
+  }
+
+  @Override
+  public HttpServerResponse write(final Buffer data) {
+    checkNotEnded();
+    body.appendBuffer(data);
+    return this;
+  }
+
+  @Override
+  public HttpServerResponse write(final Buffer data, final Handler<AsyncResult<Void>> handler) {
+    write(data);
+    succeeded(handler);
+    return this;
+  }
+
+  @Override
+  public HttpServerResponse write(final String chunk, final String enc) {
+    return write(Buffer.buffer(chunk, enc));
+  }
+
+  @Override
+  public HttpServerResponse write(
+      final String chunk, final String enc, final Handler<AsyncResult<Void>> handler) {
+    return write(Buffer.buffer(chunk, enc), handler);
+  }
+
+  @Override
+  public HttpServerResponse write(final String chunk) {
+    return write(Buffer.buffer(chunk));
+  }
+
+  @Override
+  public HttpServerResponse write(final String chunk, final Handler<AsyncResult<Void>> handler) {
+    return write(Buffer.buffer(chunk), handler);
+  }
+
+  @Override
+  public HttpServerResponse setWriteQueueMaxSize(final int maxSize) {
+    return this;
+  }
+
+  @Override
+  public boolean writeQueueFull() {
+    return false;
+  }
+
+  @Override
+  public HttpServerResponse drainHandler(final Handler<Void> handler) {
+    return this;
+  }
+
+  @Override
+  public int getStatusCode() {
+    return statusCode;
+  }
+
+  @Override
+  public HttpServerResponse setStatusCode(final int statusCode) {
+    this.statusCode = statusCode;
+    return this;
+  }
+
+  @Override
+  public String getStatusMessage() {
+    return statusMessage == null
+        ? HttpResponseStatus.valueOf(statusCode).reasonPhrase()
+        : statusMessage;
+  }
+
+  @Override
+  public HttpServerResponse setStatusMessage(final String statusMessage) {
+    this.statusMessage = statusMessage;
+    return this;
+  }
+
+  @Override
+  public HttpServerResponse setChunked(final boolean chunked) {
+    this.chunked = chunked;
+    return this;
+  }
+
+  @Override
+  public boolean isChunked() {
+    return chunked;
+  }
+
+  @Override
+  public MultiMap headers() {
+    return headers;
+  }
+
+  @Override
+  public HttpServerResponse putHeader(final String name, final String value) {
+    headers.set(name, value);
+    return this;
+  }
+
+  @Override
+  public HttpServerResponse putHeader(final CharSequence name, final CharSequence value) {
+    headers.set(name, value);
+    return this;
+  }
+
+  @Override
+  public HttpServerResponse putHeader(final String name, final Iterable<String> values) {
+    headers.set(name, values);
+    return this;
+  }
+
+  @Override
+  public HttpServerResponse putHeader(
+      final CharSequence name, final Iterable<CharSequence> values) {
+    headers.set(name, values);
+    return this;
+  }
+
+  @Override
+  public MultiMap trailers() {
+    return trailers;
+  }
+
+  @Override
+  public HttpServerResponse putTrailer(final String name, final String value) {
+    trailers.set(name, value);
+    return this;
+  }
+
+  @Override
+  public HttpServerResponse putTrailer(final CharSequence name, final CharSequence value) {
+    trailers.set(name, value);
+    return this;
+  }
+
+  @Override
+  public HttpServerResponse putTrailer(final String name, final Iterable<String> values) {
+    trailers.set(name, values);
+    return this;
+  }
+
+  @Override
+  public HttpServerResponse putTrailer(
+      final CharSequence name, final Iterable<CharSequence> values) {
+    trailers.set(name, values);
+    return this;
+  }
+
+  @Override
+  public HttpServerResponse closeHandler(final Handler<Void> handler) {
+    return this;
+  }
+
+  @Override
+  public HttpServerResponse endHandler(final Handler<Void> handler) {
+    this.endHandler = handler;
+    return this;
+  }
+
+  @Override
+  public HttpServerResponse writeContinue() {
+    return this;
+  }
+
+  @Override
+  public void end(final String chunk) {
+    end(Buffer.buffer(chunk));
+  }
+
+  @Override
+  public void end(final String chunk, final Handler<AsyncResult<Void>> handler) {
+    end(Buffer.buffer(chunk), handler);
+  }
+
+  @Override
+  public void end(final String chunk, final String enc) {
+    end(Buffer.buffer(chunk, enc));
+  }
+
+  @Override
+  public void end(final String chunk, final String enc, final Handler<AsyncResult<Void>> handler) {
+    end(Buffer.buffer(chunk, enc), handler);
+  }
+
+  @Override
+  public void end(final Buffer chunk) {
+    write(chunk);
+    end();
+  }
+
+  @Override
+  public void end(final Buffer chunk, final Handler<AsyncResult<Void>> handler) {
+    end(chunk);
+    succeeded(handler);
+  }
+
+  @Override
+  public void end() {
+    checkNotEnded();
+    complete();
+  }
+
+  @Override
+  public void end(final Handler<AsyncResult<Void>> handler) {
+    end();
+    succeeded(handler);
+  }
+
+  @Override
+  public HttpServerResponse sendFile(final String filename, final long offset, final long length) {
+    throw new UnsupportedOperationException("Files cannot be sent over a WebSocket");
+  }
+
+  @Override
+  public HttpServerResponse sendFile(
+      final String filename,
+      final long offset,
+      final long length,
+      final Handler<AsyncResult<Void>> resultHandler) {
+    throw new UnsupportedOperationException("Files cannot be sent over a WebSocket");
+  }
+
+  @Override
+  public void close() {
+    if (!ended) {
+      closed = true;
+      complete();
+    }
+  }
+
+  @Override
+  public boolean ended() {
+    return ended;
+  }
+
+  @Override
+  public boolean closed() {
+    return closed;
+  }
+
+  @Override
+  public boolean headWritten() {
+    return ended;
+  }
+
+  @Override
+  public HttpServerResponse headersEndHandler(final Handler<Void> handler) {
+    this.headersEndHandler = handler;
+    return this;
+  }
+
+  @Override
+  public HttpServerResponse bodyEndHandler(final Handler<Void> handler) {
+    this.bodyEndHandler = handler;
+    return this;
+  }
+
+  @Override
+  public long bytesWritten() {
+    return ended ? body.length() : 0;
+  }
+
+  @Override
+  public int streamId() {
+    return -1;
+  }
+
+  @Override
+  public HttpServerResponse push(
+      final HttpMethod method,
+      final String host,
+      final String path,
+      final Handler<AsyncResult<HttpServerResponse>> handler) {
+    return push(method, path, handler);
+  }
+
+  @Override
+  public HttpServerResponse push(
+      final HttpMethod method,
+      final String path,
+      final MultiMap headers,
+      final Handler<AsyncResult<HttpServerResponse>> handler) {
+    return push(method, path, handler);
+  }
+
+  @Override
+  public HttpServerResponse push(
+      final HttpMethod method,
+      final String path,
+      final Handler<AsyncResult<HttpServerResponse>> handler) {
+    handler.handle(Future.failedFuture("Push is not supported over a WebSocket"));
+    return this;
+  }
+
+  @Override
+  public HttpServerResponse push(
+      final HttpMethod method,
+      final String host,
+      final String path,
+      final MultiMap headers,
+      final Handler<AsyncResult<HttpServerResponse>> handler) {
+    return push(method, path, handler);
+  }
+
+  @Override
+  public void reset(final long code) {
+    close();
+  }
+
+  @Override
+  public HttpServerResponse writeCustomFrame(
+      final int type, final int flags, final Buffer payload) {
+    return this;
+  }
+
+  @Override
+  public HttpServerResponse addCookie(final Cookie cookie) {
+    return this;
+  }
+
+  @Override
+  public Cookie removeCookie(final String name, final boolean invalidate) {
+    return null;
+  }
+
+  private void complete() {
+    if (headersEndHandler != null) {
+      headersEndHandler.handle(null);
+    }
+    ended = true;
+    completionHandler.handle(closed ? Buffer.buffer() : body);
+    if (bodyEndHandler != null) {
+      bodyEndHandler.handle(null);
+    }
+    if (endHandler != null) {
+      endHandler.handle(null);
+    }
+  }
+
+  private void checkNotEnded() {
+    if (ended) {
+      throw new IllegalStateException("Response has already been written");
+    }
+  }
+
+  private static void succeeded(final Handler<AsyncResult<Void>> handler) {
+    if (handler != null) {
+      handler.handle(Future.succeededFuture());
+    }
+  }
+}
@@ -0,0 +1,66 @@
+/*
+ * Copyright 2020 ConsenSys AG.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on
+ * an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations under the License.
+ */
+package tech.pegasys.ethsigner.core.websocket;
+
+import java.util.Optional;
+
+import io.vertx.core.Handler;
+import io.vertx.core.http.HttpHeaders;
+import io.vertx.core.http.HttpServerRequest;
+import io.vertx.ext.web.Router;
+import io.vertx.ext.web.RoutingContext;
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+
+/**
+ * Upgrades requests asking for a WebSocket, each message received on which is then handled by the
+ * router as if it were the body of a JSON-RPC POST, or shared through the subscription multiplexer
+ * if it is a subscription request. Other requests are passed to the next handler.
+ */
+public class WebSocketUpgradeHandler implements Handler<RoutingContext> {
+
+  private static final Logger LOG = LogManager.getLogger();
+
+  private final Router router;
+  private final WebSocketOptions webSocketOptions;
+  private final Optional<SubscriptionMultiplexer> subscriptions;
+
+  public WebSocketUpgradeHandler(
+      final Router router,
+      final WebSocketOptions webSocketOptions,
+      final Optional<SubscriptionMultiplexer> subscriptions) {
+    this.router = router;
+    this.webSocketOptions = webSocketOptions;
+    this.subscriptions = subscriptions;
+  }
+
+  @Override
+  public void handle(final RoutingContext context) {
+    final HttpServerRequest request = context.request();
+    if (!request.headers().contains(HttpHeaders.UPGRADE, HttpHeaders.WEBSOCKET, true)) {
+      context.next();
+      return;
+    }
+
+    LOG.debug("Accepting WebSocket connection from {}", request.remoteAddress());
+    new WebSocketConnection(
+            request,
+            request.upgrade(),
+            router,
+            context.vertx().getOrCreateContext(),
+            webSocketOptions.getMaxInFlightRequests(),
+            subscriptions,
+            webSocketOptions.getSubscriptionBufferSize())
+        .start();
+  }
+}
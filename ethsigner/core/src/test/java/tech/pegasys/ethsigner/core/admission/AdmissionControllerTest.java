@@ -0,0 +1,183 @@
+/*
+ * Copyright 2020 ConsenSys AG.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on
+ * an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations under the License.
+ */
+package tech.pegasys.ethsigner.core.admission;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import tech.pegasys.ethsigner.core.metrics.EthSignerMetrics;
+import tech.pegasys.ethsigner.metrics.MetricsRegistry;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+
+import org.junit.jupiter.api.Test;
+
+class AdmissionControllerTest {
+
+  private final MetricsRegistry registry = new MetricsRegistry();
+  private final List<String> events = new ArrayList<>();
+
+  @Test
+  void requestsWithinTheConcurrencyLimitAreAdmittedImmediately() {
+    final AdmissionController controller = controller(new AdmissionLimits(2, 0));
+
+    controller.admit(admission("a", null, Priority.PASS_THROUGH));
+    controller.admit(admission("b", null, Priority.PASS_THROUGH));
+
+    assertThat(events).containsExactly("admitted a", "admitted b");
+    assertThat(controller.inFlight()).isEqualTo(2);
+  }
+
+  @Test
+  void queuedRequestIsAdmittedWhenAnotherIsReleased() {
+    final AdmissionController controller = controller(new AdmissionLimits(1, 1));
+    final Admission first = admission("a", null, Priority.PASS_THROUGH);
+
+    controller.admit(first);
+    controller.admit(admission("b", null, Priority.PASS_THROUGH));
+    assertThat(events).containsExactly("admitted a");
+    assertThat(controller.queued()).isEqualTo(1);
+    assertThat(registry.scrape()).contains("ethsigner_admission_queued_requests 1\n");
+
+    controller.release(first);
+
+    assertThat(events).containsExactly("admitted a", "admitted b");
+    assertThat(controller.inFlight()).isEqualTo(1);
+    assertThat(controller.queued()).isZero();
+  }
+
+  @Test
+  void requestIsRejectedWhenTheQueueIsFull() {
+    final AdmissionController controller = controller(new AdmissionLimits(1, 1));
+
+    controller.admit(admission("a", null, Priority.PASS_THROUGH));
+    controller.admit(admission("b", null, Priority.PASS_THROUGH));
+    controller.admit(admission("c", null, Priority.TRANSACTION));
+
+    assertThat(events).containsExactly("admitted a", "rejected b");
+    assertThat(registry.scrape())
+        .contains("ethsigner_admission_rejected_requests_total{priority=\"pass_through\"} 1\n");
+  }
+
+  @Test
+  void transactionsAreAdmittedAheadOfQueuedPassThroughRequests() {
+    final AdmissionController controller = controller(new AdmissionLimits(1, 2));
+    final Admission first = admission("a", null, Priority.PASS_THROUGH);
+
+    controller.admit(first);
+    controller.admit(admission("b", null, Priority.PASS_THROUGH));
+    controller.admit(admission("c", "eth_sendTransaction", Priority.TRANSACTION));
+    controller.release(first);
+
+    assertThat(events).containsExactly("admitted a", "admitted c");
+  }
+
+  @Test
+  void transactionDisplacesQueuedPassThroughRequestWhenTheQueueIsFull() {
+    final AdmissionController controller = controller(new AdmissionLimits(1, 1));
+
+    controller.admit(admission("a", null, Priority.PASS_THROUGH));
+    controller.admit(admission("b", null, Priority.PASS_THROUGH));
+    controller.admit(admission("c", "eth_sendTransaction", Priority.TRANSACTION));
+
+    assertThat(events).containsExactly("admitted a", "rejected b");
+    assertThat(controller.queued()).isEqualTo(1);
+  }
+
+  @Test
+  void requestAdmittedByAReleaseBeforeAdmitReturnsIsAdmittedOnce() {
+    final AdmissionController controller = controller(new AdmissionLimits(1, 1));
+    final Admission first = admission("a", null, Priority.PASS_THROUGH);
+    // the release lands between the controller being unlocked and admit making its callbacks
+    final Admission shed =
+        new Admission(
+            null,
+            Priority.PASS_THROUGH,
+            () -> events.add("admitted b"),
+            () -> {
+              events.add("rejected b");
+              controller.release(first);
+            });
+
+    controller.admit(first);
+    controller.admit(shed);
+    controller.admit(admission("c", "eth_sendTransaction", Priority.TRANSACTION));
+
+    assertThat(events).containsExactly("admitted a", "rejected b", "admitted c");
+    assertThat(controller.inFlight()).isOne();
+  }
+
+  @Test
+  void methodLimitsHoldBackOnlyThatMethod() {
+    final AdmissionController controller =
+        new AdmissionController(
+            new AdmissionOptions(
+                new AdmissionLimits(AdmissionLimits.NO_LIMIT, 10),
+                Map.of("eth_getLogs", new AdmissionLimits(1, 1))),
+            new EthSignerMetrics(registry));
+    final Admission first = admission("a", "eth_getLogs", Priority.PASS_THROUGH);
+
+    controller.admit(first);
+    controller.admit(admission("b", "eth_getLogs", Priority.PASS_THROUGH));
+    controller.admit(admission("c", "eth_getLogs", Priority.PASS_THROUGH));
+    controller.admit(admission("d", "eth_blockNumber", Priority.PASS_THROUGH));
+    assertThat(events).containsExactly("admitted a", "rejected c", "admitted d");
+
+    controller.release(first);
+
+    assertThat(events).containsExactly("admitted a", "rejected c", "admitted d", "admitted b");
+  }
+
+  @Test
+  void releasedQueuedRequestIsNeverAdmitted() {
+    final AdmissionController controller = controller(new AdmissionLimits(1, 1));
+    final Admission first = admission("a", null, Priority.PASS_THROUGH);
+    final Admission second = admission("b", null, Priority.PASS_THROUGH);
+
+    controller.admit(first);
+    controller.admit(second);
+    controller.release(second);
+    controller.release(first);
+
+    assertThat(events).containsExactly("admitted a");
+    assertThat(controller.inFlight()).isZero();
+    assertThat(controller.queued()).isZero();
+  }
+
+  @Test
+  void requestReleasedBeforeAdmissionIsIgnored() {
+    final AdmissionController controller = controller(new AdmissionLimits(1, 1));
+    final Admission admission = admission("a", null, Priority.PASS_THROUGH);
+
+    controller.release(admission);
+    controller.admit(admission);
+
+    assertThat(events).isEmpty();
+    assertThat(controller.inFlight()).isZero();
+  }
+
+  private AdmissionController controller(final AdmissionLimits limits) {
+    return new AdmissionController(
+        new AdmissionOptions(limits, Collections.emptyMap()), new EthSignerMetrics(registry));
+  }
+
+  private Admission admission(final String name, final String method, final Priority priority) {
+    return new Admission(
+        method,
+        priority,
+        () -> events.add("admitted " + name),
+        () -> events.add("rejected " + name));
+  }
+}
@@ -0,0 +1,87 @@
+/*
+ * Copyright 2020 ConsenSys AG.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on
+ * an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations under the License.
+ */
+package tech.pegasys.ethsigner.core.admission;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.security.cert.X509Certificate;
+import javax.net.ssl.SSLPeerUnverifiedException;
+import javax.net.ssl.SSLSession;
+
+import io.vertx.core.http.HttpServerRequest;
+import io.vertx.core.net.SocketAddress;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+class ClientIdentifierTest {
+
+  @TempDir Path tempDir;
+
+  @Test
+  void clientWithoutCertificateIsIdentifiedByAddress() throws SSLPeerUnverifiedException {
+    final HttpServerRequest request = mock(HttpServerRequest.class);
+    final SSLSession session = mock(SSLSession.class);
+    when(request.isSSL()).thenReturn(true);
+    when(request.sslSession()).thenReturn(session);
+    when(session.getPeerCertificates()).thenThrow(new SSLPeerUnverifiedException("none"));
+    when(request.remoteAddress()).thenReturn(SocketAddress.inetSocketAddress(8545, "10.0.0.7"));
+
+    assertThat(ClientIdentifier.BY_ADDRESS.identify(request)).isEqualTo("10.0.0.7");
+  }
+
+  @Test
+  void clientIdentifiedInTheSessionKeepsThatIdentity() {
+    final HttpServerRequest request = mock(HttpServerRequest.class);
+    final SSLSession session = mock(SSLSession.class);
+    when(request.isSSL()).thenReturn(true);
+    when(request.sslSession()).thenReturn(session);
+    when(session.getValue("ethsigner.client")).thenReturn("alice");
+
+    assertThat(ClientIdentifier.BY_ADDRESS.identify(request)).isEqualTo("alice");
+  }
+
+  @Test
+  void knownClientIsNamedByItsCertificate() throws Exception {
+    final X509Certificate certificate = mock(X509Certificate.class);
+    when(certificate.getEncoded()).thenReturn(new byte[] {1, 2, 3});
+    final HttpServerRequest request = mock(HttpServerRequest.class);
+    final SSLSession session = mock(SSLSession.class);
+    when(request.isSSL()).thenReturn(true);
+    when(request.sslSession()).thenReturn(session);
+    when(session.getPeerCertificates()).thenReturn(new X509Certificate[] {certificate});
+    // SHA-256 of 0x010203
+    final Path knownClients =
+        Files.writeString(
+            tempDir.resolve("known_clients"),
+            "# signers\n"
+                + "alice 03:90:58:C6:F2:C0:CB:49:2C:53:3B:0A:4D:14:EF:77:CC:0F:78:AB:CC:CE:D5:"
+                + "28:7D:84:A1:A2:01:1C:FB:81\n");
+
+    assertThat(ClientIdentifier.fromKnownClientsFile(knownClients).identify(request))
+        .isEqualTo("alice");
+  }
+
+  @Test
+  void malformedKnownClientsFileIsRejected() throws IOException {
+    final Path knownClients = Files.writeString(tempDir.resolve("known_clients"), "alice\n");
+
+    assertThatThrownBy(() -> ClientIdentifier.fromKnownClientsFile(knownClients))
+        .isInstanceOf(IllegalArgumentException.class);
+  }
+}
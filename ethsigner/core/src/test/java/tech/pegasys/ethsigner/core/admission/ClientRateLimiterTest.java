@@ -0,0 +1,101 @@
+/*
+ * Copyright 2020 ConsenSys AG.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on
+ * an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations under the License.
+ */
+package tech.pegasys.ethsigner.core.admission;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import tech.pegasys.ethsigner.core.metrics.EthSignerMetrics;
+import tech.pegasys.ethsigner.metrics.MetricsRegistry;
+
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+import org.junit.jupiter.api.Test;
+
+class ClientRateLimiterTest {
+
+  private static final long START = 1_000L;
+  private static final long SECOND = TimeUnit.SECONDS.toNanos(1);
+
+  private final ClientRateLimiter rateLimiter =
+      new ClientRateLimiter(
+          new RateLimitOptions(
+              Map.of(Priority.TRANSACTION, new RateLimit(2, 3)), ClientIdentifier.BY_ADDRESS),
+          new EthSignerMetrics(new MetricsRegistry()));
+
+  @Test
+  void clientMayMakeABurstOfRequestsThenOnlyAtItsRate() {
+    final ClientRateLimit limit = rateLimiter.forClient("alice", START);
+
+    assertThat(limit.tryAcquire(Priority.TRANSACTION, START)).isTrue();
+    assertThat(limit.tryAcquire(Priority.TRANSACTION, START)).isTrue();
+    assertThat(limit.tryAcquire(Priority.TRANSACTION, START)).isTrue();
+    assertThat(limit.tryAcquire(Priority.TRANSACTION, START)).isFalse();
+    assertThat(limit.secondsUntilToken(START)).isEqualTo(1);
+
+    assertThat(limit.tryAcquire(Priority.TRANSACTION, START + SECOND / 2)).isTrue();
+    assertThat(limit.tryAcquire(Priority.TRANSACTION, START + SECOND / 2)).isFalse();
+  }
+
+  @Test
+  void clientsAreLimitedIndependently() {
+    final ClientRateLimit alice = rateLimiter.forClient("alice", START);
+    for (int i = 0; i < 3; i++) {
+      alice.tryAcquire(Priority.TRANSACTION, START);
+    }
+
+    assertThat(alice.tryAcquire(Priority.TRANSACTION, START)).isFalse();
+    assertThat(rateLimiter.forClient("bob", START).tryAcquire(Priority.TRANSACTION, START))
+        .isTrue();
+    assertThat(rateLimiter.forClient("alice", START)).isSameAs(alice);
+  }
+
+  @Test
+  void unlimitedClassIsNeverLimited() {
+    final ClientRateLimit limit = rateLimiter.forClient("alice", START);
+    for (int i = 0; i < 3; i++) {
+      limit.tryAcquire(Priority.TRANSACTION, START);
+    }
+
+    assertThat(limit.tryAcquire(Priority.PASS_THROUGH, START)).isTrue();
+    assertThat(limit.mayAcquire(START)).isTrue();
+  }
+
+  @Test
+  void requestOfUnknownClassMayOnlyProceedWhileAClassHasATokenLeft() {
+    final ClientRateLimiter bothLimited =
+        new ClientRateLimiter(
+            new RateLimitOptions(
+                Map.of(
+                    Priority.TRANSACTION, new RateLimit(1, 1),
+                    Priority.PASS_THROUGH, new RateLimit(1, 1)),
+                ClientIdentifier.BY_ADDRESS),
+            new EthSignerMetrics(new MetricsRegistry()));
+    final ClientRateLimit limit = bothLimited.forClient("alice", START);
+
+    limit.tryAcquire(Priority.TRANSACTION, START);
+    assertThat(limit.mayAcquire(START)).isTrue();
+    limit.tryAcquire(Priority.PASS_THROUGH, START);
+    assertThat(limit.mayAcquire(START)).isFalse();
+    assertThat(limit.mayAcquire(START + SECOND)).isTrue();
+  }
+
+  @Test
+  void clientIsIdleOnceItsBucketsHaveRefilled() {
+    final ClientRateLimit limit = rateLimiter.forClient("alice", START);
+    limit.tryAcquire(Priority.TRANSACTION, START);
+
+    assertThat(limit.isIdle(START)).isFalse();
+    assertThat(limit.isIdle(START + SECOND / 2)).isTrue();
+  }
+}
@@ -0,0 +1,120 @@
+/*
+ * Copyright 2020 ConsenSys AG.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on
+ * an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations under the License.
+ */
+package tech.pegasys.ethsigner.core.downstream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import io.vertx.core.Handler;
+import io.vertx.core.MultiMap;
+import io.vertx.core.buffer.Buffer;
+import io.vertx.core.http.ConnectionPoolTooBusyException;
+import io.vertx.core.http.HttpClientRequest;
+import io.vertx.core.http.HttpVersion;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+
+class ConnectionPoolMetricsTest {
+
+  private static final Buffer BODY = Buffer.buffer("{\"jsonrpc\":\"2.0\"}");
+
+  private final ConnectionPoolMetrics metrics = new ConnectionPoolMetrics(4);
+  private final List<Throwable> failures = new ArrayList<>();
+
+  @Test
+  void requestIsWaitingUntilItsHeadIsSent() {
+    final HttpClientRequest request = request();
+    metrics.end(request, BODY, failures::add);
+
+    assertThat(metrics.waiting()).isEqualTo(1);
+    assertThat(metrics.saturation()).isEqualTo(0.25);
+
+    headSentHandler(request).handle(HttpVersion.HTTP_1_1);
+
+    assertThat(metrics.waiting()).isZero();
+    assertThat(metrics.connectionsAcquired()).isEqualTo(1);
+    assertThat(metrics.maxWaitTime()).isLessThanOrEqualTo(metrics.totalWaitTime());
+    verify(request).end(BODY);
+  }
+
+  @Test
+  void contentLengthIsSetAsTheHeadIsSentAheadOfTheBody() {
+    final HttpClientRequest request = request();
+    metrics.end(request, BODY, failures::add);
+
+    assertThat(request.headers().get("Content-Length")).isEqualTo(Integer.toString(BODY.length()));
+  }
+
+  @Test
+  void requestTurnedAwayByAFullWaitQueueIsCountedAsRejected() {
+    final HttpClientRequest request = request();
+    metrics.end(request, BODY, failures::add);
+
+    final ConnectionPoolTooBusyException busy = new ConnectionPoolTooBusyException("full");
+    exceptionHandler(request).handle(busy);
+
+    assertThat(metrics.waiting()).isZero();
+    assertThat(metrics.rejectedRequests()).isEqualTo(1);
+    assertThat(metrics.connectionsAcquired()).isZero();
+    assertThat(failures).containsExactly(busy);
+  }
+
+  @Test
+  void failureAfterConnectingIsPassedOnWithoutChangingTheCounts() {
+    final HttpClientRequest request = request();
+    metrics.end(request, BODY, failures::add);
+    headSentHandler(request).handle(HttpVersion.HTTP_1_1);
+
+    final RuntimeException closed = new RuntimeException("closed");
+    exceptionHandler(request).handle(closed);
+
+    assertThat(metrics.waiting()).isZero();
+    assertThat(metrics.rejectedRequests()).isZero();
+    assertThat(failures).containsExactly(closed);
+  }
+
+  @Test
+  void unboundedWaitQueueIsNeverSaturated() {
+    final ConnectionPoolMetrics unbounded = new ConnectionPoolMetrics(-1);
+    unbounded.end(request(), BODY, failures::add);
+
+    assertThat(unbounded.waiting()).isEqualTo(1);
+    assertThat(unbounded.saturation()).isZero();
+  }
+
+  private static HttpClientRequest request() {
+    final HttpClientRequest request = mock(HttpClientRequest.class);
+    final MultiMap headers = MultiMap.caseInsensitiveMultiMap();
+    when(request.headers()).thenReturn(headers);
+    return request;
+  }
+
+  @SuppressWarnings("unchecked")
+  private static Handler<HttpVersion> headSentHandler(final HttpClientRequest request) {
+    final ArgumentCaptor<Handler<HttpVersion>> captor = ArgumentCaptor.forClass(Handler.class);
+    verify(request).sendHead(captor.capture());
+    return captor.getValue();
+  }
+
+  @SuppressWarnings("unchecked")
+  private static Handler<Throwable> exceptionHandler(final HttpClientRequest request) {
+    final ArgumentCaptor<Handler<Throwable>> captor = ArgumentCaptor.forClass(Handler.class);
+    verify(request).exceptionHandler(captor.capture());
+    return captor.getValue();
+  }
+}
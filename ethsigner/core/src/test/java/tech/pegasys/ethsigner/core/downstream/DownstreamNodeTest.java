@@ -0,0 +1,65 @@
+/*
+ * Copyright 2020 ConsenSys AG.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on
+ * an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations under the License.
+ */
+package tech.pegasys.ethsigner.core.downstream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.verify;
+
+import com.google.common.net.HostAndPort;
+import io.vertx.core.Handler;
+import io.vertx.core.http.HttpClient;
+import io.vertx.core.http.HttpClientResponse;
+import io.vertx.core.http.HttpMethod;
+import io.vertx.core.net.SocketAddress;
+import org.junit.jupiter.api.Test;
+
+class DownstreamNodeTest {
+
+  private static final String SOCKET_PATH = "/var/run/besu/http.sock";
+
+  private final HttpClient client = mock(HttpClient.class);
+  private final Handler<HttpClientResponse> responseHandler = response -> {};
+
+  @Test
+  void requestIsSentToTheDefaultHostAndPort() {
+    final DownstreamNode node =
+        new DownstreamNode("127.0.0.1:8545", client, new ConnectionPoolMetrics(-1));
+
+    node.post("/", responseHandler);
+
+    verify(client).request(HttpMethod.POST, "/", responseHandler);
+  }
+
+  @Test
+  void requestIsSentThroughTheDomainSocketNamingTheNodeInTheHostHeader() {
+    final DownstreamNode node =
+        new DownstreamNode(
+            HostAndPort.fromParts("127.0.0.1", 8545),
+            SOCKET_PATH,
+            client,
+            new ConnectionPoolMetrics(-1));
+
+    node.post("/", responseHandler);
+
+    verify(client)
+        .request(
+            HttpMethod.POST,
+            SocketAddress.domainSocketAddress(SOCKET_PATH),
+            8545,
+            "127.0.0.1",
+            "/",
+            responseHandler);
+    assertThat(node.name()).contains(SOCKET_PATH);
+  }
+}
@@ -0,0 +1,137 @@
+/*
+ * Copyright 2020 ConsenSys AG.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on
+ * an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations under the License.
+ */
+package tech.pegasys.ethsigner.core.downstream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.mock;
+
+import java.time.Duration;
+import java.util.List;
+
+import io.vertx.core.http.HttpClient;
+import org.junit.jupiter.api.Test;
+
+class DownstreamPoolTest {
+
+  private static final Duration TIMEOUT = Duration.ofSeconds(5);
+
+  private final DownstreamNode first = node("first:8545");
+  private final DownstreamNode second = node("second:8545");
+  private final DownstreamNode third = node("third:8545");
+
+  @Test
+  void affinityKeySelectsTheSameNodeRegardlessOfCase() {
+    final DownstreamPool pool = pool(LoadBalancingStrategy.POWER_OF_TWO_CHOICES);
+    final String sender = "0x7577919ae5df4941180eac211965f275cdce314d";
+
+    final DownstreamNode selected = pool.selectByAffinity(sender);
+
+    assertThat(pool.selectByAffinity(sender)).isSameAs(selected);
+    assertThat(pool.selectByAffinity(sender.toUpperCase())).isSameAs(selected);
+  }
+
+  @Test
+  void affinityKeyOnlyMovesWhenItsNodeBecomesUnhealthy() {
+    final DownstreamPool pool = pool(LoadBalancingStrategy.POWER_OF_TWO_CHOICES);
+    final String sender = "0x7577919ae5df4941180eac211965f275cdce314d";
+    final DownstreamNode selected = pool.selectByAffinity(sender);
+    final DownstreamNode other = selected == first ? second : first;
+
+    other.setHealthy(false);
+    assertThat(pool.selectByAffinity(sender)).isSameAs(selected);
+
+    other.setHealthy(true);
+    selected.setHealthy(false);
+    assertThat(pool.selectByAffinity(sender)).isNotSameAs(selected);
+  }
+
+  @Test
+  void unhealthyNodesAreNotSelected() {
+    final DownstreamPool pool = pool(LoadBalancingStrategy.LEAST_OUTSTANDING);
+    first.setHealthy(false);
+    third.setHealthy(false);
+
+    assertThat(pool.select()).isSameAs(second);
+  }
+
+  @Test
+  void allNodesAreCandidatesWhenNoneAreHealthy() {
+    final DownstreamPool pool = pool(LoadBalancingStrategy.LEAST_OUTSTANDING);
+    first.setHealthy(false);
+    second.setHealthy(false);
+    third.setHealthy(false);
+    first.requestStarted();
+    second.requestStarted();
+
+    assertThat(pool.select()).isSameAs(third);
+  }
+
+  @Test
+  void excludedNodeIsNotSelected() {
+    final DownstreamPool pool = pool(LoadBalancingStrategy.LEAST_OUTSTANDING);
+    second.requestStarted();
+    third.requestStarted();
+
+    assertThat(pool.selectExcluding(first)).containsSame(second);
+  }
+
+  @Test
+  void noNodeIsSelectedWhenTheOnlyNodeIsExcluded() {
+    final DownstreamPool pool =
+        new DownstreamPool(List.of(first), LoadBalancingStrategy.LEAST_OUTSTANDING, TIMEOUT);
+
+    assertThat(pool.selectExcluding(first)).isEmpty();
+  }
+
+  @Test
+  void leastOutstandingSelectsTheLeastLoadedNode() {
+    final DownstreamPool pool = pool(LoadBalancingStrategy.LEAST_OUTSTANDING);
+    first.requestStarted();
+    first.requestStarted();
+    third.requestStarted();
+
+    assertThat(pool.select()).isSameAs(second);
+  }
+
+  @Test
+  void ewmaLatencySelectsTheFastestNode() {
+    final DownstreamPool pool = pool(LoadBalancingStrategy.EWMA_LATENCY);
+    first.requestFailed(first.requestStarted() - 50_000_000);
+    second.requestCompleted(second.requestStarted() - 1_000_000);
+    third.requestCompleted(third.requestStarted() - 20_000_000);
+
+    assertThat(pool.select()).isSameAs(second);
+  }
+
+  @Test
+  void powerOfTwoChoicesNeverSelectsTheMostExpensiveNode() {
+    final DownstreamPool pool = pool(LoadBalancingStrategy.POWER_OF_TWO_CHOICES);
+    first.requestCompleted(first.requestStarted() - 1_000_000);
+    second.requestCompleted(second.requestStarted() - 1_000_000);
+    third.requestCompleted(third.requestStarted() - 1_000_000);
+    third.requestStarted();
+    third.requestStarted();
+
+    for (int i = 0; i < 100; i++) {
+      assertThat(pool.select()).isNotSameAs(third);
+    }
+  }
+
+  private DownstreamPool pool(final LoadBalancingStrategy strategy) {
+    return new DownstreamPool(List.of(first, second, third), strategy, TIMEOUT);
+  }
+
+  private static DownstreamNode node(final String name) {
+    return new DownstreamNode(name, mock(HttpClient.class), new ConnectionPoolMetrics(-1));
+  }
+}
@@ -0,0 +1,67 @@
+/*
+ * Copyright 2020 ConsenSys AG.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on
+ * an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations under the License.
+ */
+package tech.pegasys.ethsigner.core.downstream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.mock;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.Set;
+
+import io.vertx.core.http.HttpClient;
+import org.junit.jupiter.api.Test;
+
+class DownstreamRoutesTest {
+
+  private final DownstreamPool signingPool = pool("writer:8545");
+  private final DownstreamPool writePool = pool("writer:8545");
+  private final DownstreamPool readPool = pool("replica:8545");
+  private final DownstreamRoutes routes =
+      new DownstreamRoutes(
+          signingPool,
+          writePool,
+          readPool,
+          Set.of("debug_traceTransaction"),
+          Set.of("eth_getTransactionCount"));
+
+  @Test
+  void readOnlyMethodsGoToTheReadPool() {
+    assertThat(routes.poolFor("eth_getBalance")).isSameAs(readPool);
+    assertThat(routes.poolFor("eth_getLogs")).isSameAs(readPool);
+  }
+
+  @Test
+  void methodsNotKnownToBeReadOnlyGoToTheWritePool() {
+    assertThat(routes.poolFor("eth_sendRawTransaction")).isSameAs(writePool);
+    assertThat(routes.poolFor("eea_sendRawTransaction")).isSameAs(writePool);
+    assertThat(routes.poolFor("admin_peers")).isSameAs(writePool);
+  }
+
+  @Test
+  void readMethodOverrideGoesToTheReadPool() {
+    assertThat(routes.poolFor("debug_traceTransaction")).isSameAs(readPool);
+  }
+
+  @Test
+  void writeMethodOverrideTakesPrecedenceOverReadOnlyMethods() {
+    assertThat(routes.poolFor("eth_getTransactionCount")).isSameAs(writePool);
+  }
+
+  private static DownstreamPool pool(final String name) {
+    return new DownstreamPool(
+        List.of(new DownstreamNode(name, mock(HttpClient.class), new ConnectionPoolMetrics(-1))),
+        LoadBalancingStrategy.LEAST_OUTSTANDING,
+        Duration.ofSeconds(5));
+  }
+}
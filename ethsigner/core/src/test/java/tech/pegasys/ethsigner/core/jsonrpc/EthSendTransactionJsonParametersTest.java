@@ -13,6 +13,7 @@
 package tech.pegasys.ethsigner.core.jsonrpc;
 
 import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
 
 import tech.pegasys.ethsigner.core.EthSigner;
 import tech.pegasys.ethsigner.core.requesthandler.sendtransaction.transaction.TransactionFactory;
@@ -20,9 +21,11 @@ import tech.pegasys.ethsigner.core.requesthandler.sendtransaction.transaction.Tr
 import java.math.BigInteger;
 import java.util.Optional;
 
+import io.vertx.core.json.DecodeException;
 import io.vertx.core.json.JsonObject;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
+import org.web3j.utils.Numeric;
 
 public class EthSendTransactionJsonParametersTest {
 
@@ -96,6 +99,44 @@ public class EthSendTransactionJsonParametersTest {
     assertThat(txnParams.receiver()).contains("invalidToAddress");
   }
 
+  @Test
+  public void dataIsDecodedToBytes() {
+    final JsonObject parameters = validEthTransactionParameters();
+
+    final JsonRpcRequest request = wrapParametersInRequest(parameters);
+    final EthSendTransactionJsonParameters txnParams =
+        factory.fromRpcRequestToJsonParam(EthSendTransactionJsonParameters.class, request);
+
+    assertThat(txnParams.data()).isPresent();
+    assertThat(txnParams.data().get())
+        .isEqualTo(Numeric.hexStringToByteArray(parameters.getString("data")));
+  }
+
+  @Test
+  public void quantityLargerThanLongIsDecoded() {
+    final JsonObject parameters = validEthTransactionParameters();
+    parameters.put("value", "0xe04d296d2460cfb8472af2c5fd05b5a214109c25688d3704aed5484f9a7792f2");
+
+    final JsonRpcRequest request = wrapParametersInRequest(parameters);
+    final EthSendTransactionJsonParameters txnParams =
+        factory.fromRpcRequestToJsonParam(EthSendTransactionJsonParameters.class, request);
+
+    assertThat(txnParams.value()).isEqualTo(getStringAsOptionalBigInteger(parameters, "value"));
+  }
+
+  @Test
+  public void quantityWithInvalidHexDigitsIsRejected() {
+    final JsonObject parameters = validEthTransactionParameters();
+    parameters.put("gas", "0x76cz");
+
+    final JsonRpcRequest request = wrapParametersInRequest(parameters);
+
+    assertThatThrownBy(
+            () ->
+                factory.fromRpcRequestToJsonParam(EthSendTransactionJsonParameters.class, request))
+        .isInstanceOf(DecodeException.class);
+  }
+
   private JsonObject validEthTransactionParameters() {
     final JsonObject parameters = new JsonObject();
     parameters.put("from", "0xb60e8dd61c5d32be8058bb8eb970870f07233155");
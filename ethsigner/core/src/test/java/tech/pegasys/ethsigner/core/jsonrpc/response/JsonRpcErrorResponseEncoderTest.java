@@ -0,0 +1,57 @@
+/*
+ * Copyright 2020 ConsenSys AG.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on
+ * an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations under the License.
+ */
+package tech.pegasys.ethsigner.core.jsonrpc.response;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import tech.pegasys.ethsigner.core.jsonrpc.JsonRpcRequestId;
+
+import io.vertx.core.json.Json;
+import io.vertx.core.json.JsonObject;
+import org.junit.jupiter.api.Test;
+
+public class JsonRpcErrorResponseEncoderTest {
+
+  @Test
+  public void encodingMatchesSerializedErrorResponseForNumericId() {
+    final JsonRpcRequestId id = new JsonRpcRequestId(77);
+
+    assertThat(encodeWithTemplate(id, JsonRpcError.INVALID_PARAMS))
+        .isEqualTo(encodeResponse(id, JsonRpcError.INVALID_PARAMS));
+  }
+
+  @Test
+  public void encodingMatchesSerializedErrorResponseForStringId() {
+    final JsonRpcRequestId id = new JsonRpcRequestId("a \"quoted\" id");
+
+    assertThat(encodeWithTemplate(id, JsonRpcError.NONCE_TOO_LOW))
+        .isEqualTo(encodeResponse(id, JsonRpcError.NONCE_TOO_LOW));
+  }
+
+  @Test
+  public void missingIdIsEncodedAsNull() {
+    final JsonObject encoded = encodeWithTemplate(null, JsonRpcError.PARSE_ERROR);
+
+    assertThat(encoded.containsKey("id")).isTrue();
+    assertThat(encoded.getValue("id")).isNull();
+    assertThat(encoded).isEqualTo(encodeResponse(null, JsonRpcError.PARSE_ERROR));
+  }
+
+  private JsonObject encodeWithTemplate(final Object id, final JsonRpcError error) {
+    return new JsonObject(JsonRpcErrorResponseEncoder.encode(id, error));
+  }
+
+  private JsonObject encodeResponse(final Object id, final JsonRpcError error) {
+    return new JsonObject(Json.encodeToBuffer(new JsonRpcErrorResponse(id, error)));
+  }
+}
@@ -0,0 +1,193 @@
+/*
+ * Copyright 2020 ConsenSys AG.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on
+ * an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations under the License.
+ */
+package tech.pegasys.ethsigner.core.jsonrpcproxy;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.RETURNS_DEEP_STUBS;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import tech.pegasys.ethsigner.core.EthSigner;
+import tech.pegasys.ethsigner.core.downstream.DownstreamNode;
+import tech.pegasys.ethsigner.core.downstream.DownstreamPool;
+import tech.pegasys.ethsigner.core.downstream.DownstreamRoutes;
+import tech.pegasys.ethsigner.core.http.HttpResponseFactory;
+import tech.pegasys.ethsigner.core.jsonrpc.JsonRpcRequest;
+import tech.pegasys.ethsigner.core.jsonrpc.JsonRpcRequestId;
+import tech.pegasys.ethsigner.core.requesthandler.VertxRequestTransmitter;
+import tech.pegasys.ethsigner.core.requesthandler.VertxRequestTransmitter.ResponseBodyHandler;
+import tech.pegasys.ethsigner.core.requesthandler.internalresponse.CachedResultHandler;
+
+import java.time.Duration;
+import java.util.List;
+
+import io.vertx.core.Handler;
+import io.vertx.core.MultiMap;
+import io.vertx.core.buffer.Buffer;
+import io.vertx.core.http.HttpClientRequest;
+import io.vertx.core.http.HttpClientResponse;
+import io.vertx.core.http.HttpServerRequest;
+import io.vertx.core.json.JsonObject;
+import io.vertx.ext.web.RoutingContext;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+
+class CachedResultHandlerTest {
+
+  private static final String CLIENT_VERSION = "besu/v1.4.0";
+
+  private final HttpResponseFactory responder = mock(HttpResponseFactory.class);
+  private final DownstreamRoutes downstreamRoutes = mock(DownstreamRoutes.class);
+  private final DownstreamPool pool = mock(DownstreamPool.class);
+  private final DownstreamNode node = mock(DownstreamNode.class);
+  private final VertxRequestTransmitter transmitter = mock(VertxRequestTransmitter.class);
+  private final HttpClientRequest refreshRequest = mock(HttpClientRequest.class);
+  private ResponseBodyHandler responseBodyHandler;
+
+  CachedResultHandlerTest() {
+    when(downstreamRoutes.poolFor(any())).thenReturn(pool);
+    when(downstreamRoutes.writePool()).thenReturn(pool);
+    when(pool.select()).thenReturn(node);
+    when(pool.requestTimeout()).thenReturn(Duration.ofSeconds(1));
+    when(node.request(any(), anyString(), any())).thenReturn(mock(HttpClientRequest.class));
+    when(node.post(eq("/"), any())).thenReturn(refreshRequest);
+    when(refreshRequest.headers()).thenReturn(MultiMap.caseInsensitiveMultiMap());
+  }
+
+  @Test
+  void requestsArePassedThroughUntilTheNodeAnswersOne() {
+    final CachedResultHandler handler = handler(Duration.ofMinutes(1));
+
+    handler.handle(context(), request(1));
+    handler.handle(context(), request(2));
+
+    verify(transmitter, times(2))
+        .sendRequest(any(), any(), any(), any(), any(Duration.class), any());
+    verify(responder, never()).create(any(), any(Integer.class), any(Buffer.class));
+  }
+
+  @Test
+  void cachedResultIsServedUnderEachCallersId() {
+    final CachedResultHandler handler = handler(Duration.ofMinutes(1));
+    handler.handle(context(), request(1));
+    respondDownstream(CLIENT_VERSION);
+
+    final RoutingContext context = context();
+    handler.handle(context, request(7));
+
+    assertThat(internalResponse(context)).isEqualTo(success(7, CLIENT_VERSION));
+    final RoutingContext otherContext = context();
+    handler.handle(otherContext, request(8));
+    assertThat(internalResponse(otherContext)).isEqualTo(success(8, CLIENT_VERSION));
+    verify(transmitter).sendRequest(any(), any(), any(), any(), any(Duration.class), any());
+  }
+
+  @Test
+  void failedResponseIsNotCached() {
+    final CachedResultHandler handler = handler(Duration.ofMinutes(1));
+    handler.handle(context(), request(1));
+    final HttpClientResponse response = mock(HttpClientResponse.class);
+    when(response.statusCode()).thenReturn(503);
+    when(response.headers()).thenReturn(MultiMap.caseInsensitiveMultiMap());
+    responseBodyHandler.handleResponseBody(context(), response, Buffer.buffer("unavailable"));
+
+    handler.handle(context(), request(2));
+
+    verify(transmitter, times(2))
+        .sendRequest(any(), any(), any(), any(), any(Duration.class), any());
+  }
+
+  @Test
+  void staleResultIsServedWhileASingleRefreshIsInProgress() {
+    final CachedResultHandler handler = handler(Duration.ZERO);
+    handler.handle(context(), request(1));
+    respondDownstream(CLIENT_VERSION);
+
+    final RoutingContext staleContext = context();
+    handler.handle(staleContext, request(2));
+    handler.handle(context(), request(3));
+
+    assertThat(internalResponse(staleContext)).isEqualTo(success(2, CLIENT_VERSION));
+    verify(node, times(1)).post(eq("/"), any());
+
+    completeRefresh("besu/v1.5.0");
+    final RoutingContext refreshedContext = context();
+    handler.handle(refreshedContext, request(4));
+
+    assertThat(internalResponse(refreshedContext)).isEqualTo(success(4, "besu/v1.5.0"));
+    verify(node, times(2)).post(eq("/"), any());
+  }
+
+  private CachedResultHandler handler(final Duration refreshInterval) {
+    return new CachedResultHandler(
+        responder,
+        downstreamRoutes,
+        responseBodyHandler -> {
+          this.responseBodyHandler = responseBodyHandler;
+          return transmitter;
+        },
+        EthSigner.createJsonDecoder(),
+        refreshInterval);
+  }
+
+  private void respondDownstream(final String result) {
+    final HttpClientResponse response = mock(HttpClientResponse.class);
+    when(response.statusCode()).thenReturn(200);
+    when(response.headers()).thenReturn(MultiMap.caseInsensitiveMultiMap());
+    responseBodyHandler.handleResponseBody(context(), response, success(1, result).toBuffer());
+  }
+
+  @SuppressWarnings("unchecked")
+  private void completeRefresh(final String result) {
+    final ArgumentCaptor<Handler<HttpClientResponse>> responseHandler =
+        ArgumentCaptor.forClass(Handler.class);
+    verify(node).post(eq("/"), responseHandler.capture());
+    final HttpClientResponse response = mock(HttpClientResponse.class);
+    when(response.statusCode()).thenReturn(200);
+    responseHandler.getValue().handle(response);
+
+    final ArgumentCaptor<Handler<Buffer>> bodyHandler = ArgumentCaptor.forClass(Handler.class);
+    verify(response).bodyHandler(bodyHandler.capture());
+    bodyHandler.getValue().handle(success(1, result).toBuffer());
+  }
+
+  private JsonObject internalResponse(final RoutingContext context) {
+    final ArgumentCaptor<Buffer> body = ArgumentCaptor.forClass(Buffer.class);
+    verify(responder).create(eq(context.request()), eq(200), body.capture());
+    return body.getValue().toJsonObject();
+  }
+
+  private static RoutingContext context() {
+    final RoutingContext context = mock(RoutingContext.class, RETURNS_DEEP_STUBS);
+    final HttpServerRequest request = context.request();
+    when(request.headers()).thenReturn(MultiMap.caseInsensitiveMultiMap());
+    return context;
+  }
+
+  private static JsonRpcRequest request(final int id) {
+    final JsonRpcRequest request = new JsonRpcRequest("2.0", "web3_clientVersion");
+    request.setId(new JsonRpcRequestId(id));
+    request.setParams(List.of());
+    return request;
+  }
+
+  private static JsonObject success(final int id, final String result) {
+    return new JsonObject().put("jsonrpc", "2.0").put("id", id).put("result", result);
+  }
+}
@@ -153,4 +153,18 @@ public class EthAccountsBodyProviderTest {
     JsonObject jsonObj = new JsonObject(body.body());
     assertThat(jsonObj.getJsonArray("result")).containsExactly("a", "b", "c");
   }
+
+  @Test
+  public void eachResponseCarriesTheIdOfItsRequest() {
+    final EthAccountsBodyProvider bodyProvider = new EthAccountsBodyProvider(() -> Set.of("a"));
+
+    for (final Object id : new Object[] {1, "second"}) {
+      final JsonRpcRequest request = new JsonRpcRequest("2.0", "eth_accounts");
+      request.setId(new JsonRpcRequestId(id));
+
+      final JsonObject jsonObj = new JsonObject(bodyProvider.getBody(request).body());
+      assertThat(jsonObj.getValue("id")).isEqualTo(id);
+      assertThat(jsonObj.getJsonArray("result")).containsExactly("a");
+    }
+  }
 }
@@ -0,0 +1,44 @@
+/*
+ * Copyright 2020 ConsenSys AG.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on
+ * an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations under the License.
+ */
+package tech.pegasys.ethsigner.core.jsonrpcproxy;
+
+import static java.util.Collections.emptyList;
+import static org.assertj.core.api.Assertions.assertThat;
+
+import tech.pegasys.ethsigner.core.jsonrpc.JsonRpcRequest;
+import tech.pegasys.ethsigner.core.jsonrpc.JsonRpcRequestId;
+import tech.pegasys.ethsigner.core.requesthandler.JsonRpcBody;
+import tech.pegasys.ethsigner.core.requesthandler.internalresponse.EthChainIdBodyProvider;
+
+import io.vertx.core.json.JsonObject;
+import org.junit.jupiter.api.Test;
+
+public class EthChainIdBodyProviderTest {
+
+  @Test
+  public void configuredChainIdIsReturnedAsQuantity() {
+    final EthChainIdBodyProvider bodyProvider = new EthChainIdBodyProvider(2018);
+
+    final JsonRpcRequest request = new JsonRpcRequest("2.0", "eth_chainId");
+    request.setId(new JsonRpcRequestId(5));
+    request.setParams(emptyList());
+
+    final JsonRpcBody body = bodyProvider.getBody(request);
+    final JsonObject jsonObj = new JsonObject(body.body());
+
+    assertThat(body.hasError()).isFalse();
+    assertThat(jsonObj.getString("jsonrpc")).isEqualTo("2.0");
+    assertThat(jsonObj.getInteger("id")).isEqualTo(5);
+    assertThat(jsonObj.getString("result")).isEqualTo("0x7e2");
+  }
+}
@@ -0,0 +1,71 @@
+/*
+ * Copyright 2020 ConsenSys AG.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on
+ * an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations under the License.
+ */
+package tech.pegasys.ethsigner.core.metrics;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.mock;
+
+import tech.pegasys.ethsigner.core.metrics.RequestTimings.Stage;
+
+import java.util.concurrent.TimeUnit;
+
+import io.vertx.ext.web.RoutingContext;
+import org.junit.jupiter.api.Test;
+
+class RequestTimingsTest {
+
+  private final RequestTimings timings = new RequestTimings();
+
+  @Test
+  void onlyStagesReachedAreReportedInOrder() {
+    timings.record(Stage.SIGN, startedMillisAgo(2));
+    timings.record(Stage.PARSE, startedMillisAgo(1));
+
+    assertThat(timings.toHeaderValue()).matches("parse;dur=\\d+\\.\\d{3}, sign;dur=\\d+\\.\\d{3}");
+  }
+
+  @Test
+  void stagesOfRetriedAttemptsAreReportedAsRetries() {
+    timings.record(Stage.PARSE, startedMillisAgo(1));
+    timings.record(Stage.NONCE_FETCH, startedMillisAgo(2));
+    timings.record(Stage.SIGN, startedMillisAgo(3));
+    timings.record(Stage.DOWNSTREAM, startedMillisAgo(4));
+    timings.retrying();
+    timings.record(Stage.NONCE_FETCH, startedMillisAgo(5));
+    timings.retrying();
+    timings.record(Stage.NONCE_FETCH, startedMillisAgo(1));
+
+    assertThat(timings.toHeaderValue())
+        .matches(
+            "parse;dur=\\d+\\.\\d{3}, nonce;dur=\\d+\\.\\d{3}, retries;dur=\\d+\\.\\d{3};desc=\"2\"");
+  }
+
+  @Test
+  void durationsBelowAMillisecondAreNotInExponentForm() {
+    timings.record(Stage.PARSE, System.nanoTime());
+
+    assertThat(timings.toHeaderValue()).matches("parse;dur=\\d+\\.\\d{3}");
+  }
+
+  @Test
+  void requestsWithoutTimingsRecordNothing() {
+    final RequestTimings disabled = RequestTimings.fromContext(mock(RoutingContext.class));
+    disabled.record(Stage.PARSE, startedMillisAgo(1));
+
+    assertThat(disabled.toHeaderValue()).isEmpty();
+  }
+
+  private static long startedMillisAgo(final long millis) {
+    return System.nanoTime() - TimeUnit.MILLISECONDS.toNanos(millis);
+  }
+}
@@ -0,0 +1,72 @@
+/*
+ * Copyright 2020 ConsenSys AG.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on
+ * an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations under the License.
+ */
+package tech.pegasys.ethsigner.core.requesthandler;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import io.vertx.core.MultiMap;
+import org.junit.jupiter.api.Test;
+
+class ForwardedHeadersTest {
+
+  @Test
+  void endToEndHeadersAreCopied() {
+    final MultiMap source =
+        MultiMap.caseInsensitiveMultiMap()
+            .add("Authorization", "Bearer token")
+            .add("Accept", "application/json")
+            .add("Accept", "text/plain");
+    final MultiMap target = MultiMap.caseInsensitiveMultiMap();
+
+    ForwardedHeaders.copy(source, target);
+
+    assertThat(target.get("Authorization")).isEqualTo("Bearer token");
+    assertThat(target.getAll("Accept")).containsExactly("application/json", "text/plain");
+  }
+
+  @Test
+  void standardHopByHopHeadersAreNotCopied() {
+    final MultiMap source =
+        MultiMap.caseInsensitiveMultiMap()
+            .add("Connection", "keep-alive")
+            .add("Keep-Alive", "timeout=5")
+            .add("Proxy-Connection", "keep-alive")
+            .add("TE", "trailers")
+            .add("Trailer", "Expires")
+            .add("Transfer-Encoding", "chunked")
+            .add("Upgrade", "h2c")
+            .add("Content-Type", "application/json");
+    final MultiMap target = MultiMap.caseInsensitiveMultiMap();
+
+    ForwardedHeaders.copy(source, target);
+
+    assertThat(target.names()).containsExactly("Content-Type");
+  }
+
+  @Test
+  void headersNamedByTheConnectionHeaderAreNotCopied() {
+    final MultiMap source =
+        MultiMap.caseInsensitiveMultiMap()
+            .add("Connection", "X-Hop-One, x-hop-two")
+            .add("Connection", " ,X-Hop-Three")
+            .add("X-Hop-One", "1")
+            .add("X-Hop-Two", "2")
+            .add("X-Hop-Three", "3")
+            .add("X-End-To-End", "4");
+    final MultiMap target = MultiMap.caseInsensitiveMultiMap();
+
+    ForwardedHeaders.copy(source, target);
+
+    assertThat(target.names()).containsExactly("X-End-To-End");
+  }
+}
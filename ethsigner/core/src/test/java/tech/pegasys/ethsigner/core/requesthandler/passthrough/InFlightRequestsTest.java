@@ -0,0 +1,96 @@
+/*
+ * Copyright 2020 ConsenSys AG.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on
+ * an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations under the License.
+ */
+package tech.pegasys.ethsigner.core.requesthandler.passthrough;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.mock;
+
+import tech.pegasys.ethsigner.core.jsonrpc.JsonRpcRequest;
+import tech.pegasys.ethsigner.core.jsonrpc.JsonRpcRequestId;
+import tech.pegasys.ethsigner.core.requesthandler.passthrough.InFlightRequests.Flight;
+import tech.pegasys.ethsigner.core.requesthandler.passthrough.InFlightRequests.WaitingRequest;
+import tech.pegasys.ethsigner.core.requesthandler.passthrough.cache.RequestKey;
+
+import java.util.List;
+import java.util.Optional;
+
+import io.vertx.ext.web.RoutingContext;
+import org.junit.jupiter.api.Test;
+
+class InFlightRequestsTest {
+
+  private final InFlightRequests inFlightRequests = new InFlightRequests();
+
+  @Test
+  void identicalRequestWaitsOnTheOneInFlight() {
+    final JsonRpcRequest first = blockNumberRequest(1);
+    final JsonRpcRequest second = blockNumberRequest(2);
+    final RoutingContext secondContext = context();
+
+    final Optional<Flight> flight =
+        inFlightRequests.joinOrLead(RequestKey.of(first), context(), first);
+    final Optional<Flight> joined =
+        inFlightRequests.joinOrLead(RequestKey.of(second), secondContext, second);
+
+    assertThat(flight).isPresent();
+    assertThat(joined).isEmpty();
+
+    final List<WaitingRequest> waiting = inFlightRequests.land(flight.get());
+    assertThat(waiting).hasSize(1);
+    assertThat(waiting.get(0).context()).isSameAs(secondContext);
+    assertThat(waiting.get(0).request()).isSameAs(second);
+  }
+
+  @Test
+  void requestsWithDifferentCredentialsAreNotCoalesced() {
+    final JsonRpcRequest first = blockNumberRequest(1);
+    final JsonRpcRequest second = blockNumberRequest(2);
+
+    inFlightRequests.joinOrLead(RequestKey.of(first, "Bearer first"), context(), first);
+
+    assertThat(
+            inFlightRequests.joinOrLead(RequestKey.of(second, "Bearer second"), context(), second))
+        .isPresent();
+  }
+
+  @Test
+  void requestAfterLandingStartsANewFlight() {
+    final JsonRpcRequest first = blockNumberRequest(1);
+    final JsonRpcRequest second = blockNumberRequest(2);
+    final Flight flight =
+        inFlightRequests.joinOrLead(RequestKey.of(first), context(), first).orElseThrow();
+
+    assertThat(inFlightRequests.land(flight)).isEmpty();
+    assertThat(inFlightRequests.joinOrLead(RequestKey.of(second), context(), second)).isPresent();
+  }
+
+  @Test
+  void onlyReadOnlyMethodsAreCoalescable() {
+    assertThat(inFlightRequests.isCoalescable(blockNumberRequest(1))).isTrue();
+    assertThat(inFlightRequests.isCoalescable(new JsonRpcRequest("2.0", "eth_newFilter")))
+        .isFalse();
+    assertThat(inFlightRequests.isCoalescable(new JsonRpcRequest("2.0", "eth_sendRawTransaction")))
+        .isFalse();
+  }
+
+  private static JsonRpcRequest blockNumberRequest(final int id) {
+    final JsonRpcRequest request = new JsonRpcRequest("2.0", "eth_blockNumber");
+    request.setId(new JsonRpcRequestId(id));
+    request.setParams(List.of());
+    return request;
+  }
+
+  private static RoutingContext context() {
+    return mock(RoutingContext.class);
+  }
+}
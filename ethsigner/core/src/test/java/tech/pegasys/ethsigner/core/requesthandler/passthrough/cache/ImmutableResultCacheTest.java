@@ -0,0 +1,90 @@
+/*
+ * Copyright 2020 ConsenSys AG.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on
+ * an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations under the License.
+ */
+package tech.pegasys.ethsigner.core.requesthandler.passthrough.cache;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import tech.pegasys.ethsigner.core.jsonrpc.JsonRpcRequest;
+import tech.pegasys.ethsigner.core.jsonrpc.JsonRpcRequestId;
+
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import org.junit.jupiter.api.Test;
+
+class ImmutableResultCacheTest {
+
+  private static final String HASH =
+      "0xAB5E1B2F0C3D4E5F60718293A4B5C6D7E8F90123456789ABCDEF0123456789AB";
+
+  private final ImmutableResultCache cache = new ImmutableResultCache(1024 * 1024);
+
+  @Test
+  void cachedResultIsSharedByRequestsDifferingOnlyInIdAndHexCase() {
+    final JsonRpcRequest first = request(1, "eth_getBlockByHash", List.of(HASH, false));
+    final JsonRpcRequest second =
+        request("two", "eth_getBlockByHash", List.of(HASH.toLowerCase(), false));
+    cache.put(first, RequestKey.of(first), Map.of("hash", HASH));
+
+    assertThat(cache.get(RequestKey.of(second))).isPresent();
+    assertThat(cache.get(RequestKey.of(second)).get().encode(second.getId()).toString())
+        .isEqualTo("{\"jsonrpc\":\"2.0\",\"id\":\"two\",\"result\":{\"hash\":\"" + HASH + "\"}}");
+  }
+
+  @Test
+  void cachedResultIsNotSharedWithRequestsMadeWithOtherCredentials() {
+    final JsonRpcRequest request = request(1, "eth_getBlockByHash", List.of(HASH, false));
+    cache.put(request, RequestKey.of(request, "Bearer first"), Map.of("hash", HASH));
+
+    assertThat(cache.get(RequestKey.of(request, "Bearer first"))).isPresent();
+    assertThat(cache.get(RequestKey.of(request, "Bearer second"))).isEmpty();
+    assertThat(cache.get(RequestKey.of(request))).isEmpty();
+  }
+
+  @Test
+  void pendingTransactionIsNotCached() {
+    final JsonRpcRequest request = request(1, "eth_getTransactionByHash", List.of(HASH));
+    final Map<String, Object> pending = new HashMap<>();
+    pending.put("hash", HASH);
+    pending.put("blockHash", null);
+    cache.put(request, RequestKey.of(request), pending);
+
+    assertThat(cache.get(RequestKey.of(request))).isEmpty();
+  }
+
+  @Test
+  void minedReceiptIsCached() {
+    final JsonRpcRequest request = request(1, "eth_getTransactionReceipt", List.of(HASH));
+    cache.put(request, RequestKey.of(request), Map.of("blockHash", HASH));
+
+    assertThat(cache.get(RequestKey.of(request))).isPresent();
+  }
+
+  @Test
+  void codeIsOnlyCacheableAtAnExplicitBlockNumber() {
+    final String address = "0x7577919ae5df4941180eac211965f275cdce314d";
+
+    assertThat(cache.isCacheable(request(1, "eth_getCode", List.of(address, "0x1b4")))).isTrue();
+    assertThat(cache.isCacheable(request(1, "eth_getCode", List.of(address, "latest")))).isFalse();
+    assertThat(cache.isCacheable(request(1, "eth_getBalance", List.of(address, "0x1b4"))))
+        .isFalse();
+  }
+
+  private static JsonRpcRequest request(final Object id, final String method, final Object params) {
+    final JsonRpcRequest request = new JsonRpcRequest("2.0", method);
+    request.setId(new JsonRpcRequestId(id));
+    request.setParams(params);
+    return request;
+  }
+}
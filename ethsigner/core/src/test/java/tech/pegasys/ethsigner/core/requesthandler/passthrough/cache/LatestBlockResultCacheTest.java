@@ -0,0 +1,122 @@
+/*
+ * Copyright 2020 ConsenSys AG.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on
+ * an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations under the License.
+ */
+package tech.pegasys.ethsigner.core.requesthandler.passthrough.cache;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import tech.pegasys.ethsigner.core.jsonrpc.JsonRpcRequest;
+import tech.pegasys.ethsigner.core.jsonrpc.JsonRpcRequestId;
+
+import java.util.List;
+import java.util.Map;
+import java.util.function.Consumer;
+
+import org.junit.jupiter.api.Test;
+
+class LatestBlockResultCacheTest {
+
+  private static final String ADDRESS = "0x7577919ae5df4941180eac211965f275cdce314d";
+  private static final String BLOCK_10 =
+      "0x0a00000000000000000000000000000000000000000000000000000000000000";
+  private static final String BLOCK_10_REORGED =
+      "0x0a000000000000000000000000000000000000000000000000000000000000ff";
+  private static final String BLOCK_11 =
+      "0x0b00000000000000000000000000000000000000000000000000000000000000";
+
+  private final LatestBlockResultCache cache = new LatestBlockResultCache(1024);
+
+  @Test
+  void nothingIsCacheableUntilAHeadIsObserved() {
+    assertThat(cache.isCacheable(request("eth_blockNumber", List.of()))).isFalse();
+
+    cache.onNewHead(10, BLOCK_10);
+
+    assertThat(cache.isCacheable(request("eth_blockNumber", List.of()))).isTrue();
+  }
+
+  @Test
+  void onlyRequestsAgainstTheLatestBlockAreCacheable() {
+    cache.onNewHead(10, BLOCK_10);
+
+    assertThat(cache.isCacheable(request("eth_getBalance", List.of(ADDRESS, "latest")))).isTrue();
+    assertThat(cache.isCacheable(request("eth_getBalance", List.of(ADDRESS, "pending")))).isFalse();
+    assertThat(cache.isCacheable(request("eth_getBalance", List.of(ADDRESS, "0xa")))).isFalse();
+  }
+
+  @Test
+  void resultsAreHeldUntilTheNextHead() {
+    final JsonRpcRequest request = request("eth_getBalance", List.of(ADDRESS, "latest"));
+    final RequestKey key = RequestKey.of(request);
+    cache.onNewHead(10, BLOCK_10);
+    cache.put(request, key, "0x1");
+
+    assertThat(cache.get(key)).isPresent();
+    assertThat(cache.get(key)).isPresent();
+    assertThat(cache.hitsAtCurrentHead()).isEqualTo(2);
+
+    cache.onNewHead(11, BLOCK_11);
+
+    assertThat(cache.get(key)).isEmpty();
+    assertThat(cache.hitsAtCurrentHead()).isZero();
+  }
+
+  @Test
+  void resultsAreDiscardedWhenTheHeadIsReplacedAtTheSameHeight() {
+    final JsonRpcRequest request = request("eth_blockNumber", List.of());
+    final RequestKey key = RequestKey.of(request);
+    cache.onNewHead(10, BLOCK_10);
+    cache.put(request, key, "0xa");
+
+    cache.onNewHead(10, BLOCK_10_REORGED);
+
+    assertThat(cache.get(key)).isEmpty();
+  }
+
+  @Test
+  void resultReturnedAfterTheHeadMovesOnIsNotHeld() {
+    final JsonRpcRequest request = request("eth_blockNumber", List.of());
+    final RequestKey key = RequestKey.of(request);
+    cache.onNewHead(10, BLOCK_10);
+    final Consumer<Object> requestedAtBlock10 = cache.awaitResult(request, key);
+
+    cache.onNewHead(11, BLOCK_11);
+    requestedAtBlock10.accept("0xa");
+
+    assertThat(cache.get(key)).isEmpty();
+
+    cache.awaitResult(request, key).accept("0xb");
+
+    assertThat(cache.get(key).map(result -> result.encode(1).toString()))
+        .hasValue("{\"jsonrpc\":\"2.0\",\"id\":1,\"result\":\"0xb\"}");
+  }
+
+  @Test
+  void resultsBeyondTheSizeLimitForABlockAreNotHeld() {
+    final JsonRpcRequest small = request("eth_getBalance", List.of(ADDRESS, "latest"));
+    final JsonRpcRequest large = request("eth_call", List.of(Map.of("to", ADDRESS), "latest"));
+    cache.onNewHead(10, BLOCK_10);
+
+    cache.put(large, RequestKey.of(large), "0x" + "ab".repeat(1024));
+    cache.put(small, RequestKey.of(small), "0x1");
+
+    assertThat(cache.get(RequestKey.of(large))).isEmpty();
+    assertThat(cache.get(RequestKey.of(small))).isPresent();
+  }
+
+  private static JsonRpcRequest request(final String method, final Object params) {
+    final JsonRpcRequest request = new JsonRpcRequest("2.0", method);
+    request.setId(new JsonRpcRequestId(1));
+    request.setParams(params);
+    return request;
+  }
+}
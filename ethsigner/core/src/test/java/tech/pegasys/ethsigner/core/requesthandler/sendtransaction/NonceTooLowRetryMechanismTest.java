@@ -18,6 +18,8 @@ import static org.mockito.Mockito.when;
 
 import tech.pegasys.ethsigner.core.jsonrpc.response.JsonRpcError;
 import tech.pegasys.ethsigner.core.jsonrpc.response.JsonRpcErrorResponse;
+import tech.pegasys.ethsigner.metrics.Counter;
+import tech.pegasys.ethsigner.metrics.MetricsRegistry;
 
 import java.math.BigInteger;
 
@@ -33,7 +35,8 @@ public class NonceTooLowRetryMechanismTest {
   private final NonceProvider nonceProvider = mock(NonceProvider.class);
   private final HttpClientResponse httpResponse = mock(HttpClientResponse.class);
 
-  private final RetryMechanism retryMechanism = new NonceTooLowRetryMechanism(2);
+  private final Counter retries = new MetricsRegistry().counter("retries_total", "Retries");
+  private final RetryMechanism retryMechanism = new NonceTooLowRetryMechanism(2, retries);
 
   @BeforeEach
   public void setup() {
@@ -79,4 +82,12 @@ public class NonceTooLowRetryMechanismTest {
     retryMechanism.incrementRetries();
     assertThat(retryMechanism.retriesAvailable()).isFalse();
   }
+
+  @Test
+  public void retriesAreCounted() {
+    retryMechanism.incrementRetries();
+    retryMechanism.incrementRetries();
+
+    assertThat(retries.value()).isEqualTo(2);
+  }
 }
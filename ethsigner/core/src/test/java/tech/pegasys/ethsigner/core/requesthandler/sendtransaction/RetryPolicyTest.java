@@ -0,0 +1,116 @@
+/*
+ * Copyright 2020 ConsenSys AG.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on
+ * an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations under the License.
+ */
+package tech.pegasys.ethsigner.core.requesthandler.sendtransaction;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import tech.pegasys.ethsigner.core.metrics.EthSignerMetrics;
+import tech.pegasys.ethsigner.core.requesthandler.sendtransaction.RetryPolicy.Outcome;
+import tech.pegasys.ethsigner.core.requesthandler.sendtransaction.RetryPolicy.Reason;
+import tech.pegasys.ethsigner.metrics.MetricsRegistry;
+
+import java.net.ConnectException;
+import java.time.Duration;
+import java.util.concurrent.TimeoutException;
+
+import org.junit.jupiter.api.Test;
+
+class RetryPolicyTest {
+
+  private final EthSignerMetrics metrics = new EthSignerMetrics(new MetricsRegistry());
+
+  private RetryPolicy policy(final int maxRetries, final double budgetRatio) {
+    return new RetryPolicy(
+        new RetryPolicyOptions(
+            maxRetries, Duration.ofMillis(10), Duration.ofMillis(100), budgetRatio),
+        metrics);
+  }
+
+  @Test
+  void transactionIsNotRetriedBeyondMaxRetries() {
+    final RetryPolicy policy = policy(2, 1.0);
+
+    assertThat(policy.refusal(0)).isNull();
+    assertThat(policy.refusal(1)).isNull();
+    assertThat(policy.refusal(2)).isEqualTo(Outcome.EXHAUSTED);
+  }
+
+  @Test
+  void retriesBeyondTheBurstAreLimitedToTheBudgetRatio() {
+    final RetryPolicy policy = policy(5, 0.1);
+
+    int allowed = 0;
+    while (policy.refusal(0) == null) {
+      allowed++;
+    }
+    assertThat(allowed).isEqualTo(10);
+    assertThat(policy.refusal(0)).isEqualTo(Outcome.OVER_BUDGET);
+
+    for (int i = 0; i < 9; i++) {
+      policy.sent();
+    }
+    assertThat(policy.refusal(0)).isEqualTo(Outcome.OVER_BUDGET);
+    policy.sent();
+    assertThat(policy.refusal(0)).isNull();
+    assertThat(policy.refusal(0)).isEqualTo(Outcome.OVER_BUDGET);
+  }
+
+  @Test
+  void budgetDoesNotGrowBeyondTheBurst() {
+    final RetryPolicy policy = policy(5, 1.0);
+
+    for (int i = 0; i < 100; i++) {
+      policy.sent();
+    }
+    int allowed = 0;
+    while (policy.refusal(0) == null) {
+      allowed++;
+    }
+    assertThat(allowed).isEqualTo(10);
+  }
+
+  @Test
+  void delaysGrowWithinTheBaseAndMaximumDelay() {
+    final RetryPolicy policy = policy(5, 0.1);
+
+    long delay = 0;
+    for (int i = 0; i < 1000; i++) {
+      final long previous = delay;
+      delay = policy.nextDelayMillis(previous, Reason.NONCE_TOO_LOW);
+      assertThat(delay).isBetween(10L, Math.min(100L, Math.max(previous, 10L) * 3));
+    }
+    assertThat(metrics.transactionRetries().labels("nonce_too_low").value()).isEqualTo(1000);
+    assertThat(metrics.transactionRetryDelay().count()).isEqualTo(1000);
+  }
+
+  @Test
+  void outcomesAreCountedByLabel() {
+    final RetryPolicy policy = policy(5, 0.1);
+
+    policy.recordOutcome(Outcome.SUCCEEDED);
+    policy.recordOutcome(Outcome.OVER_BUDGET);
+    policy.recordOutcome(Outcome.OVER_BUDGET);
+
+    assertThat(metrics.transactionRetryOutcomes().labels("succeeded").value()).isEqualTo(1);
+    assertThat(metrics.transactionRetryOutcomes().labels("over_budget").value()).isEqualTo(2);
+  }
+
+  @Test
+  void onlyFailuresToReachTheNodeAreTransient() {
+    assertThat(RetryPolicy.isTransient(new ConnectException())).isTrue();
+    assertThat(RetryPolicy.isTransient(new TimeoutException())).isFalse();
+    assertThat(RetryPolicy.isTransient(503)).isTrue();
+    assertThat(RetryPolicy.isTransient(429)).isTrue();
+    assertThat(RetryPolicy.isTransient(500)).isFalse();
+  }
+}
@@ -0,0 +1,249 @@
+/*
+ * Copyright 2020 ConsenSys AG.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on
+ * an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations under the License.
+ */
+package tech.pegasys.ethsigner.core.requesthandler.sendtransaction;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyBoolean;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+import tech.pegasys.ethsigner.core.metrics.EthSignerMetrics;
+import tech.pegasys.ethsigner.metrics.MetricsRegistry;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CyclicBarrier;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import io.vertx.core.Handler;
+import io.vertx.core.Promise;
+import io.vertx.core.Vertx;
+import io.vertx.ext.web.RoutingContext;
+import org.junit.jupiter.api.Test;
+
+class SenderSchedulerTest {
+
+  private static final String ALICE = "0xAAAA";
+  private static final String BOB = "0xbbbb";
+
+  private final Vertx vertx = mock(Vertx.class);
+  private final List<String> started = new ArrayList<>();
+  private final Map<String, RoutingContext> contexts = new HashMap<>();
+
+  @SuppressWarnings("unchecked")
+  SenderSchedulerTest() {
+    // runs what would be handed to a worker thread there and then
+    doAnswer(
+            invocation -> {
+              invocation.<Handler<Promise<Object>>>getArgument(0).handle(Promise.promise());
+              return null;
+            })
+        .when(vertx)
+        .executeBlocking(any(Handler.class), anyBoolean(), any(Handler.class));
+  }
+
+  @Test
+  void transactionsWithinLimitsStartImmediately() {
+    final SenderScheduler scheduler = scheduler(2, 2, 10, Collections.emptyMap());
+
+    schedule(scheduler, "a1", ALICE);
+    schedule(scheduler, "b1", BOB);
+
+    assertThat(started).containsExactly("a1", "b1");
+    assertThat(scheduler.inFlight()).isEqualTo(2);
+  }
+
+  @Test
+  void senderAtItsLimitWaitsWhileOthersProceed() {
+    final SenderScheduler scheduler = scheduler(10, 1, 10, Collections.emptyMap());
+
+    schedule(scheduler, "a1", ALICE);
+    schedule(scheduler, "a2", ALICE);
+    schedule(scheduler, "b1", BOB);
+    assertThat(started).containsExactly("a1", "b1");
+    assertThat(scheduler.queued(ALICE)).isEqualTo(1);
+
+    release("a1");
+
+    assertThat(started).containsExactly("a1", "b1", "a2");
+  }
+
+  @Test
+  void sendersTakeTurns() {
+    final SenderScheduler scheduler = scheduler(1, 10, 10, Collections.emptyMap());
+
+    schedule(scheduler, "a1", ALICE);
+    schedule(scheduler, "a2", ALICE);
+    schedule(scheduler, "a3", ALICE);
+    schedule(scheduler, "b1", BOB);
+    schedule(scheduler, "b2", BOB);
+    releaseInTurn("a1", "a2", "b1", "a3");
+
+    assertThat(started).containsExactly("a1", "a2", "b1", "a3", "b2");
+  }
+
+  @Test
+  void weightedSenderTakesSeveralTurnsInARow() {
+    final SenderScheduler scheduler = scheduler(1, 10, 10, Map.of("0xaaaa", 2));
+
+    schedule(scheduler, "a1", ALICE);
+    schedule(scheduler, "a2", ALICE);
+    schedule(scheduler, "a3", ALICE);
+    schedule(scheduler, "a4", ALICE);
+    schedule(scheduler, "b1", BOB);
+    schedule(scheduler, "b2", BOB);
+    releaseInTurn("a1", "a2", "a3", "b1", "a4");
+
+    assertThat(started).containsExactly("a1", "a2", "a3", "b1", "a4", "b2");
+  }
+
+  @Test
+  void transactionIsRejectedWhenTooManyOfItsSenderAreWaiting() {
+    final SenderScheduler scheduler = scheduler(1, 1, 1, Collections.emptyMap());
+
+    assertThat(schedule(scheduler, "a1", ALICE)).isTrue();
+    assertThat(schedule(scheduler, "a2", ALICE)).isTrue();
+    assertThat(schedule(scheduler, "a3", ALICE)).isFalse();
+    assertThat(schedule(scheduler, "b1", BOB)).isTrue();
+  }
+
+  @Test
+  void transactionWhoseRequestEndsWhileWaitingIsNeverStarted() {
+    final SenderScheduler scheduler = scheduler(1, 10, 10, Collections.emptyMap());
+
+    schedule(scheduler, "a1", ALICE);
+    schedule(scheduler, "b1", BOB);
+    release("b1");
+    release("a1");
+
+    assertThat(started).containsExactly("a1");
+    assertThat(scheduler.inFlight()).isZero();
+    assertThat(scheduler.queued(BOB)).isZero();
+  }
+
+  @Test
+  void transactionStartedByConcurrentReleaseIsRunOnce() throws Exception {
+    final int rounds = 50_000;
+    final SenderScheduler scheduler = scheduler(1, 10, 10, Collections.emptyMap());
+    final AtomicInteger runs = new AtomicInteger();
+    // each round, one thread schedules a transaction while another releases the one in flight,
+    // which then swaps places with it
+    final RoutingContext[] inFlightAndNext = {context(), context()};
+    scheduler.schedule(inFlightAndNext[0], ALICE, runs::incrementAndGet);
+    final CyclicBarrier roundStart = new CyclicBarrier(2);
+    final CyclicBarrier roundEnd =
+        new CyclicBarrier(
+            2,
+            () -> {
+              final RoutingContext released = inFlightAndNext[0];
+              inFlightAndNext[0] = inFlightAndNext[1];
+              inFlightAndNext[1] = released;
+            });
+
+    final ExecutorService executor = Executors.newFixedThreadPool(2);
+    try {
+      final Future<?> scheduling =
+          executor.submit(
+              () -> {
+                for (int i = 0; i < rounds; i++) {
+                  roundStart.await();
+                  scheduler.schedule(inFlightAndNext[1], ALICE, runs::incrementAndGet);
+                  roundEnd.await();
+                }
+                return null;
+              });
+      final Future<?> releasing =
+          executor.submit(
+              () -> {
+                for (int i = 0; i < rounds; i++) {
+                  roundStart.await();
+                  SenderScheduler.release(inFlightAndNext[0]);
+                  roundEnd.await();
+                }
+                return null;
+              });
+      scheduling.get(1, TimeUnit.MINUTES);
+      releasing.get(1, TimeUnit.MINUTES);
+    } finally {
+      executor.shutdownNow();
+    }
+
+    assertThat(runs).hasValue(rounds + 1);
+    assertThat(scheduler.inFlight()).isOne();
+  }
+
+  @Test
+  void withoutLimitsTransactionsAreNotTracked() {
+    final SenderScheduler scheduler =
+        new SenderScheduler(
+            SenderSchedulerOptions.UNLIMITED, new EthSignerMetrics(new MetricsRegistry()));
+
+    schedule(scheduler, "a1", ALICE);
+    schedule(scheduler, "a2", ALICE);
+
+    assertThat(started).containsExactly("a1", "a2");
+    assertThat(scheduler.inFlight()).isZero();
+  }
+
+  private SenderScheduler scheduler(
+      final int maxInFlight,
+      final int maxInFlightPerSender,
+      final int maxQueuedPerSender,
+      final Map<String, Integer> senderWeights) {
+    return new SenderScheduler(
+        new SenderSchedulerOptions(
+            maxInFlight, maxInFlightPerSender, maxQueuedPerSender, senderWeights),
+        new EthSignerMetrics(new MetricsRegistry()));
+  }
+
+  private boolean schedule(
+      final SenderScheduler scheduler, final String transaction, final String sender) {
+    final RoutingContext context = context();
+    contexts.put(transaction, context);
+    return scheduler.schedule(context, sender, () -> started.add(transaction));
+  }
+
+  private void release(final String transaction) {
+    SenderScheduler.release(contexts.get(transaction));
+  }
+
+  private void releaseInTurn(final String... transactions) {
+    for (final String transaction : transactions) {
+      release(transaction);
+    }
+  }
+
+  private RoutingContext context() {
+    final RoutingContext context = mock(RoutingContext.class);
+    final Map<String, Object> data = new HashMap<>();
+    when(context.vertx()).thenReturn(vertx);
+    when(context.put(anyString(), any()))
+        .thenAnswer(
+            invocation -> {
+              data.put(invocation.getArgument(0), invocation.getArgument(1));
+              return context;
+            });
+    when(context.get(anyString())).thenAnswer(invocation -> data.get(invocation.getArgument(0)));
+    return context;
+  }
+}
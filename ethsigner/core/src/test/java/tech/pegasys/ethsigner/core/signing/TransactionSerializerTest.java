@@ -0,0 +1,100 @@
+/*
+ * Copyright 2020 ConsenSys AG.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on
+ * an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations under the License.
+ */
+package tech.pegasys.ethsigner.core.signing;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import tech.pegasys.ethsigner.core.jfr.TransactionSerializationEvent;
+import tech.pegasys.ethsigner.core.jfr.TransactionSigningEvent;
+import tech.pegasys.ethsigner.core.jsonrpc.EthSendTransactionJsonParameters;
+import tech.pegasys.ethsigner.core.jsonrpc.JsonRpcRequestId;
+import tech.pegasys.ethsigner.core.metrics.EthSignerMetrics;
+import tech.pegasys.ethsigner.core.requesthandler.sendtransaction.transaction.EthTransaction;
+import tech.pegasys.ethsigner.metrics.MetricsRegistry;
+
+import java.io.IOException;
+import java.math.BigInteger;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.stream.Collectors;
+
+import jdk.jfr.Recording;
+import jdk.jfr.consumer.RecordedEvent;
+import jdk.jfr.consumer.RecordingFile;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+class TransactionSerializerTest {
+
+  private static final String SENDER = "0x7577919ae5df4941180eac211965f275cdce314d";
+  private static final long CHAIN_ID = 44;
+
+  private final TransactionSerializer serializer =
+      new TransactionSerializer(
+          new StubSigner(), CHAIN_ID, new EthSignerMetrics(new MetricsRegistry()));
+
+  @TempDir Path tempDir;
+
+  @Test
+  void signingAndSerializationAreRecordedAsFlightRecorderEvents() throws IOException {
+    final Path dump = tempDir.resolve("serialize.jfr");
+    try (final Recording recording = new Recording()) {
+      recording.enable(TransactionSigningEvent.class).withoutThreshold();
+      recording.enable(TransactionSerializationEvent.class).withoutThreshold();
+      recording.start();
+      serializer.serialize(transaction());
+      recording.stop();
+      recording.dump(dump);
+    }
+
+    final List<RecordedEvent> events =
+        RecordingFile.readAllEvents(dump).stream()
+            .filter(event -> event.getEventType().getName().startsWith("tech.pegasys.ethsigner."))
+            .collect(Collectors.toList());
+    assertThat(events)
+        .extracting(event -> event.getEventType().getName())
+        .containsExactlyInAnyOrder(
+            "tech.pegasys.ethsigner.TransactionSigning",
+            "tech.pegasys.ethsigner.TransactionSerialization");
+    assertThat(events)
+        .allSatisfy(
+            event -> {
+              assertThat(event.getString("sender")).isEqualTo(SENDER);
+              assertThat(event.getString("signerType")).isEqualTo("StubSigner");
+            });
+    assertThat(events)
+        .filteredOn(event -> event.hasField("chainId"))
+        .extracting(event -> event.getLong("chainId"))
+        .containsExactly(CHAIN_ID);
+  }
+
+  private static EthTransaction transaction() {
+    final EthSendTransactionJsonParameters params = new EthSendTransactionJsonParameters(SENDER);
+    params.receiver("0xd46e8dd67c5d32be8058bb8eb970870f07244567");
+    params.nonce("0x1");
+    return new EthTransaction(params, () -> BigInteger.ZERO, new JsonRpcRequestId(1));
+  }
+
+  private static class StubSigner implements TransactionSigner {
+
+    @Override
+    public Signature sign(final byte[] data) {
+      return new Signature(BigInteger.valueOf(27), BigInteger.ONE, BigInteger.TWO);
+    }
+
+    @Override
+    public String getAddress() {
+      return SENDER;
+    }
+  }
+}
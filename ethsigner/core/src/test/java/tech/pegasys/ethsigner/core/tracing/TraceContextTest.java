@@ -0,0 +1,81 @@
+/*
+ * Copyright 2020 ConsenSys AG.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on
+ * an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations under the License.
+ */
+package tech.pegasys.ethsigner.core.tracing;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.util.Optional;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.ValueSource;
+
+class TraceContextTest {
+
+  private static final String TRACE_ID = "0af7651916cd43dd8448eb211c80319c";
+  private static final String SPAN_ID = "b7ad6b7169203331";
+
+  @Test
+  void traceparentIsParsed() {
+    final TraceContext context =
+        TraceContext.fromTraceparent("00-" + TRACE_ID + "-" + SPAN_ID + "-01").orElseThrow();
+
+    assertThat(context.traceId()).isEqualTo(TRACE_ID);
+    assertThat(context.spanId()).isEqualTo(SPAN_ID);
+    assertThat(context.isSampled()).isTrue();
+    assertThat(context.toTraceparent()).isEqualTo("00-" + TRACE_ID + "-" + SPAN_ID + "-01");
+  }
+
+  @Test
+  void onlyTheSampledFlagIsRead() {
+    assertThat(TraceContext.fromTraceparent("00-" + TRACE_ID + "-" + SPAN_ID + "-02"))
+        .hasValueSatisfying(context -> assertThat(context.isSampled()).isFalse());
+    assertThat(TraceContext.fromTraceparent("00-" + TRACE_ID + "-" + SPAN_ID + "-03"))
+        .hasValueSatisfying(context -> assertThat(context.isSampled()).isTrue());
+  }
+
+  @Test
+  void fieldsAddedByLaterVersionsAreIgnored() {
+    assertThat(TraceContext.fromTraceparent("01-" + TRACE_ID + "-" + SPAN_ID + "-01-extra"))
+        .hasValueSatisfying(context -> assertThat(context.spanId()).isEqualTo(SPAN_ID));
+  }
+
+  @ParameterizedTest
+  @ValueSource(
+      strings = {
+        "",
+        "00-" + TRACE_ID + "-" + SPAN_ID,
+        "00-" + TRACE_ID + "-" + SPAN_ID + "-01-extra",
+        "ff-" + TRACE_ID + "-" + SPAN_ID + "-01",
+        "00-0AF7651916CD43DD8448EB211C80319C-" + SPAN_ID + "-01",
+        "00-00000000000000000000000000000000-" + SPAN_ID + "-01",
+        "00-" + TRACE_ID + "-0000000000000000-01",
+        "00_" + TRACE_ID + "_" + SPAN_ID + "_01",
+        "00-" + TRACE_ID + "-" + SPAN_ID + "-0g"
+      })
+  void malformedTraceparentIsIgnored(final String traceparent) {
+    assertThat(TraceContext.fromTraceparent(traceparent)).isEmpty();
+  }
+
+  @Test
+  void newSpanIsInSameTrace() {
+    final TraceContext trace = TraceContext.newTrace(true);
+    final TraceContext span = trace.newSpan();
+
+    assertThat(span.traceId()).isEqualTo(trace.traceId());
+    assertThat(span.spanId()).isNotEqualTo(trace.spanId());
+    assertThat(TraceContext.fromTraceparent(span.toTraceparent()))
+        .map(TraceContext::toTraceparent)
+        .isEqualTo(Optional.of(span.toTraceparent()));
+  }
+}
@@ -0,0 +1,109 @@
+/*
+ * Copyright 2020 ConsenSys AG.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on
+ * an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations under the License.
+ */
+package tech.pegasys.ethsigner.core.tracing;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import io.vertx.core.MultiMap;
+import org.junit.jupiter.api.Test;
+
+class TracerTest {
+
+  private static final String TRACE_ID = "0af7651916cd43dd8448eb211c80319c";
+  private static final String CLIENT_SPAN_ID = "b7ad6b7169203331";
+
+  private final List<Span> exported = new ArrayList<>();
+
+  @Test
+  void sampledTraceOfClientIsContinued() {
+    final Span span =
+        new Tracer(0, exported::add)
+            .startRequestSpan(
+                "request", traceparent("00-" + TRACE_ID + "-" + CLIENT_SPAN_ID + "-01"));
+    final Span child = span.startChild("stage", Span.Kind.CLIENT).setAttribute("attempt", 1);
+    child.end();
+    span.end();
+
+    assertThat(exported).containsExactly(child, span);
+    assertThat(span.traceId()).isEqualTo(TRACE_ID);
+    assertThat(span.parentSpanId()).contains(CLIENT_SPAN_ID);
+    assertThat(child.traceId()).isEqualTo(TRACE_ID);
+    assertThat(child.parentSpanId()).contains(span.spanId());
+    assertThat(child.attributes()).containsEntry("attempt", 1);
+
+    final MultiMap headers = MultiMap.caseInsensitiveMultiMap();
+    child.injectInto(headers);
+    assertThat(headers.get("traceparent"))
+        .isEqualTo("00-" + TRACE_ID + "-" + child.spanId() + "-01");
+  }
+
+  @Test
+  void unsampledTraceOfClientIsPropagatedUnchanged() {
+    final String traceparent = "00-" + TRACE_ID + "-" + CLIENT_SPAN_ID + "-00";
+    final Span span =
+        new Tracer(1, exported::add).startRequestSpan("request", traceparent(traceparent));
+    final Span child = span.startChild("stage", Span.Kind.CLIENT);
+    child.end();
+    span.end();
+
+    assertThat(span.isRecording()).isFalse();
+    assertThat(child).isSameAs(span);
+    assertThat(exported).isEmpty();
+    final MultiMap headers = MultiMap.caseInsensitiveMultiMap();
+    child.injectInto(headers);
+    assertThat(headers.get("traceparent")).isEqualTo(traceparent);
+  }
+
+  @Test
+  void requestsWithoutTraceparentAreSampledByRatio() {
+    final Tracer alwaysSample = new Tracer(1, exported::add);
+    final Tracer neverSample = new Tracer(0, exported::add);
+
+    final Span sampled =
+        alwaysSample.startRequestSpan("request", MultiMap.caseInsensitiveMultiMap());
+    assertThat(sampled.isRecording()).isTrue();
+    assertThat(sampled.parentSpanId()).isEmpty();
+    assertThat(neverSample.startRequestSpan("request", MultiMap.caseInsensitiveMultiMap()))
+        .isSameAs(Span.NOOP);
+  }
+
+  @Test
+  void disabledTracerLeavesTraceparentOfClientToBeForwarded() {
+    final Span span =
+        Tracer.DISABLED.startRequestSpan(
+            "request", traceparent("00-" + TRACE_ID + "-" + CLIENT_SPAN_ID + "-01"));
+
+    final MultiMap headers = traceparent("forwarded");
+    span.injectInto(headers);
+    assertThat(span).isSameAs(Span.NOOP);
+    assertThat(headers.get("traceparent")).isEqualTo("forwarded");
+  }
+
+  @Test
+  void spanIsOnlyExportedOnce() {
+    final Span span =
+        new Tracer(1, exported::add)
+            .startRequestSpan("request", MultiMap.caseInsensitiveMultiMap());
+    span.end();
+    span.end();
+
+    assertThat(exported).containsExactly(span);
+  }
+
+  private static MultiMap traceparent(final String value) {
+    return MultiMap.caseInsensitiveMultiMap().add("traceparent", value);
+  }
+}
@@ -0,0 +1,254 @@
+/*
+ * Copyright 2020 ConsenSys AG.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on
+ * an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations under the License.
+ */
+package tech.pegasys.ethsigner.core.websocket;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+
+import io.vertx.core.Context;
+import io.vertx.core.Handler;
+import io.vertx.core.MultiMap;
+import io.vertx.core.buffer.Buffer;
+import io.vertx.core.http.HttpMethod;
+import io.vertx.core.http.HttpServerRequest;
+import io.vertx.core.http.ServerWebSocket;
+import io.vertx.core.json.JsonArray;
+import io.vertx.ext.web.Router;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+
+class WebSocketConnectionTest {
+
+  private static final String REQUEST = "{\"jsonrpc\":\"2.0\",\"method\":\"eth_chainId\",\"id\":1}";
+  private static final String RESPONSE = "{\"jsonrpc\":\"2.0\",\"id\":1,\"result\":\"0x1\"}";
+  private static final int MAX_IN_FLIGHT_REQUESTS = 2;
+  private static final int SUBSCRIPTION_BUFFER_SIZE = 2;
+
+  private final ServerWebSocket socket = mock(ServerWebSocket.class);
+  private final Router router = mock(Router.class);
+  private final SubscriptionMultiplexer subscriptions = mock(SubscriptionMultiplexer.class);
+  private final List<HttpServerRequest> routedRequests = new ArrayList<>();
+  private final MultiMap upgradeHeaders = MultiMap.caseInsensitiveMultiMap();
+  private WebSocketConnection connection;
+  private Handler<String> textMessageHandler;
+
+  @BeforeEach
+  @SuppressWarnings("unchecked")
+  void setUp() {
+    final Context context = mock(Context.class);
+    doAnswer(invocation -> handleImmediately(invocation.getArgument(0)))
+        .when(context)
+        .runOnContext(any());
+    doAnswer(invocation -> routedRequests.add(invocation.getArgument(0)))
+        .when(router)
+        .handle(any(HttpServerRequest.class));
+    final HttpServerRequest upgradeRequest = mock(HttpServerRequest.class);
+    when(upgradeRequest.host()).thenReturn("localhost:8545");
+    when(upgradeRequest.headers()).thenReturn(upgradeHeaders);
+
+    connection =
+        new WebSocketConnection(
+            upgradeRequest,
+            socket,
+            router,
+            context,
+            MAX_IN_FLIGHT_REQUESTS,
+            Optional.of(subscriptions),
+            SUBSCRIPTION_BUFFER_SIZE);
+    connection.start();
+
+    final ArgumentCaptor<Handler<String>> captor = ArgumentCaptor.forClass(Handler.class);
+    verify(socket).textMessageHandler(captor.capture());
+    textMessageHandler = captor.getValue();
+  }
+
+  @Test
+  void messageIsRoutedAsTheBodyOfAJsonRpcPost() {
+    final List<Buffer> bodies = new ArrayList<>();
+    doAnswer(invocation -> ((HttpServerRequest) invocation.getArgument(0)).handler(bodies::add))
+        .when(router)
+        .handle(any(HttpServerRequest.class));
+
+    textMessageHandler.handle(REQUEST);
+
+    final ArgumentCaptor<HttpServerRequest> captor =
+        ArgumentCaptor.forClass(HttpServerRequest.class);
+    verify(router).handle(captor.capture());
+    final HttpServerRequest request = captor.getValue();
+    assertThat(request.method()).isEqualTo(HttpMethod.POST);
+    assertThat(request.path()).isEqualTo("/");
+    assertThat(request.getHeader("Content-Type")).isEqualTo("application/json");
+    assertThat(request.isEnded()).isTrue();
+    assertThat(bodies).containsExactly(Buffer.buffer(REQUEST));
+  }
+
+  @Test
+  void messageCarriesTheEndToEndHeadersOfTheUpgradeRequest() {
+    upgradeHeaders
+        .add("Authorization", "Bearer token")
+        .add("X-Request-Source", "dapp")
+        .add("Connection", "Upgrade")
+        .add("Upgrade", "websocket")
+        .add("Sec-WebSocket-Key", "dGhlIHNhbXBsZSBub25jZQ==")
+        .add("Sec-WebSocket-Version", "13")
+        .add("Content-Type", "text/plain");
+
+    textMessageHandler.handle(REQUEST);
+
+    final MultiMap headers = routedRequests.get(0).headers();
+    assertThat(headers.get("Authorization")).isEqualTo("Bearer token");
+    assertThat(headers.get("X-Request-Source")).isEqualTo("dapp");
+    assertThat(headers.names())
+        .doesNotContain("Connection", "Upgrade", "Sec-WebSocket-Key", "Sec-WebSocket-Version");
+    assertThat(headers.getAll("Content-Type")).containsExactly("application/json");
+    assertThat(headers.get("Content-Length")).isEqualTo(String.valueOf(REQUEST.length()));
+    assertThat(headers.get("Host")).isEqualTo("localhost:8545");
+  }
+
+  @Test
+  void responsesAreWrittenInTheOrderTheyComplete() {
+    textMessageHandler.handle(REQUEST);
+    textMessageHandler.handle(REQUEST);
+
+    routedRequests.get(1).response().end("second");
+    routedRequests.get(0).response().end("first");
+
+    final ArgumentCaptor<String> written = ArgumentCaptor.forClass(String.class);
+    verify(socket, times(2)).writeTextMessage(written.capture());
+    assertThat(written.getAllValues()).containsExactly("second", "first");
+  }
+
+  @Test
+  void readingIsPausedWhileTheMaximumRequestsAreInFlight() {
+    textMessageHandler.handle(REQUEST);
+    verify(socket, never()).pause();
+
+    textMessageHandler.handle(REQUEST);
+    verify(socket).pause();
+
+    routedRequests.get(0).response().end(RESPONSE);
+    verify(socket).resume();
+  }
+
+  @Test
+  void readingIsPausedUntilAFullWriteQueueDrains() {
+    textMessageHandler.handle(REQUEST);
+    when(socket.writeQueueFull()).thenReturn(true);
+    routedRequests.get(0).response().end(RESPONSE);
+    verify(socket).pause();
+
+    when(socket.writeQueueFull()).thenReturn(false);
+    drainHandler().handle(null);
+    verify(socket).resume();
+  }
+
+  @Test
+  void responseIsDroppedOnceTheSocketHasClosed() {
+    textMessageHandler.handle(REQUEST);
+    when(socket.isClosed()).thenReturn(true);
+
+    routedRequests.get(0).response().end(RESPONSE);
+
+    verify(socket, never()).writeTextMessage(any());
+  }
+
+  @Test
+  void closedResponseCompletesTheRequestWithoutWriting() {
+    textMessageHandler.handle(REQUEST);
+    textMessageHandler.handle(REQUEST);
+
+    routedRequests.get(0).response().close();
+
+    verify(socket, never()).writeTextMessage(any());
+    verify(socket).resume();
+  }
+
+  @Test
+  void subscriptionRequestsAreHandedToTheMultiplexer() {
+    textMessageHandler.handle(
+        "{\"jsonrpc\":\"2.0\",\"method\":\"eth_subscribe\",\"params\":[\"newHeads\"],\"id\":1}");
+    textMessageHandler.handle(
+        "{\"jsonrpc\":\"2.0\",\"method\":\"eth_unsubscribe\",\"params\":[\"0x1\"],\"id\":2}");
+
+    verify(subscriptions)
+        .subscribe(eq(connection), eq(1), eq(new JsonArray().add("newHeads")), any());
+    verify(subscriptions).unsubscribe(eq(connection), eq(2), eq(new JsonArray().add("0x1")), any());
+    assertThat(routedRequests).isEmpty();
+  }
+
+  @Test
+  void notificationsAreBufferedUntilAFullWriteQueueDrains() {
+    when(socket.writeQueueFull()).thenReturn(true);
+    connection.notify("first");
+    connection.notify("second");
+    verify(socket, never()).writeTextMessage(any());
+
+    when(socket.writeQueueFull()).thenReturn(false);
+    drainHandler().handle(null);
+
+    final ArgumentCaptor<String> written = ArgumentCaptor.forClass(String.class);
+    verify(socket, times(2)).writeTextMessage(written.capture());
+    assertThat(written.getAllValues()).containsExactly("first", "second");
+  }
+
+  @Test
+  void connectionNotKeepingUpWithItsSubscriptionsIsClosed() {
+    when(socket.writeQueueFull()).thenReturn(true);
+    for (int i = 0; i < SUBSCRIPTION_BUFFER_SIZE; i++) {
+      connection.notify("notification");
+    }
+    verify(socket, never()).close(any(Short.class), any(String.class));
+
+    connection.notify("notification");
+
+    verify(socket).close(eq((short) 1008), any(String.class));
+  }
+
+  @Test
+  void subscriptionsAreRemovedWhenTheSocketCloses() {
+    closeHandler().handle(null);
+
+    verify(subscriptions).unsubscribeAll(connection);
+  }
+
+  @SuppressWarnings("unchecked")
+  private Handler<Void> closeHandler() {
+    final ArgumentCaptor<Handler<Void>> captor = ArgumentCaptor.forClass(Handler.class);
+    verify(socket).closeHandler(captor.capture());
+    return captor.getValue();
+  }
+
+  @SuppressWarnings("unchecked")
+  private Handler<Void> drainHandler() {
+    final ArgumentCaptor<Handler<Void>> captor = ArgumentCaptor.forClass(Handler.class);
+    verify(socket).drainHandler(captor.capture());
+    return captor.getValue();
+  }
+
+  private static Void handleImmediately(final Handler<Void> handler) {
+    handler.handle(null);
+    return null;
+  }
+}
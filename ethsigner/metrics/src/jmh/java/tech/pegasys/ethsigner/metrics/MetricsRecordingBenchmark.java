@@ -0,0 +1,87 @@
+/*
+ * Copyright 2020 ConsenSys AG.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on
+ * an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations under the License.
+ */
+package tech.pegasys.ethsigner.metrics;
+
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Measures the cost of recording metrics from many threads at once, as on the request path.
+ *
+ * <p>Run with the GC profiler to confirm recording allocates nothing, e.g. {@code ./gradlew
+ * :ethsigner:metrics:jmh -Pinclude=MetricsRecordingBenchmark}, adding {@code -prof gc} to the JMH
+ * arguments; {@code gc.alloc.rate.norm} should be 0 bytes per operation.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Threads(8)
+@Fork(1)
+@Warmup(iterations = 3, time = 5)
+@Measurement(iterations = 5, time = 5)
+public class MetricsRecordingBenchmark {
+
+  private static final String[] METHODS = {
+    "eth_sendTransaction", "eth_getTransactionCount", "eth_blockNumber", "eth_call"
+  };
+
+  private Counter counter;
+  private Gauge gauge;
+  private Histogram histogram;
+  private LabelledMetric<Histogram> labelledHistogram;
+
+  @Setup
+  public void createMetrics() {
+    final MetricsRegistry registry = new MetricsRegistry();
+    counter = registry.counter("counter_total", "Counter");
+    gauge = registry.gauge("gauge", "Gauge");
+    histogram = registry.histogram("histogram_seconds", "Histogram");
+    labelledHistogram = registry.labelledHistogram("labelled_seconds", "Histogram", "method");
+    for (final String method : METHODS) {
+      labelledHistogram.labels(method);
+    }
+  }
+
+  @Benchmark
+  public void counterInc() {
+    counter.inc();
+  }
+
+  @Benchmark
+  public void gaugeIncAndDec() {
+    gauge.inc();
+    gauge.dec();
+  }
+
+  @Benchmark
+  public void histogramObserve() {
+    histogram.observeSince(System.nanoTime() - 3_000_000);
+  }
+
+  @Benchmark
+  public void labelledHistogramObserve() {
+    final String method = METHODS[(int) (Thread.currentThread().getId() % METHODS.length)];
+    labelledHistogram.labels(method).observeSince(System.nanoTime() - 3_000_000);
+  }
+}
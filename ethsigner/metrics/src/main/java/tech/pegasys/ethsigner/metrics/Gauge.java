@@ -0,0 +1,35 @@
+/*
+ * Copyright 2020 ConsenSys AG.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on
+ * an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations under the License.
+ */
+package tech.pegasys.ethsigner.metrics;
+
+import java.util.concurrent.atomic.LongAdder;
+
+/** A value which rises and falls, such as the number of requests in flight. */
+public final class Gauge {
+
+  private final LongAdder value = new LongAdder();
+
+  Gauge() {}
+
+  public void inc() {
+    value.increment();
+  }
+
+  public void dec() {
+    value.decrement();
+  }
+
+  public long value() {
+    return value.sum();
+  }
+}
@@ -0,0 +1,104 @@
+/*
+ * Copyright 2020 ConsenSys AG.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on
+ * an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations under the License.
+ */
+package tech.pegasys.ethsigner.metrics;
+
+import java.math.BigDecimal;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * The distribution of a duration, counted into fixed buckets and exposed in seconds.
+ *
+ * <p>Durations are recorded in nanoseconds, so observing one is a scan of the bucket bounds and two
+ * adder increments.
+ */
+public final class Histogram {
+
+  /** Upper bounds from 100us to 10s, spanning a cached response to a downstream timeout. */
+  static final long[] LATENCY_BUCKETS_NANOS = {
+    TimeUnit.MICROSECONDS.toNanos(100),
+    TimeUnit.MICROSECONDS.toNanos(250),
+    TimeUnit.MICROSECONDS.toNanos(500),
+    TimeUnit.MILLISECONDS.toNanos(1),
+    TimeUnit.MICROSECONDS.toNanos(2500),
+    TimeUnit.MILLISECONDS.toNanos(5),
+    TimeUnit.MILLISECONDS.toNanos(10),
+    TimeUnit.MILLISECONDS.toNanos(25),
+    TimeUnit.MILLISECONDS.toNanos(50),
+    TimeUnit.MILLISECONDS.toNanos(100),
+    TimeUnit.MILLISECONDS.toNanos(250),
+    TimeUnit.MILLISECONDS.toNanos(500),
+    TimeUnit.SECONDS.toNanos(1),
+    TimeUnit.MILLISECONDS.toNanos(2500),
+    TimeUnit.SECONDS.toNanos(5),
+    TimeUnit.SECONDS.toNanos(10)
+  };
+
+  private final long[] upperBoundsNanos;
+  // one more than the bounds, the last counting durations beyond every bound
+  private final LongAdder[] bucketCounts;
+  private final LongAdder sumNanos = new LongAdder();
+
+  Histogram(final long[] upperBoundsNanos) {
+    this.upperBoundsNanos = upperBoundsNanos;
+    this.bucketCounts = new LongAdder[upperBoundsNanos.length + 1];
+    for (int i = 0; i < bucketCounts.length; i++) {
+      bucketCounts[i] = new LongAdder();
+    }
+  }
+
+  public void observeNanos(final long durationNanos) {
+    int bucket = 0;
+    while (bucket < upperBoundsNanos.length && durationNanos > upperBoundsNanos[bucket]) {
+      bucket++;
+    }
+    bucketCounts[bucket].increment();
+    sumNanos.add(durationNanos);
+  }
+
+  /** Observes the time elapsed since {@code startNanos}, a reading of {@link System#nanoTime()}. */
+  public void observeSince(final long startNanos) {
+    observeNanos(System.nanoTime() - startNanos);
+  }
+
+  public long count() {
+    long count = 0;
+    for (final LongAdder bucketCount : bucketCounts) {
+      count += bucketCount.sum();
+    }
+    return count;
+  }
+
+  public double sumSeconds() {
+    return sumNanos.sum() / 1e9;
+  }
+
+  int bucketCount() {
+    return upperBoundsNanos.length;
+  }
+
+  String bucketUpperBound(final int bucket) {
+    return BigDecimal.valueOf(upperBoundsNanos[bucket], 9).stripTrailingZeros().toPlainString();
+  }
+
+  /** The number of durations observed in this bucket or those below it. */
+  long[] cumulativeCounts() {
+    final long[] counts = new long[bucketCounts.length];
+    long count = 0;
+    for (int i = 0; i < bucketCounts.length; i++) {
+      count += bucketCounts[i].sum();
+      counts[i] = count;
+    }
+    return counts;
+  }
+}
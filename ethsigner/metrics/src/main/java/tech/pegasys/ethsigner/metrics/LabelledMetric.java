@@ -0,0 +1,53 @@
+/*
+ * Copyright 2020 ConsenSys AG.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on
+ * an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations under the License.
+ */
+package tech.pegasys.ethsigner.metrics;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.BiConsumer;
+import java.util.function.Supplier;
+
+/**
+ * A metric split by the value of one label, each value having a metric of its own.
+ *
+ * <p>The metric of a value already seen is found without locking or allocating. Values which come
+ * from clients, such as method names, are unbounded, so beyond a limit further values share the
+ * metric labelled {@value #OVERFLOW_LABEL_VALUE}.
+ */
+public final class LabelledMetric<T> {
+
+  public static final String OVERFLOW_LABEL_VALUE = "other";
+
+  private final int maxLabelValues;
+  private final Supplier<T> metricFactory;
+  private final Map<String, T> metrics = new ConcurrentHashMap<>();
+
+  LabelledMetric(final int maxLabelValues, final Supplier<T> factory) {
+    this.maxLabelValues = maxLabelValues;
+    this.metricFactory = factory;
+  }
+
+  public T labels(final String labelValue) {
+    final T metric = metrics.get(labelValue);
+    return metric != null ? metric : create(labelValue);
+  }
+
+  private T create(final String labelValue) {
+    final String value = metrics.size() < maxLabelValues ? labelValue : OVERFLOW_LABEL_VALUE;
+    return metrics.computeIfAbsent(value, ignored -> metricFactory.get());
+  }
+
+  void forEach(final BiConsumer<String, T> action) {
+    metrics.forEach(action);
+  }
+}
@@ -0,0 +1,116 @@
+/*
+ * Copyright 2020 ConsenSys AG.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on
+ * an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations under the License.
+ */
+package tech.pegasys.ethsigner.metrics;
+
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentSkipListMap;
+import java.util.function.Consumer;
+import java.util.function.LongSupplier;
+
+/**
+ * Creates the metrics of the process and exposes them for Prometheus to scrape.
+ *
+ * <p>Metrics are created up front and held by the code recording them, so recording never goes
+ * through the registry.
+ */
+public class MetricsRegistry {
+
+  static final int MAX_LABEL_VALUES = 100;
+
+  private final Map<String, Consumer<PrometheusTextFormat>> families =
+      new ConcurrentSkipListMap<>();
+
+  public Counter counter(final String name, final String help) {
+    final Counter counter = new Counter();
+    register(name, help, "counter", out -> out.counter(name, counter));
+    return counter;
+  }
+
+  public LabelledMetric<Counter> labelledCounter(
+      final String name, final String help, final String labelName) {
+    final LabelledMetric<Counter> counters = new LabelledMetric<>(MAX_LABEL_VALUES, Counter::new);
+    register(
+        name,
+        help,
+        "counter",
+        out ->
+            sorted(counters)
+                .forEach((value, counter) -> out.counter(name, counter, labelName, value)));
+    return counters;
+  }
+
+  public Gauge gauge(final String name, final String help) {
+    final Gauge gauge = new Gauge();
+    register(name, help, "gauge", out -> out.gauge(name, gauge.value()));
+    return gauge;
+  }
+
+  /** A gauge whose value is read from elsewhere whenever it is scraped. */
+  public void gauge(final String name, final String help, final LongSupplier value) {
+    register(name, help, "gauge", out -> out.gauge(name, value.getAsLong()));
+  }
+
+  public Histogram histogram(final String name, final String help) {
+    final Histogram histogram = new Histogram(Histogram.LATENCY_BUCKETS_NANOS);
+    register(name, help, "histogram", out -> out.histogram(name, histogram));
+    return histogram;
+  }
+
+  public LabelledMetric<Histogram> labelledHistogram(
+      final String name, final String help, final String labelName) {
+    final LabelledMetric<Histogram> histograms =
+        new LabelledMetric<>(
+            MAX_LABEL_VALUES, () -> new Histogram(Histogram.LATENCY_BUCKETS_NANOS));
+    register(
+        name,
+        help,
+        "histogram",
+        out ->
+            sorted(histograms)
+                .forEach((value, histogram) -> out.histogram(name, histogram, labelName, value)));
+    return histograms;
+  }
+
+  /** Every metric, in the Prometheus text exposition format. */
+  public String scrape() {
+    final PrometheusTextFormat out = new PrometheusTextFormat();
+    families.values().forEach(family -> family.accept(out));
+    return out.toString();
+  }
+
+  public static String contentType() {
+    return PrometheusTextFormat.CONTENT_TYPE;
+  }
+
+  private void register(
+      final String name,
+      final String help,
+      final String type,
+      final Consumer<PrometheusTextFormat> samples) {
+    final Consumer<PrometheusTextFormat> family =
+        out -> {
+          out.family(name, help, type);
+          samples.accept(out);
+        };
+    if (families.putIfAbsent(name, family) != null) {
+      throw new IllegalArgumentException("Metric " + name + " is already registered");
+    }
+  }
+
+  private static <T> Map<String, T> sorted(final LabelledMetric<T> metric) {
+    final Map<String, T> byLabelValue = new TreeMap<>();
+    metric.forEach(byLabelValue::put);
+    return byLabelValue;
+  }
+}
@@ -0,0 +1,88 @@
+/*
+ * Copyright 2020 ConsenSys AG.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on
+ * an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations under the License.
+ */
+package tech.pegasys.ethsigner.metrics;
+
+/** Writes samples in version 0.0.4 of the Prometheus text exposition format. */
+final class PrometheusTextFormat {
+
+  static final String CONTENT_TYPE = "text/plain; version=0.0.4; charset=utf-8";
+
+  private final StringBuilder out = new StringBuilder();
+
+  void family(final String name, final String help, final String type) {
+    out.append("# HELP ").append(name).append(' ');
+    escape(help, false);
+    out.append('\n');
+    out.append("# TYPE ").append(name).append(' ').append(type).append('\n');
+  }
+
+  void counter(final String name, final Counter counter, final String... labels) {
+    sample(name, Long.toString(counter.value()), labels);
+  }
+
+  void gauge(final String name, final long value, final String... labels) {
+    sample(name, Long.toString(value), labels);
+  }
+
+  void histogram(final String name, final Histogram histogram, final String... labels) {
+    final long[] cumulativeCounts = histogram.cumulativeCounts();
+    final String[] bucketLabels = new String[labels.length + 2];
+    System.arraycopy(labels, 0, bucketLabels, 0, labels.length);
+    bucketLabels[labels.length] = "le";
+    for (int bucket = 0; bucket < cumulativeCounts.length; bucket++) {
+      bucketLabels[labels.length + 1] =
+          bucket < histogram.bucketCount() ? histogram.bucketUpperBound(bucket) : "+Inf";
+      sample(name + "_bucket", Long.toString(cumulativeCounts[bucket]), bucketLabels);
+    }
+    sample(name + "_sum", Double.toString(histogram.sumSeconds()), labels);
+    sample(name + "_count", Long.toString(cumulativeCounts[cumulativeCounts.length - 1]), labels);
+  }
+
+  /** @param labels alternating label names and values */
+  private void sample(final String name, final String value, final String... labels) {
+    out.append(name);
+    if (labels.length > 0) {
+      out.append('{');
+      for (int i = 0; i < labels.length; i += 2) {
+        if (i > 0) {
+          out.append(',');
+        }
+        out.append(labels[i]).append("=\"");
+        escape(labels[i + 1], true);
+        out.append('"');
+      }
+      out.append('}');
+    }
+    out.append(' ').append(value).append('\n');
+  }
+
+  private void escape(final String text, final boolean labelValue) {
+    for (int i = 0; i < text.length(); i++) {
+      final char c = text.charAt(i);
+      if (c == '\\') {
+        out.append("\\\\");
+      } else if (c == '\n') {
+        out.append("\\n");
+      } else if (c == '"' && labelValue) {
+        out.append("\\\"");
+      } else {
+        out.append(c);
+      }
+    }
+  }
+
+  @Override
+  public String toString() {
+    return out.toString();
+  }
+}
@@ -0,0 +1,110 @@
+/*
+ * Copyright 2020 ConsenSys AG.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on
+ * an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations under the License.
+ */
+package tech.pegasys.ethsigner.metrics;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import java.util.concurrent.TimeUnit;
+
+import org.junit.jupiter.api.Test;
+
+class MetricsRegistryTest {
+
+  private final MetricsRegistry registry = new MetricsRegistry();
+
+  @Test
+  void countersAndGaugesAreExposedInTextFormat() {
+    registry.counter("requests_total", "Requests served").inc(3);
+    final Gauge inFlight = registry.gauge("in_flight", "Requests in flight");
+    inFlight.inc();
+    inFlight.inc();
+    inFlight.dec();
+    registry.gauge("queued", "Tasks queued", () -> 7);
+
+    assertThat(registry.scrape())
+        .isEqualTo(
+            "# HELP in_flight Requests in flight\n"
+                + "# TYPE in_flight gauge\n"
+                + "in_flight 1\n"
+                + "# HELP queued Tasks queued\n"
+                + "# TYPE queued gauge\n"
+                + "queued 7\n"
+                + "# HELP requests_total Requests served\n"
+                + "# TYPE requests_total counter\n"
+                + "requests_total 3\n");
+  }
+
+  @Test
+  void histogramBucketsAreCumulativeAndInSeconds() {
+    final Histogram histogram = registry.histogram("duration_seconds", "Duration");
+    histogram.observeNanos(TimeUnit.MICROSECONDS.toNanos(50));
+    histogram.observeNanos(TimeUnit.MICROSECONDS.toNanos(100));
+    histogram.observeNanos(TimeUnit.MILLISECONDS.toNanos(3));
+    histogram.observeNanos(TimeUnit.SECONDS.toNanos(20));
+
+    assertThat(registry.scrape())
+        .contains("# TYPE duration_seconds histogram\n")
+        .contains("duration_seconds_bucket{le=\"0.0001\"} 2\n")
+        .contains("duration_seconds_bucket{le=\"0.0025\"} 2\n")
+        .contains("duration_seconds_bucket{le=\"0.005\"} 3\n")
+        .contains("duration_seconds_bucket{le=\"10\"} 3\n")
+        .contains("duration_seconds_bucket{le=\"+Inf\"} 4\n")
+        .contains("duration_seconds_sum 20.00315\n")
+        .contains("duration_seconds_count 4\n");
+  }
+
+  @Test
+  void labelledMetricsAreExposedPerLabelValue() {
+    final LabelledMetric<Histogram> histograms =
+        registry.labelledHistogram("request_duration_seconds", "Duration", "method");
+    histograms.labels("eth_chainId").observeNanos(1);
+    histograms.labels("eth_accounts").observeNanos(1);
+    histograms.labels("eth_chainId").observeNanos(1);
+
+    assertThat(registry.scrape())
+        .contains("request_duration_seconds_bucket{method=\"eth_accounts\",le=\"0.0001\"} 1\n")
+        .contains("request_duration_seconds_count{method=\"eth_accounts\"} 1\n")
+        .contains("request_duration_seconds_count{method=\"eth_chainId\"} 2\n");
+  }
+
+  @Test
+  void labelValuesAreEscaped() {
+    registry.labelledCounter("calls_total", "Calls", "method").labels("a\"b\\c\nd").inc();
+
+    assertThat(registry.scrape()).contains("calls_total{method=\"a\\\"b\\\\c\\nd\"} 1\n");
+  }
+
+  @Test
+  void labelValuesBeyondTheLimitShareOneMetric() {
+    final LabelledMetric<Counter> counters = registry.labelledCounter("calls_total", "Calls", "m");
+    for (int i = 0; i < MetricsRegistry.MAX_LABEL_VALUES; i++) {
+      counters.labels("method" + i).inc();
+    }
+
+    counters.labels("another").inc();
+    counters.labels("yet_another").inc();
+
+    assertThat(counters.labels("method0").value()).isEqualTo(1);
+    assertThat(counters.labels("another")).isSameAs(counters.labels("yet_another"));
+    assertThat(registry.scrape()).contains("calls_total{m=\"other\"} 2\n");
+  }
+
+  @Test
+  void metricsCannotBeRegisteredTwice() {
+    registry.counter("requests_total", "Requests served");
+
+    assertThatThrownBy(() -> registry.gauge("requests_total", "Requests"))
+        .isInstanceOf(IllegalArgumentException.class);
+  }
+}